@@ -1,8 +1,12 @@
 package host.exp.exponent;
 
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Matchers;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
@@ -10,12 +14,19 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
+import expolib_v1.okhttp3.Request;
+import host.exp.exponent.network.ExponentHttpClient;
+import host.exp.exponent.storage.ExponentSharedPreferences;
 import host.exp.exponent.utils.AppLoaderCallbackRecord;
 import host.exp.exponent.utils.AppLoaderResults;
 import host.exp.exponent.utils.ExpoUnitTestBase;
 import host.exp.exponent.utils.MockExpoHttpClient;
 import host.exp.exponent.utils.MockManifest;
 
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
 @RunWith(RobolectricTestRunner.class)
 @Config(manifest = Config.NONE)
 public class AppLoaderTests extends ExpoUnitTestBase {
@@ -43,4 +54,81 @@ public class AppLoaderTests extends ExpoUnitTestBase {
     expectedCalls.add(new AppLoaderCallbackRecord("onBundleCompleted", new File("mockFsDirectory/27.0.0/cached-bundle-experience-%40esamelson%2Ftest-fetch-update478682697-27.0.0").getAbsolutePath()));
     AppLoaderResults.assertEquals(expectedCalls, appLoaderResults);
   }
+
+  private static final String MANIFEST_URL = "exp://exp.host/@esamelson/test-fetch-update";
+
+  // Caches a manifest with the same bundleUrl as the remote one, so that its bundle is prefetched
+  private void useCachedManifest() throws JSONException {
+    JSONObject cachedManifest = new JSONObject(new MockManifest()
+        .updatesCheckAutomatically(ExponentManifest.MANIFEST_UPDATES_CHECK_AUTOMATICALLY_ON_LOAD)
+        .toString());
+    doReturn(cachedManifest).when(mExponentSharedPreferences).getSafeManifest(Matchers.anyString());
+    doReturn(new ExponentSharedPreferences.ManifestAndBundleUrl(cachedManifest, cachedManifest.getString(ExponentManifest.MANIFEST_BUNDLE_URL_KEY)))
+        .when(mExponentSharedPreferences).getManifest(Matchers.anyString());
+  }
+
+  private List<AppLoaderCallbackRecord> expectedPrefetchCalls() {
+    List<AppLoaderCallbackRecord> expectedCalls = new ArrayList<>();
+    expectedCalls.add(new AppLoaderCallbackRecord("onOptimisticManifest", new MockManifest().isVerified(false).loadedFromCache(false).toString()));
+    expectedCalls.add(new AppLoaderCallbackRecord("onManifestCompleted", new MockManifest().isVerified(false).loadedFromCache(false).toString()));
+    expectedCalls.add(new AppLoaderCallbackRecord("onBundleCompleted", new File("mockFsDirectory/27.0.0/cached-bundle-experience-%40esamelson%2Ftest-fetch-update478682697-27.0.0").getAbsolutePath()));
+    return expectedCalls;
+  }
+
+  @Test
+  public void prefetchedBundleIsReused() throws JSONException {
+    useCachedManifest();
+    MockExpoHttpClient client = new MockExpoHttpClient()
+        .callDefaultCache(MockExpoHttpClient.ResponseType.NORMAL, "bundle")
+        .callSafe(MockExpoHttpClient.ResponseType.NORMAL, new MockManifest().toString())
+        .getHardCodedResponse(null);
+    client.use(mExponentNetwork);
+
+    AppLoaderResults appLoaderResults = new AppLoaderResults(MANIFEST_URL);
+    appLoaderResults.start();
+
+    AppLoaderResults.assertEquals(expectedPrefetchCalls(), appLoaderResults);
+    // the bundle was only requested by the prefetch
+    verify(client.getClient(), times(1)).callDefaultCache(Matchers.any(Request.class), Matchers.any(ExponentHttpClient.SafeCallback.class));
+  }
+
+  @Test
+  public void inFlightPrefetchIsAwaited() throws JSONException {
+    useCachedManifest();
+    List<ExponentHttpClient.SafeCallback> pendingBundleCallbacks = new ArrayList<>();
+    MockExpoHttpClient client = new MockExpoHttpClient()
+        .callDefaultCacheLater(pendingBundleCallbacks)
+        .callSafe(MockExpoHttpClient.ResponseType.NORMAL, new MockManifest().toString())
+        .getHardCodedResponse(null);
+    client.use(mExponentNetwork);
+
+    AppLoaderResults appLoaderResults = new AppLoaderResults(MANIFEST_URL);
+    appLoaderResults.start();
+
+    // the remote manifest arrived while the prefetch is still downloading
+    List<AppLoaderCallbackRecord> expectedCalls = expectedPrefetchCalls();
+    AppLoaderResults.assertEquals(expectedCalls.subList(0, 1), appLoaderResults);
+    Assert.assertEquals(1, pendingBundleCallbacks.size());
+
+    client.respond(pendingBundleCallbacks.get(0), MockExpoHttpClient.ResponseType.NORMAL, "bundle");
+
+    AppLoaderResults.assertEquals(expectedCalls, appLoaderResults);
+    Assert.assertEquals(1, pendingBundleCallbacks.size());
+  }
+
+  @Test
+  public void failedPrefetchFallsBackToLoadingTheBundle() throws JSONException {
+    useCachedManifest();
+    MockExpoHttpClient client = new MockExpoHttpClient()
+        .callDefaultCacheInSequence("bundle", MockExpoHttpClient.ResponseType.FAILURE, MockExpoHttpClient.ResponseType.NORMAL)
+        .callSafe(MockExpoHttpClient.ResponseType.NORMAL, new MockManifest().toString())
+        .getHardCodedResponse(null);
+    client.use(mExponentNetwork);
+
+    AppLoaderResults appLoaderResults = new AppLoaderResults(MANIFEST_URL);
+    appLoaderResults.start();
+
+    AppLoaderResults.assertEquals(expectedPrefetchCalls(), appLoaderResults);
+    verify(client.getClient(), times(2)).callDefaultCache(Matchers.any(Request.class), Matchers.any(ExponentHttpClient.SafeCallback.class));
+  }
 }
@@ -6,6 +6,7 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
+import java.util.List;
 
 import expolib_v1.okhttp3.Request;
 import expolib_v1.okhttp3.Response;
@@ -45,6 +46,10 @@ public class MockExpoHttpClient {
     }).when(exponentNetwork).getLongTimeoutClient();
   }
 
+  public ExponentHttpClient getClient() {
+    return mClient;
+  }
+
   public MockExpoHttpClient(final boolean verbose) {
     MockSettings settings = withSettings();
     if (verbose) {
@@ -103,12 +108,20 @@ public class MockExpoHttpClient {
   }
 
   public MockExpoHttpClient callDefaultCache(final ResponseType type, final String body) {
+    return callDefaultCacheInSequence(body, type);
+  }
+
+  // Answers each call with the next type, the last one is used for all the remaining calls
+  public MockExpoHttpClient callDefaultCacheInSequence(final String body, final ResponseType... types) {
     doAnswer(new Answer<Void>() {
+      private int mCallCount = 0;
+
       @Override
       public Void answer(InvocationOnMock invocation) throws Throwable {
-        ExponentHttpClient.SafeCallback safeCallback = invocation.getArgumentAt(2, ExponentHttpClient.SafeCallback.class);
+        ExponentHttpClient.SafeCallback safeCallback = invocation.getArgumentAt(1, ExponentHttpClient.SafeCallback.class);
 
-        handleSafeCallback(safeCallback, type, body);
+        handleSafeCallback(safeCallback, types[Math.min(mCallCount, types.length - 1)], body);
+        mCallCount++;
 
         return null;
       }
@@ -117,6 +130,24 @@ public class MockExpoHttpClient {
     return this;
   }
 
+  // Keeps the callbacks so that the test can answer them later with respond
+  public MockExpoHttpClient callDefaultCacheLater(final List<ExponentHttpClient.SafeCallback> pendingCallbacks) {
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        pendingCallbacks.add(invocation.getArgumentAt(1, ExponentHttpClient.SafeCallback.class));
+
+        return null;
+      }
+    }).when(mClient).callDefaultCache(Matchers.any(Request.class), Matchers.any(ExponentHttpClient.SafeCallback.class));
+
+    return this;
+  }
+
+  public void respond(final ExponentHttpClient.SafeCallback safeCallback, final ResponseType type, final String body) {
+    handleSafeCallback(safeCallback, type, body);
+  }
+
   public MockExpoHttpClient callSafe(final ResponseType type, final String body) {
     doAnswer(new Answer<Void>() {
       @Override
@@ -38,6 +38,14 @@ public abstract class AppLoader {
   private final boolean mUseCacheOnly;
   private Runnable mRunnable;
 
+  // Speculative download of the cached manifest's bundle, started while the remote manifest is
+  // still being fetched and verified. Guarded by mPrefetchLock.
+  private final Object mPrefetchLock = new Object();
+  private String mPrefetchBundleUrl;
+  private String mPrefetchLocalBundlePath;
+  private Exception mPrefetchError;
+  private Exponent.BundleListener mPrefetchBundleListener;
+
   private static final int DEFAULT_TIMEOUT_LENGTH = 30000;
   private static final int DEFAULT_TIMEOUT_LENGTH_BEFORE_SDK26 = 0;
 
@@ -142,6 +150,7 @@ public abstract class AppLoader {
         }
 
         if (shouldCheckForUpdate) {
+          startBundlePrefetch(mCachedManifest);
           startTimerAndFetchRemoteManifest(fallbackToCacheTimeout);
         } else {
           resolve();
@@ -296,7 +305,7 @@ public abstract class AppLoader {
 
         final JSONObject finalManifest = mManifest;
 
-        Exponent.getInstance().loadJSBundle(mManifest, bundleUrl, Exponent.getInstance().encodeExperienceId(id), sdkVersion, new Exponent.BundleListener() {
+        Exponent.BundleListener bundleListener = new Exponent.BundleListener() {
           @Override
           public void onError(Exception e) {
             // if we fail to get a cached bundle, try to download it over the network as a last resort before failing
@@ -343,9 +352,16 @@ public abstract class AppLoader {
             }
             resolve();
           }
-          // forceNetwork fetch the bundle depending on whether or not the bundleUrl has changed
-          // since the last version we have cached
-        }, wasUpdated, forceCache);
+        };
+
+        // if the bundle was already requested speculatively from the cached manifest, reuse that download
+        if (!wasUpdated && attachToBundlePrefetch(bundleUrl, bundleListener)) {
+          return;
+        }
+
+        // forceNetwork fetch the bundle depending on whether or not the bundleUrl has changed
+        // since the last version we have cached
+        Exponent.getInstance().loadJSBundle(mManifest, bundleUrl, Exponent.getInstance().encodeExperienceId(id), sdkVersion, bundleListener, wasUpdated, forceCache);
 
       } catch (JSONException e) {
         EXL.e(TAG, e);
@@ -360,4 +376,86 @@ public abstract class AppLoader {
       resolve(e);
     }
   }
+
+  private void startBundlePrefetch(final JSONObject manifest) {
+    if (ExponentManifest.isDebugModeEnabled(manifest)) {
+      return;
+    }
+
+    String bundleUrl = manifest.optString(ExponentManifest.MANIFEST_BUNDLE_URL_KEY, null);
+    String id = manifest.optString(ExponentManifest.MANIFEST_ID_KEY, null);
+    String sdkVersion = manifest.optString(ExponentManifest.MANIFEST_SDK_VERSION_KEY, null);
+    if (bundleUrl == null || id == null || sdkVersion == null) {
+      return;
+    }
+
+    synchronized (mPrefetchLock) {
+      mPrefetchBundleUrl = bundleUrl;
+    }
+
+    try {
+      Exponent.getInstance().loadJSBundle(manifest, bundleUrl, Exponent.getInstance().encodeExperienceId(id), sdkVersion, new Exponent.BundleListener() {
+        @Override
+        public void onBundleLoaded(String localBundlePath) {
+          Exponent.BundleListener listener;
+          synchronized (mPrefetchLock) {
+            mPrefetchLocalBundlePath = localBundlePath;
+            listener = mPrefetchBundleListener;
+            mPrefetchBundleListener = null;
+          }
+          if (listener != null) {
+            listener.onBundleLoaded(localBundlePath);
+          }
+        }
+
+        @Override
+        public void onError(Exception e) {
+          Exponent.BundleListener listener;
+          synchronized (mPrefetchLock) {
+            mPrefetchError = e;
+            listener = mPrefetchBundleListener;
+            mPrefetchBundleListener = null;
+          }
+          if (listener != null) {
+            listener.onError(e);
+          }
+        }
+      }, false, false, true);
+    } catch (Exception e) {
+      EXL.e(TAG, "Couldn't prefetch bundle: " + e.toString());
+      synchronized (mPrefetchLock) {
+        mPrefetchBundleUrl = null;
+      }
+    }
+  }
+
+  // Returns true if the prefetched bundle matches bundleUrl and will be delivered to listener.
+  // A prefetch is only ever handed out once; if the url doesn't match its result is dropped.
+  private boolean attachToBundlePrefetch(final String bundleUrl, final Exponent.BundleListener listener) {
+    String localBundlePath;
+    synchronized (mPrefetchLock) {
+      boolean isMatch = bundleUrl.equals(mPrefetchBundleUrl) && mPrefetchError == null;
+      mPrefetchBundleUrl = null;
+      if (!isMatch) {
+        return false;
+      }
+
+      if (mPrefetchLocalBundlePath == null) {
+        // still downloading, the prefetch listener will forward the result
+        mPrefetchBundleListener = listener;
+        return true;
+      }
+      localBundlePath = mPrefetchLocalBundlePath;
+    }
+
+    // deliver on the handler like loadJSBundle does, so this doesn't race with the timeout runnable
+    final String finalLocalBundlePath = localBundlePath;
+    mExpoHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        listener.onBundleLoaded(finalLocalBundlePath);
+      }
+    });
+    return true;
+  }
 }
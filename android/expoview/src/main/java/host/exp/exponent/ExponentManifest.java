@@ -125,6 +125,12 @@ public class ExponentManifest {
   public static final String MANIFEST_UPDATES_CHECK_AUTOMATICALLY_ON_LOAD = "ON_LOAD";
   public static final String MANIFEST_UPDATES_CHECK_AUTOMATICALLY_ON_ERROR = "ON_ERROR_RECOVERY";
 
+  // AsyncStorage
+  public static final String MANIFEST_ASYNC_STORAGE_INFO_KEY = "asyncStorage";
+  public static final String MANIFEST_ASYNC_STORAGE_WRITE_BACK_CACHE_KEY = "writeBackCache";
+  public static final String MANIFEST_ASYNC_STORAGE_CACHE_SIZE_KEY = "cacheSize";
+  public static final String MANIFEST_ASYNC_STORAGE_FLUSH_INTERVAL_KEY = "flushInterval";
+
   public static final String DEEP_LINK_SEPARATOR = "--";
   public static final String DEEP_LINK_SEPARATOR_WITH_SLASH = "--/";
   public static final String QUERY_PARAM_KEY_RELEASE_CHANNEL = "release-channel";
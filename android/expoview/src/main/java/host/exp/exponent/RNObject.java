@@ -8,6 +8,10 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import host.exp.exponent.analytics.EXL;
 
@@ -18,6 +22,70 @@ public class RNObject {
 
   public static final String UNVERSIONED = "UNVERSIONED";
 
+  // Reflection lookups are shared by every RNObject. Failed lookups are stored as NOT_FOUND so that
+  // we don't rescan the class (or throw ClassNotFoundException again) for them either.
+  private static final Object NOT_FOUND = new Object();
+  private static final Map<String, Object> sClassCache = new ConcurrentHashMap<>();
+  private static final Map<MemberKey, Object> sMemberCache = new ConcurrentHashMap<>();
+  private static final AtomicLong sCacheResolutionCount = new AtomicLong();
+  private static final AtomicLong sCacheHitCount = new AtomicLong();
+
+  private static final int MEMBER_TYPE_METHOD = 0;
+  private static final int MEMBER_TYPE_CONSTRUCTOR = 1;
+  private static final int MEMBER_TYPE_FIELD = 2;
+
+  private static class MemberKey {
+    private final int mMemberType;
+    private final Class mClazz;
+    private final String mName;
+    private final Class[] mTypes;
+    private final int mHashCode;
+
+    MemberKey(int memberType, Class clazz, String name, Class[] types) {
+      mMemberType = memberType;
+      mClazz = clazz;
+      mName = name;
+      mTypes = types;
+
+      int hashCode = memberType;
+      hashCode = 31 * hashCode + clazz.hashCode();
+      hashCode = 31 * hashCode + (name == null ? 0 : name.hashCode());
+      hashCode = 31 * hashCode + Arrays.hashCode(types);
+      mHashCode = hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MemberKey)) {
+        return false;
+      }
+
+      MemberKey other = (MemberKey) o;
+      return mMemberType == other.mMemberType &&
+          mClazz.equals(other.mClazz) &&
+          (mName == null ? other.mName == null : mName.equals(other.mName)) &&
+          Arrays.equals(mTypes, other.mTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return mHashCode;
+    }
+  }
+
+  // Number of reflective lookups that had to scan a class
+  public static long getCacheResolutionCount() {
+    return sCacheResolutionCount.get();
+  }
+
+  // Number of reflective lookups served from the cache
+  public static long getCacheHitCount() {
+    return sCacheHitCount.get();
+  }
+
   private final String mClassName; // Unversioned
   private Class mClazz; // Versioned
   private Object mInstance; // Versioned
@@ -49,23 +117,48 @@ public class RNObject {
   }
 
   public RNObject loadVersion(String version) {
-    try {
-      if (version.equals(UNVERSIONED)) {
-        if (mClassName.startsWith("host.exp.exponent")) {
-          mClazz = Class.forName("versioned." + mClassName);
-        } else {
-          mClazz = Class.forName(mClassName);
-        }
+    String versionedClassName;
+    if (version.equals(UNVERSIONED)) {
+      if (mClassName.startsWith("host.exp.exponent")) {
+        versionedClassName = "versioned." + mClassName;
       } else {
-        mClazz = Class.forName("abi" + version.replace('.', '_') + '.' + mClassName);
+        versionedClassName = mClassName;
       }
-    } catch (ClassNotFoundException e) {
-      EXL.e(TAG, e);
+    } else {
+      versionedClassName = "abi" + version.replace('.', '_') + '.' + mClassName;
+    }
+
+    Class clazz = loadClass(versionedClassName);
+    if (clazz != null) {
+      mClazz = clazz;
     }
 
     return this;
   }
 
+  private static Class loadClass(String versionedClassName) {
+    Object cached = sClassCache.get(versionedClassName);
+    if (cached != null) {
+      sCacheHitCount.incrementAndGet();
+      if (cached == NOT_FOUND) {
+        EXL.e(TAG, "Class not found: " + versionedClassName);
+        return null;
+      }
+      return (Class) cached;
+    }
+
+    sCacheResolutionCount.incrementAndGet();
+    try {
+      Class clazz = Class.forName(versionedClassName);
+      sClassCache.put(versionedClassName, clazz);
+      return clazz;
+    } catch (ClassNotFoundException e) {
+      EXL.e(TAG, e);
+      sClassCache.put(versionedClassName, NOT_FOUND);
+      return null;
+    }
+  }
+
   public void assign(Object object) {
     if (object != null) {
       mClazz = object.getClass();
@@ -196,8 +289,30 @@ public class RNObject {
     }
   }
 
-  // Allow types that are too specific so that we don't have to specify exact classes
   private Method getMethodWithTypes(Class clazz, String name, Class... types) throws NoSuchMethodException {
+    MemberKey key = new MemberKey(MEMBER_TYPE_METHOD, clazz, name, types);
+    Object cached = sMemberCache.get(key);
+    if (cached != null) {
+      sCacheHitCount.incrementAndGet();
+      if (cached == NOT_FOUND) {
+        throw new NoSuchMethodException();
+      }
+      return (Method) cached;
+    }
+
+    sCacheResolutionCount.incrementAndGet();
+    try {
+      Method method = findMethodWithTypes(clazz, name, types);
+      sMemberCache.put(key, method);
+      return method;
+    } catch (NoSuchMethodException e) {
+      sMemberCache.put(key, NOT_FOUND);
+      throw e;
+    }
+  }
+
+  // Allow types that are too specific so that we don't have to specify exact classes
+  private Method findMethodWithTypes(Class clazz, String name, Class... types) throws NoSuchMethodException {
     Method[] methods = clazz.getMethods();
     for (int i = 0; i < methods.length; i++) {
       Method method = methods[i];
@@ -229,6 +344,28 @@ public class RNObject {
   }
 
   private Field getFieldWithType(Class clazz, String name, Class type) throws NoSuchFieldException {
+    MemberKey key = new MemberKey(MEMBER_TYPE_FIELD, clazz, name, new Class[] { type });
+    Object cached = sMemberCache.get(key);
+    if (cached != null) {
+      sCacheHitCount.incrementAndGet();
+      if (cached == NOT_FOUND) {
+        throw new NoSuchFieldException();
+      }
+      return (Field) cached;
+    }
+
+    sCacheResolutionCount.incrementAndGet();
+    try {
+      Field field = findFieldWithType(clazz, name, type);
+      sMemberCache.put(key, field);
+      return field;
+    } catch (NoSuchFieldException e) {
+      sMemberCache.put(key, NOT_FOUND);
+      throw e;
+    }
+  }
+
+  private Field findFieldWithType(Class clazz, String name, Class type) throws NoSuchFieldException {
     Field[] fields = clazz.getFields();
     for (int i = 0; i < fields.length; i++) {
       Field field = fields[i];
@@ -246,8 +383,30 @@ public class RNObject {
     throw new NoSuchFieldException();
   }
 
-  // Allow types that are too specific so that we don't have to specify exact classes
   private Constructor getConstructorWithTypes(Class clazz, Class... types) throws NoSuchMethodException {
+    MemberKey key = new MemberKey(MEMBER_TYPE_CONSTRUCTOR, clazz, null, types);
+    Object cached = sMemberCache.get(key);
+    if (cached != null) {
+      sCacheHitCount.incrementAndGet();
+      if (cached == NOT_FOUND) {
+        throw new NoSuchMethodError();
+      }
+      return (Constructor) cached;
+    }
+
+    sCacheResolutionCount.incrementAndGet();
+    try {
+      Constructor constructor = findConstructorWithTypes(clazz, types);
+      sMemberCache.put(key, constructor);
+      return constructor;
+    } catch (NoSuchMethodError e) {
+      sMemberCache.put(key, NOT_FOUND);
+      throw e;
+    }
+  }
+
+  // Allow types that are too specific so that we don't have to specify exact classes
+  private Constructor findConstructorWithTypes(Class clazz, Class... types) throws NoSuchMethodException {
     Constructor[] constructors = clazz.getConstructors();
     for (int i = 0; i < constructors.length; i++) {
       Constructor constructor = constructors[i];
@@ -12,6 +12,7 @@ import org.json.JSONObject;
 
 import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 import host.exp.exponent.Constants;
@@ -48,6 +49,8 @@ public class Analytics {
     FINISHED_FETCHING_MANIFEST,
     STARTED_FETCHING_BUNDLE,
     FINISHED_FETCHING_BUNDLE,
+    STARTED_PREFETCHING_BUNDLE,
+    FINISHED_PREFETCHING_BUNDLE,
     STARTED_WRITING_BUNDLE,
     FINISHED_WRITING_BUNDLE,
     STARTED_LOADING_REACT_NATIVE,
@@ -129,6 +132,10 @@ public class Analytics {
   }
 
   public static void sendTimedEvents(String manifestUrl) {
+    sendTimedEvents(manifestUrl, null);
+  }
+
+  public static void sendTimedEvents(String manifestUrl, JSONObject extraProperties) {
     if (manifestUrl == null) {
       return;
     }
@@ -146,11 +153,21 @@ public class Analytics {
       addDuration(eventProperties, "MANIFEST_TOTAL_DURATION", TimedEvent.FINISHED_FETCHING_MANIFEST, TimedEvent.STARTED_FETCHING_MANIFEST);
       addDuration(eventProperties, "MANIFEST_NETWORK_DURATION", TimedEvent.FINISHED_MANIFEST_NETWORK_REQUEST, TimedEvent.STARTED_MANIFEST_NETWORK_REQUEST);
       addDuration(eventProperties, "BUNDLE_FETCH_DURATION", TimedEvent.FINISHED_FETCHING_BUNDLE, TimedEvent.STARTED_FETCHING_BUNDLE);
+      addDuration(eventProperties, "BUNDLE_PREFETCH_DURATION", TimedEvent.FINISHED_PREFETCHING_BUNDLE, TimedEvent.STARTED_PREFETCHING_BUNDLE);
+      addDuration(eventProperties, "BUNDLE_PREFETCH_LEAD_DURATION", TimedEvent.FINISHED_MANIFEST_NETWORK_REQUEST, TimedEvent.STARTED_PREFETCHING_BUNDLE);
       addDuration(eventProperties, "BUNDLE_WRITE_DURATION", TimedEvent.FINISHED_WRITING_BUNDLE, TimedEvent.STARTED_WRITING_BUNDLE);
       addDuration(eventProperties, "REACT_NATIVE_DURATION", TimedEvent.FINISHED_LOADING_REACT_NATIVE, TimedEvent.STARTED_LOADING_REACT_NATIVE);
 
       eventProperties.put("MANIFEST_URL", manifestUrl);
 
+      if (extraProperties != null) {
+        Iterator<String> keys = extraProperties.keys();
+        while (keys.hasNext()) {
+          String key = keys.next();
+          eventProperties.put(key, extraProperties.get(key));
+        }
+      }
+
       boolean isShell = manifestUrl.equals(Constants.INITIAL_URL);
       logEvent(isShell ? "SHELL_EXPERIENCE_LOADED" : "EXPERIENCE_LOADED", eventProperties);
     } catch (Exception e) {
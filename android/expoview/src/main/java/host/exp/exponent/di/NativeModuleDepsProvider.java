@@ -58,7 +58,7 @@ public class NativeModuleDepsProvider {
     mExponentSharedPreferences = new ExponentSharedPreferences(mContext);
     mExponentNetwork = new ExponentNetwork(mContext, mExponentSharedPreferences);
     mKernelServiceRegistry = new ExpoKernelServiceRegistry(mContext, mExponentSharedPreferences);
-    mCrypto = new Crypto(mExponentNetwork);
+    mCrypto = new Crypto(mExponentNetwork, mExponentSharedPreferences);
     mExponentManifest = new ExponentManifest(mContext, mExponentNetwork, mCrypto, mExponentSharedPreferences);
 
     for (Field field : NativeModuleDepsProvider.class.getDeclaredFields()) {
@@ -56,6 +56,7 @@ import host.exp.exponent.kernel.ExponentUrls;
 import host.exp.exponent.kernel.Kernel;
 import host.exp.exponent.kernel.KernelConstants;
 import host.exp.exponent.kernel.KernelProvider;
+import host.exp.exponent.network.ExponentNetwork;
 import host.exp.exponent.notifications.ExponentNotification;
 import host.exp.exponent.notifications.ExponentNotificationManager;
 import host.exp.exponent.notifications.NotificationConstants;
@@ -117,6 +118,9 @@ public class ExperienceActivity extends BaseExperienceActivity implements Expone
   @Inject
   ExponentManifest mExponentManifest;
 
+  @Inject
+  ExponentNetwork mExponentNetwork;
+
   private DevBundleDownloadProgressListener mDevBundleDownloadProgressListener = new DevBundleDownloadProgressListener() {
     @Override
     public void onProgress(final @Nullable String status, final @Nullable Integer done, final @Nullable Integer total) {
@@ -336,7 +340,14 @@ public class ExperienceActivity extends BaseExperienceActivity implements Expone
   @Override
   protected void onDoneLoading() {
     Analytics.markEvent(Analytics.TimedEvent.FINISHED_LOADING_REACT_NATIVE);
-    Analytics.sendTimedEvents(mManifestUrl);
+    JSONObject loadStats = mExponentNetwork.getNetworkStats();
+    try {
+      loadStats.put("REFLECTION_CACHE_RESOLUTION_COUNT", RNObject.getCacheResolutionCount());
+      loadStats.put("REFLECTION_CACHE_HIT_COUNT", RNObject.getCacheHitCount());
+    } catch (JSONException e) {
+      EXL.e(TAG, e);
+    }
+    Analytics.sendTimedEvents(mManifestUrl, loadStats);
   }
 
   /*
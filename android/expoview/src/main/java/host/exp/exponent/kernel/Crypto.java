@@ -2,9 +2,12 @@
 
 package host.exp.exponent.kernel;
 
+import org.json.JSONException;
+import org.json.JSONObject;
 import org.spongycastle.util.encoders.Base64;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.security.InvalidKeyException;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
@@ -13,39 +16,80 @@ import java.security.Signature;
 import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.crypto.BadPaddingException;
-import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import host.exp.exponent.analytics.EXL;
 import host.exp.exponent.network.ExpoHttpCallback;
 import host.exp.exponent.network.ExpoResponse;
 import host.exp.exponent.network.ExponentNetwork;
+import host.exp.exponent.storage.ExponentSharedPreferences;
 import host.exp.expoview.Exponent;
 import expolib_v1.okhttp3.CacheControl;
-import expolib_v1.okhttp3.Call;
-import expolib_v1.okhttp3.Callback;
 import expolib_v1.okhttp3.Request;
-import expolib_v1.okhttp3.Response;
 
 @Singleton
 public class Crypto {
 
+  private static final String TAG = Crypto.class.getSimpleName();
+
+  private static final String PUBLIC_KEY_CACHE_PREFIX = "public_key_cache_";
+  private static final String PUBLIC_KEY_CACHE_ETAG_KEY = "etag";
+  private static final String PUBLIC_KEY_CACHE_ENCODED_KEY = "encodedKey";
+  private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
   public interface RSASignatureListener {
     void onError(String errorMessage, boolean isNetworkError);
     void onCompleted(boolean isValid);
   }
 
+  private static class CachedPublicKey {
+    final PublicKey key;
+    final String etag;
+
+    CachedPublicKey(PublicKey key, String etag) {
+      this.key = key;
+      this.etag = etag;
+    }
+  }
+
+  // Signature objects aren't thread safe but are expensive to look up through the provider,
+  // so keep one per thread and re-init it for every verification.
+  private static final ThreadLocal<Signature> sSignature = new ThreadLocal<>();
+
   ExponentNetwork mExponentNetwork;
+  ExponentSharedPreferences mExponentSharedPreferences;
+
+  // Keys that have verified at least one signature, keyed by public key url.
+  private final Map<String, CachedPublicKey> mPublicKeyCache = new ConcurrentHashMap<>();
 
   @Inject
-  public Crypto(ExponentNetwork exponentNetwork) {
+  public Crypto(ExponentNetwork exponentNetwork, ExponentSharedPreferences exponentSharedPreferences) {
     mExponentNetwork = exponentNetwork;
+    mExponentSharedPreferences = exponentSharedPreferences;
   }
 
   public void verifyPublicRSASignature(final String publicKeyUrl, final String plainText, final String cipherText, final RSASignatureListener listener) {
+    CachedPublicKey cachedPublicKey = getCachedPublicKey(publicKeyUrl);
+    if (cachedPublicKey != null) {
+      try {
+        if (verifyPublicRSASignature(cachedPublicKey.key, plainText, cipherText)) {
+          listener.onCompleted(true);
+          return;
+        }
+      } catch (Exception e) {
+        EXL.e(TAG, e);
+      }
+
+      // The key may have been rotated, skip straight to the network attempt.
+      fetchPublicKeyAndVerifyPublicRSASignature(false, publicKeyUrl, plainText, cipherText, listener);
+      return;
+    }
+
     fetchPublicKeyAndVerifyPublicRSASignature(true, publicKeyUrl, plainText, cipherText, listener);
   }
 
@@ -71,21 +115,29 @@ public class Crypto {
         String errorMessage;
 
         try {
-          boolean isValid = verifyPublicRSASignature(response.body().string(), plainText, cipherText);
+          String etag = response.headers().get("ETag");
+          CachedPublicKey cachedPublicKey = mPublicKeyCache.get(publicKeyUrl);
+          PublicKey key;
+          if (etag != null && cachedPublicKey != null && etag.equals(cachedPublicKey.etag)) {
+            // Same key as we already have parsed, don't bother decoding it again.
+            ExponentNetwork.flushResponse(response);
+            key = cachedPublicKey.key;
+          } else {
+            key = parsePublicKey(response.body().string());
+          }
+
+          boolean isValid = verifyPublicRSASignature(key, plainText, cipherText);
+          if (isValid) {
+            putCachedPublicKey(publicKeyUrl, new CachedPublicKey(key, etag));
+          }
           listener.onCompleted(isValid);
           return;
-        } catch (NoSuchPaddingException e) {
-          errorMessage = "Error with RSA key.";
         } catch (NoSuchAlgorithmException e) {
           errorMessage = "Error with RSA key.";
         } catch (InvalidKeySpecException e) {
           errorMessage = "Error verifying.";
         } catch (InvalidKeyException e) {
           errorMessage = "Error verifying.";
-        } catch (BadPaddingException e) {
-          errorMessage = "Error verifying.";
-        } catch (IllegalBlockSizeException e) {
-          errorMessage = "Error verifying.";
         } catch (Exception e) {
           errorMessage = "Error verifying.";
         }
@@ -99,23 +151,79 @@ public class Crypto {
     });
   }
 
-  private boolean verifyPublicRSASignature(String publicKey, String plainText, String cipherText) throws NoSuchPaddingException,
-      NoSuchAlgorithmException, InvalidKeySpecException, InvalidKeyException, BadPaddingException, IllegalBlockSizeException, SignatureException {
+  private CachedPublicKey getCachedPublicKey(final String publicKeyUrl) {
+    CachedPublicKey cachedPublicKey = mPublicKeyCache.get(publicKeyUrl);
+    if (cachedPublicKey != null) {
+      return cachedPublicKey;
+    }
+
+    String jsonString = mExponentSharedPreferences.getString(PUBLIC_KEY_CACHE_PREFIX + publicKeyUrl);
+    if (jsonString == null) {
+      return null;
+    }
+
+    try {
+      JSONObject json = new JSONObject(jsonString);
+      PublicKey key = decodePublicKey(Base64.decode(json.getString(PUBLIC_KEY_CACHE_ENCODED_KEY)));
+      cachedPublicKey = new CachedPublicKey(key, json.optString(PUBLIC_KEY_CACHE_ETAG_KEY, null));
+      mPublicKeyCache.put(publicKeyUrl, cachedPublicKey);
+      return cachedPublicKey;
+    } catch (Exception e) {
+      EXL.e(TAG, e);
+      mExponentSharedPreferences.delete(PUBLIC_KEY_CACHE_PREFIX + publicKeyUrl);
+      return null;
+    }
+  }
+
+  private void putCachedPublicKey(final String publicKeyUrl, final CachedPublicKey cachedPublicKey) {
+    if (mPublicKeyCache.get(publicKeyUrl) == cachedPublicKey) {
+      return;
+    }
+    mPublicKeyCache.put(publicKeyUrl, cachedPublicKey);
+
+    try {
+      JSONObject json = new JSONObject();
+      json.put(PUBLIC_KEY_CACHE_ENCODED_KEY, new String(Base64.encode(cachedPublicKey.key.getEncoded()), UTF_8));
+      if (cachedPublicKey.etag != null) {
+        json.put(PUBLIC_KEY_CACHE_ETAG_KEY, cachedPublicKey.etag);
+      }
+      mExponentSharedPreferences.setString(PUBLIC_KEY_CACHE_PREFIX + publicKeyUrl, json.toString());
+    } catch (JSONException e) {
+      EXL.e(TAG, e);
+    }
+  }
+
+  private static PublicKey parsePublicKey(String publicKey) throws NoSuchAlgorithmException, InvalidKeySpecException {
     // remove comments
     String publicKeySplit[] = publicKey.split("\\r?\\n");
-    String publicKeyNoComments = "";
+    StringBuilder publicKeyNoComments = new StringBuilder(publicKey.length());
     for (String line : publicKeySplit) {
       if (!line.contains("PUBLIC KEY-----")) {
-        publicKeyNoComments += line + "\n";
+        publicKeyNoComments.append(line).append('\n');
       }
     }
 
-    Signature signature = Signature.getInstance("SHA256withRSA", Exponent.getBouncyCastleProvider());
-    byte[] decodedPublicKey = Base64.decode(publicKeyNoComments);
+    return decodePublicKey(Base64.decode(publicKeyNoComments.toString()));
+  }
+
+  private static PublicKey decodePublicKey(byte[] decodedPublicKey) throws NoSuchAlgorithmException, InvalidKeySpecException {
     X509EncodedKeySpec publicKeySpec = new X509EncodedKeySpec(decodedPublicKey);
     KeyFactory keyFactory = KeyFactory.getInstance(publicKeySpec.getFormat());
-    PublicKey key = keyFactory.generatePublic(publicKeySpec);
+    return keyFactory.generatePublic(publicKeySpec);
+  }
+
+  private static Signature getSignature() throws NoSuchAlgorithmException {
+    Signature signature = sSignature.get();
+    if (signature == null) {
+      signature = Signature.getInstance(SIGNATURE_ALGORITHM, Exponent.getBouncyCastleProvider());
+      sSignature.set(signature);
+    }
+    return signature;
+  }
 
+  private static boolean verifyPublicRSASignature(PublicKey key, String plainText, String cipherText) throws NoSuchAlgorithmException,
+      InvalidKeyException, SignatureException {
+    Signature signature = getSignature();
     signature.initVerify(key);
     signature.update(plainText.getBytes());
     return signature.verify(Base64.decode(cipherText));
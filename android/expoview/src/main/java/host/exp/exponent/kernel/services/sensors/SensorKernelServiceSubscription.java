@@ -7,6 +7,9 @@ import host.exp.exponent.kernel.ExperienceId;
 public class SensorKernelServiceSubscription {
   private boolean mIsEnabled = false;
   private Long mUpdateInterval = null;
+  private Long mMaxReportLatency = null;
+  // Sensor timestamp in nanoseconds of the last sample delivered to the listener
+  private long mLastDeliveryTimestamp = 0;
   private final ExperienceId mExperienceId;
   private boolean mHasBeenReleased = false;
   private final SubscribableSensorKernelService mSubscribableSensorKernelService;
@@ -45,6 +48,29 @@ public class SensorKernelServiceSubscription {
   public void setUpdateInterval(long updateInterval) {
     assertSubscriptionIsAlive();
     mUpdateInterval = updateInterval;
+    mSubscribableSensorKernelService.onSubscriptionRateChanged(this);
+  }
+
+  public Long getMaxReportLatency() {
+    return mMaxReportLatency;
+  }
+
+  /**
+   * Lets the sensor hub hold samples for up to {@code maxReportLatency} milliseconds and deliver
+   * them in a burst. The samples keep their original timestamps.
+   */
+  public void setMaxReportLatency(long maxReportLatency) {
+    assertSubscriptionIsAlive();
+    mMaxReportLatency = maxReportLatency;
+    mSubscribableSensorKernelService.onSubscriptionRateChanged(this);
+  }
+
+  long getLastDeliveryTimestamp() {
+    return mLastDeliveryTimestamp;
+  }
+
+  void setLastDeliveryTimestamp(long lastDeliveryTimestamp) {
+    mLastDeliveryTimestamp = lastDeliveryTimestamp;
   }
 
   public void stop() {
@@ -10,7 +10,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
 
 import host.exp.exponent.kernel.ExperienceId;
 
@@ -18,7 +17,6 @@ public abstract class SubscribableSensorKernelService extends BaseSensorKernelSe
   protected static int DEFAULT_UPDATE_INTERVAL = 100;
 
   private Map<ExperienceId, Integer> mExperienceIdListenersCountMap = new HashMap<>();
-  private Map<SensorKernelServiceSubscription, Long> mSensorEventListenerLastUpdateMap = new WeakHashMap<>();
   private Map<ExperienceId, List<WeakReference<SensorKernelServiceSubscription>>> mExperienceIdSubscriptionsMap = new HashMap<>();
 
   SubscribableSensorKernelService(Context reactContext) {
@@ -39,28 +37,23 @@ public abstract class SubscribableSensorKernelService extends BaseSensorKernelSe
 
   @Override
   public void onSensorDataChanged(SensorEvent sensorEvent) {
-    long currentTime = System.currentTimeMillis();
     ExperienceId currentExperienceId = getCurrentExperienceId();
     List<WeakReference<SensorKernelServiceSubscription>> listeners = mExperienceIdSubscriptionsMap.get(currentExperienceId);
 
     if (listeners != null) {
-      for(WeakReference<SensorKernelServiceSubscription> weakReference : listeners) {
+      // Samples of a registration jitter around its period, so accept one that is up to half
+      // a period early rather than dropping every other sample.
+      long toleranceNanos = Math.max(getSamplingPeriodUs(), 0) * 1000L / 2;
+
+      for (WeakReference<SensorKernelServiceSubscription> weakReference : listeners) {
         final SensorKernelServiceSubscription sensorKernelServiceSubscription = weakReference.get();
         if (sensorKernelServiceSubscription != null && sensorKernelServiceSubscription.isEnabled()) {
-          long lastUpdate = 0;
-          if (mSensorEventListenerLastUpdateMap.containsKey(sensorKernelServiceSubscription)) {
-            lastUpdate = mSensorEventListenerLastUpdateMap.get(sensorKernelServiceSubscription);
-          }
-
-          long updateInterval = DEFAULT_UPDATE_INTERVAL;
-          if (sensorKernelServiceSubscription.getUpdateInterval() != null) {
-            updateInterval = sensorKernelServiceSubscription.getUpdateInterval();
-          }
-
+          long elapsedNanos = sensorEvent.timestamp - sensorKernelServiceSubscription.getLastDeliveryTimestamp();
+          long updateIntervalNanos = getUpdateInterval(sensorKernelServiceSubscription) * 1000000L;
 
-          if ((currentTime - lastUpdate) > updateInterval) {
+          if (elapsedNanos < 0 || elapsedNanos + toleranceNanos >= updateIntervalNanos) {
             sensorKernelServiceSubscription.getSensorEventListener().onSensorDataChanged(sensorEvent);
-            mSensorEventListenerLastUpdateMap.put(sensorKernelServiceSubscription, currentTime);
+            sensorKernelServiceSubscription.setLastDeliveryTimestamp(sensorEvent.timestamp);
           }
         }
       }
@@ -79,7 +72,6 @@ public abstract class SubscribableSensorKernelService extends BaseSensorKernelSe
   }
 
   public void removeSubscription(SensorKernelServiceSubscription subscriptionToRemove) {
-    mSensorEventListenerLastUpdateMap.remove(subscriptionToRemove);
     ExperienceId experienceId = subscriptionToRemove.getExperienceId();
     if (mExperienceIdSubscriptionsMap.containsKey(experienceId)) {
       List<WeakReference<SensorKernelServiceSubscription>> originalSubscriptions = mExperienceIdSubscriptionsMap.get(experienceId);
@@ -117,6 +109,13 @@ public abstract class SubscribableSensorKernelService extends BaseSensorKernelSe
     updateObserving();
   }
 
+  void onSubscriptionRateChanged(SensorKernelServiceSubscription sensorKernelServiceSubscription) {
+    ExperienceId experienceId = sensorKernelServiceSubscription.getExperienceId();
+    if (sensorKernelServiceSubscription.isEnabled() && experienceId.equals(getCurrentExperienceId())) {
+      updateObserving();
+    }
+  }
+
   // android.hardware.SensorEventListener
 
   @Override
@@ -160,9 +159,46 @@ public abstract class SubscribableSensorKernelService extends BaseSensorKernelSe
 
     // Start/stop observing according to the experience state
     if (getEnabledListenersForExperienceId(currentExperienceId) > 0) {
-      super.startObserving();
+      startObservingAtNegotiatedRate(currentExperienceId);
     } else {
       super.stopObserving();
     }
   }
+
+  /**
+   * Registers at the shortest update interval any enabled subscription asked for. Samples are
+   * only batched in the sensor hub if every subscription allows it, and then for no longer than
+   * the most impatient of them.
+   */
+  private void startObservingAtNegotiatedRate(ExperienceId experienceId) {
+    long updateInterval = Long.MAX_VALUE;
+    long maxReportLatency = Long.MAX_VALUE;
+
+    List<WeakReference<SensorKernelServiceSubscription>> listeners = mExperienceIdSubscriptionsMap.get(experienceId);
+    if (listeners != null) {
+      for (WeakReference<SensorKernelServiceSubscription> weakReference : listeners) {
+        SensorKernelServiceSubscription subscription = weakReference.get();
+        if (subscription != null && subscription.isEnabled()) {
+          updateInterval = Math.min(updateInterval, getUpdateInterval(subscription));
+          Long subscriptionMaxReportLatency = subscription.getMaxReportLatency();
+          maxReportLatency = Math.min(maxReportLatency, subscriptionMaxReportLatency != null ? subscriptionMaxReportLatency : 0);
+        }
+      }
+    }
+
+    if (updateInterval == Long.MAX_VALUE) {
+      updateInterval = DEFAULT_UPDATE_INTERVAL;
+      maxReportLatency = 0;
+    }
+    super.startObserving(millisToMicros(updateInterval), millisToMicros(maxReportLatency));
+  }
+
+  private long getUpdateInterval(SensorKernelServiceSubscription subscription) {
+    Long updateInterval = subscription.getUpdateInterval();
+    return updateInterval != null ? Math.max(updateInterval, 0) : DEFAULT_UPDATE_INTERVAL;
+  }
+
+  private static int millisToMicros(long millis) {
+    return (int) Math.min(Math.max(millis, 0) * 1000, Integer.MAX_VALUE);
+  }
 }
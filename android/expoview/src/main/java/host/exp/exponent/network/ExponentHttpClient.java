@@ -53,7 +53,7 @@ public class ExponentHttpClient {
   }
 
   public void call(final Request request, final ExpoHttpCallback callback) {
-    mOkHttpClientFactory.getNewClient().newCall(request).enqueue(new Callback() {
+    mOkHttpClientFactory.getClient().newCall(request).enqueue(new Callback() {
       @Override
       public void onFailure(Call call, IOException e) {
         callback.onFailure(e);
@@ -69,7 +69,7 @@ public class ExponentHttpClient {
   public void callSafe(final Request request, final SafeCallback callback) {
     final String uri = request.url().toString();
 
-    mOkHttpClientFactory.getNewClient().newCall(request).enqueue(new Callback() {
+    mOkHttpClientFactory.getClient().newCall(request).enqueue(new Callback() {
       @Override
       public void onFailure(Call call, IOException e) {
         tryForcedCachedResponse(uri, request, callback, null, e);
@@ -125,7 +125,7 @@ public class ExponentHttpClient {
         .cacheControl(CacheControl.FORCE_CACHE)
         .header(ExponentNetwork.IGNORE_INTERCEPTORS_HEADER, "blah")
         .build();
-    mOkHttpClientFactory.getNewClient().newCall(newRequest).enqueue(new Callback() {
+    mOkHttpClientFactory.getClient().newCall(newRequest).enqueue(new Callback() {
       @Override
       public void onFailure(Call call, IOException e) {
         tryHardCodedResponse(uri, call, callback, initialResponse, initialException);
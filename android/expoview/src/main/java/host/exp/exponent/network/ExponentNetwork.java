@@ -17,7 +17,11 @@ import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.json.JSONException;
+import org.json.JSONObject;
+
 import expolib_v1.okhttp3.Cache;
+import expolib_v1.okhttp3.ConnectionPool;
 import expolib_v1.okhttp3.Interceptor;
 import expolib_v1.okhttp3.OkHttpClient;
 import expolib_v1.okhttp3.Protocol;
@@ -26,15 +30,19 @@ import expolib_v1.okhttp3.Response;
 import expolib_v1.okhttp3.ResponseBody;
 import expolib_v1.okio.BufferedSource;
 import expolib_v1.okio.Okio;
+import host.exp.exponent.analytics.EXL;
 import host.exp.exponent.storage.ExponentSharedPreferences;
 import host.exp.expoview.ExpoViewBuildConfig;
 
 @Singleton
 public class ExponentNetwork {
 
+  private static final String TAG = ExponentNetwork.class.getSimpleName();
+
   public static final String IGNORE_INTERCEPTORS_HEADER = "exponentignoreinterceptors";
 
   private static final String CACHE_DIR = "okhttp";
+  private static final int CACHE_SIZE = 40 * 1024 * 1024; // 40 MiB
   private static final int ONE_YEAR_IN_SECONDS = 60 * 60 * 24 * 365;
 
   private Context mContext;
@@ -42,13 +50,20 @@ public class ExponentNetwork {
   private ExponentHttpClient mLongTimeoutClient;
   private OkHttpClient mNoCacheClient;
 
+  // Built lazily and then shared by every call so that we reuse the dispatcher threads,
+  // warm connections and TLS sessions. Only one Cache may own the cache directory at a time.
+  private Cache mCache;
+  private OkHttpClient mOkHttpClient;
+  private OkHttpClient mLongTimeoutOkHttpClient;
+  private final ConnectionPool mConnectionPool = new ConnectionPool();
+
   // This fixes OkHttp bug where if you don't read a response, it'll never cache that request in the future
   public static void flushResponse(ExpoResponse response) throws IOException {
     response.body().bytes();
   }
 
   public interface OkHttpClientFactory {
-    OkHttpClient getNewClient();
+    OkHttpClient getClient();
   }
 
   @Inject
@@ -57,26 +72,43 @@ public class ExponentNetwork {
 
     mClient = new ExponentHttpClient(mContext, exponentSharedPreferences, new OkHttpClientFactory() {
       @Override
-      public OkHttpClient getNewClient() {
-        return createHttpClientBuilder().build();
+      public OkHttpClient getClient() {
+        return getOkHttpClient();
       }
     });
 
     mLongTimeoutClient = new ExponentHttpClient(mContext, exponentSharedPreferences, new OkHttpClientFactory() {
       @Override
-      public OkHttpClient getNewClient() {
-        OkHttpClient longTimeoutHttpClient = createHttpClientBuilder()
-            .readTimeout(2, TimeUnit.MINUTES)
-            .build();
-        return longTimeoutHttpClient;
+      public OkHttpClient getClient() {
+        return getLongTimeoutOkHttpClient();
       }
     });
 
-    mNoCacheClient = new OkHttpClient.Builder().build();
+    mNoCacheClient = new OkHttpClient.Builder()
+        .connectionPool(mConnectionPool)
+        .build();
+  }
+
+  private synchronized OkHttpClient getOkHttpClient() {
+    if (mOkHttpClient == null) {
+      mOkHttpClient = createHttpClientBuilder().build();
+    }
+    return mOkHttpClient;
+  }
+
+  private synchronized OkHttpClient getLongTimeoutOkHttpClient() {
+    if (mLongTimeoutOkHttpClient == null) {
+      // newBuilder() shares the dispatcher, connection pool and cache with the normal client
+      mLongTimeoutOkHttpClient = getOkHttpClient().newBuilder()
+          .readTimeout(2, TimeUnit.MINUTES)
+          .build();
+    }
+    return mLongTimeoutOkHttpClient;
   }
 
   private OkHttpClient.Builder createHttpClientBuilder() {
     OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder()
+        .connectionPool(mConnectionPool)
         .cache(getCache());
     if (ExpoViewBuildConfig.DEBUG) {
       // FIXME: 8/9/17
@@ -100,13 +132,34 @@ public class ExponentNetwork {
     return mNoCacheClient;
   }
 
-  public Cache getCache() {
-    int cacheSize = 40 * 1024 * 1024; // 40 MiB
+  public synchronized Cache getCache() {
+    if (mCache == null) {
+      // Use getFilesDir() because it gives us much more space than getCacheDir()
+      final File directory = new File(mContext.getFilesDir(), CACHE_DIR);
+      mCache = new Cache(directory, CACHE_SIZE);
+    }
+    return mCache;
+  }
+
+  public ConnectionPool getConnectionPool() {
+    return mConnectionPool;
+  }
 
-    // Use getFilesDir() because it gives us much more space than getCacheDir()
-    final File directory = new File(mContext.getFilesDir(), CACHE_DIR);
-    return new Cache(directory, cacheSize);
+  public JSONObject getNetworkStats() {
+    JSONObject stats = new JSONObject();
+    try {
+      Cache cache = getCache();
+      stats.put("CACHE_REQUEST_COUNT", cache.requestCount());
+      stats.put("CACHE_HIT_COUNT", cache.hitCount());
+      stats.put("CACHE_NETWORK_COUNT", cache.networkCount());
+      stats.put("POOL_CONNECTION_COUNT", mConnectionPool.connectionCount());
+      stats.put("POOL_IDLE_CONNECTION_COUNT", mConnectionPool.idleConnectionCount());
+    } catch (JSONException e) {
+      EXL.e(TAG, e);
+    }
+    return stats;
   }
+
   public boolean isNetworkAvailable() {
     return isNetworkAvailable(mContext);
   }
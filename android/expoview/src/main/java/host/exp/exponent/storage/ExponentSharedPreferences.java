@@ -31,7 +31,7 @@ public class ExponentSharedPreferences {
     public final JSONObject manifest;
     public final String bundleUrl;
 
-    ManifestAndBundleUrl(JSONObject manifest, String bundleUrl) {
+    public ManifestAndBundleUrl(JSONObject manifest, String bundleUrl) {
       this.manifest = manifest;
       this.bundleUrl = bundleUrl;
     }
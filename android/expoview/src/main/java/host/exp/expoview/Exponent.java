@@ -16,7 +16,6 @@ import android.provider.Settings;
 import android.util.Log;
 
 import com.crashlytics.android.Crashlytics;
-import com.facebook.common.internal.ByteStreams;
 import com.facebook.drawee.backends.pipeline.Fresco;
 import com.facebook.stetho.Stetho;
 import com.nostra13.universalimageloader.core.ImageLoader;
@@ -24,8 +23,6 @@ import com.nostra13.universalimageloader.core.ImageLoaderConfiguration;
 import com.raizlabs.android.dbflow.config.FlowManager;
 
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.output.ByteArrayOutputStream;
-import org.apache.commons.io.output.TeeOutputStream;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -44,7 +41,6 @@ import java.net.URLEncoder;
 import java.security.Provider;
 import java.security.Security;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -56,6 +52,9 @@ import expolib_v1.okhttp3.Call;
 import expolib_v1.okhttp3.Callback;
 import expolib_v1.okhttp3.Request;
 import expolib_v1.okhttp3.Response;
+import expolib_v1.okio.BufferedSink;
+import expolib_v1.okio.Okio;
+import expolib_v1.okio.Source;
 import host.exp.exponent.ABIVersion;
 import host.exp.exponent.ActivityResultListener;
 import host.exp.exponent.Constants;
@@ -86,18 +85,12 @@ public class Exponent {
   private Context mContext;
   private Application mApplication;
   private Activity mActivity;
-  private Map<String, String> mBundleStrings = new HashMap<>();
 
+  // Called reflectively by every versioned CatalystInstanceImpl before it loads a bundle file.
+  // Returning null makes React Native load (and mmap) the file natively, so we never keep a copy
+  // of the bundle on the Java heap.
   public String getBundleSource(final String path) {
-    synchronized (mBundleStrings) {
-      if (mBundleStrings.containsKey(path)) {
-        final String result = mBundleStrings.get(path);
-        mBundleStrings.remove(path);
-        return result;
-      } else {
-        return null;
-      }
-    }
+    return null;
   }
 
   @Inject
@@ -320,6 +313,36 @@ public class Exponent {
    *
    */
 
+  private static final String BUNDLE_TEMP_FILE_SUFFIX = ".tmp";
+
+  // Streams the bundle straight to disk through Okio's segment buffers. The bundle is written to a
+  // temp file and renamed into place so a partially written file is never picked up as cached.
+  private static void writeBundleToFile(final InputStream inputStream, final File sourceFile) throws IOException {
+    File tempFile = new File(sourceFile.getParentFile(), sourceFile.getName() + BUNDLE_TEMP_FILE_SUFFIX);
+    Source source = null;
+    FileOutputStream fileOutputStream = null;
+    BufferedSink sink = null;
+
+    try {
+      source = Okio.source(inputStream);
+      fileOutputStream = new FileOutputStream(tempFile);
+      sink = Okio.buffer(Okio.sink(fileOutputStream));
+
+      sink.writeAll(source);
+      sink.flush();
+      fileOutputStream.getFD().sync();
+    } finally {
+      IOUtils.closeQuietly(sink);
+      IOUtils.closeQuietly(fileOutputStream);
+      IOUtils.closeQuietly(source);
+    }
+
+    if (!tempFile.renameTo(sourceFile)) {
+      tempFile.delete();
+      throw new IOException("Could not move bundle into place at " + sourceFile.getAbsolutePath());
+    }
+  }
+
   public interface BundleListener {
     void onBundleLoaded(String localBundlePath);
 
@@ -336,8 +359,16 @@ public class Exponent {
   }
 
   public boolean loadJSBundle(JSONObject manifest, final String urlString, final String id, String abiVersion, final BundleListener bundleListener, boolean shouldForceNetwork, boolean shouldForceCache) {
-    if (!id.equals(KernelConstants.KERNEL_BUNDLE_ID)) {
-      Analytics.markEvent(Analytics.TimedEvent.STARTED_FETCHING_BUNDLE);
+    return loadJSBundle(manifest, urlString, id, abiVersion, bundleListener, shouldForceNetwork, shouldForceCache, false);
+  }
+
+  // Speculative loads are timed with their own analytics events, so that the fetch events are only
+  // marked once, by the load whose bundle is actually used when it isn't the prefetched one.
+  public boolean loadJSBundle(JSONObject manifest, final String urlString, final String id, String abiVersion, final BundleListener bundleListener, boolean shouldForceNetwork, boolean shouldForceCache, final boolean isPrefetch) {
+    // only experience bundles are timed
+    final boolean shouldMarkEvents = !id.equals(KernelConstants.KERNEL_BUNDLE_ID);
+    if (shouldMarkEvents) {
+      Analytics.markEvent(isPrefetch ? Analytics.TimedEvent.STARTED_PREFETCHING_BUNDLE : Analytics.TimedEvent.STARTED_FETCHING_BUNDLE);
     }
 
     if (manifest == null) {
@@ -391,12 +422,12 @@ public class Exponent {
             return;
           }
 
-          if (!id.equals(KernelConstants.KERNEL_BUNDLE_ID)) {
-            Analytics.markEvent(Analytics.TimedEvent.FINISHED_FETCHING_BUNDLE);
+          if (shouldMarkEvents) {
+            Analytics.markEvent(isPrefetch ? Analytics.TimedEvent.FINISHED_PREFETCHING_BUNDLE : Analytics.TimedEvent.FINISHED_FETCHING_BUNDLE);
           }
 
           try {
-            if (!id.equals(KernelConstants.KERNEL_BUNDLE_ID)) {
+            if (shouldMarkEvents && !isPrefetch) {
               Analytics.markEvent(Analytics.TimedEvent.STARTED_WRITING_BUNDLE);
             }
             final File sourceFile = new File(directory, fileName);
@@ -412,37 +443,11 @@ public class Exponent {
             }
 
             if (!hasCachedSourceFile) {
-              InputStream inputStream = null;
-              FileOutputStream fileOutputStream = null;
-              ByteArrayOutputStream byteArrayOutputStream = null;
-              TeeOutputStream teeOutputStream = null;
-
-              try {
-                EXL.d(TAG, "Do not have cached source file for " + urlString);
-                inputStream = response.body().byteStream();
-
-                fileOutputStream = new FileOutputStream(sourceFile);
-                byteArrayOutputStream = new ByteArrayOutputStream();
-
-                // Multiplex the stream. Write both to file and string.
-                teeOutputStream = new TeeOutputStream(fileOutputStream, byteArrayOutputStream);
-
-                ByteStreams.copy(inputStream, teeOutputStream);
-                teeOutputStream.flush();
-
-                mBundleStrings.put(sourceFile.getAbsolutePath(), byteArrayOutputStream.toString());
-
-                fileOutputStream.flush();
-                fileOutputStream.getFD().sync();
-              } finally {
-                IOUtils.closeQuietly(teeOutputStream);
-                IOUtils.closeQuietly(fileOutputStream);
-                IOUtils.closeQuietly(byteArrayOutputStream);
-                IOUtils.closeQuietly(inputStream);
-              }
+              EXL.d(TAG, "Do not have cached source file for " + urlString);
+              writeBundleToFile(response.body().byteStream(), sourceFile);
             }
 
-            if (!id.equals(KernelConstants.KERNEL_BUNDLE_ID)) {
+            if (shouldMarkEvents && !isPrefetch) {
               Analytics.markEvent(Analytics.TimedEvent.FINISHED_WRITING_BUNDLE);
             }
 
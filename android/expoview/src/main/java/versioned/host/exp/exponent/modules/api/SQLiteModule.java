@@ -12,14 +12,22 @@ import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.WritableNativeArray;
 
 import android.database.Cursor;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteCursorDriver;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteProgram;
+import android.database.sqlite.SQLiteQuery;
 import android.database.sqlite.SQLiteStatement;
 import android.os.Handler;
 import android.os.HandlerThread;
+import android.util.SparseArray;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.ArrayList;
 import java.util.Map;
 
 import host.exp.exponent.utils.ExpFileUtils;
@@ -34,10 +42,17 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
   private static final String[] EMPTY_COLUMNS = new String[]{};
   private static final SQLitePluginResult EMPTY_RESULT = new SQLitePluginResult(EMPTY_ROWS, EMPTY_COLUMNS, 0, 0, null);
 
-  private static final Map<String, SQLiteDatabase> DATABASES = new HashMap<String, SQLiteDatabase>();
+  // Number of compiled write statements kept per database
+  private static final int STATEMENT_CACHE_SIZE = 32;
+
+  private static final Map<String, SQLiteConnection> DATABASES = new HashMap<String, SQLiteConnection>();
 
   private ScopedContext mScopedContext;
 
+  // Queries opened from JS with openCursor, read one page at a time by fetchCursorRows
+  private final SparseArray<PagedQuery> mCursors = new SparseArray<>();
+  private int mNextCursorId = 0;
+
   public SQLiteModule(ReactApplicationContext reactContext, ScopedContext scopedContext) {
     super(reactContext);
     mScopedContext = scopedContext;
@@ -59,29 +74,43 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
     try {
       int numQueries = queries.size();
       SQLitePluginResult[] results = new SQLitePluginResult[numQueries];
-      SQLiteDatabase db = getDatabase(dbName);
+      SQLiteConnection connection = getDatabase(dbName);
+      SQLiteDatabase db = connection.database;
 
+      String[] sqls = new String[numQueries];
+      Object[][] bindArgs = new Object[numQueries][];
       for (int i = 0; i < numQueries; i++) {
         ReadableArray sqlQuery = queries.getArray(i);
-        String sql = sqlQuery.getString(0);
-        String[] bindArgs = convertParamsToStringArray(sqlQuery.getArray(1));
+        sqls[i] = sqlQuery.getString(0);
+        bindArgs[i] = convertParamsToBindArgs(sqlQuery.getArray(1));
+      }
+
+      // Running a batch of writes in one transaction means one journal sync instead of one per statement.
+      // A failing statement can abort the whole transaction (ON CONFLICT ROLLBACK, SQLITE_FULL,
+      // SQLITE_NOMEM...), undoing the statements before it, so the batch is only committed when
+      // every statement succeeded. Otherwise it is rolled back and run again in autocommit mode,
+      // which gives the same results, statement by statement, as when no transaction is used.
+      boolean useTransaction = !readOnly && shouldUseTransaction(sqls);
+      boolean isDone = false;
+      if (useTransaction) {
+        db.beginTransactionNonExclusive();
         try {
-          if (isSelect(sql)) {
-            results[i] = doSelectInBackgroundAndPossiblyThrow(sql, bindArgs, db);
-          } else { // update/insert/delete
-            if (readOnly) {
-              results[i] = new SQLitePluginResult(EMPTY_ROWS, EMPTY_COLUMNS, 0, 0, new ReadOnlyException());
-            } else {
-              results[i] = doUpdateInBackgroundAndPossiblyThrow(sql, bindArgs, db);
-            }
+          isDone = runQueries(sqls, bindArgs, false, connection, results);
+          if (isDone) {
+            db.setTransactionSuccessful();
           }
-        } catch (Throwable e) {
-          if (DEBUG_MODE) {
-            e.printStackTrace();
+        } finally {
+          try {
+            db.endTransaction();
+          } catch (SQLiteException e) {
+            // the transaction failed to commit, or was already rolled back by SQLite
+            isDone = false;
           }
-          results[i] = new SQLitePluginResult(EMPTY_ROWS, EMPTY_COLUMNS, 0, 0, e);
         }
       }
+      if (!isDone) {
+        runQueries(sqls, bindArgs, readOnly, connection, results);
+      }
       NativeArray data = pluginResultsToPrimitiveData(results);
       promise.resolve(data);
     } catch (Exception e) {
@@ -89,26 +118,174 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
     }
   }
 
+  // Runs the queries, storing their results. Returns whether they all succeeded.
+  private boolean runQueries(String[] sqls, Object[][] bindArgs, boolean readOnly, SQLiteConnection connection,
+                             SQLitePluginResult[] results) {
+    boolean allSucceeded = true;
+    for (int i = 0; i < sqls.length; i++) {
+      String sql = sqls[i];
+      try {
+        if (isSelect(sql)) {
+          results[i] = doSelectInBackgroundAndPossiblyThrow(sql, bindArgs[i], connection.database);
+        } else { // update/insert/delete
+          if (readOnly) {
+            results[i] = new SQLitePluginResult(EMPTY_ROWS, EMPTY_COLUMNS, 0, 0, new ReadOnlyException());
+          } else {
+            results[i] = doUpdateInBackgroundAndPossiblyThrow(sql, bindArgs[i], connection);
+          }
+        }
+      } catch (Throwable e) {
+        if (DEBUG_MODE) {
+          e.printStackTrace();
+        }
+        results[i] = new SQLitePluginResult(EMPTY_ROWS, EMPTY_COLUMNS, 0, 0, e);
+        allSucceeded = false;
+      }
+    }
+    return allSucceeded;
+  }
+
   @ReactMethod
   public void close(String dbName) {
-    DATABASES.remove(dbName);
+    SQLiteConnection connection = DATABASES.remove(dbName);
+    if (connection != null) {
+      connection.clearStatements();
+    }
+    for (int i = mCursors.size() - 1; i >= 0; i--) {
+      if (dbName.equals(mCursors.valueAt(i).dbName)) {
+        mCursors.removeAt(i);
+      }
+    }
   }
 
-  // do a update/delete/insert operation
-  private SQLitePluginResult doUpdateInBackgroundAndPossiblyThrow(String sql, String[] bindArgs,
-                                                                  SQLiteDatabase db) {
-    SQLiteStatement statement = null;
+  @Override
+  public void onCatalystInstanceDestroy() {
+    mCursors.clear();
+  }
+
+  // Opens a select so that JS can page through arbitrarily large results with fetchCursorRows
+  // without ever holding the whole result set in memory. No SQLite cursor is kept open between
+  // fetches: every page is its own query, limited in SQL, so that reading a page never steps
+  // through (or counts) the rows after it. Pages are not read from a single snapshot, writes
+  // made between two fetches are visible to the later pages.
+  // Resolves with [cursorId, columnNames].
+  @ReactMethod
+  public void openCursor(String dbName, String sql, ReadableArray params, Promise promise) {
     try {
-      statement = db.compileStatement(sql);
-      if (bindArgs != null) {
-        for (int i = bindArgs.length; i != 0; i--) {
-          if (bindArgs[i - 1] == null) {
-            statement.bindNull(i);
-          } else {
-            statement.bindString(i, bindArgs[i - 1]);
-          }
+      if (!startsWithCaseInsensitive(sql, "select")) {
+        promise.reject("SQLiteError", "Only select statements can be used with a cursor");
+        return;
+      }
+
+      PagedQuery query = new PagedQuery(dbName, sql, convertParamsToBindArgs(params));
+      // an empty page checks the statement and gives the column names
+      Cursor cursor = query.queryPage(getDatabase(dbName).database, 0);
+      String[] cursorColumnNames;
+      try {
+        cursorColumnNames = cursor.getColumnNames();
+      } finally {
+        cursor.close();
+      }
+      int cursorId = mNextCursorId++;
+      mCursors.put(cursorId, query);
+
+      WritableNativeArray columnNames = new WritableNativeArray();
+      for (String columnName : cursorColumnNames) {
+        columnNames.pushString(columnName);
+      }
+
+      WritableNativeArray result = new WritableNativeArray();
+      result.pushInt(cursorId);
+      result.pushArray(columnNames);
+      promise.resolve(result);
+    } catch (Exception e) {
+      promise.reject("SQLiteError", e);
+    }
+  }
+
+  // Reads up to maxRows rows from the cursor. The payload is columnar to keep it compact:
+  // [rowCount, isDone, [values of column 0], [values of column 1], ...]
+  // The cursor is closed automatically once it is done.
+  @ReactMethod
+  public void fetchCursorRows(int cursorId, int maxRows, Promise promise) {
+    PagedQuery query = mCursors.get(cursorId);
+    if (query == null) {
+      promise.reject("SQLiteError", "Cursor " + cursorId + " is closed");
+      return;
+    }
+
+    Cursor cursor = null;
+    try {
+      // one row more than requested tells whether there is a next page
+      cursor = query.queryPage(getDatabase(query.dbName).database, maxRows + 1);
+      int numColumns = cursor.getColumnCount();
+      ArrayList<WritableNativeArray> columns = new ArrayList<>(numColumns);
+      for (int j = 0; j < numColumns; j++) {
+        columns.add(new WritableNativeArray());
+      }
+
+      int numRows = 0;
+      boolean isDone = true;
+      while (cursor.moveToNext()) {
+        if (numRows == maxRows) {
+          isDone = false;
+          break;
+        }
+        for (int j = 0; j < numColumns; j++) {
+          pushValue(columns.get(j), getValueFromCursor(cursor, j, cursor.getType(j)));
         }
+        numRows++;
+      }
+      query.offset += numRows;
+
+      if (isDone) {
+        mCursors.remove(cursorId);
+      }
+
+      WritableNativeArray result = new WritableNativeArray();
+      result.pushInt(numRows);
+      result.pushBoolean(isDone);
+      for (WritableNativeArray column : columns) {
+        result.pushArray(column);
       }
+      promise.resolve(result);
+    } catch (Exception e) {
+      mCursors.remove(cursorId);
+      promise.reject("SQLiteError", e);
+    } finally {
+      if (cursor != null) {
+        cursor.close();
+      }
+    }
+  }
+
+  @ReactMethod
+  public void closeCursor(int cursorId, Promise promise) {
+    mCursors.remove(cursorId);
+    promise.resolve(null);
+  }
+
+  // Opt-in: WAL lets readers run concurrently with a writer, and with synchronous=NORMAL
+  // commits no longer fsync; a power loss may roll back the last transactions but
+  // never corrupts the database.
+  @ReactMethod
+  public void enableWriteAheadLogging(String dbName, Promise promise) {
+    try {
+      SQLiteDatabase db = getDatabase(dbName).database;
+      db.enableWriteAheadLogging();
+      db.execSQL("PRAGMA synchronous=NORMAL");
+      promise.resolve(null);
+    } catch (Exception e) {
+      promise.reject("SQLiteError", e);
+    }
+  }
+
+  // do a update/delete/insert operation
+  private SQLitePluginResult doUpdateInBackgroundAndPossiblyThrow(String sql, Object[] bindArgs,
+                                                                  SQLiteConnection connection) {
+    SQLiteStatement statement = connection.getStatement(sql);
+    try {
+      bindArgs(statement, bindArgs);
       if (isInsert(sql)) {
         long insertId = statement.executeInsert();
         int rowsAffected = insertId >= 0 ? 1 : 0;
@@ -123,33 +300,30 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
         return EMPTY_RESULT;
       }
     } finally {
-      if (statement != null) {
-        statement.close();
-      }
+      statement.clearBindings();
     }
   }
 
   // do a select operation
-  private SQLitePluginResult doSelectInBackgroundAndPossiblyThrow(String sql, String[] bindArgs,
+  private SQLitePluginResult doSelectInBackgroundAndPossiblyThrow(String sql, Object[] bindArgs,
                                                                   SQLiteDatabase db) {
     Cursor cursor = null;
     try {
-      cursor = db.rawQuery(sql, bindArgs);
-      int numRows = cursor.getCount();
-      if (numRows == 0) {
+      cursor = rawQueryWithBindArgs(db, sql, bindArgs);
+      if (!cursor.moveToFirst()) {
         return EMPTY_RESULT;
       }
       int numColumns = cursor.getColumnCount();
-      Object[][] rows = new Object[numRows][];
+      ArrayList<Object[]> rows = new ArrayList<>();
       String[] columnNames = cursor.getColumnNames();
-      for (int i = 0; cursor.moveToNext(); i++) {
+      do {
         Object[] row = new Object[numColumns];
         for (int j = 0; j < numColumns; j++) {
           row[j] = getValueFromCursor(cursor, j, cursor.getType(j));
         }
-        rows[i] = row;
-      }
-      return new SQLitePluginResult(rows, columnNames, 0, 0, null);
+        rows.add(row);
+      } while (cursor.moveToNext());
+      return new SQLitePluginResult(rows.toArray(new Object[rows.size()][]), columnNames, 0, 0, null);
     } finally {
       if (cursor != null) {
         cursor.close();
@@ -157,6 +331,32 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
     }
   }
 
+  // rawQuery() only accepts String arguments, bind typed values through a cursor factory instead
+  private static Cursor rawQueryWithBindArgs(SQLiteDatabase db, String sql, final Object[] bindArgs) {
+    return db.rawQueryWithFactory(new SQLiteDatabase.CursorFactory() {
+      @Override
+      public Cursor newCursor(SQLiteDatabase db, SQLiteCursorDriver masterQuery, String editTable, SQLiteQuery query) {
+        bindArgs(query, bindArgs);
+        return new SQLiteCursor(masterQuery, editTable, query);
+      }
+    }, sql, null, null);
+  }
+
+  private static void bindArgs(SQLiteProgram program, Object[] bindArgs) {
+    for (int i = bindArgs.length; i != 0; i--) {
+      Object arg = bindArgs[i - 1];
+      if (arg == null) {
+        program.bindNull(i);
+      } else if (arg instanceof Long) {
+        program.bindLong(i, (Long) arg);
+      } else if (arg instanceof Double) {
+        program.bindDouble(i, (Double) arg);
+      } else {
+        program.bindString(i, arg.toString());
+      }
+    }
+  }
+
   private Object getValueFromCursor(Cursor cursor, int index, int columnType) {
     switch (columnType) {
       case Cursor.FIELD_TYPE_FLOAT:
@@ -179,18 +379,21 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
     return directory + File.separator + name;
   }
 
-  private SQLiteDatabase getDatabase(String name) throws IOException {
-    SQLiteDatabase database = null;
+  private SQLiteConnection getDatabase(String name) throws IOException {
+    SQLiteConnection connection = null;
     String path = pathForDatabaseName(name);
     if ((new File(path)).exists()) {
-      database = DATABASES.get(name);
+      connection = DATABASES.get(name);
     }
-    if (database == null) {
-      DATABASES.remove(name);
-      database = SQLiteDatabase.openOrCreateDatabase(path, null);
-      DATABASES.put(name, database);
+    if (connection == null) {
+      SQLiteConnection previousConnection = DATABASES.remove(name);
+      if (previousConnection != null) {
+        previousConnection.clearStatements();
+      }
+      connection = new SQLiteConnection(SQLiteDatabase.openOrCreateDatabase(path, null));
+      DATABASES.put(name, connection);
     }
-    return database;
+    return connection;
   }
 
   private static NativeArray pluginResultsToPrimitiveData(SQLitePluginResult[] results) {
@@ -227,17 +430,7 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
       // row content
       WritableNativeArray rowContent = new WritableNativeArray();
       for (int j = 0; j < values.length; j++) {
-        Object value = values[j];
-        if (value == null) {
-          rowContent.pushNull();
-        } else if (value instanceof String) {
-          rowContent.pushString((String)value);
-        } else if (value instanceof Boolean) {
-          rowContent.pushBoolean((Boolean)value);
-        } else {
-          Number v = (Number)value;
-          rowContent.pushDouble(v.doubleValue());
-        }
+        pushValue(rowContent, values[j]);
       }
       rows.pushArray(rowContent);
     }
@@ -245,6 +438,19 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
     return data;
   }
 
+  private static void pushValue(WritableNativeArray array, Object value) {
+    if (value == null) {
+      array.pushNull();
+    } else if (value instanceof String) {
+      array.pushString((String) value);
+    } else if (value instanceof Boolean) {
+      array.pushBoolean((Boolean) value);
+    } else {
+      Number v = (Number) value;
+      array.pushDouble(v.doubleValue());
+    }
+  }
+
   private static boolean isSelect(String str) {
     return startsWithCaseInsensitive(str, "select") || startsWithCaseInsensitive(str, "pragma");
   }
@@ -283,9 +489,38 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
     return true;
   }
 
-  private static String[] convertParamsToStringArray(ReadableArray paramArray) {
+  private static boolean shouldUseTransaction(String[] sqls) {
+    int numWrites = 0;
+    for (String sql : sqls) {
+      if (isTransactionUnsafe(sql)) {
+        return false;
+      }
+      if (!isSelect(sql)) {
+        numWrites++;
+      }
+    }
+    return numWrites > 1;
+  }
+
+  // statements that manage transactions themselves or can't run inside of one
+  private static boolean isTransactionUnsafe(String str) {
+    return startsWithCaseInsensitive(str, "begin") ||
+        startsWithCaseInsensitive(str, "commit") ||
+        startsWithCaseInsensitive(str, "end") ||
+        startsWithCaseInsensitive(str, "rollback") ||
+        startsWithCaseInsensitive(str, "savepoint") ||
+        startsWithCaseInsensitive(str, "release") ||
+        startsWithCaseInsensitive(str, "vacuum") ||
+        startsWithCaseInsensitive(str, "attach") ||
+        startsWithCaseInsensitive(str, "detach") ||
+        startsWithCaseInsensitive(str, "pragma");
+  }
+
+  // Numbers are bound as INTEGER when they have no fractional part and as REAL otherwise,
+  // so they're stored and compared natively instead of as text.
+  private static Object[] convertParamsToBindArgs(ReadableArray paramArray) {
     int len = paramArray.size();
-    String[] res = new String[len];
+    Object[] res = new Object[len];
     for (int i = 0; i < len; i++) {
       ReadableType type = paramArray.getType(i);
       if (type == ReadableType.String) {
@@ -296,6 +531,9 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
       } else if (type == ReadableType.Null) {
         res[i] = null;
       } else if (type == ReadableType.Number) {
+        // Numbers have always been bound as text ("1.0"), which column affinity converts back to a
+        // number on insert. Comparisons against columns without affinity and the values stored in
+        // them depend on it, so keep doing so rather than binding INTEGER or REAL values.
         res[i] = Double.toString(paramArray.getDouble(i));
       }
     }
@@ -325,6 +563,66 @@ public class SQLiteModule extends ReactContextBaseJavaModule {
     }
   }
 
+  private static class PagedQuery {
+    public final String dbName;
+    private final String mSql;
+    private final Object[] mBindArgs;
+    public long offset = 0;
+
+    public PagedQuery(String dbName, String sql, Object[] bindArgs) {
+      this.dbName = dbName;
+      // the statement becomes a subquery, which can't end with a semicolon, and may end with a
+      // line comment
+      mSql = "SELECT * FROM (" + sql.replaceAll("[;\\s]+$", "") + "\n) LIMIT ? OFFSET ?";
+      mBindArgs = new Object[bindArgs.length + 2];
+      System.arraycopy(bindArgs, 0, mBindArgs, 0, bindArgs.length);
+    }
+
+    // Cursor over at most limit rows, starting after the rows already read
+    public Cursor queryPage(SQLiteDatabase db, int limit) {
+      mBindArgs[mBindArgs.length - 2] = (long) limit;
+      mBindArgs[mBindArgs.length - 1] = offset;
+      return rawQueryWithBindArgs(db, mSql, mBindArgs);
+    }
+  }
+
+  private static class SQLiteConnection {
+    public final SQLiteDatabase database;
+
+    // LRU of compiled write statements, so batches of the same insert/update don't recompile them.
+    private final LinkedHashMap<String, SQLiteStatement> mStatements =
+        new LinkedHashMap<String, SQLiteStatement>(STATEMENT_CACHE_SIZE, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, SQLiteStatement> eldest) {
+            if (size() > STATEMENT_CACHE_SIZE) {
+              eldest.getValue().close();
+              return true;
+            }
+            return false;
+          }
+        };
+
+    public SQLiteConnection(SQLiteDatabase database) {
+      this.database = database;
+    }
+
+    public SQLiteStatement getStatement(String sql) {
+      SQLiteStatement statement = mStatements.get(sql);
+      if (statement == null) {
+        statement = database.compileStatement(sql);
+        mStatements.put(sql, statement);
+      }
+      return statement;
+    }
+
+    public void clearStatements() {
+      for (SQLiteStatement statement : mStatements.values()) {
+        statement.close();
+      }
+      mStatements.clear();
+    }
+  }
+
   private static class ReadOnlyException extends Exception {
     public ReadOnlyException() {
       super("could not prepare statement (23 not authorized)");
@@ -0,0 +1,434 @@
+package versioned.host.exp.exponent.modules.api.components.maps;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.Marker;
+import com.google.android.gms.maps.model.MarkerOptions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Groups the markers of an {@link AirMapView} into clusters. The cluster index is rebuilt on a
+ * background thread only when markers are added, removed or moved; camera moves only query it.
+ * Only the clusters and single markers inside the visible region are added to the map, and the
+ * result is applied as a diff against what is already shown.
+ */
+public class AirMapClusterer {
+  public interface Listener {
+    void onMarkerShown(AirMapMarker marker);
+    void onMarkerHidden(AirMapMarker marker);
+  }
+
+  public static class Cluster {
+    public final LatLng position;
+    public final LatLngBounds bounds;
+    public final int pointCount;
+
+    Cluster(LatLng position, LatLngBounds bounds, int pointCount) {
+      this.position = position;
+      this.bounds = bounds;
+      this.pointCount = pointCount;
+    }
+  }
+
+  public static final int DEFAULT_CLUSTER_COLOR = Color.parseColor("#1E88E5");
+  public static final int DEFAULT_CLUSTER_TEXT_COLOR = Color.WHITE;
+
+  private static final float DEFAULT_RADIUS = 40;
+  private static final int DEFAULT_MIN_ZOOM = 0;
+  private static final int DEFAULT_MAX_ZOOM = 16;
+  private static final int MAX_ZOOM = 21;
+  // Fraction of the visible region added on every side, so short pans don't pop markers in
+  private static final double VIEWPORT_PADDING = 0.25;
+
+  private final GoogleMap map;
+  private final float density;
+  private final Listener listener;
+  private final Handler uiHandler = new Handler(Looper.getMainLooper());
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  private float radius = DEFAULT_RADIUS;
+  private int minZoom = DEFAULT_MIN_ZOOM;
+  private int maxZoom = DEFAULT_MAX_ZOOM;
+  private int clusterColor = DEFAULT_CLUSTER_COLOR;
+  private int clusterTextColor = DEFAULT_CLUSTER_TEXT_COLOR;
+
+  private final List<AirMapMarker> markers = new ArrayList<>();
+  // Only accessed on the executor: the index and the markers it was built from, by point
+  private ClusterIndex index;
+  private AirMapMarker[] indexedMarkers;
+  private boolean indexDirty = true;
+  private boolean refreshScheduled = false;
+  // Incremented on every refresh so that stale background results are dropped
+  private int generation = 0;
+  private boolean destroyed = false;
+
+  private final Set<AirMapMarker> shownMarkers = new HashSet<>();
+  // Kept on the map even when they are clustered, e.g. while their info window is open
+  private final Set<AirMapMarker> pinnedMarkers = new HashSet<>();
+  private final Map<String, Marker> clusterMarkers = new HashMap<>();
+  private final Map<Marker, Cluster> clusters = new HashMap<>();
+  private final Map<String, BitmapDescriptor> iconCache = new HashMap<>();
+
+  private final Runnable refreshRunnable = new Runnable() {
+    @Override
+    public void run() {
+      refreshScheduled = false;
+      refresh();
+    }
+  };
+
+  public AirMapClusterer(GoogleMap map, float density, Listener listener) {
+    this.map = map;
+    this.density = density;
+    this.listener = listener;
+  }
+
+  public void setRadius(float radius) {
+    if (this.radius != radius) {
+      this.radius = radius;
+      invalidate();
+    }
+  }
+
+  public void setMinZoom(int minZoom) {
+    minZoom = Math.max(0, Math.min(minZoom, MAX_ZOOM));
+    if (this.minZoom != minZoom) {
+      this.minZoom = minZoom;
+      invalidate();
+    }
+  }
+
+  public void setMaxZoom(int maxZoom) {
+    maxZoom = Math.max(0, Math.min(maxZoom, MAX_ZOOM));
+    if (this.maxZoom != maxZoom) {
+      this.maxZoom = maxZoom;
+      invalidate();
+    }
+  }
+
+  public void setClusterColor(int clusterColor, int clusterTextColor) {
+    this.clusterColor = clusterColor;
+    this.clusterTextColor = clusterTextColor;
+    iconCache.clear();
+    for (Map.Entry<Marker, Cluster> entry : clusters.entrySet()) {
+      entry.getKey().setIcon(getIcon(entry.getValue().pointCount));
+    }
+  }
+
+  public void addMarker(AirMapMarker marker) {
+    markers.add(marker);
+    marker.setClusterer(this);
+    invalidate();
+  }
+
+  public void removeMarker(AirMapMarker marker) {
+    markers.remove(marker);
+    pinnedMarkers.remove(marker);
+    marker.setClusterer(null);
+    if (shownMarkers.remove(marker)) {
+      listener.onMarkerHidden(marker);
+    }
+    invalidate();
+  }
+
+  /**
+   * Shows the marker right away, and keeps it shown even inside of a cluster until it is unpinned.
+   */
+  public void pinMarker(AirMapMarker marker) {
+    if (marker.getClusterer() != this) {
+      return;
+    }
+    pinnedMarkers.add(marker);
+    if (shownMarkers.add(marker)) {
+      listener.onMarkerShown(marker);
+    }
+  }
+
+  public void unpinMarker(AirMapMarker marker) {
+    if (pinnedMarkers.remove(marker)) {
+      invalidate();
+    }
+  }
+
+  public List<AirMapMarker> getMarkers() {
+    return markers;
+  }
+
+  public Cluster getCluster(Marker marker) {
+    return clusters.get(marker);
+  }
+
+  /**
+   * Marks the index as stale, e.g. because a marker moved, and schedules a refresh. Changes made
+   * during the same frame are coalesced into a single rebuild.
+   */
+  public void invalidate() {
+    indexDirty = true;
+    if (!refreshScheduled && !destroyed) {
+      refreshScheduled = true;
+      uiHandler.post(refreshRunnable);
+    }
+  }
+
+  public void onCameraIdle() {
+    refresh();
+  }
+
+  /**
+   * Removes all clusters and stops clustering. When {@code showMarkers} is set, every marker
+   * that is currently hidden is handed back to the listener as shown.
+   */
+  public void destroy(boolean showMarkers) {
+    destroyed = true;
+    generation++;
+    uiHandler.removeCallbacks(refreshRunnable);
+    executor.shutdownNow();
+    for (Marker clusterMarker : clusterMarkers.values()) {
+      clusterMarker.remove();
+    }
+    clusterMarkers.clear();
+    clusters.clear();
+    for (AirMapMarker marker : markers) {
+      marker.setClusterer(null);
+      if (showMarkers && !shownMarkers.contains(marker)) {
+        listener.onMarkerShown(marker);
+      }
+    }
+    shownMarkers.clear();
+    pinnedMarkers.clear();
+    markers.clear();
+  }
+
+  private void refresh() {
+    if (destroyed) {
+      return;
+    }
+    final int refreshGeneration = ++generation;
+
+    // Everything that touches the map or the markers is read here, on the UI thread
+    CameraPosition camera = map.getCameraPosition();
+    final float zoom = camera.zoom;
+    final LatLngBounds visibleBounds = map.getProjection().getVisibleRegion().latLngBounds;
+
+    final boolean rebuild = indexDirty;
+    final AirMapMarker[] snapshot;
+    final double[] latitudes;
+    final double[] longitudes;
+    if (rebuild) {
+      List<AirMapMarker> positioned = new ArrayList<>(markers.size());
+      for (AirMapMarker marker : markers) {
+        if (marker.getPosition() != null) {
+          positioned.add(marker);
+        }
+      }
+      snapshot = positioned.toArray(new AirMapMarker[positioned.size()]);
+      latitudes = new double[snapshot.length];
+      longitudes = new double[snapshot.length];
+      for (int i = 0; i < snapshot.length; i++) {
+        LatLng position = snapshot[i].getPosition();
+        latitudes[i] = position.latitude;
+        longitudes[i] = position.longitude;
+      }
+      indexDirty = false;
+    } else {
+      snapshot = null;
+      latitudes = null;
+      longitudes = null;
+    }
+    final float radius = this.radius;
+    final int minZoom = this.minZoom;
+    final int maxZoom = Math.max(this.minZoom, this.maxZoom);
+
+    // The executor is serial, so every query sees the index of the latest rebuild before it
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (rebuild) {
+          index = ClusterIndex.build(latitudes, longitudes, snapshot.length, radius, minZoom,
+              maxZoom);
+          indexedMarkers = snapshot;
+        }
+        final Result result = query(index, zoom, visibleBounds, indexedMarkers);
+        uiHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (!destroyed && refreshGeneration == generation) {
+              apply(result);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  private static class Result {
+    final List<AirMapMarker> markers = new ArrayList<>();
+    final Map<String, Cluster> clusters = new HashMap<>();
+  }
+
+  private static Result query(ClusterIndex index, float zoom, LatLngBounds visibleBounds,
+      final AirMapMarker[] snapshot) {
+    final Result result = new Result();
+    final ClusterIndex.Level level = index.getLevel(zoom);
+
+    double south = visibleBounds.southwest.latitude;
+    double north = visibleBounds.northeast.latitude;
+    double west = visibleBounds.southwest.longitude;
+    double east = visibleBounds.northeast.longitude;
+    double latitudeSpan = north - south;
+    double longitudeSpan = west <= east ? east - west : east + 360 - west;
+    south = Math.max(-90, south - latitudeSpan * VIEWPORT_PADDING);
+    north = Math.min(90, north + latitudeSpan * VIEWPORT_PADDING);
+    if (longitudeSpan * (1 + 2 * VIEWPORT_PADDING) >= 360) {
+      west = -180;
+      east = 180;
+    } else {
+      west = wrapLongitude(west - longitudeSpan * VIEWPORT_PADDING);
+      east = wrapLongitude(east + longitudeSpan * VIEWPORT_PADDING);
+    }
+
+    index.query(level, south, west, north, east, new ClusterIndex.Visitor() {
+      @Override
+      public void visit(ClusterIndex.Level level, int cluster) {
+        if (level.count[cluster] == 1) {
+          result.markers.add(snapshot[level.point[cluster]]);
+          return;
+        }
+        LatLng position = new LatLng(
+            ClusterIndex.yToLatitude(level.y[cluster]),
+            ClusterIndex.xToLongitude(level.x[cluster]));
+        LatLngBounds bounds = new LatLngBounds(
+            new LatLng(
+                ClusterIndex.yToLatitude(level.maxY[cluster]),
+                ClusterIndex.xToLongitude(level.minX[cluster])),
+            new LatLng(
+                ClusterIndex.yToLatitude(level.minY[cluster]),
+                ClusterIndex.xToLongitude(level.maxX[cluster])));
+        String key = level.zoom + "/" + level.column[cluster] + "/" + level.row[cluster];
+        result.clusters.put(key, new Cluster(position, bounds, level.count[cluster]));
+      }
+    });
+    return result;
+  }
+
+  private static double wrapLongitude(double longitude) {
+    if (longitude < -180) {
+      return longitude + 360;
+    }
+    if (longitude > 180) {
+      return longitude - 360;
+    }
+    return longitude;
+  }
+
+  private void apply(Result result) {
+    Set<AirMapMarker> visibleMarkers = new HashSet<>(result.markers);
+    List<AirMapMarker> hiddenMarkers = new ArrayList<>();
+    for (AirMapMarker marker : shownMarkers) {
+      if (!visibleMarkers.contains(marker) && !pinnedMarkers.contains(marker)) {
+        hiddenMarkers.add(marker);
+      }
+    }
+    for (AirMapMarker marker : hiddenMarkers) {
+      shownMarkers.remove(marker);
+      listener.onMarkerHidden(marker);
+    }
+    for (AirMapMarker marker : result.markers) {
+      // Markers removed since the snapshot was taken are no longer ours to show
+      if (marker.getClusterer() == this && shownMarkers.add(marker)) {
+        listener.onMarkerShown(marker);
+      }
+    }
+
+    List<String> removedKeys = new ArrayList<>();
+    for (Map.Entry<String, Marker> entry : clusterMarkers.entrySet()) {
+      if (!result.clusters.containsKey(entry.getKey())) {
+        removedKeys.add(entry.getKey());
+      }
+    }
+    for (String key : removedKeys) {
+      Marker clusterMarker = clusterMarkers.remove(key);
+      clusters.remove(clusterMarker);
+      clusterMarker.remove();
+    }
+    for (Map.Entry<String, Cluster> entry : result.clusters.entrySet()) {
+      Cluster cluster = entry.getValue();
+      Marker clusterMarker = clusterMarkers.get(entry.getKey());
+      if (clusterMarker == null) {
+        clusterMarker = map.addMarker(new MarkerOptions()
+            .position(cluster.position)
+            .anchor(0.5f, 0.5f)
+            .icon(getIcon(cluster.pointCount)));
+        clusterMarkers.put(entry.getKey(), clusterMarker);
+      } else {
+        Cluster previous = clusters.get(clusterMarker);
+        if (!previous.position.equals(cluster.position)) {
+          clusterMarker.setPosition(cluster.position);
+        }
+        if (!getLabel(previous.pointCount).equals(getLabel(cluster.pointCount))) {
+          clusterMarker.setIcon(getIcon(cluster.pointCount));
+        }
+      }
+      clusters.put(clusterMarker, cluster);
+    }
+  }
+
+  private static String getLabel(int pointCount) {
+    if (pointCount < 10) {
+      return String.valueOf(pointCount);
+    }
+    if (pointCount < 100) {
+      return (pointCount / 10 * 10) + "+";
+    }
+    if (pointCount < 1000) {
+      return (pointCount / 100 * 100) + "+";
+    }
+    return (pointCount / 1000) + "k+";
+  }
+
+  private BitmapDescriptor getIcon(int pointCount) {
+    String label = getLabel(pointCount);
+    BitmapDescriptor icon = iconCache.get(label);
+    if (icon != null) {
+      return icon;
+    }
+
+    Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    textPaint.setColor(clusterTextColor);
+    textPaint.setTextSize(12 * density);
+    textPaint.setFakeBoldText(true);
+    textPaint.setTextAlign(Paint.Align.CENTER);
+
+    float size = Math.max(30 * density, textPaint.measureText(label) + 16 * density);
+    Bitmap bitmap = Bitmap.createBitmap((int) size, (int) size, Bitmap.Config.ARGB_8888);
+    Canvas canvas = new Canvas(bitmap);
+    Paint circlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    circlePaint.setColor(clusterColor);
+    canvas.drawCircle(size / 2, size / 2, size / 2, circlePaint);
+    float baseline = size / 2 - (textPaint.descent() + textPaint.ascent()) / 2;
+    canvas.drawText(label, size / 2, baseline, textPaint);
+
+    icon = BitmapDescriptorFactory.fromBitmap(bitmap);
+    iconCache.put(label, icon);
+    return icon;
+  }
+}
@@ -15,4 +15,10 @@ public abstract class AirMapFeature extends ReactViewGroup {
   public abstract void removeFromMap(GoogleMap map);
 
   public abstract Object getFeature();
+
+  /**
+   * Called when the camera of the map stops moving at a different whole zoom level.
+   */
+  public void onZoomChanged(float zoom) {
+  }
 }
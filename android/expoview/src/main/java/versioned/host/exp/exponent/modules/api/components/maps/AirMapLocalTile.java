@@ -1,6 +1,9 @@
 package versioned.host.exp.exponent.modules.api.components.maps;
 
 import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
 
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.model.Tile;
@@ -8,18 +11,19 @@ import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileOverlayOptions;
 import com.google.android.gms.maps.model.TileProvider;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 
 public class AirMapLocalTile extends AirMapFeature {
 
     class AIRMapLocalTileProvider implements TileProvider {
-        private static final int BUFFER_SIZE = 16 * 1024;
+        private static final String MBTILES_EXTENSION = ".mbtiles";
+        private static final String MBTILES_QUERY = "SELECT tile_data FROM tiles " +
+                "WHERE zoom_level = ? AND tile_column = ? AND tile_row = ?";
+
         private int tileSize;
         private String pathTemplate;
+        // Opened on first use when the path template points at an MBTiles file
+        private SQLiteDatabase mbtiles;
 
 
         public AIRMapLocalTileProvider(int tileSizet, String pathTemplate) {
@@ -33,46 +37,77 @@ public class AirMapLocalTile extends AirMapFeature {
             return image == null ? TileProvider.NO_TILE : new Tile(this.tileSize, this.tileSize, image);
         }
 
-        public void setPathTemplate(String pathTemplate) {
+        public synchronized void setPathTemplate(String pathTemplate) {
             this.pathTemplate = pathTemplate;
+            close();
         }
 
         public void setTileSize(int tileSize) {
             this.tileSize = tileSize;
         }
 
-        private byte[] readTileImage(int x, int y, int zoom) {
-            InputStream in = null;
-            ByteArrayOutputStream buffer = null;
-            File file = new File(getTileFilename(x, y, zoom));
-
-            try {
-                in = new FileInputStream(file);
-                buffer = new ByteArrayOutputStream();
+        public synchronized void close() {
+            if (mbtiles != null) {
+                mbtiles.close();
+                mbtiles = null;
+            }
+        }
 
-                int nRead;
-                byte[] data = new byte[BUFFER_SIZE];
+        private byte[] readTileImage(int x, int y, int zoom) {
+            String pathTemplate;
+            SQLiteDatabase database = null;
+            synchronized (this) {
+                pathTemplate = this.pathTemplate;
+                if (pathTemplate == null) {
+                    return null;
+                }
+                if (pathTemplate.endsWith(MBTILES_EXTENSION)) {
+                    database = getMBTiles();
+                    if (database == null) {
+                        return null;
+                    }
+                }
+            }
+            if (database != null) {
+                return readMBTilesImage(database, x, y, zoom);
+            }
+            return TileCache.readFile(new File(getTileFilename(pathTemplate, x, y, zoom)));
+        }
 
-                while ((nRead = in.read(data, 0, BUFFER_SIZE)) != -1) {
-                    buffer.write(data, 0, nRead);
+        private SQLiteDatabase getMBTiles() {
+            if (mbtiles == null) {
+                try {
+                    mbtiles = SQLiteDatabase.openDatabase(pathTemplate, null,
+                            SQLiteDatabase.OPEN_READONLY | SQLiteDatabase.NO_LOCALIZED_COLLATORS);
+                } catch (SQLiteException e) {
+                    e.printStackTrace();
                 }
-                buffer.flush();
+            }
+            return mbtiles;
+        }
 
-                return buffer.toByteArray();
-            } catch (IOException e) {
+        private byte[] readMBTilesImage(SQLiteDatabase database, int x, int y, int zoom) {
+            // MBTiles rows count from the bottom of the map (TMS scheme)
+            int row = (1 << zoom) - 1 - y;
+            Cursor cursor = null;
+            try {
+                cursor = database.rawQuery(MBTILES_QUERY, new String[] {
+                        Integer.toString(zoom), Integer.toString(x), Integer.toString(row)});
+                return cursor.moveToFirst() ? cursor.getBlob(0) : null;
+            } catch (SQLiteException e) {
+                // Thrown when the database was closed because the path template changed
                 e.printStackTrace();
                 return null;
-            } catch (OutOfMemoryError e) {
+            } catch (IllegalStateException e) {
                 e.printStackTrace();
                 return null;
             } finally {
-                if (in != null) try { in.close(); } catch (Exception ignored) {}
-                if (buffer != null) try { buffer.close(); } catch (Exception ignored) {}
+                if (cursor != null) cursor.close();
             }
         }
 
-        private String getTileFilename(int x, int y, int zoom) {
-            String s = this.pathTemplate
+        private String getTileFilename(String pathTemplate, int x, int y, int zoom) {
+            String s = pathTemplate
                     .replace("{x}", Integer.toString(x))
                     .replace("{y}", Integer.toString(y))
                     .replace("{z}", Integer.toString(zoom));
@@ -144,5 +179,8 @@ public class AirMapLocalTile extends AirMapFeature {
     @Override
     public void removeFromMap(GoogleMap map) {
         tileOverlay.remove();
+        if (tileProvider != null) {
+            tileProvider.close();
+        }
     }
 }
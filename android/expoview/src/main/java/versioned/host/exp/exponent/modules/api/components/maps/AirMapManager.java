@@ -232,6 +232,36 @@ public class AirMapManager extends ViewGroupManager<AirMapView> {
     view.map.setMaxZoomPreference(maxZoomLevel);
   }
 
+  @ReactProp(name = "clusteringEnabled", defaultBoolean = false)
+  public void setClusteringEnabled(AirMapView view, boolean clusteringEnabled) {
+    view.setClusteringEnabled(clusteringEnabled);
+  }
+
+  @ReactProp(name = "clusterRadius", defaultFloat = 40f)
+  public void setClusterRadius(AirMapView view, float clusterRadius) {
+    view.setClusterRadius(clusterRadius);
+  }
+
+  @ReactProp(name = "clusterMinZoom", defaultInt = 0)
+  public void setClusterMinZoom(AirMapView view, int clusterMinZoom) {
+    view.setClusterMinZoom(clusterMinZoom);
+  }
+
+  @ReactProp(name = "clusterMaxZoom", defaultInt = 16)
+  public void setClusterMaxZoom(AirMapView view, int clusterMaxZoom) {
+    view.setClusterMaxZoom(clusterMaxZoom);
+  }
+
+  @ReactProp(name = "clusterColor", customType = "Color")
+  public void setClusterColor(AirMapView view, @Nullable Integer clusterColor) {
+    view.setClusterColor(clusterColor);
+  }
+
+  @ReactProp(name = "clusterTextColor", customType = "Color")
+  public void setClusterTextColor(AirMapView view, @Nullable Integer clusterTextColor) {
+    view.setClusterTextColor(clusterTextColor);
+  }
+
   @ReactProp(name = "kmlSrc")
   public void setKmlSrc(AirMapView view, String kmlUrl) {
     if (kmlUrl != null) {
@@ -326,6 +356,10 @@ public class AirMapManager extends ViewGroupManager<AirMapView> {
         "onPoiClick", MapBuilder.of("registrationName", "onPoiClick")
     ));
 
+    map.putAll(MapBuilder.of(
+        "onClusterPress", MapBuilder.of("registrationName", "onClusterPress")
+    ));
+
     return map;
   }
   
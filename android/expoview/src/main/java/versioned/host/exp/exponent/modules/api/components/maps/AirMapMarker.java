@@ -9,6 +9,8 @@ import android.graphics.drawable.Drawable;
 import android.net.Uri;
 import android.view.View;
 import android.widget.LinearLayout;
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.animation.ObjectAnimator;
 import android.util.Property;
 import android.animation.TypeEvaluator;
@@ -75,6 +77,9 @@ public class AirMapMarker extends AirMapFeature {
 
   private boolean hasCustomMarkerView = false;
 
+  // Set while the marker is clustered, in which case it is only on the map when shown
+  private AirMapClusterer clusterer;
+
   private final DraweeHolder<?> logoHolder;
   private DataSource<CloseableReference<CloseableImage>> dataSource;
   private final ControllerListener<ImageInfo> mLogoControllerListener =
@@ -147,9 +152,35 @@ public class AirMapMarker extends AirMapFeature {
     if (marker != null) {
       marker.setPosition(position);
     }
+    if (clusterer != null) {
+      clusterer.invalidate();
+    }
     update();
   }
 
+  /**
+   * Records a position the marker was moved to on the map, by a drag or an animation, so that
+   * clustering and fitting use it.
+   */
+  public void onPositionChanged(LatLng newPosition) {
+    position = newPosition;
+    if (clusterer != null) {
+      clusterer.invalidate();
+    }
+  }
+
+  public LatLng getPosition() {
+    return position;
+  }
+
+  public void setClusterer(AirMapClusterer clusterer) {
+    this.clusterer = clusterer;
+  }
+
+  public AirMapClusterer getClusterer() {
+    return clusterer;
+  }
+
   public void setIdentifier(String identifier) {
     this.identifier = identifier;
     update();
@@ -246,7 +277,12 @@ public class AirMapMarker extends AirMapFeature {
     return new LatLng(lat, lng);
   }
 
-  public void animateToCoodinate(LatLng finalPosition, Integer duration) {
+  public void animateToCoodinate(final LatLng finalPosition, Integer duration) {
+    if (marker == null) {
+      // Clustered away, there is nothing on the map to animate
+      onPositionChanged(finalPosition);
+      return;
+    }
     TypeEvaluator<LatLng> typeEvaluator = new TypeEvaluator<LatLng>() {
       @Override
       public LatLng evaluate(float fraction, LatLng startValue, LatLng endValue) {
@@ -260,6 +296,12 @@ public class AirMapMarker extends AirMapFeature {
       typeEvaluator,
       finalPosition);
     animator.setDuration(duration);
+    animator.addListener(new AnimatorListenerAdapter() {
+      @Override
+      public void onAnimationEnd(Animator animation) {
+        onPositionChanged(finalPosition);
+      }
+    });
     animator.start();
   }
 
@@ -327,8 +369,13 @@ public class AirMapMarker extends AirMapFeature {
 
   @Override
   public void removeFromMap(GoogleMap map) {
+    if (marker == null) {
+      return;
+    }
     marker.remove();
     marker = null;
+    // Options are built from the current props again if the marker is shown once more
+    markerOptions = null;
   }
 
   private BitmapDescriptor getIcon() {
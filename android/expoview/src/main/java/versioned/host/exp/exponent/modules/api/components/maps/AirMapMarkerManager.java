@@ -167,14 +167,29 @@ public class AirMapMarkerManager extends ViewGroupManager<AirMapMarker> {
     Double lat;
     Double lng;
     ReadableMap region;
+    Marker marker;
+    AirMapClusterer clusterer = view.getClusterer();
 
     switch (commandId) {
       case SHOW_INFO_WINDOW:
-        ((Marker) view.getFeature()).showInfoWindow();
+        // A clustered marker isn't on the map, it is shown on its own while its info window is open
+        if (clusterer != null) {
+          clusterer.pinMarker(view);
+        }
+        marker = (Marker) view.getFeature();
+        if (marker != null) {
+          marker.showInfoWindow();
+        }
         break;
 
       case HIDE_INFO_WINDOW:
-        ((Marker) view.getFeature()).hideInfoWindow();
+        marker = (Marker) view.getFeature();
+        if (marker != null) {
+          marker.hideInfoWindow();
+        }
+        if (clusterer != null) {
+          clusterer.unpinMarker(view);
+        }
         break;
       
       case ANIMATE_MARKER_TO_COORDINATE:
@@ -211,4 +211,20 @@ public class AirMapModule extends ReactContextBaseJavaModule {
       }
     });
   }
+
+  @ReactMethod
+  public void getTileCacheStats(final Promise promise) {
+    promise.resolve(TileCache.getInstance(getReactApplicationContext()).getStats());
+  }
+
+  @ReactMethod
+  public void clearTileCache(final Promise promise) {
+    TileCache.getInstance(getReactApplicationContext()).clear();
+    promise.resolve(null);
+  }
+
+  @ReactMethod
+  public void setTileCacheMaxSize(double maxSize) {
+    TileCache.getInstance(getReactApplicationContext()).setMaxDiskSize((long) maxSize);
+  }
 }
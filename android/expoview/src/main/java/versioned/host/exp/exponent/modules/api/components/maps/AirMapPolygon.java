@@ -17,7 +17,7 @@ public class AirMapPolygon extends AirMapFeature {
   private PolygonOptions polygonOptions;
   private Polygon polygon;
 
-  private List<LatLng> coordinates;
+  private final SimplifiedPath path;
   private List<List<LatLng>> holes;
   private int strokeColor;
   private int fillColor;
@@ -27,19 +27,34 @@ public class AirMapPolygon extends AirMapFeature {
 
   public AirMapPolygon(Context context) {
     super(context);
+    path = new SimplifiedPath(new SimplifiedPath.Listener() {
+      @Override
+      public void onPointsChanged(List<LatLng> points) {
+        if (polygon != null) {
+          polygon.setPoints(points);
+        }
+      }
+    });
   }
 
   public void setCoordinates(ReadableArray coordinates) {
-    // it's kind of a bummer that we can't run map() or anything on the ReadableArray
-    this.coordinates = new ArrayList<>(coordinates.size());
-    for (int i = 0; i < coordinates.size(); i++) {
-      ReadableMap coordinate = coordinates.getMap(i);
-      this.coordinates.add(i,
-          new LatLng(coordinate.getDouble("latitude"), coordinate.getDouble("longitude")));
-    }
-    if (polygon != null) {
-      polygon.setPoints(this.coordinates);
+    if (coordinates == null) {
+      // Cleared in favour of packedCoordinates or encodedCoordinates
+      return;
     }
+    path.setCoordinates(SimplifiedPath.fromCoordinateArray(coordinates));
+  }
+
+  public void setPackedCoordinates(ReadableArray packedCoordinates) {
+    path.setCoordinates(SimplifiedPath.fromPackedArray(packedCoordinates));
+  }
+
+  public void setEncodedCoordinates(String encodedCoordinates) {
+    path.setCoordinates(SimplifiedPath.fromEncodedPolyline(encodedCoordinates));
+  }
+
+  public void setSimplificationTolerance(float tolerance) {
+    path.setTolerance(tolerance);
   }
 
   public void setHoles(ReadableArray holes) {
@@ -118,7 +133,7 @@ public class AirMapPolygon extends AirMapFeature {
 
   private PolygonOptions createPolygonOptions() {
     PolygonOptions options = new PolygonOptions();
-    options.addAll(coordinates);
+    options.addAll(path.getPoints());
     options.fillColor(fillColor);
     options.strokeColor(strokeColor);
     options.strokeWidth(strokeWidth);
@@ -141,8 +156,16 @@ public class AirMapPolygon extends AirMapFeature {
 
   @Override
   public void addToMap(GoogleMap map) {
+    path.setZoom(map.getCameraPosition().zoom);
     polygon = map.addPolygon(getPolygonOptions());
     polygon.setClickable(true);
+    // The options may have been built before the current zoom level was known
+    polygon.setPoints(path.getPoints());
+  }
+
+  @Override
+  public void onZoomChanged(float zoom) {
+    path.setZoom(zoom);
   }
 
   @Override
@@ -47,6 +47,27 @@ public class AirMapPolygonManager extends ViewGroupManager<AirMapPolygon> {
     view.setCoordinates(coordinates);
   }
 
+  // Flat array of alternating latitudes and longitudes, cheaper to send than coordinate maps
+  @ReactProp(name = "packedCoordinates")
+  public void setPackedCoordinates(AirMapPolygon view, ReadableArray packedCoordinates) {
+    if (packedCoordinates != null) {
+      view.setPackedCoordinates(packedCoordinates);
+    }
+  }
+
+  // Google encoded polyline string
+  @ReactProp(name = "encodedCoordinates")
+  public void setEncodedCoordinates(AirMapPolygon view, String encodedCoordinates) {
+    if (encodedCoordinates != null) {
+      view.setEncodedCoordinates(encodedCoordinates);
+    }
+  }
+
+  @ReactProp(name = "simplificationTolerance", defaultFloat = 1f)
+  public void setSimplificationTolerance(AirMapPolygon view, float tolerance) {
+    view.setSimplificationTolerance(tolerance);
+  }
+
   @ReactProp(name = "holes")
   public  void setHoles(AirMapPolygon view, ReadableArray holes) {
     view.setHoles(holes);
@@ -3,13 +3,11 @@ package versioned.host.exp.exponent.modules.api.components.maps;
 import android.content.Context;
 
 import com.facebook.react.bridge.ReadableArray;
-import com.facebook.react.bridge.ReadableMap;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Polyline;
 import com.google.android.gms.maps.model.PolylineOptions;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class AirMapPolyline extends AirMapFeature {
@@ -17,7 +15,7 @@ public class AirMapPolyline extends AirMapFeature {
   private PolylineOptions polylineOptions;
   private Polyline polyline;
 
-  private List<LatLng> coordinates;
+  private final SimplifiedPath path;
   private int color;
   private float width;
   private boolean geodesic;
@@ -25,18 +23,34 @@ public class AirMapPolyline extends AirMapFeature {
 
   public AirMapPolyline(Context context) {
     super(context);
+    path = new SimplifiedPath(new SimplifiedPath.Listener() {
+      @Override
+      public void onPointsChanged(List<LatLng> points) {
+        if (polyline != null) {
+          polyline.setPoints(points);
+        }
+      }
+    });
   }
 
   public void setCoordinates(ReadableArray coordinates) {
-    this.coordinates = new ArrayList<>(coordinates.size());
-    for (int i = 0; i < coordinates.size(); i++) {
-      ReadableMap coordinate = coordinates.getMap(i);
-      this.coordinates.add(i,
-          new LatLng(coordinate.getDouble("latitude"), coordinate.getDouble("longitude")));
-    }
-    if (polyline != null) {
-      polyline.setPoints(this.coordinates);
+    if (coordinates == null) {
+      // Cleared in favour of packedCoordinates or encodedCoordinates
+      return;
     }
+    path.setCoordinates(SimplifiedPath.fromCoordinateArray(coordinates));
+  }
+
+  public void setPackedCoordinates(ReadableArray packedCoordinates) {
+    path.setCoordinates(SimplifiedPath.fromPackedArray(packedCoordinates));
+  }
+
+  public void setEncodedCoordinates(String encodedCoordinates) {
+    path.setCoordinates(SimplifiedPath.fromEncodedPolyline(encodedCoordinates));
+  }
+
+  public void setSimplificationTolerance(float tolerance) {
+    path.setTolerance(tolerance);
   }
 
   public void setColor(int color) {
@@ -76,7 +90,7 @@ public class AirMapPolyline extends AirMapFeature {
 
   private PolylineOptions createPolylineOptions() {
     PolylineOptions options = new PolylineOptions();
-    options.addAll(coordinates);
+    options.addAll(path.getPoints());
     options.color(color);
     options.width(width);
     options.geodesic(geodesic);
@@ -91,8 +105,16 @@ public class AirMapPolyline extends AirMapFeature {
 
   @Override
   public void addToMap(GoogleMap map) {
+    path.setZoom(map.getCameraPosition().zoom);
     polyline = map.addPolyline(getPolylineOptions());
     polyline.setClickable(true);
+    // The options may have been built before the current zoom level was known
+    polyline.setPoints(path.getPoints());
+  }
+
+  @Override
+  public void onZoomChanged(float zoom) {
+    path.setZoom(zoom);
   }
 
   @Override
@@ -47,6 +47,27 @@ public class AirMapPolylineManager extends ViewGroupManager<AirMapPolyline> {
     view.setCoordinates(coordinates);
   }
 
+  // Flat array of alternating latitudes and longitudes, cheaper to send than coordinate maps
+  @ReactProp(name = "packedCoordinates")
+  public void setPackedCoordinates(AirMapPolyline view, ReadableArray packedCoordinates) {
+    if (packedCoordinates != null) {
+      view.setPackedCoordinates(packedCoordinates);
+    }
+  }
+
+  // Google encoded polyline string
+  @ReactProp(name = "encodedCoordinates")
+  public void setEncodedCoordinates(AirMapPolyline view, String encodedCoordinates) {
+    if (encodedCoordinates != null) {
+      view.setEncodedCoordinates(encodedCoordinates);
+    }
+  }
+
+  @ReactProp(name = "simplificationTolerance", defaultFloat = 1f)
+  public void setSimplificationTolerance(AirMapPolyline view, float tolerance) {
+    view.setSimplificationTolerance(tolerance);
+  }
+
   @ReactProp(name = "strokeWidth", defaultFloat = 1f)
   public void setStrokeWidth(AirMapPolyline view, float widthInPoints) {
     float widthInScreenPx = metrics.density * widthInPoints; // done for parity with iOS
@@ -2,54 +2,245 @@ package versioned.host.exp.exponent.modules.api.components.maps;
 
 import android.content.Context;
 
+import com.facebook.react.modules.network.OkHttpClientProvider;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.Tile;
 import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileOverlayOptions;
-import com.google.android.gms.maps.model.UrlTileProvider;
+import com.google.android.gms.maps.model.TileProvider;
 
-import java.net.MalformedURLException;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import expolib_v1.okhttp3.Request;
+import expolib_v1.okhttp3.Response;
 
 public class AirMapUrlTile extends AirMapFeature {
 
-  class AIRMapUrlTileProvider extends UrlTileProvider {
-    private String urlTemplate;
+  private static final int TILE_SIZE = 256;
+  private static final int MAX_ZOOM = 21;
+  private static final int MAX_PENDING_PREFETCHES = 64;
+  // Returned by downloadTile when the server has no tile at that position
+  private static final byte[] NO_TILE_DATA = new byte[0];
+
+  // Shared by all overlays. When the queue is full the oldest request is dropped, since the
+  // newest ones are the closest to what is on screen now.
+  private static final Set<String> pendingPrefetches =
+      Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  private static final ThreadPoolExecutor prefetchExecutor = new ThreadPoolExecutor(
+      2, 2, 30, TimeUnit.SECONDS, new LinkedBlockingDeque<Runnable>(MAX_PENDING_PREFETCHES),
+      new ThreadPoolExecutor.DiscardOldestPolicy() {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+          Runnable dropped = executor.getQueue().peek();
+          if (dropped instanceof PrefetchTask) {
+            pendingPrefetches.remove(((PrefetchTask) dropped).key);
+          }
+          super.rejectedExecution(task, executor);
+        }
+      });
+
+  static {
+    prefetchExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  class AIRMapUrlTileProvider implements TileProvider {
+    private volatile String urlTemplate;
+    private volatile boolean cacheEnabled;
+    private volatile int prefetchRadius;
 
-    public AIRMapUrlTileProvider(int width, int height, String urlTemplate) {
-      super(width, height);
+    public AIRMapUrlTileProvider(String urlTemplate, boolean cacheEnabled, int prefetchRadius) {
       this.urlTemplate = urlTemplate;
+      this.cacheEnabled = cacheEnabled;
+      this.prefetchRadius = prefetchRadius;
     }
 
     @Override
-    public synchronized URL getTileUrl(int x, int y, int zoom) {
+    public Tile getTile(int x, int y, int zoom) {
+      String urlTemplate = this.urlTemplate;
+      if (urlTemplate == null) {
+        return NO_TILE;
+      }
 
-      String s = this.urlTemplate
-          .replace("{x}", Integer.toString(x))
-          .replace("{y}", Integer.toString(y))
-          .replace("{z}", Integer.toString(zoom));
-      URL url = null;
-      try {
-        url = new URL(s);
-      } catch (MalformedURLException e) {
-        throw new AssertionError(e);
+      byte[] data = null;
+      String key = TileCache.getKey(urlTemplate, x, y, zoom);
+      if (cacheEnabled) {
+        data = tileCache.get(key);
+      }
+      if (data == null) {
+        try {
+          data = downloadTile(getTileUrl(urlTemplate, x, y, zoom), false);
+        } catch (IOException e) {
+          // Returning null makes the map ask for the tile again later
+          return null;
+        }
+        if (data == NO_TILE_DATA) {
+          return NO_TILE;
+        }
+        if (cacheEnabled) {
+          tileCache.put(key, data);
+        }
       }
-      return url;
+
+      if (cacheEnabled && prefetchRadius > 0) {
+        prefetchAround(urlTemplate, x, y, zoom, prefetchRadius);
+      }
+      return new Tile(TILE_SIZE, TILE_SIZE, data);
     }
 
     public void setUrlTemplate(String urlTemplate) {
       this.urlTemplate = urlTemplate;
     }
+
+    public void setCacheEnabled(boolean cacheEnabled) {
+      this.cacheEnabled = cacheEnabled;
+    }
+
+    public void setPrefetchRadius(int prefetchRadius) {
+      this.prefetchRadius = prefetchRadius;
+    }
+  }
+
+  private static String getTileUrl(String urlTemplate, int x, int y, int zoom) {
+    return urlTemplate
+        .replace("{x}", Integer.toString(x))
+        .replace("{y}", Integer.toString(y))
+        .replace("{z}", Integer.toString(zoom));
+  }
+
+  private byte[] downloadTile(String url, boolean prefetch) throws IOException {
+    if (!url.startsWith("http://") && !url.startsWith("https://")) {
+      // OkHttp only speaks http, file:// and other url templates are read through URLConnection
+      byte[] data = readTile(url);
+      if (data != NO_TILE_DATA) {
+        tileCache.recordDownload(prefetch);
+      }
+      return data;
+    }
+    Request request = new Request.Builder().url(url).build();
+    Response response = OkHttpClientProvider.getOkHttpClient().newCall(request).execute();
+    try {
+      if (response.code() == 404 || response.code() == 204) {
+        return NO_TILE_DATA;
+      }
+      if (!response.isSuccessful()) {
+        throw new IOException("Unexpected response code " + response.code() + " for " + url);
+      }
+      byte[] data = response.body().bytes();
+      tileCache.recordDownload(prefetch);
+      return data;
+    } finally {
+      response.close();
+    }
+  }
+
+  private static byte[] readTile(String url) throws IOException {
+    InputStream in;
+    try {
+      in = new URL(url).openStream();
+    } catch (FileNotFoundException e) {
+      return NO_TILE_DATA;
+    }
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[16 * 1024];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Queues the tiles around the given one, its parent and its children for download, so that
+   * panning and zooming find them in the cache.
+   */
+  private void prefetchAround(String urlTemplate, int x, int y, int zoom, int radius) {
+    int tileCount = 1 << zoom;
+    for (int dy = -radius; dy <= radius; dy++) {
+      for (int dx = -radius; dx <= radius; dx++) {
+        int tileY = y + dy;
+        if ((dx == 0 && dy == 0) || tileY < 0 || tileY >= tileCount) {
+          continue;
+        }
+        // Tiles wrap around the antimeridian
+        int tileX = ((x + dx) % tileCount + tileCount) % tileCount;
+        prefetch(urlTemplate, tileX, tileY, zoom);
+      }
+    }
+    if (zoom > 0) {
+      prefetch(urlTemplate, x >> 1, y >> 1, zoom - 1);
+    }
+    if (zoom < MAX_ZOOM) {
+      for (int i = 0; i < 4; i++) {
+        prefetch(urlTemplate, 2 * x + (i & 1), 2 * y + (i >> 1), zoom + 1);
+      }
+    }
+  }
+
+  private void prefetch(String urlTemplate, int x, int y, int zoom) {
+    String key = TileCache.getKey(urlTemplate, x, y, zoom);
+    if (pendingPrefetches.contains(key) || tileCache.contains(key)) {
+      return;
+    }
+    if (pendingPrefetches.add(key)) {
+      prefetchExecutor.execute(new PrefetchTask(key, getTileUrl(urlTemplate, x, y, zoom)));
+    }
+  }
+
+  private class PrefetchTask implements Runnable {
+    final String key;
+    final String url;
+
+    PrefetchTask(String key, String url) {
+      this.key = key;
+      this.url = url;
+    }
+
+    @Override
+    public void run() {
+      try {
+        if (tileCache.contains(key)) {
+          return;
+        }
+        byte[] data = downloadTile(url, true);
+        if (data != NO_TILE_DATA) {
+          tileCache.put(key, data);
+        }
+      } catch (IOException ignored) {
+        // Prefetching is best effort, the tile is requested again when it is shown
+      } finally {
+        pendingPrefetches.remove(key);
+      }
+    }
   }
 
   private TileOverlayOptions tileOverlayOptions;
   private TileOverlay tileOverlay;
   private AIRMapUrlTileProvider tileProvider;
 
+  private final TileCache tileCache;
+
   private String urlTemplate;
   private float zIndex;
+  private boolean cacheEnabled = false;
+  private int prefetchRadius = 0;
 
   public AirMapUrlTile(Context context) {
     super(context);
+    tileCache = TileCache.getInstance(context);
   }
 
   public void setUrlTemplate(String urlTemplate) {
@@ -62,6 +253,20 @@ public class AirMapUrlTile extends AirMapFeature {
     }
   }
 
+  public void setCacheEnabled(boolean cacheEnabled) {
+    this.cacheEnabled = cacheEnabled;
+    if (tileProvider != null) {
+      tileProvider.setCacheEnabled(cacheEnabled);
+    }
+  }
+
+  public void setPrefetchRadius(int prefetchRadius) {
+    this.prefetchRadius = prefetchRadius;
+    if (tileProvider != null) {
+      tileProvider.setPrefetchRadius(prefetchRadius);
+    }
+  }
+
   public void setZIndex(float zIndex) {
     this.zIndex = zIndex;
     if (tileOverlay != null) {
@@ -79,7 +284,8 @@ public class AirMapUrlTile extends AirMapFeature {
   private TileOverlayOptions createTileOverlayOptions() {
     TileOverlayOptions options = new TileOverlayOptions();
     options.zIndex(zIndex);
-    this.tileProvider = new AIRMapUrlTileProvider(256, 256, this.urlTemplate);
+    this.tileProvider =
+        new AIRMapUrlTileProvider(this.urlTemplate, this.cacheEnabled, this.prefetchRadius);
     options.tileProvider(this.tileProvider);
     return options;
   }
@@ -45,4 +45,14 @@ public class AirMapUrlTileManager extends ViewGroupManager<AirMapUrlTile> {
     view.setZIndex(zIndex);
   }
 
+  @ReactProp(name = "tileCacheEnabled", defaultBoolean = false)
+  public void setTileCacheEnabled(AirMapUrlTile view, boolean tileCacheEnabled) {
+    view.setCacheEnabled(tileCacheEnabled);
+  }
+
+  @ReactProp(name = "prefetchRadius", defaultInt = 0)
+  public void setPrefetchRadius(AirMapUrlTile view, int prefetchRadius) {
+    view.setPrefetchRadius(prefetchRadius);
+  }
+
 }
@@ -56,10 +56,11 @@ import org.xmlpull.v1.XmlPullParserException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 import static android.support.v4.content.PermissionChecker.checkSelfPermission;
@@ -84,6 +85,15 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
   private boolean initialRegionSet = false;
   private LatLngBounds cameraLastIdleBounds;
   private int cameraMoveReason = 0;
+  private int lastIdleZoomLevel = -1;
+
+  private boolean clusteringEnabled = false;
+  private float clusterRadius = 40;
+  private int clusterMinZoom = 0;
+  private int clusterMaxZoom = 16;
+  private Integer clusterColor = null;
+  private Integer clusterTextColor = null;
+  private AirMapClusterer clusterer;
 
   private static final String[] PERMISSIONS = new String[]{
       "android.permission.ACCESS_FINE_LOCATION", "android.permission.ACCESS_COARSE_LOCATION"};
@@ -183,6 +193,10 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
 
     manager.pushEvent(context, this, "onMapReady", new WritableNativeMap());
 
+    if (clusteringEnabled) {
+      startClustering();
+    }
+
     final AirMapView view = this;
 
     map.setOnMyLocationChangeListener(new GoogleMap.OnMyLocationChangeListener() {
@@ -210,6 +224,12 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
       @Override
       public boolean onMarkerClick(Marker marker) {
         WritableMap event;
+
+        AirMapClusterer.Cluster cluster = clusterer != null ? clusterer.getCluster(marker) : null;
+        if (cluster != null) {
+          onClusterClick(cluster);
+          return true;
+        }
         AirMapMarker airMapMarker = getMarkerMap(marker);
 
         event = makeClickEventData(marker.getPosition());
@@ -273,6 +293,16 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
       }
     });
 
+    map.setOnInfoWindowCloseListener(new GoogleMap.OnInfoWindowCloseListener() {
+      @Override
+      public void onInfoWindowClose(Marker marker) {
+        AirMapMarker markerView = getMarkerMap(marker);
+        if (clusterer != null && markerView != null) {
+          clusterer.unpinMarker(markerView);
+        }
+      }
+    });
+
     map.setOnMapClickListener(new GoogleMap.OnMapClickListener() {
       @Override
       public void onMapClick(LatLng point) {
@@ -317,6 +347,16 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
           cameraLastIdleBounds = bounds;
           eventDispatcher.dispatchEvent(new RegionChangeEvent(getId(), bounds, false));
         }
+        if (clusterer != null) {
+          clusterer.onCameraIdle();
+        }
+        float zoom = map.getCameraPosition().zoom;
+        if ((int) zoom != lastIdleZoomLevel) {
+          lastIdleZoomLevel = (int) zoom;
+          for (AirMapFeature feature : features) {
+            feature.onZoomChanged(zoom);
+          }
+        }
       }
     });
 
@@ -387,6 +427,11 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
     }
     destroyed = true;
 
+    if (clusterer != null) {
+      clusterer.destroy(false);
+      clusterer = null;
+    }
+
     if (lifecycleListener != null && context != null) {
       context.removeLifecycleEventListener(lifecycleListener);
       lifecycleListener = null;
@@ -509,10 +554,124 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
     this.handlePanDrag = handlePanDrag;
   }
 
+  public void setClusteringEnabled(boolean clusteringEnabled) {
+    if (this.clusteringEnabled == clusteringEnabled) {
+      return;
+    }
+    this.clusteringEnabled = clusteringEnabled;
+    if (map == null) {
+      // Clustering starts in onMapReady
+      return;
+    }
+    if (clusteringEnabled) {
+      startClustering();
+    } else if (clusterer != null) {
+      clusterer.destroy(true);
+      clusterer = null;
+    }
+  }
+
+  public void setClusterRadius(float clusterRadius) {
+    this.clusterRadius = clusterRadius;
+    if (clusterer != null) {
+      clusterer.setRadius(clusterRadius);
+    }
+  }
+
+  public void setClusterMinZoom(int clusterMinZoom) {
+    this.clusterMinZoom = clusterMinZoom;
+    if (clusterer != null) {
+      clusterer.setMinZoom(clusterMinZoom);
+    }
+  }
+
+  public void setClusterMaxZoom(int clusterMaxZoom) {
+    this.clusterMaxZoom = clusterMaxZoom;
+    if (clusterer != null) {
+      clusterer.setMaxZoom(clusterMaxZoom);
+    }
+  }
+
+  public void setClusterColor(Integer clusterColor) {
+    this.clusterColor = clusterColor;
+    updateClusterColors();
+  }
+
+  public void setClusterTextColor(Integer clusterTextColor) {
+    this.clusterTextColor = clusterTextColor;
+    updateClusterColors();
+  }
+
+  private void updateClusterColors() {
+    if (clusterer != null && (clusterColor != null || clusterTextColor != null)) {
+      clusterer.setClusterColor(
+          clusterColor != null ? clusterColor : AirMapClusterer.DEFAULT_CLUSTER_COLOR,
+          clusterTextColor != null ? clusterTextColor : AirMapClusterer.DEFAULT_CLUSTER_TEXT_COLOR);
+    }
+  }
+
+  private void startClustering() {
+    clusterer = new AirMapClusterer(map, getResources().getDisplayMetrics().density,
+        new AirMapClusterer.Listener() {
+          @Override
+          public void onMarkerShown(AirMapMarker marker) {
+            marker.addToMap(map);
+            markerMap.put((Marker) marker.getFeature(), marker);
+          }
+
+          @Override
+          public void onMarkerHidden(AirMapMarker marker) {
+            markerMap.remove(marker.getFeature());
+            marker.removeFromMap(map);
+          }
+        });
+    clusterer.setRadius(clusterRadius);
+    clusterer.setMinZoom(clusterMinZoom);
+    clusterer.setMaxZoom(clusterMaxZoom);
+    updateClusterColors();
+
+    // Markers are only put back on the map once the clusterer decides they are visible
+    for (AirMapFeature feature : features) {
+      if (feature instanceof AirMapMarker) {
+        AirMapMarker marker = (AirMapMarker) feature;
+        markerMap.remove(marker.getFeature());
+        marker.removeFromMap(map);
+        clusterer.addMarker(marker);
+      }
+    }
+    clusterer.invalidate();
+  }
+
+  private void onClusterClick(AirMapClusterer.Cluster cluster) {
+    WritableMap event = makeClickEventData(cluster.position);
+    event.putString("action", "cluster-press");
+    event.putInt("pointCount", cluster.pointCount);
+
+    WritableMap region = new WritableNativeMap();
+    LatLng center = cluster.bounds.getCenter();
+    region.putDouble("latitude", center.latitude);
+    region.putDouble("longitude", center.longitude);
+    region.putDouble("latitudeDelta",
+        cluster.bounds.northeast.latitude - cluster.bounds.southwest.latitude);
+    region.putDouble("longitudeDelta",
+        cluster.bounds.northeast.longitude - cluster.bounds.southwest.longitude);
+    event.putMap("region", region);
+    manager.pushEvent(context, this, "onClusterPress", event);
+
+    if (moveOnMarkerPress) {
+      // Zoom in until the cluster's markers spread out
+      map.animateCamera(CameraUpdateFactory.newLatLngBounds(cluster.bounds, baseMapPadding));
+    }
+  }
+
   public void addFeature(View child, int index) {
     // Our desired API is to pass up annotations/overlays as children to the mapview component.
     // This is where we intercept them and do the appropriate underlying mapview action.
-    if (child instanceof AirMapMarker) {
+    if (child instanceof AirMapMarker && clusterer != null) {
+      AirMapMarker annotation = (AirMapMarker) child;
+      features.add(index, annotation);
+      clusterer.addMarker(annotation);
+    } else if (child instanceof AirMapMarker) {
       AirMapMarker annotation = (AirMapMarker) child;
       annotation.addToMap(map);
       features.add(index, annotation);
@@ -567,6 +726,10 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
   public void removeFeatureAt(int index) {
     AirMapFeature feature = features.remove(index);
     if (feature instanceof AirMapMarker) {
+      AirMapMarker marker = (AirMapMarker) feature;
+      if (clusterer != null && marker.getClusterer() == clusterer) {
+        clusterer.removeMarker(marker);
+      }
       markerMap.remove(feature.getFeature());
     }
     feature.removeFromMap(map);
@@ -645,11 +808,15 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
 
     boolean addedPosition = false;
 
+    // Positions are read from the marker views rather than the map markers, which avoids a
+    // round trip to the map per marker and includes markers hidden by clustering.
     for (AirMapFeature feature : features) {
       if (feature instanceof AirMapMarker) {
-        Marker marker = (Marker) feature.getFeature();
-        builder.include(marker.getPosition());
-        addedPosition = true;
+        LatLng position = ((AirMapMarker) feature).getPosition();
+        if (position != null) {
+          builder.include(position);
+          addedPosition = true;
+        }
       }
       // TODO(lmr): may want to include shapes / etc.
     }
@@ -669,20 +836,17 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
 
     LatLngBounds.Builder builder = new LatLngBounds.Builder();
 
-    String[] markerIDs = new String[markerIDsArray.size()];
+    Set<String> markerIDs = new HashSet<>();
     for (int i = 0; i < markerIDsArray.size(); i++) {
-      markerIDs[i] = markerIDsArray.getString(i);
+      markerIDs.add(markerIDsArray.getString(i));
     }
 
     boolean addedPosition = false;
 
-    List<String> markerIDList = Arrays.asList(markerIDs);
-
     for (AirMapFeature feature : features) {
       if (feature instanceof AirMapMarker) {
-        String identifier = ((AirMapMarker) feature).getIdentifier();
-        Marker marker = (Marker) feature.getFeature();
-        if (markerIDList.contains(identifier)) {
+        AirMapMarker marker = (AirMapMarker) feature;
+        if (marker.getPosition() != null && markerIDs.contains(marker.getIdentifier())) {
           builder.include(marker.getPosition());
           addedPosition = true;
         }
@@ -753,12 +917,18 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
   @Override
   public View getInfoWindow(Marker marker) {
     AirMapMarker markerView = getMarkerMap(marker);
+    if (markerView == null) {
+      return null;
+    }
     return markerView.getCallout();
   }
 
   @Override
   public View getInfoContents(Marker marker) {
     AirMapMarker markerView = getMarkerMap(marker);
+    if (markerView == null) {
+      return null;
+    }
     return markerView.getInfoContents();
   }
 
@@ -808,6 +978,9 @@ public class AirMapView extends MapView implements GoogleMap.InfoWindowAdapter,
     manager.pushEvent(context, this, "onMarkerDragEnd", event);
 
     AirMapMarker markerView = getMarkerMap(marker);
+    if (markerView != null) {
+      markerView.onPositionChanged(marker.getPosition());
+    }
     event = makeClickEventData(marker.getPosition());
     manager.pushEvent(context, markerView, "onDragEnd", event);
   }
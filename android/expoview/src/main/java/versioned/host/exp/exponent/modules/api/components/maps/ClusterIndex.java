@@ -0,0 +1,260 @@
+package versioned.host.exp.exponent.modules.api.components.maps;
+
+import java.util.Arrays;
+
+/**
+ * Immutable hierarchical grid of marker positions. Points are projected to web mercator world
+ * coordinates in [0, 1) and grouped into grid cells that are {@code radius} dp wide at every
+ * zoom level between {@code minZoom} and {@code maxZoom}. Cells of a level nest exactly into
+ * cells of the level above, so each level is built from the clusters of the level below it.
+ * Above {@code maxZoom} every point is its own cluster.
+ */
+class ClusterIndex {
+  // Size of the world in dp at zoom level 0
+  private static final double TILE_SIZE = 256;
+  private static final double MAX_LATITUDE = 85.05112878;
+
+  private final int minZoom;
+  private final int maxZoom;
+  // levels[z - minZoom], with levels[maxZoom - minZoom + 1] holding the unclustered points
+  private final Level[] levels;
+
+  static class Level {
+    final int zoom;
+    // Cell size in world coordinates
+    final double cellSize;
+    final int size;
+    // Clusters sorted by cell column, then row
+    final int[] column;
+    final int[] row;
+    final double[] x;
+    final double[] y;
+    final int[] count;
+    // Index of the point when count == 1, -1 otherwise
+    final int[] point;
+    final double[] minX;
+    final double[] minY;
+    final double[] maxX;
+    final double[] maxY;
+
+    Level(int zoom, double cellSize, int size) {
+      this.zoom = zoom;
+      this.cellSize = cellSize;
+      this.size = size;
+      column = new int[size];
+      row = new int[size];
+      x = new double[size];
+      y = new double[size];
+      count = new int[size];
+      point = new int[size];
+      minX = new double[size];
+      minY = new double[size];
+      maxX = new double[size];
+      maxY = new double[size];
+    }
+  }
+
+  interface Visitor {
+    void visit(Level level, int cluster);
+  }
+
+  private ClusterIndex(int minZoom, int maxZoom, Level[] levels) {
+    this.minZoom = minZoom;
+    this.maxZoom = maxZoom;
+    this.levels = levels;
+  }
+
+  static ClusterIndex build(double[] latitudes, double[] longitudes, int count, float radius,
+      int minZoom, int maxZoom) {
+    radius = Math.max(radius, 1);
+    Level[] levels = new Level[maxZoom - minZoom + 2];
+
+    // Unclustered points are gridded at the resolution of the next zoom level so that queries
+    // can skip columns the same way they do for clusters.
+    double pointCellSize = radius / (TILE_SIZE * Math.pow(2, maxZoom + 1));
+    int[] column = new int[count];
+    int[] row = new int[count];
+    double[] x = new double[count];
+    double[] y = new double[count];
+    for (int i = 0; i < count; i++) {
+      x[i] = longitudeToX(longitudes[i]);
+      y[i] = latitudeToY(latitudes[i]);
+      column[i] = (int) Math.floor(x[i] / pointCellSize);
+      row[i] = (int) Math.floor(y[i] / pointCellSize);
+    }
+
+    int[] order = sortByCell(column, row, count, false);
+    Level points = new Level(maxZoom + 1, pointCellSize, count);
+    for (int i = 0; i < count; i++) {
+      int from = order[i];
+      points.column[i] = column[from];
+      points.row[i] = row[from];
+      points.x[i] = points.minX[i] = points.maxX[i] = x[from];
+      points.y[i] = points.minY[i] = points.maxY[i] = y[from];
+      points.count[i] = 1;
+      points.point[i] = from;
+    }
+    levels[levels.length - 1] = points;
+
+    for (int zoom = maxZoom; zoom >= minZoom; zoom--) {
+      Level child = levels[zoom - minZoom + 1];
+      levels[zoom - minZoom] = merge(child, zoom, child.cellSize * 2);
+    }
+    return new ClusterIndex(minZoom, maxZoom, levels);
+  }
+
+  private static Level merge(Level child, int zoom, double cellSize) {
+    // Every cell of this level holds exactly the 2x2 cells below it
+    int[] column = new int[child.size];
+    int[] row = new int[child.size];
+    for (int i = 0; i < child.size; i++) {
+      column[i] = child.column[i] >> 1;
+      row[i] = child.row[i] >> 1;
+    }
+    // The child level is sorted by column, so the parent columns already come in order
+    int[] order = sortByCell(column, row, child.size, true);
+
+    int[] parentOf = new int[child.size];
+    int size = 0;
+    for (int i = 0; i < child.size; i++) {
+      int c = order[i];
+      if (i == 0 || column[c] != column[order[i - 1]] || row[c] != row[order[i - 1]]) {
+        size++;
+      }
+      parentOf[i] = size - 1;
+    }
+
+    Level level = new Level(zoom, cellSize, size);
+    Arrays.fill(level.minX, Double.MAX_VALUE);
+    Arrays.fill(level.minY, Double.MAX_VALUE);
+    Arrays.fill(level.maxX, -Double.MAX_VALUE);
+    Arrays.fill(level.maxY, -Double.MAX_VALUE);
+    for (int i = 0; i < child.size; i++) {
+      int c = order[i];
+      int p = parentOf[i];
+      int n = child.count[c];
+      level.column[p] = column[c];
+      level.row[p] = row[c];
+      // Accumulate weighted sums, divided into centroids below
+      level.x[p] += child.x[c] * n;
+      level.y[p] += child.y[c] * n;
+      level.point[p] = level.count[p] == 0 ? child.point[c] : -1;
+      level.count[p] += n;
+      level.minX[p] = Math.min(level.minX[p], child.minX[c]);
+      level.minY[p] = Math.min(level.minY[p], child.minY[c]);
+      level.maxX[p] = Math.max(level.maxX[p], child.maxX[c]);
+      level.maxY[p] = Math.max(level.maxY[p], child.maxY[c]);
+    }
+    for (int p = 0; p < size; p++) {
+      level.x[p] /= level.count[p];
+      level.y[p] /= level.count[p];
+    }
+    return level;
+  }
+
+  /**
+   * Returns the indices of the cells ordered by column, then row. Columns and rows are never
+   * negative, so each pass packs the sort key and the index into a single primitive long.
+   */
+  private static int[] sortByCell(int[] column, int[] row, int count, boolean columnsSorted) {
+    long[] keys = new long[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = ((long) column[i] << 32) | i;
+    }
+    if (!columnsSorted) {
+      Arrays.sort(keys);
+    }
+
+    int[] order = new int[count];
+    long[] run = new long[count];
+    int start = 0;
+    while (start < count) {
+      int runColumn = (int) (keys[start] >>> 32);
+      int end = start;
+      while (end < count && (int) (keys[end] >>> 32) == runColumn) {
+        int i = (int) keys[end];
+        run[end - start] = ((long) row[i] << 32) | i;
+        end++;
+      }
+      Arrays.sort(run, 0, end - start);
+      for (int j = start; j < end; j++) {
+        order[j] = (int) run[j - start];
+      }
+      start = end;
+    }
+    return order;
+  }
+
+  /**
+   * Returns the level used to display the map at the given camera zoom.
+   */
+  Level getLevel(float zoom) {
+    int z = (int) Math.floor(zoom);
+    z = Math.max(minZoom, Math.min(z, maxZoom + 1));
+    return levels[z - minZoom];
+  }
+
+  /**
+   * Visits the clusters of the level whose centroid lies within the given bounds. The bounds
+   * may cross the antimeridian, in which case west is greater than east.
+   */
+  void query(Level level, double south, double west, double north, double east, Visitor visitor) {
+    double top = latitudeToY(north);
+    double bottom = latitudeToY(south);
+    if (west <= east) {
+      queryRange(level, longitudeToX(west), top, longitudeToX(east), bottom, visitor);
+    } else {
+      queryRange(level, longitudeToX(west), top, 1, bottom, visitor);
+      queryRange(level, 0, top, longitudeToX(east), bottom, visitor);
+    }
+  }
+
+  private void queryRange(Level level, double left, double top, double right, double bottom,
+      Visitor visitor) {
+    int firstColumn = (int) Math.floor(left / level.cellSize);
+    int lastColumn = (int) Math.floor(right / level.cellSize);
+    for (int i = lowerBound(level, firstColumn); i < level.size; i++) {
+      if (level.column[i] > lastColumn) {
+        break;
+      }
+      double x = level.x[i];
+      double y = level.y[i];
+      if (x >= left && x <= right && y >= top && y <= bottom) {
+        visitor.visit(level, i);
+      }
+    }
+  }
+
+  private static int lowerBound(Level level, int column) {
+    int low = 0;
+    int high = level.size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (level.column[mid] < column) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  static double longitudeToX(double longitude) {
+    double x = longitude / 360 + 0.5;
+    return Math.min(Math.max(x, 0), 1);
+  }
+
+  static double latitudeToY(double latitude) {
+    double sin = Math.sin(Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(latitude, MAX_LATITUDE))));
+    double y = 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    return Math.min(Math.max(y, 0), 1);
+  }
+
+  static double xToLongitude(double x) {
+    return (x - 0.5) * 360;
+  }
+
+  static double yToLatitude(double y) {
+    return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+  }
+}
@@ -0,0 +1,285 @@
+package versioned.host.exp.exponent.modules.api.components.maps;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.google.android.gms.maps.model.LatLng;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Zoom dependent level of detail for the coordinates of a polyline or polygon. Douglas-Peucker
+ * is run once per coordinate set, recording for every point the largest tolerance at which it
+ * is still kept. The points for a zoom level are then a single filtering pass over those
+ * tolerances, and are cached per whole zoom level.
+ */
+public class SimplifiedPath {
+  public interface Listener {
+    void onPointsChanged(List<LatLng> points);
+  }
+
+  // Size of the world in dp at zoom level 0
+  private static final double TILE_SIZE = 256;
+  // Paths with fewer points are simplified right away on the calling thread
+  private static final int MIN_ASYNC_POINT_COUNT = 2000;
+
+  private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  private final Listener listener;
+  private final Handler uiHandler = new Handler(Looper.getMainLooper());
+
+  private List<LatLng> coordinates = Collections.emptyList();
+  // Douglas-Peucker tolerance in world coordinates up to which each point is kept
+  private double[] significance;
+  private final SparseArray<List<LatLng>> pointsByZoom = new SparseArray<>();
+  private List<LatLng> points = Collections.emptyList();
+  private int generation = 0;
+
+  // Maximum distance in dp between the simplified and the original path, 0 disables it
+  private float tolerance = 1;
+  private int zoom = -1;
+
+  public SimplifiedPath(Listener listener) {
+    this.listener = listener;
+  }
+
+  public List<LatLng> getPoints() {
+    return points;
+  }
+
+  public void setTolerance(float tolerance) {
+    if (this.tolerance != tolerance) {
+      this.tolerance = tolerance;
+      pointsByZoom.clear();
+      update();
+    }
+  }
+
+  public void setZoom(float zoom) {
+    int level = (int) Math.floor(zoom);
+    if (this.zoom != level) {
+      this.zoom = level;
+      update();
+    }
+  }
+
+  public void setCoordinates(final List<LatLng> coordinates) {
+    final int coordinatesGeneration = ++generation;
+    if (coordinates.size() < MIN_ASYNC_POINT_COUNT) {
+      setSignificance(coordinates, computeSignificance(coordinates));
+      return;
+    }
+
+    // Keep showing the previous points until the new ones are ready
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        final double[] significance = computeSignificance(coordinates);
+        uiHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (coordinatesGeneration == generation) {
+              setSignificance(coordinates, significance);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  private void setSignificance(List<LatLng> coordinates, double[] significance) {
+    this.coordinates = coordinates;
+    this.significance = significance;
+    pointsByZoom.clear();
+    update();
+  }
+
+  private void update() {
+    if (significance == null) {
+      return;
+    }
+    List<LatLng> points;
+    if (tolerance <= 0 || zoom < 0) {
+      points = coordinates;
+    } else {
+      points = pointsByZoom.get(zoom);
+      if (points == null) {
+        points = filter(coordinates, significance, tolerance / (TILE_SIZE * Math.pow(2, zoom)));
+        pointsByZoom.put(zoom, points);
+      }
+    }
+    if (points != this.points) {
+      this.points = points;
+      listener.onPointsChanged(points);
+    }
+  }
+
+  private static List<LatLng> filter(List<LatLng> coordinates, double[] significance,
+      double tolerance) {
+    int count = 0;
+    for (double value : significance) {
+      if (value > tolerance) {
+        count++;
+      }
+    }
+    if (count == coordinates.size()) {
+      return coordinates;
+    }
+    List<LatLng> points = new ArrayList<>(count);
+    for (int i = 0; i < significance.length; i++) {
+      if (significance[i] > tolerance) {
+        points.add(coordinates.get(i));
+      }
+    }
+    return points;
+  }
+
+  /**
+   * Runs Douglas-Peucker with a tolerance of zero and returns, for every point, the largest
+   * tolerance at which it is kept. A point is only kept while the segment that split it off
+   * is, so its value is capped at the one of that segment.
+   */
+  static double[] computeSignificance(List<LatLng> coordinates) {
+    int n = coordinates.size();
+    double[] x = new double[n];
+    double[] y = new double[n];
+    for (int i = 0; i < n; i++) {
+      LatLng point = coordinates.get(i);
+      x[i] = ClusterIndex.longitudeToX(point.longitude);
+      y[i] = ClusterIndex.latitudeToY(point.latitude);
+    }
+
+    double[] significance = new double[n];
+    if (n == 0) {
+      return significance;
+    }
+    significance[0] = Double.MAX_VALUE;
+    significance[n - 1] = Double.MAX_VALUE;
+
+    // Explicit stack of (first, last, cap) so that long paths can't overflow the thread stack
+    int[] firsts = new int[64];
+    int[] lasts = new int[64];
+    double[] caps = new double[64];
+    int size = 0;
+    firsts[size] = 0;
+    lasts[size] = n - 1;
+    caps[size] = Double.MAX_VALUE;
+    size++;
+
+    while (size > 0) {
+      size--;
+      int first = firsts[size];
+      int last = lasts[size];
+      double cap = caps[size];
+      if (last - first < 2) {
+        continue;
+      }
+
+      int farthest = -1;
+      double maxDistance = -1;
+      for (int i = first + 1; i < last; i++) {
+        double distance = segmentDistanceSquared(x[i], y[i], x[first], y[first], x[last], y[last]);
+        if (distance > maxDistance) {
+          maxDistance = distance;
+          farthest = i;
+        }
+      }
+      double value = Math.min(Math.sqrt(maxDistance), cap);
+      significance[farthest] = value;
+
+      if (size + 2 > firsts.length) {
+        int capacity = firsts.length * 2;
+        firsts = Arrays.copyOf(firsts, capacity);
+        lasts = Arrays.copyOf(lasts, capacity);
+        caps = Arrays.copyOf(caps, capacity);
+      }
+      firsts[size] = first;
+      lasts[size] = farthest;
+      caps[size] = value;
+      size++;
+      firsts[size] = farthest;
+      lasts[size] = last;
+      caps[size] = value;
+      size++;
+    }
+    return significance;
+  }
+
+  private static double segmentDistanceSquared(double px, double py, double ax, double ay,
+      double bx, double by) {
+    double dx = bx - ax;
+    double dy = by - ay;
+    double lengthSquared = dx * dx + dy * dy;
+    double t = 0;
+    if (lengthSquared > 0) {
+      t = Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+    }
+    double cx = ax + t * dx - px;
+    double cy = ay + t * dy - py;
+    return cx * cx + cy * cy;
+  }
+
+  /**
+   * Reads an array of {latitude, longitude} maps.
+   */
+  public static List<LatLng> fromCoordinateArray(ReadableArray coordinates) {
+    List<LatLng> points = new ArrayList<>(coordinates.size());
+    for (int i = 0; i < coordinates.size(); i++) {
+      ReadableMap coordinate = coordinates.getMap(i);
+      points.add(new LatLng(coordinate.getDouble("latitude"), coordinate.getDouble("longitude")));
+    }
+    return points;
+  }
+
+  /**
+   * Reads a flat array of alternating latitudes and longitudes.
+   */
+  public static List<LatLng> fromPackedArray(ReadableArray packed) {
+    int count = packed.size() / 2;
+    List<LatLng> points = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      points.add(new LatLng(packed.getDouble(2 * i), packed.getDouble(2 * i + 1)));
+    }
+    return points;
+  }
+
+  /**
+   * Decodes a string in the Google encoded polyline format with 5 decimals of precision.
+   */
+  public static List<LatLng> fromEncodedPolyline(String encoded) {
+    List<LatLng> points = new ArrayList<>(encoded.length() / 4);
+    int index = 0;
+    int latitude = 0;
+    int longitude = 0;
+    int length = encoded.length();
+    int[] result = new int[2];
+    while (index < length) {
+      for (int component = 0; component < 2; component++) {
+        int shift = 0;
+        int value = 0;
+        int b;
+        do {
+          if (index >= length) {
+            return points;
+          }
+          b = encoded.charAt(index++) - 63;
+          value |= (b & 0x1f) << shift;
+          shift += 5;
+        } while (b >= 0x20);
+        result[component] = (value & 1) != 0 ? ~(value >> 1) : (value >> 1);
+      }
+      latitude += result[0];
+      longitude += result[1];
+      points.add(new LatLng(latitude / 1e5, longitude / 1e5));
+    }
+    return points;
+  }
+}
@@ -0,0 +1,254 @@
+package versioned.host.exp.exponent.modules.api.components.maps;
+
+import android.content.Context;
+import android.util.LruCache;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide cache of downloaded map tiles. Recently used tiles are kept in memory, and all
+ * tiles are written to a size bounded directory in the app cache, evicting the least recently
+ * used ones first. Tiles survive restarts, so previously viewed areas also work offline.
+ */
+public class TileCache {
+  private static final String CACHE_DIRECTORY = "airmap-tiles";
+  private static final long DEFAULT_MAX_DISK_SIZE = 64 * 1024 * 1024;
+  private static final int MAX_MEMORY_SIZE = 8 * 1024 * 1024;
+
+  private static TileCache instance;
+
+  private final File directory;
+  private final LruCache<String, byte[]> memoryCache;
+  // Access ordered file name -> size, loaded from the directory on first use
+  private LinkedHashMap<String, Long> diskEntries;
+  private long diskSize = 0;
+  private long maxDiskSize = DEFAULT_MAX_DISK_SIZE;
+
+  private final AtomicLong memoryHits = new AtomicLong();
+  private final AtomicLong diskHits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong downloads = new AtomicLong();
+  private final AtomicLong prefetches = new AtomicLong();
+
+  public static synchronized TileCache getInstance(Context context) {
+    if (instance == null) {
+      instance = new TileCache(new File(context.getApplicationContext().getCacheDir(),
+          CACHE_DIRECTORY));
+    }
+    return instance;
+  }
+
+  private TileCache(File directory) {
+    this.directory = directory;
+    int memorySize = (int) Math.min(MAX_MEMORY_SIZE, Runtime.getRuntime().maxMemory() / 16);
+    this.memoryCache = new LruCache<String, byte[]>(memorySize) {
+      @Override
+      protected int sizeOf(String key, byte[] value) {
+        return value.length;
+      }
+    };
+  }
+
+  public static String getKey(String source, int x, int y, int zoom) {
+    // Sources are url templates, so the hash keeps tiles of different servers apart
+    return Integer.toHexString(source.hashCode()) + "_" + Integer.toHexString(source.length()) +
+        "_" + zoom + "_" + x + "_" + y;
+  }
+
+  public synchronized void setMaxDiskSize(long maxDiskSize) {
+    this.maxDiskSize = maxDiskSize;
+    if (diskEntries != null) {
+      trimDisk();
+    }
+  }
+
+  public boolean contains(String key) {
+    if (memoryCache.get(key) != null) {
+      return true;
+    }
+    synchronized (this) {
+      return getDiskEntries().containsKey(key);
+    }
+  }
+
+  public byte[] get(String key) {
+    byte[] tile = memoryCache.get(key);
+    if (tile != null) {
+      memoryHits.incrementAndGet();
+      return tile;
+    }
+
+    synchronized (this) {
+      // Marks the entry as recently used
+      if (getDiskEntries().get(key) == null) {
+        misses.incrementAndGet();
+        return null;
+      }
+    }
+    tile = readFile(new File(directory, key));
+    if (tile == null) {
+      synchronized (this) {
+        Long size = diskEntries.remove(key);
+        if (size != null) {
+          diskSize -= size;
+        }
+      }
+      misses.incrementAndGet();
+      return null;
+    }
+    diskHits.incrementAndGet();
+    memoryCache.put(key, tile);
+    return tile;
+  }
+
+  public void put(String key, byte[] tile) {
+    memoryCache.put(key, tile);
+
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      return;
+    }
+    // Write to a temporary file first so that readers never see a partial tile
+    File file = new File(directory, key);
+    File tempFile = new File(directory, key + ".tmp" + Thread.currentThread().getId());
+    FileOutputStream out = null;
+    try {
+      out = new FileOutputStream(tempFile);
+      out.write(tile);
+      out.close();
+      out = null;
+      if (!tempFile.renameTo(file)) {
+        tempFile.delete();
+        return;
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+      tempFile.delete();
+      return;
+    } finally {
+      AirMapModule.closeQuietly(out);
+    }
+
+    synchronized (this) {
+      Long previous = getDiskEntries().put(key, (long) tile.length);
+      if (previous != null) {
+        diskSize -= previous;
+      }
+      diskSize += tile.length;
+      trimDisk();
+    }
+  }
+
+  public synchronized void clear() {
+    memoryCache.evictAll();
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    diskSize = 0;
+  }
+
+  void recordDownload(boolean prefetch) {
+    downloads.incrementAndGet();
+    if (prefetch) {
+      prefetches.incrementAndGet();
+    }
+  }
+
+  public synchronized WritableMap getStats() {
+    WritableMap stats = new WritableNativeMap();
+    stats.putDouble("memoryHits", memoryHits.get());
+    stats.putDouble("diskHits", diskHits.get());
+    stats.putDouble("misses", misses.get());
+    stats.putDouble("downloads", downloads.get());
+    stats.putDouble("prefetches", prefetches.get());
+    stats.putDouble("memorySize", memoryCache.size());
+    stats.putDouble("memoryMaxSize", memoryCache.maxSize());
+    stats.putDouble("memoryEvictions", memoryCache.evictionCount());
+    stats.putInt("diskTileCount", getDiskEntries().size());
+    stats.putDouble("diskSize", diskSize);
+    stats.putDouble("diskMaxSize", maxDiskSize);
+    stats.putDouble("diskEvictions", evictions.get());
+    return stats;
+  }
+
+  private LinkedHashMap<String, Long> getDiskEntries() {
+    if (diskEntries != null) {
+      return diskEntries;
+    }
+    diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    diskSize = 0;
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return diskEntries;
+    }
+    // Oldest files first, so that they are evicted first
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File a, File b) {
+        return Long.compare(a.lastModified(), b.lastModified());
+      }
+    });
+    for (File file : files) {
+      if (file.getName().contains(".tmp")) {
+        // Left over from a write that was interrupted
+        file.delete();
+        continue;
+      }
+      diskEntries.put(file.getName(), file.length());
+      diskSize += file.length();
+    }
+    trimDisk();
+    return diskEntries;
+  }
+
+  private void trimDisk() {
+    Iterator<Map.Entry<String, Long>> iterator = diskEntries.entrySet().iterator();
+    while (diskSize > maxDiskSize && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      new File(directory, eldest.getKey()).delete();
+      diskSize -= eldest.getValue();
+      iterator.remove();
+      evictions.incrementAndGet();
+    }
+  }
+
+  /**
+   * Reads a whole file straight into an array of its size.
+   */
+  static byte[] readFile(File file) {
+    RandomAccessFile in = null;
+    try {
+      in = new RandomAccessFile(file, "r");
+      long length = in.length();
+      if (length > Integer.MAX_VALUE) {
+        return null;
+      }
+      byte[] data = new byte[(int) length];
+      in.readFully(data);
+      return data;
+    } catch (IOException e) {
+      return null;
+    } catch (OutOfMemoryError e) {
+      e.printStackTrace();
+      return null;
+    } finally {
+      AirMapModule.closeQuietly(in);
+    }
+  }
+}
@@ -42,6 +42,11 @@ class CircleShadowNode extends RenderableShadowNode {
         markUpdated();
     }
 
+    @Override
+    boolean canCachePath() {
+        return true;
+    }
+
     @Override
     protected Path getPath(Canvas canvas, Paint paint) {
         Path path = new Path();
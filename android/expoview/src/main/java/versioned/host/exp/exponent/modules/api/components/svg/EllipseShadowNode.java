@@ -50,6 +50,11 @@ class EllipseShadowNode extends RenderableShadowNode {
         markUpdated();
     }
 
+    @Override
+    boolean canCachePath() {
+        return true;
+    }
+
     @Override
     protected Path getPath(Canvas canvas, Paint paint) {
         Path path = new Path();
@@ -30,6 +30,12 @@ class GroupShadowNode extends RenderableShadowNode {
 
     private GlyphContext mGlyphContext;
 
+    private @Nullable HitTestIndex mHitTestIndex;
+    private final RectF mHitBounds = new RectF();
+    private boolean mHasHitBounds;
+    private int mHitBoundsDrawCount = -1;
+    private @Nullable CachedRegion mClipPathRegion;
+
     @ReactProp(name = "font")
     public void setFont(@Nullable ReadableMap font) {
         mFont = font;
@@ -37,6 +43,11 @@ class GroupShadowNode extends RenderableShadowNode {
     }
 
     void setupGlyphContext(Canvas canvas) {
+        if (mGlyphContext != null && getSvgShadowNode().isRepaintingPartially()) {
+            // The canvas is clipped to the changed area, the group itself hasn't changed
+            mGlyphContext = new GlyphContext(mScale, mGlyphContext.getWidth(), mGlyphContext.getHeight());
+            return;
+        }
         RectF clipBounds = new RectF(canvas.getClipBounds());
         mMatrix.mapRect(clipBounds);
         mGlyphContext = new GlyphContext(mScale, clipBounds.width(), clipBounds.height());
@@ -112,8 +123,41 @@ class GroupShadowNode extends RenderableShadowNode {
         return path;
     }
 
+    @Override
+    @Nullable RectF getHitBounds() {
+        // Union of the children, only plain groups draw nothing but their children
+        if (getClass() != GroupShadowNode.class || isReferenceable()) {
+            return null;
+        }
+
+        int drawCount = getSvgShadowNode().getDrawCount();
+        if (mHitBoundsDrawCount != drawCount) {
+            mHitBoundsDrawCount = drawCount;
+            mHasHitBounds = true;
+            mHitBounds.setEmpty();
+            for (int i = 0; i < getChildCount() && mHasHitBounds; i++) {
+                ReactShadowNode child = getChildAt(i);
+                if (!(child instanceof VirtualNode)) {
+                    continue;
+                }
+                RectF childBounds = ((VirtualNode) child).getHitBounds();
+                if (childBounds == null) {
+                    mHasHitBounds = false;
+                } else {
+                    mHitBounds.union(childBounds);
+                }
+            }
+        }
+        return mHasHitBounds ? mHitBounds : null;
+    }
+
     @Override
     public int hitTest(final Point point, final @Nullable Matrix matrix) {
+        RectF hitBounds = getHitBounds();
+        if (hitBounds != null && !hitBounds.contains(point.x, point.y)) {
+            return -1;
+        }
+
         int hitSelf = super.hitTest(point, matrix);
         if (hitSelf != -1) {
             return hitSelf;
@@ -127,25 +171,89 @@ class GroupShadowNode extends RenderableShadowNode {
 
         Path clipPath = getClipPath();
 
-        if (clipPath != null && !pathContainsPoint(clipPath, groupMatrix, point)) {
+        if (clipPath != null) {
+            if (mClipPathRegion == null) {
+                mClipPathRegion = new CachedRegion();
+            }
+            if (!mClipPathRegion.contains(clipPath, groupMatrix, point)) {
+                return -1;
+            }
+        }
+
+        int count = getChildCount();
+        if (count < HitTestIndex.MIN_CHILD_COUNT) {
+            for (int i = count - 1; i >= 0; i--) {
+                int hit = hitTestChild(i, point, groupMatrix);
+                if (hit != -1) {
+                    return hit;
+                }
+            }
             return -1;
         }
 
-        for (int i = getChildCount() - 1; i >= 0; i--) {
+        int drawCount = getSvgShadowNode().getDrawCount();
+        if (mHitTestIndex == null || !mHitTestIndex.isValid(drawCount, count)) {
+            mHitTestIndex = HitTestIndex.build(this, drawCount);
+        }
+        int[] candidates = mHitTestIndex.getCandidates(point.x, point.y);
+        for (int i = candidates.length - 1; i >= 0; i--) {
+            int hit = hitTestChild(candidates[i], point, groupMatrix);
+            if (hit != -1) {
+                return hit;
+            }
+        }
+
+        return -1;
+    }
+
+    private int hitTestChild(int i, Point point, Matrix groupMatrix) {
+        ReactShadowNode child = getChildAt(i);
+        if (!(child instanceof VirtualNode)) {
+            return -1;
+        }
+
+        VirtualNode node = (VirtualNode) child;
+
+        int hitChild = node.hitTest(point, groupMatrix);
+        if (hitChild != -1) {
+            return (node.isResponsible() || hitChild != child.getReactTag()) ? hitChild : getReactTag();
+        }
+        return -1;
+    }
+
+    @Override
+    boolean collectDamage(RectF damage, Matrix matrix, Canvas canvas, Paint paint) {
+        // Only plain groups pass damage tracking on to their children. Text is laid out as a whole
+        // and named groups, clip paths and symbols can be drawn elsewhere through references.
+        if (getClass() != GroupShadowNode.class || mName != null || mPropsChanged || mChildrenChanged) {
+            consumeChanges();
+            return false;
+        }
+
+        Matrix groupMatrix = new Matrix(matrix);
+        if (mMatrix != null) {
+            groupMatrix.preConcat(mMatrix);
+        }
+
+        boolean canRepaintPartially = true;
+        for (int i = 0; i < getChildCount(); i++) {
             ReactShadowNode child = getChildAt(i);
             if (!(child instanceof VirtualNode)) {
                 continue;
             }
 
-            VirtualNode node = (VirtualNode) child;
-
-            int hitChild = node.hitTest(point, groupMatrix);
-            if (hitChild != -1) {
-                return (node.isResponsible() || hitChild != child.getReactTag()) ? hitChild : getReactTag();
+            // Children are measured with the props they inherit when drawn, see drawGroup
+            if (child instanceof RenderableShadowNode) {
+                ((RenderableShadowNode) child).mergeProperties(this);
+            }
+            if (!((VirtualNode) child).collectDamage(damage, groupMatrix, canvas, paint)) {
+                canRepaintPartially = false;
+            }
+            if (child instanceof RenderableShadowNode) {
+                ((RenderableShadowNode) child).resetProperties();
             }
         }
-
-        return -1;
+        return canRepaintPartially;
     }
 
     void saveDefinition() {
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package versioned.host.exp.exponent.modules.api.components.svg;
+
+import android.graphics.RectF;
+
+import com.facebook.react.uimanager.ReactShadowNode;
+
+/**
+ * Grid over the hit bounds of the children of a node, so that a touch only hit tests the children
+ * whose bounds contain it. Children with unknown bounds are candidates everywhere.
+ */
+class HitTestIndex {
+    // Nodes with fewer children are hit tested one by one
+    static final int MIN_CHILD_COUNT = 16;
+
+    private static final int GRID_SIZE = 16;
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final int mDrawCount;
+    private final int mChildCount;
+    private final RectF mBounds = new RectF();
+    private float mCellWidth;
+    private float mCellHeight;
+    // Indices of the candidate children in drawing order, per cell and outside of the grid
+    private int[][] mCells;
+    private int[] mUnboundedChildren = NO_CANDIDATES;
+
+    private HitTestIndex(int drawCount, int childCount) {
+        mDrawCount = drawCount;
+        mChildCount = childCount;
+    }
+
+    boolean isValid(int drawCount, int childCount) {
+        return mDrawCount == drawCount && mChildCount == childCount;
+    }
+
+    /**
+     * Returns the indices of the children that may contain the point in drawing order.
+     */
+    int[] getCandidates(float x, float y) {
+        if (mCells == null || !mBounds.contains(x, y)) {
+            return mUnboundedChildren;
+        }
+        int column = Math.min((int) ((x - mBounds.left) / mCellWidth), GRID_SIZE - 1);
+        int row = Math.min((int) ((y - mBounds.top) / mCellHeight), GRID_SIZE - 1);
+        return mCells[row * GRID_SIZE + column];
+    }
+
+    static HitTestIndex build(ReactShadowNode parent, int drawCount) {
+        int childCount = parent.getChildCount();
+        HitTestIndex index = new HitTestIndex(drawCount, childCount);
+
+        RectF[] childBounds = new RectF[childCount];
+        boolean[] unbounded = new boolean[childCount];
+        int unboundedCount = 0;
+        for (int i = 0; i < childCount; i++) {
+            ReactShadowNode child = parent.getChildAt(i);
+            if (!(child instanceof VirtualNode)) {
+                continue;
+            }
+            childBounds[i] = ((VirtualNode) child).getHitBounds();
+            if (childBounds[i] == null) {
+                unbounded[i] = true;
+                unboundedCount++;
+            } else {
+                index.mBounds.union(childBounds[i]);
+            }
+        }
+
+        index.mUnboundedChildren = new int[unboundedCount];
+        for (int i = 0, j = 0; i < childCount; i++) {
+            if (unbounded[i]) {
+                index.mUnboundedChildren[j++] = i;
+            }
+        }
+
+        if (index.mBounds.isEmpty()) {
+            return index;
+        }
+        index.mCellWidth = index.mBounds.width() / GRID_SIZE;
+        index.mCellHeight = index.mBounds.height() / GRID_SIZE;
+
+        // Count first so that every cell is allocated once at its final size
+        int[] cellSizes = new int[GRID_SIZE * GRID_SIZE];
+        for (int i = 0; i < childCount; i++) {
+            index.addToCells(childBounds[i], unbounded[i], i, cellSizes, null);
+        }
+        int[][] cells = new int[GRID_SIZE * GRID_SIZE][];
+        for (int c = 0; c < cells.length; c++) {
+            cells[c] = new int[cellSizes[c]];
+            cellSizes[c] = 0;
+        }
+        for (int i = 0; i < childCount; i++) {
+            index.addToCells(childBounds[i], unbounded[i], i, cellSizes, cells);
+        }
+        index.mCells = cells;
+        return index;
+    }
+
+    private void addToCells(RectF bounds, boolean unbounded, int child, int[] cellSizes, int[][] cells) {
+        if (unbounded) {
+            for (int c = 0; c < cellSizes.length; c++) {
+                add(c, child, cellSizes, cells);
+            }
+            return;
+        }
+        if (bounds == null || bounds.isEmpty() || !RectF.intersects(bounds, mBounds)) {
+            return;
+        }
+
+        int left = clamp((int) ((bounds.left - mBounds.left) / mCellWidth));
+        int right = clamp((int) ((bounds.right - mBounds.left) / mCellWidth));
+        int top = clamp((int) ((bounds.top - mBounds.top) / mCellHeight));
+        int bottom = clamp((int) ((bounds.bottom - mBounds.top) / mCellHeight));
+        for (int row = top; row <= bottom; row++) {
+            for (int column = left; column <= right; column++) {
+                add(row * GRID_SIZE + column, child, cellSizes, cells);
+            }
+        }
+    }
+
+    private static void add(int cell, int child, int[] cellSizes, int[][] cells) {
+        if (cells != null) {
+            cells[cell][cellSizes[cell]] = child;
+        }
+        cellSizes[cell]++;
+    }
+
+    private static int clamp(int cell) {
+        return Math.max(0, Math.min(cell, GRID_SIZE - 1));
+    }
+}
@@ -171,6 +171,9 @@ class ImageShadowNode extends RenderableShadowNode {
                                  public void onNewResultImpl(Bitmap bitmap) {
                                      mLoading.set(false);
                                      bitmapTryRender(bitmap, canvas, paint, opacity * mOpacity);
+                                     // Only the bitmap of this frame got the image, make sure the
+                                     // next frame is fully repainted.
+                                     mPropsChanged = true;
                                  }
 
                                  @Override
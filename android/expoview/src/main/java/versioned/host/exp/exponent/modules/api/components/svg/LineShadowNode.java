@@ -48,6 +48,11 @@ class LineShadowNode extends RenderableShadowNode {
         markUpdated();
     }
 
+    @Override
+    boolean canCachePath() {
+        return true;
+    }
+
     @Override
     protected Path getPath(Canvas canvas, Paint paint) {
         Path path = new Path();
@@ -24,11 +24,15 @@ class PathShadowNode extends RenderableShadowNode {
 
     @ReactProp(name = "d")
     public void setD(String d) {
-        PropHelper.PathParser mD = new PropHelper.PathParser(d, mScale);
-        mPath = mD.getPath();
+        mPath = PropHelper.PathParser.parse(d, mScale);
         markUpdated();
     }
 
+    @Override
+    boolean canCachePath() {
+        return true;
+    }
+
     @Override
     protected Path getPath(Canvas canvas, Paint paint) {
         return mPath;
@@ -11,13 +11,10 @@ package versioned.host.exp.exponent.modules.api.components.svg;
 
 import android.graphics.Path;
 import android.graphics.RectF;
+import android.util.LruCache;
 
-import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReadableArray;
-import com.facebook.react.bridge.WritableArray;
-import com.facebook.react.bridge.WritableMap;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -165,12 +162,19 @@ class PropHelper {
     }
 
     static class PathParser {
-        static private final Pattern PATH_REG_EXP = Pattern.compile("[a-df-z]|[\\-+]?(?:[\\d.]e[\\-+]?|[^\\s\\-+,a-z])+", Pattern.CASE_INSENSITIVE);
-        static private final Pattern DECIMAL_REG_EXP = Pattern.compile("(\\.\\d+)(?=-?\\.)");
+        // Parsed paths keyed by scale and path data, shared by all nodes drawing the same shape
+        private static final int PATH_CACHE_SIZE = 256;
+        private static final LruCache<String, Path> sPathCache = new LruCache<>(PATH_CACHE_SIZE);
+
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+                1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+        };
 
-        private Matcher mMatcher;
         private Path mPath;
         private final String mString;
+        private final int mLength;
+        private int mIndex;
         private float mPenX = 0f;
         private float mPenY = 0f;
         private float mPenDownX;
@@ -181,158 +185,281 @@ class PropHelper {
         private boolean mValid = true;
         private boolean mPendDownSet = false;
 
-        private String mLastCommand;
-        private String mLastValue;
-        private WritableArray mBezierCurves;
-        private WritableMap mLastStartPoint;
-
         PathParser(String d, float scale) {
             mScale = scale;
             mString = d;
+            mLength = d.length();
         }
 
-        private void executeCommand(String command) {
+        /**
+         * Returns the path for the given path data, reusing the result of earlier parses of
+         * the same data. The returned path belongs to the caller.
+         */
+        static Path parse(String d, float scale) {
+            String key = scale + ":" + d;
+            Path path = sPathCache.get(key);
+            if (path == null) {
+                path = new PathParser(d, scale).getPath();
+                sPathCache.put(key, path);
+            }
+            return new Path(path);
+        }
+
+        private void executeCommand(char command) {
             switch (command) {
                 // moveTo command
-                case "m":
+                case 'm':
                     move(getNextFloat(), getNextFloat());
                     break;
-                case "M":
+                case 'M':
                     moveTo(getNextFloat(), getNextFloat());
                     break;
 
                 // lineTo command
-                case "l":
+                case 'l':
                     line(getNextFloat(), getNextFloat());
                     break;
-                case "L":
+                case 'L':
                     lineTo(getNextFloat(), getNextFloat());
                     break;
 
                 // horizontalTo command
-                case "h":
+                case 'h':
                     line(getNextFloat(), 0);
                     break;
-                case "H":
+                case 'H':
                     lineTo(getNextFloat(), mPenY);
                     break;
 
                 // verticalTo command
-                case "v":
+                case 'v':
                     line(0, getNextFloat());
                     break;
-                case "V":
+                case 'V':
                     lineTo(mPenX, getNextFloat());
                     break;
 
                 // curveTo command
-                case "c":
+                case 'c':
                     curve(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
-                case "C":
+                case 'C':
                     curveTo(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
 
                 // smoothCurveTo command
-                case "s":
+                case 's':
                     smoothCurve(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
-                case "S":
+                case 'S':
                     smoothCurveTo(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
 
                 // quadraticBezierCurveTo command
-                case "q":
+                case 'q':
                     quadraticBezierCurve(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
-                case "Q":
+                case 'Q':
                     quadraticBezierCurveTo(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
 
                 // smoothQuadraticBezierCurveTo command
-                case "t":
+                case 't':
                     smoothQuadraticBezierCurve(getNextFloat(), getNextFloat());
                     break;
-                case "T":
+                case 'T':
                     smoothQuadraticBezierCurveTo(getNextFloat(), getNextFloat());
                     break;
 
                 // arcTo command
-                case "a":
+                case 'a':
                     arc(getNextFloat(), getNextFloat(), getNextFloat(), getNextBoolean(), getNextBoolean(), getNextFloat(), getNextFloat());
                     break;
-                case "A":
+                case 'A':
                     arcTo(getNextFloat(), getNextFloat(), getNextFloat(), getNextBoolean(), getNextBoolean(), getNextFloat(), getNextFloat());
                     break;
 
                 // close command
-                case "Z":
-                case "z":
+                case 'Z':
+                case 'z':
                     close();
                     break;
                 default:
-                    mLastValue = command;
-                    executeCommand(mLastCommand);
-                    return;
-            }
-
-            mLastCommand = command;
-
-            if (command.equals("m")) {
-                mLastCommand = "l";
-            } else if (command.equals("M")) {
-                mLastCommand = "L";
+                    invalidate();
             }
         }
 
         public Path getPath() {
             mPath = new Path();
-            mBezierCurves = Arguments.createArray();
-            mMatcher = PATH_REG_EXP.matcher(DECIMAL_REG_EXP.matcher(mString).replaceAll("$1,"));
+            mIndex = 0;
+
+            // Numbers following the arguments of a command repeat it, moveTo repeats as lineTo
+            char lastCommand = 0;
+            skipSeparators();
+            while (mValid && mIndex < mLength) {
+                char c = mString.charAt(mIndex);
+                char command;
+                if (isCommand(c)) {
+                    command = c;
+                    mIndex++;
+                } else if (lastCommand != 0 && isNumberStart(c)) {
+                    command = lastCommand;
+                } else {
+                    invalidate();
+                    break;
+                }
 
-            while (mMatcher.find() && mValid) {
-                executeCommand(mMatcher.group());
+                executeCommand(command);
+
+                if (command == 'm') {
+                    lastCommand = 'l';
+                } else if (command == 'M') {
+                    lastCommand = 'L';
+                } else if (command == 'z' || command == 'Z') {
+                    lastCommand = 0;
+                } else {
+                    lastCommand = command;
+                }
+                skipSeparators();
+            }
+            if (!mValid) {
+                // Arguments read after the error may have been drawn already
+                mPath = new Path();
             }
             return mPath;
         }
 
-        private WritableMap getPointMap(float x, float y) {
-            WritableMap map = Arguments.createMap();
-            map.putDouble("x", x * mScale);
-            map.putDouble("y", y * mScale);
-            return map;
+        private static boolean isCommand(char c) {
+            switch (c) {
+                case 'M': case 'm': case 'L': case 'l': case 'H': case 'h': case 'V': case 'v':
+                case 'C': case 'c': case 'S': case 's': case 'Q': case 'q': case 'T': case 't':
+                case 'A': case 'a': case 'Z': case 'z':
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean isNumberStart(char c) {
+            return (c >= '0' && c <= '9') || c == '.' || c == '-' || c == '+';
+        }
+
+        private static boolean isSeparator(char c) {
+            return c == ' ' || c == ',' || c == '\n' || c == '\r' || c == '\t' || c == '\f';
+        }
+
+        private void skipSeparators() {
+            while (mIndex < mLength && isSeparator(mString.charAt(mIndex))) {
+                mIndex++;
+            }
         }
 
-        private WritableMap clonePointMap(WritableMap map) {
-            WritableMap cloned = Arguments.createMap();
-            cloned.putDouble("x", map.getDouble("x"));
-            cloned.putDouble("y", map.getDouble("y"));
-            return cloned;
+        private void invalidate() {
+            mValid = false;
         }
 
         private boolean getNextBoolean() {
-            if (mMatcher.find()) {
-                return mMatcher.group().equals("1");
-            } else {
-                mValid = false;
-                mPath = new Path();
-                return false;
+            skipSeparators();
+            if (mValid && mIndex < mLength) {
+                // Flags are single digits and don't need to be separated from what follows
+                char c = mString.charAt(mIndex);
+                if (c == '0' || c == '1') {
+                    mIndex++;
+                    return c == '1';
+                }
             }
+            invalidate();
+            return false;
         }
 
+        /**
+         * Reads a number in place. A second decimal point or a sign starts the next number, so
+         * "0.5.5" and "1-2" are two numbers each.
+         */
         private float getNextFloat() {
-            if (mLastValue != null) {
-                String lastValue = mLastValue;
-                mLastValue = null;
-                return Float.parseFloat(lastValue);
-            } else if (mMatcher.find()) {
-                return Float.parseFloat(mMatcher.group());
-            } else {
-                mValid = false;
-                mPath = new Path();
+            skipSeparators();
+            if (!mValid || mIndex >= mLength) {
+                invalidate();
+                return 0;
+            }
+
+            int i = mIndex;
+            boolean negative = false;
+            char c = mString.charAt(i);
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int exponent = 0;
+            int significantDigits = 0;
+            boolean hasDigits = false;
+            while (i < mLength && (c = mString.charAt(i)) >= '0' && c <= '9') {
+                if (significantDigits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        significantDigits++;
+                    }
+                } else {
+                    exponent++;
+                }
+                hasDigits = true;
+                i++;
+            }
+            if (i < mLength && mString.charAt(i) == '.') {
+                i++;
+                while (i < mLength && (c = mString.charAt(i)) >= '0' && c <= '9') {
+                    if (significantDigits < 18) {
+                        mantissa = mantissa * 10 + (c - '0');
+                        exponent--;
+                        if (mantissa != 0) {
+                            significantDigits++;
+                        }
+                    }
+                    hasDigits = true;
+                    i++;
+                }
+            }
+            if (!hasDigits) {
+                invalidate();
                 return 0;
             }
+
+            if (i < mLength && ((c = mString.charAt(i)) == 'e' || c == 'E')) {
+                int j = i + 1;
+                boolean negativeExponent = false;
+                if (j < mLength && ((c = mString.charAt(j)) == '-' || c == '+')) {
+                    negativeExponent = c == '-';
+                    j++;
+                }
+                if (j < mLength && (c = mString.charAt(j)) >= '0' && c <= '9') {
+                    int value = 0;
+                    while (j < mLength && (c = mString.charAt(j)) >= '0' && c <= '9') {
+                        if (value < 1000) {
+                            value = value * 10 + (c - '0');
+                        }
+                        j++;
+                    }
+                    exponent += negativeExponent ? -value : value;
+                    i = j;
+                }
+            }
+            mIndex = i;
+
+            double result = mantissa;
+            if (exponent != 0 && mantissa != 0) {
+                if (exponent > 0 && exponent < POWERS_OF_TEN.length) {
+                    result *= POWERS_OF_TEN[exponent];
+                } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+                    result /= POWERS_OF_TEN[-exponent];
+                } else {
+                    result *= Math.pow(10, exponent);
+                }
+            }
+            return (float) (negative ? -result : result);
         }
+
         private void move(float x, float y) {
             moveTo(x + mPenX, y + mPenY);
         }
@@ -341,11 +468,6 @@ class PropHelper {
             mPivotX = mPenX = x;
             mPivotY = mPenY = y;
             mPath.moveTo(x * mScale, y * mScale);
-
-            mLastStartPoint = getPointMap(x ,y);
-            WritableArray points = Arguments.createArray();
-            points.pushMap(getPointMap(x, y));
-            mBezierCurves.pushArray(points);
         }
 
         private void line(float x, float y) {
@@ -357,12 +479,6 @@ class PropHelper {
             mPivotX = mPenX = x;
             mPivotY = mPenY = y;
             mPath.lineTo(x * mScale, y * mScale);
-
-            WritableArray points = Arguments.createArray();
-            points.pushMap(getPointMap(x, y));
-            points.pushMap(getPointMap(x, y));
-            points.pushMap(getPointMap(x, y));
-            mBezierCurves.pushArray(points);
         }
 
         private void curve(float c1x, float c1y, float c2x, float c2y, float ex, float ey) {
@@ -380,12 +496,6 @@ class PropHelper {
             mPenX = ex;
             mPenY = ey;
             mPath.cubicTo(c1x * mScale, c1y * mScale, c2x * mScale, c2y * mScale, ex * mScale, ey * mScale);
-
-            WritableArray points = Arguments.createArray();
-            points.pushMap(getPointMap(c1x, c1y));
-            points.pushMap(getPointMap(c2x, c2y));
-            points.pushMap(getPointMap(ex, ey));
-            mBezierCurves.pushArray(points);
         }
 
         private void smoothCurve(float c1x, float c1y, float ex, float ey) {
@@ -536,12 +646,6 @@ class PropHelper {
                 mPenY = mPenDownY;
                 mPendDownSet = false;
                 mPath.close();
-
-                WritableArray points = Arguments.createArray();
-                points.pushMap(clonePointMap(mLastStartPoint));
-                points.pushMap(clonePointMap(mLastStartPoint));
-                points.pushMap(clonePointMap(mLastStartPoint));
-                mBezierCurves.pushArray(points);
             }
         }
 
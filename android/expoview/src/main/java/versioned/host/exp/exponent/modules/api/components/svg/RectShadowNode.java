@@ -66,6 +66,11 @@ class RectShadowNode extends RenderableShadowNode {
         markUpdated();
     }
 
+    @Override
+    boolean canCachePath() {
+        return true;
+    }
+
     @Override
     protected Path getPath(Canvas canvas, Paint paint) {
         Path path = new Path();
@@ -29,8 +29,7 @@ import com.facebook.react.uimanager.annotations.ReactProp;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 
 /**
  * Renderable shadow node
@@ -52,6 +51,8 @@ abstract public class RenderableShadowNode extends VirtualNode {
     private static final int FILL_RULE_EVENODD = 0;
     private static final int FILL_RULE_NONZERO = 1;
 
+    private static final float SQRT_2 = (float) Math.sqrt(2);
+
     public @Nullable ReadableArray mStroke;
     public @Nullable String[] mStrokeDasharray;
 
@@ -69,6 +70,15 @@ abstract public class RenderableShadowNode extends VirtualNode {
 
     protected Path mPath;
 
+    // Area covered by the last draw of this node in svg view coordinates
+    private final RectF mDrawnBounds = new RectF();
+    private boolean mHasDrawnBounds;
+    private final Matrix mDrawMatrix = new Matrix();
+
+    // Regions of the path and the clip path from the last hit test, created on first use
+    private @Nullable CachedRegion mPathRegion;
+    private @Nullable CachedRegion mClipPathRegion;
+
     private @Nullable ReadableArray mLastMergedList;
     private @Nullable ArrayList<Object> mOriginProperties;
     protected @Nullable ReadableArray mPropList;
@@ -204,9 +214,16 @@ abstract public class RenderableShadowNode extends VirtualNode {
         opacity *= mOpacity;
 
         if (opacity > MIN_OPACITY_FOR_DRAW) {
-            mPath = getPath(canvas, paint);
+            if (mPath == null || !canCachePath()) {
+                mPath = getPath(canvas, paint);
+            }
             mPath.setFillType(mFillRule);
 
+            //noinspection deprecation
+            canvas.getMatrix(mDrawMatrix);
+            computeDrawnBounds(mDrawMatrix, mDrawnBounds);
+            mHasDrawnBounds = true;
+
             clip(canvas, paint);
             if (setupFillPaint(paint, opacity * mFillOpacity)) {
                 canvas.drawPath(mPath, paint);
@@ -217,6 +234,65 @@ abstract public class RenderableShadowNode extends VirtualNode {
         }
     }
 
+    /**
+     * Shapes whose path only depends on their own props return true, their path is then kept
+     * between frames until one of their props changes.
+     */
+    boolean canCachePath() {
+        return false;
+    }
+
+    @Override
+    public void onAfterUpdateTransaction() {
+        super.onAfterUpdateTransaction();
+        if (canCachePath()) {
+            mPath = null;
+        }
+    }
+
+    @Override
+    boolean collectDamage(RectF damage, Matrix matrix, Canvas canvas, Paint paint) {
+        // Nodes that are drawn through references (named) or whose drawing depends on others
+        // can't be tracked on their own.
+        if (!canCachePath() || mName != null) {
+            return super.collectDamage(damage, matrix, canvas, paint);
+        }
+        if (!consumeChanges()) {
+            return true;
+        }
+        if (!mHasDrawnBounds) {
+            return false;
+        }
+
+        // Repaint where the node was and where it is going to be
+        damage.union(mDrawnBounds);
+
+        mPath = getPath(canvas, paint);
+        mPath.setFillType(mFillRule);
+        Matrix nodeMatrix = new Matrix(matrix);
+        if (mMatrix != null) {
+            nodeMatrix.preConcat(mMatrix);
+        }
+        computeDrawnBounds(nodeMatrix, mDrawnBounds);
+        damage.union(mDrawnBounds);
+        return true;
+    }
+
+    private void computeDrawnBounds(Matrix matrix, RectF bounds) {
+        mPath.computeBounds(bounds, true);
+        if (mStroke != null && mStroke.size() > 0) {
+            // Square caps reach sqrt(2) times half the width out of the path, miter joins up to
+            // the miter limit times half the width.
+            float halfWidth = (float) relativeOnOther(mStrokeWidth) / 2;
+            float outset = halfWidth *
+                    (mStrokeLinejoin == Paint.Join.MITER ? Math.max(mStrokeMiterlimit, SQRT_2) : SQRT_2);
+            bounds.inset(-outset, -outset);
+        }
+        matrix.mapRect(bounds);
+        // Antialiasing touches the pixels around the geometry
+        bounds.inset(-1, -1);
+    }
+
     /**
      * Sets up paint according to the props set on a shadow view. Returns {@code true}
      * if the fill should be drawn, {@code false} if not.
@@ -288,22 +364,40 @@ abstract public class RenderableShadowNode extends VirtualNode {
 
     abstract protected Path getPath(Canvas canvas, Paint paint);
 
+    @Override
+    @Nullable RectF getHitBounds() {
+        return mHasDrawnBounds && !isReferenceable() ? mDrawnBounds : null;
+    }
+
     @Override
     public int hitTest(Point point, @Nullable Matrix matrix) {
         if (mPath == null) {
             return -1;
         }
 
+        RectF hitBounds = getHitBounds();
+        if (hitBounds != null && !hitBounds.contains(point.x, point.y)) {
+            return -1;
+        }
+
         Matrix pathMatrix = new Matrix(mMatrix);
 
         if (matrix != null) {
             pathMatrix.postConcat(matrix);
         }
 
-        if (pathContainsPoint(mPath, pathMatrix, point)) {
+        if (mPathRegion == null) {
+            mPathRegion = new CachedRegion();
+        }
+        if (mPathRegion.contains(mPath, pathMatrix, point)) {
             Path clipPath = getClipPath();
-            if (clipPath != null && !pathContainsPoint(clipPath, pathMatrix, point)) {
-               return -1;
+            if (clipPath != null) {
+                if (mClipPathRegion == null) {
+                    mClipPathRegion = new CachedRegion();
+                }
+                if (!mClipPathRegion.contains(clipPath, pathMatrix, point)) {
+                    return -1;
+                }
             }
 
             return getReactTag();
@@ -312,17 +406,33 @@ abstract public class RenderableShadowNode extends VirtualNode {
         }
     }
 
-    boolean pathContainsPoint(Path path, Matrix matrix, Point point) {
-        Path copy = new Path(path);
-
-        copy.transform(matrix);
-
-        RectF rectF = new RectF();
-        copy.computeBounds(rectF, true);
-        Region region = new Region();
-        region.setPath(copy, new Region((int) rectF.left, (int) rectF.top, (int) rectF.right, (int) rectF.bottom));
-
-        return region.contains(point.x, point.y);
+    /**
+     * Region of a path under a transform, rebuilt only when the path or the transform change.
+     * Paths are replaced rather than modified when the geometry of a node changes.
+     */
+    static class CachedRegion {
+        private @Nullable Path mPath;
+        private @Nullable Path.FillType mFillType;
+        private final float[] mMatrixValues = new float[9];
+        private final float[] mNewMatrixValues = new float[9];
+        private final Region mRegion = new Region();
+
+        boolean contains(Path path, Matrix matrix, Point point) {
+            matrix.getValues(mNewMatrixValues);
+            if (path != mPath || path.getFillType() != mFillType || !Arrays.equals(mNewMatrixValues, mMatrixValues)) {
+                Path copy = new Path(path);
+                copy.transform(matrix);
+
+                RectF rectF = new RectF();
+                copy.computeBounds(rectF, true);
+                mRegion.setPath(copy, new Region((int) rectF.left, (int) rectF.top, (int) rectF.right, (int) rectF.bottom));
+
+                mPath = path;
+                mFillType = path.getFillType();
+                System.arraycopy(mNewMatrixValues, 0, mMatrixValues, 0, mMatrixValues.length);
+            }
+            return mRegion.contains(point.x, point.y);
+        }
     }
 
     private WritableArray getAttributeList() {
@@ -390,14 +500,10 @@ abstract public class RenderableShadowNode extends VirtualNode {
 
     // convert propertyName something like fillOpacity to fieldName like mFillOpacity
     private String propertyNameToFieldName(String fieldName) {
-        Pattern pattern = Pattern.compile("^(\\w)");
-        Matcher matched = pattern.matcher(fieldName);
-        StringBuffer sb = new StringBuffer("m");
-        while (matched.find()) {
-            matched.appendReplacement(sb, matched.group(1).toUpperCase());
+        if (fieldName.isEmpty()) {
+            return "m";
         }
-        matched.appendTail(sb);
-        return sb.toString();
+        return "m" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
     }
 
     private boolean hasOwnProperty(String propName) {
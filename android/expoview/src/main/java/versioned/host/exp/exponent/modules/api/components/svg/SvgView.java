@@ -69,8 +69,12 @@ public class SvgView extends View {
     }
 
     public void setBitmap(Bitmap bitmap) {
-        if (mBitmap != null) {
-            mBitmap.recycle();
+        if (mBitmap != null && mBitmap != bitmap) {
+            // Let the next frame be drawn into the old bitmap instead of allocating a new one
+            SvgViewShadowNode shadowNode = getShadowNode();
+            if (shadowNode == null || !shadowNode.offerReusableBitmap(mBitmap)) {
+                mBitmap.recycle();
+            }
         }
         mBitmap = bitmap;
         invalidate();
@@ -11,9 +11,11 @@ package versioned.host.exp.exponent.modules.api.components.svg;
 
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Point;
+import android.graphics.PorterDuff;
 import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.Typeface;
@@ -22,6 +24,7 @@ import android.util.Base64;
 import com.facebook.react.uimanager.DisplayMetricsHolder;
 import com.facebook.react.uimanager.LayoutShadowNode;
 import com.facebook.react.uimanager.ReactShadowNode;
+import com.facebook.react.uimanager.ReactShadowNodeImpl;
 import com.facebook.react.uimanager.UIViewOperationQueue;
 import com.facebook.react.uimanager.annotations.ReactProp;
 
@@ -29,6 +32,8 @@ import java.io.ByteArrayOutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 /**
  * Shadow node for RNSVG virtual tree root - RNSVGSvgView
  */
@@ -39,8 +44,24 @@ public class SvgViewShadowNode extends LayoutShadowNode {
     private final Map<String, VirtualNode> mDefinedTemplates = new HashMap<>();
     private final Map<String, Brush> mDefinedBrushes = new HashMap<>();
     private Canvas mCanvas;
+    private Rect mCanvasBounds;
     private final float mScale;
 
+    // Frames are drawn into two bitmaps in turn, the view hands the one it stopped showing back
+    // through offerReusableBitmap. Only the parts that changed since that bitmap was drawn
+    // are repainted.
+    private final Object mBitmapLock = new Object();
+    private @Nullable Bitmap mReusableBitmap;
+    private @Nullable Bitmap mLastBitmap;
+    private @Nullable Bitmap mLastButOneBitmap;
+    // Area that changed between the last two frames, null if everything did
+    private @Nullable RectF mLastDamage;
+    private boolean mFullRedrawNeeded = true;
+    private boolean mIsRepaintingPartially;
+    // Incremented for every frame, bounds derived from a frame are valid as long as it doesn't change
+    private int mDrawCount;
+    private @Nullable HitTestIndex mHitTestIndex;
+
     private float mMinX;
     private float mMinY;
     private float mVbWidth;
@@ -99,6 +120,24 @@ public class SvgViewShadowNode extends LayoutShadowNode {
         return true;
     }
 
+    @Override
+    public void onAfterUpdateTransaction() {
+        super.onAfterUpdateTransaction();
+        mFullRedrawNeeded = true;
+    }
+
+    @Override
+    public void addChildAt(ReactShadowNodeImpl child, int i) {
+        super.addChildAt(child, i);
+        mFullRedrawNeeded = true;
+    }
+
+    @Override
+    public ReactShadowNodeImpl removeChildAt(int i) {
+        mFullRedrawNeeded = true;
+        return super.removeChildAt(i);
+    }
+
     @Override
     public void onCollectExtraUpdates(UIViewOperationQueue uiUpdater) {
         super.onCollectExtraUpdates(uiUpdater);
@@ -112,21 +151,99 @@ public class SvgViewShadowNode extends LayoutShadowNode {
     }
 
     private Object drawOutput() {
-        Bitmap bitmap = Bitmap.createBitmap(
-                (int) getLayoutWidth(),
-                (int) getLayoutHeight(),
-                Bitmap.Config.ARGB_8888);
+        int width = (int) getLayoutWidth();
+        int height = (int) getLayoutHeight();
+
+        // Has to run on every frame, it also resets the change state of the nodes
+        RectF damage = collectDamage();
+
+        Bitmap bitmap = takeReusableBitmap(width, height);
+        RectF repaintArea = null;
+        if (bitmap == null) {
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } else if (bitmap == mLastButOneBitmap && damage != null && mLastDamage != null) {
+            // The bitmap still holds the frame before the last one
+            repaintArea = new RectF(damage);
+            repaintArea.union(mLastDamage);
+        } else {
+            bitmap.eraseColor(Color.TRANSPARENT);
+        }
+        mLastDamage = damage;
+        mLastButOneBitmap = mLastBitmap;
+        mLastBitmap = bitmap;
 
         mCanvas = new Canvas(bitmap);
-        drawChildren(mCanvas);
+        drawChildren(mCanvas, repaintArea);
+        mDrawCount++;
         return bitmap;
     }
 
+    private @Nullable Bitmap takeReusableBitmap(int width, int height) {
+        Bitmap bitmap;
+        synchronized (mBitmapLock) {
+            bitmap = mReusableBitmap;
+            mReusableBitmap = null;
+        }
+        if (bitmap != null && (bitmap.getWidth() != width || bitmap.getHeight() != height)) {
+            bitmap.recycle();
+            return null;
+        }
+        return bitmap;
+    }
+
+    /**
+     * Called by the view with a bitmap it doesn't display anymore. Returns false if the bitmap
+     * isn't needed and should be recycled.
+     */
+    boolean offerReusableBitmap(Bitmap bitmap) {
+        synchronized (mBitmapLock) {
+            if (mReusableBitmap != null) {
+                return false;
+            }
+            mReusableBitmap = bitmap;
+            return true;
+        }
+    }
+
+    /**
+     * Returns the area in view coordinates that changed since the last frame or null if the whole
+     * view has to be repainted.
+     */
+    private @Nullable RectF collectDamage() {
+        boolean canRepaintPartially = !mFullRedrawNeeded && mCanvas != null;
+        mFullRedrawNeeded = false;
+
+        RectF damage = new RectF();
+        Matrix matrix = mAlign != null && mViewBoxMatrix != null ? mViewBoxMatrix : new Matrix();
+        Paint paint = new Paint();
+        for (int i = 0; i < getChildCount(); i++) {
+            ReactShadowNode child = getChildAt(i);
+            if (!(child instanceof VirtualNode)) {
+                continue;
+            }
+
+            VirtualNode node = (VirtualNode) child;
+            if (canRepaintPartially) {
+                canRepaintPartially = node.collectDamage(damage, matrix, mCanvas, paint);
+            } else {
+                node.consumeChanges();
+            }
+        }
+
+        if (!canRepaintPartially) {
+            return null;
+        }
+        Rect pixels = new Rect();
+        damage.roundOut(pixels);
+        damage.set(pixels);
+        return damage;
+    }
+
     Rect getCanvasBounds() {
-        return mCanvas.getClipBounds();
+        return mCanvasBounds;
     }
 
-    private void drawChildren(final Canvas canvas) {
+    private void drawChildren(final Canvas canvas, @Nullable RectF repaintArea) {
 
         if (mAlign != null) {
             RectF vbRect = getViewBox();
@@ -135,6 +252,22 @@ public class SvgViewShadowNode extends LayoutShadowNode {
             canvas.concat(mViewBoxMatrix);
         }
 
+        // Relative lengths are resolved against the whole canvas, so take its bounds before
+        // clipping to the repainted area.
+        mCanvasBounds = canvas.getClipBounds();
+
+        mIsRepaintingPartially = repaintArea != null;
+        if (repaintArea != null) {
+            RectF clip = new RectF(repaintArea);
+            if (mAlign != null) {
+                Matrix inverse = new Matrix();
+                mViewBoxMatrix.invert(inverse);
+                inverse.mapRect(clip);
+            }
+            canvas.clipRect(clip);
+            canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+        }
+
         final Paint paint = new Paint();
 
         paint.setFlags(Paint.ANTI_ALIAS_FLAG | Paint.DEV_KERN_TEXT_FLAG | Paint.SUBPIXEL_TEXT_FLAG);
@@ -162,6 +295,14 @@ public class SvgViewShadowNode extends LayoutShadowNode {
         });
     }
 
+    /**
+     * True while a frame is drawn clipped to the area that changed, clip bounds of the canvas
+     * don't describe the whole svg view then.
+     */
+    boolean isRepaintingPartially() {
+        return mIsRepaintingPartially;
+    }
+
     private RectF getViewBox() {
         return new RectF(mMinX * mScale, mMinY * mScale, (mMinX + mVbWidth) * mScale, (mMinY + mVbHeight) * mScale);
     }
@@ -172,7 +313,7 @@ public class SvgViewShadowNode extends LayoutShadowNode {
                 (int) getLayoutHeight(),
                 Bitmap.Config.ARGB_8888);
 
-        drawChildren(new Canvas(bitmap));
+        drawChildren(new Canvas(bitmap), null);
         ByteArrayOutputStream stream = new ByteArrayOutputStream();
         bitmap.compress(Bitmap.CompressFormat.PNG, 100, stream);
         bitmap.recycle();
@@ -186,25 +327,44 @@ public class SvgViewShadowNode extends LayoutShadowNode {
         }
     }
 
+    int getDrawCount() {
+        return mDrawCount;
+    }
+
     int hitTest(Point point) {
         if (!mResponsible) {
             return -1;
         }
 
         int count = getChildCount();
-        int viewTag = -1;
-        for (int i = count - 1; i >= 0; i--) {
-            if (!(getChildAt(i) instanceof VirtualNode)) {
-                continue;
+        if (count < HitTestIndex.MIN_CHILD_COUNT) {
+            for (int i = count - 1; i >= 0; i--) {
+                int viewTag = hitTestChild(i, point);
+                if (viewTag != -1) {
+                    return viewTag;
+                }
             }
+            return -1;
+        }
 
-            viewTag = ((VirtualNode) getChildAt(i)).hitTest(point, mViewBoxMatrix);
+        if (mHitTestIndex == null || !mHitTestIndex.isValid(mDrawCount, count)) {
+            mHitTestIndex = HitTestIndex.build(this, mDrawCount);
+        }
+        int[] candidates = mHitTestIndex.getCandidates(point.x, point.y);
+        for (int i = candidates.length - 1; i >= 0; i--) {
+            int viewTag = hitTestChild(candidates[i], point);
             if (viewTag != -1) {
-                break;
+                return viewTag;
             }
         }
+        return -1;
+    }
 
-        return viewTag;
+    private int hitTestChild(int i, Point point) {
+        if (!(getChildAt(i) instanceof VirtualNode)) {
+            return -1;
+        }
+        return ((VirtualNode) getChildAt(i)).hitTest(point, mViewBoxMatrix);
     }
 
     void defineClipPath(VirtualNode clipPath, String clipPathRef) {
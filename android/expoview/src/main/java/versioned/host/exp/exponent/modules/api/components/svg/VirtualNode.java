@@ -14,6 +14,7 @@ import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.Point;
+import android.graphics.RectF;
 import android.graphics.Region;
 
 import com.facebook.common.logging.FLog;
@@ -22,6 +23,7 @@ import com.facebook.react.common.ReactConstants;
 import com.facebook.react.uimanager.DisplayMetricsHolder;
 import com.facebook.react.uimanager.LayoutShadowNode;
 import com.facebook.react.uimanager.ReactShadowNode;
+import com.facebook.react.uimanager.ReactShadowNodeImpl;
 import com.facebook.react.uimanager.annotations.ReactProp;
 
 import javax.annotation.Nullable;
@@ -63,6 +65,10 @@ abstract class VirtualNode extends LayoutShadowNode {
     private float canvasWidth = -1;
     private GlyphContext glyphContext;
 
+    // Set when props or children of this node changed since the last frame was drawn
+    boolean mPropsChanged;
+    boolean mChildrenChanged;
+
     VirtualNode() {
         mScale = DisplayMetricsHolder.getScreenDisplayMetrics().density;
     }
@@ -72,6 +78,30 @@ abstract class VirtualNode extends LayoutShadowNode {
         return true;
     }
 
+    @Override
+    public void onAfterUpdateTransaction() {
+        super.onAfterUpdateTransaction();
+        mPropsChanged = true;
+    }
+
+    @Override
+    public void addChildAt(ReactShadowNodeImpl child, int i) {
+        super.addChildAt(child, i);
+        mChildrenChanged = true;
+    }
+
+    @Override
+    public ReactShadowNodeImpl removeChildAt(int i) {
+        mChildrenChanged = true;
+        return super.removeChildAt(i);
+    }
+
+    @Override
+    public void removeAndDisposeAllChildren() {
+        mChildrenChanged = true;
+        super.removeAndDisposeAllChildren();
+    }
+
     @Nullable
     GroupShadowNode getTextRoot() {
         VirtualNode node = this;
@@ -234,6 +264,29 @@ abstract class VirtualNode extends LayoutShadowNode {
 
     abstract public int hitTest(Point point, @Nullable Matrix matrix);
 
+    /**
+     * Returns the area in svg view coordinates outside of which this node can't be hit or null
+     * if it isn't known.
+     */
+    @Nullable RectF getHitBounds() {
+        return null;
+    }
+
+    /**
+     * Whether this node or one of its ancestors is named, so that it can be drawn in several places
+     * through references and the bounds of its last draw don't bound where it can be hit.
+     */
+    boolean isReferenceable() {
+        ReactShadowNode node = this;
+        while (node instanceof VirtualNode) {
+            if (((VirtualNode) node).mName != null) {
+                return true;
+            }
+            node = node.getParent();
+        }
+        return false;
+    }
+
     public boolean isResponsible() {
         return mResponsible;
     }
@@ -307,6 +360,33 @@ abstract class VirtualNode extends LayoutShadowNode {
         }
     }
 
+    /**
+     * Adds the area of the svg view that has to be repainted because of changes to this node or
+     * its descendants to damage and clears their change state. Returns false if the changes can't
+     * be located and the whole view has to be repainted.
+     *
+     * @param matrix the transform from the coordinate space of the parent to the svg view
+     */
+    boolean collectDamage(RectF damage, Matrix matrix, Canvas canvas, Paint paint) {
+        return !consumeChanges();
+    }
+
+    /**
+     * Clears the change state of this node and its descendants, returns true if any of them changed.
+     */
+    boolean consumeChanges() {
+        boolean changed = mPropsChanged || mChildrenChanged;
+        mPropsChanged = false;
+        mChildrenChanged = false;
+        for (int i = 0; i < getChildCount(); i++) {
+            ReactShadowNode child = getChildAt(i);
+            if (child instanceof VirtualNode && ((VirtualNode) child).consumeChanges()) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
     interface NodeRunnable {
         void run(VirtualNode node);
     }
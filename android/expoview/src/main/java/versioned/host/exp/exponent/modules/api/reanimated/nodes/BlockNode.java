@@ -13,6 +13,25 @@ public class BlockNode extends Node {
     mBlock = Utils.processIntArray(config.getArray("block"));
   }
 
+  // Evaluates the block in order, leaving the last node for the caller so its value can be read
+  // without boxing. Nodes memoize their value, so running this again in the same loop is cheap.
+  private Node evaluateAllButLast() {
+    for (int i = 0; i < mBlock.length - 1; i++) {
+      mNodesManager.findNodeById(mBlock[i], Node.class).hasDoubleValue();
+    }
+    return mNodesManager.findNodeById(mBlock[mBlock.length - 1], Node.class);
+  }
+
+  @Override
+  protected boolean isNumeric() {
+    return mBlock.length > 0 && evaluateAllButLast().hasDoubleValue();
+  }
+
+  @Override
+  protected double evaluateDouble() {
+    return evaluateAllButLast().doubleValue();
+  }
+
   @Override
   protected Object evaluate() {
     Object res = null;
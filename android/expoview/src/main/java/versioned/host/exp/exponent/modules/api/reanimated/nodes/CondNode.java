@@ -14,13 +14,30 @@ public class CondNode extends Node {
     mElseBlockID = config.hasKey("elseBlock") ? config.getInt("elseBlock") : -1;
   }
 
-  @Override
-  protected Object evaluate() {
-    Object cond = mNodesManager.getNodeValue(mCondID);
-    if (cond instanceof Number && ((Number) cond).doubleValue() != 0.0) {
+  private int selectedBlockID() {
+    Node cond = mNodesManager.findNodeById(mCondID, Node.class);
+    if (cond.hasDoubleValue() && cond.doubleValue() != 0.0) {
       // This is not a good way to compare doubles but in this case it is what we want
-      return mIfBlockID != -1 ? mNodesManager.getNodeValue(mIfBlockID) : ZERO;
+      return mIfBlockID;
     }
-    return mElseBlockID != -1 ? mNodesManager.getNodeValue(mElseBlockID) : ZERO;
+    return mElseBlockID;
+  }
+
+  @Override
+  protected boolean isNumeric() {
+    int blockID = selectedBlockID();
+    return blockID == -1 || mNodesManager.findNodeById(blockID, Node.class).hasDoubleValue();
+  }
+
+  @Override
+  protected double evaluateDouble() {
+    int blockID = selectedBlockID();
+    return blockID != -1 ? mNodesManager.findNodeById(blockID, Node.class).doubleValue() : 0;
+  }
+
+  @Override
+  protected Object evaluate() {
+    int blockID = selectedBlockID();
+    return blockID != -1 ? mNodesManager.getNodeValue(blockID) : ZERO;
   }
 }
@@ -25,6 +25,10 @@ public abstract class Node {
 
   private long mLastLoopID = -1;
   private @Nullable Object mMemoizedValue;
+  private double mMemoizedDouble;
+  // When set the node was last evaluated through evaluateDouble and mMemoizedDouble holds its
+  // value, mMemoizedValue is then only a lazily created box of it (or null if nobody asked yet).
+  private boolean mHasMemoizedDouble;
   private @Nullable List<Node> mChildren; /* lazy-initialized when a child is added */
 
   public Node(int nodeID, @Nullable ReadableMap config, NodesManager nodesManager) {
@@ -35,29 +39,69 @@ public abstract class Node {
 
   protected abstract @Nullable Object evaluate();
 
-  public final @Nullable Object value() {
+  /**
+   * Nodes that evaluate to numbers can return true here and implement {@link #evaluateDouble()}
+   * so that numeric graphs are evaluated without boxing every intermediate result. It is checked
+   * on every evaluation, so the answer may change over time.
+   */
+  protected boolean isNumeric() {
+    return false;
+  }
+
+  protected double evaluateDouble() {
+    throw new IllegalStateException("Node " + this + " is not numeric");
+  }
+
+  private void evaluateIfNeeded() {
     if (mLastLoopID < mUpdateContext.updateLoopID) {
       mLastLoopID = mUpdateContext.updateLoopID;
-      return (mMemoizedValue = evaluate());
+      if (isNumeric()) {
+        double value = evaluateDouble();
+        mMemoizedValue = null;
+        mMemoizedDouble = value;
+        mHasMemoizedDouble = true;
+      } else {
+        Object value = evaluate();
+        mMemoizedValue = value;
+        mHasMemoizedDouble = false;
+      }
+    }
+  }
+
+  public final @Nullable Object value() {
+    evaluateIfNeeded();
+    if (mHasMemoizedDouble && mMemoizedValue == null) {
+      mMemoizedValue = Double.valueOf(mMemoizedDouble);
     }
     return mMemoizedValue;
   }
 
   /**
-   * This method will never return null. If value is null or of a different type we try to cast and
-   * return 0 if we fail to properly cast the value. This is to match iOS behavior where the node
-   * would not throw even if the value was not set.
+   * Returns true if the current value of the node is a number, in which case
+   * {@link #doubleValue()} returns it without any allocation.
+   */
+  public final boolean hasDoubleValue() {
+    evaluateIfNeeded();
+    return mHasMemoizedDouble || mMemoizedValue instanceof Double;
+  }
+
+  /**
+   * This method will never throw for null values. If value is null or of a different type we try
+   * to cast and return 0 if we fail to properly cast the value. This is to match iOS behavior where
+   * the node would not throw even if the value was not set.
    */
-  public final Double doubleValue() {
-    Object value = value();
+  public final double doubleValue() {
+    evaluateIfNeeded();
+    if (mHasMemoizedDouble) {
+      return mMemoizedDouble;
+    }
+    Object value = mMemoizedValue;
     if (value == null) {
-      return ZERO;
-    } else if (value instanceof Double) {
-      return (Double) value;
+      return 0;
     } else if (value instanceof Number) {
-      return Double.valueOf(((Number) value).doubleValue());
+      return ((Number) value).doubleValue();
     } else if (value instanceof Boolean) {
-      return ((Boolean) value).booleanValue() ? ONE : ZERO;
+      return ((Boolean) value).booleanValue() ? 1 : 0;
     }
     throw new IllegalStateException("Value of node " + this + " cannot be cast to a number");
   }
@@ -89,6 +133,17 @@ public abstract class Node {
 
   protected final void forceUpdateMemoizedValue(Object value) {
     mMemoizedValue = value;
+    mHasMemoizedDouble = value instanceof Double;
+    if (mHasMemoizedDouble) {
+      mMemoizedDouble = (Double) value;
+    }
+    markUpdated();
+  }
+
+  protected final void forceUpdateMemoizedValue(double value) {
+    mMemoizedValue = null;
+    mMemoizedDouble = value;
+    mHasMemoizedDouble = true;
     markUpdated();
   }
 
@@ -9,6 +9,9 @@ import javax.annotation.Nullable;
 public class ValueNode extends Node {
 
   private Object mValue;
+  // Numeric values are kept unboxed, mValue is null then
+  private double mDoubleValue;
+  private boolean mIsDouble;
 
   public ValueNode(int nodeID, @Nullable ReadableMap config, NodesManager nodesManager) {
     super(nodeID, config, nodesManager);
@@ -20,7 +23,8 @@ public class ValueNode extends Node {
     if (type == ReadableType.String) {
       mValue = config.getString("value");
     } else if (type == ReadableType.Number) {
-      mValue = config.getDouble("value");
+      mDoubleValue = config.getDouble("value");
+      mIsDouble = true;
     } else if (type == ReadableType.Null) {
       mValue = null;
     } else {
@@ -29,12 +33,34 @@ public class ValueNode extends Node {
   }
 
   public void setValue(Object value) {
+    if (value instanceof Double) {
+      setValue(((Double) value).doubleValue());
+      return;
+    }
     mValue = value;
+    mIsDouble = false;
     forceUpdateMemoizedValue(mValue);
   }
 
+  public void setValue(double value) {
+    mValue = null;
+    mDoubleValue = value;
+    mIsDouble = true;
+    forceUpdateMemoizedValue(value);
+  }
+
+  @Override
+  protected boolean isNumeric() {
+    return mIsDouble;
+  }
+
+  @Override
+  protected double evaluateDouble() {
+    return mDoubleValue;
+  }
+
   @Override
   protected Object evaluate() {
-    return mValue;
+    return mIsDouble ? Double.valueOf(mDoubleValue) : mValue;
   }
 }
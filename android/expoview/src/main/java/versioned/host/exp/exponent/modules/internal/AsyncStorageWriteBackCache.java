@@ -0,0 +1,322 @@
+// Copyright 2015-present 650 Industries. All rights reserved.
+
+package versioned.host.exp.exponent.modules.internal;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.text.TextUtils;
+import android.util.LruCache;
+
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
+import com.facebook.react.modules.storage.ReactDatabaseSupplier;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.facebook.react.modules.storage.ReactDatabaseSupplier.KEY_COLUMN;
+import static com.facebook.react.modules.storage.ReactDatabaseSupplier.TABLE_CATALYST;
+import static com.facebook.react.modules.storage.ReactDatabaseSupplier.VALUE_COLUMN;
+
+/**
+ * Memory tier in front of the AsyncStorage database of an experience. Recently used values, and
+ * keys known to be missing, are kept in a size bounded LRU so that reading them doesn't touch the
+ * disk. Writes are applied to memory and queued; repeated writes to the same key are coalesced,
+ * and the queue is written in a single transaction once the flush delay has passed, when its size
+ * reaches the pending budget, or when {@link #flush()} is called.
+ *
+ * Durability: a write is reported successful as soon as it is queued. Writes that haven't been
+ * flushed yet are lost if the process dies, so at most the last flush delay worth of writes can
+ * be lost. The module flushes when the app goes to the background and when the experience is
+ * torn down, which covers the usual ways for the process to be killed. Writes that fail to be
+ * flushed stay queued, and keep being served from memory, until a later flush succeeds.
+ *
+ * Every method has to be called on the executor of the cache, which also serializes the
+ * operations the way the executor of AsyncStorageModule does.
+ */
+public class AsyncStorageWriteBackCache {
+  // Same limit as AsyncStorageModule, SQLITE_LIMIT_VARIABLE_NUMBER
+  private static final int MAX_SQL_KEYS = 999;
+  // Cached in place of the value of keys that are known not to exist
+  private static final String MISSING = new String();
+
+  private final ReactDatabaseSupplier mReactDatabaseSupplier;
+  private final ScheduledExecutorService mExecutor = Executors.newSingleThreadScheduledExecutor();
+  private final LruCache<String, String> mValues;
+  private final long mFlushDelayMs;
+  private final int mMaxPendingSize;
+
+  // Writes not in the database yet in the order they were made, null values being removals
+  private final LinkedHashMap<String, String> mPendingWrites = new LinkedHashMap<>();
+  private int mPendingSize = 0;
+  private ScheduledFuture<?> mScheduledFlush;
+
+  private final Runnable mFlushRunnable = new Runnable() {
+    @Override
+    public void run() {
+      mScheduledFlush = null;
+      flush();
+    }
+  };
+
+  public AsyncStorageWriteBackCache(ReactDatabaseSupplier reactDatabaseSupplier, int maxCacheSize,
+      long flushDelayMs, int maxPendingSize) {
+    mReactDatabaseSupplier = reactDatabaseSupplier;
+    mFlushDelayMs = flushDelayMs;
+    mMaxPendingSize = maxPendingSize;
+    mValues = new LruCache<String, String>(Math.max(1, maxCacheSize)) {
+      @Override
+      protected int sizeOf(String key, String value) {
+        return getSize(key, value);
+      }
+    };
+  }
+
+  public void execute(Runnable runnable) {
+    mExecutor.execute(runnable);
+  }
+
+  /**
+   * Returns the values of the keys, null for the ones that don't exist. Only the keys that
+   * are neither cached nor pending are read from the database, in as few queries as possible.
+   */
+  public String[] get(List<String> keys) {
+    String[] values = new String[keys.size()];
+    List<String> uncachedKeys = null;
+    for (int i = 0; i < keys.size(); i++) {
+      String key = keys.get(i);
+      String value = getCached(key);
+      if (value == null) {
+        if (uncachedKeys == null) {
+          uncachedKeys = new ArrayList<>();
+        }
+        uncachedKeys.add(key);
+      } else {
+        values[i] = value == MISSING ? null : value;
+      }
+    }
+    if (uncachedKeys == null) {
+      return values;
+    }
+
+    Map<String, String> loadedValues = load(uncachedKeys);
+    for (int i = 0; i < keys.size(); i++) {
+      if (values[i] == null) {
+        values[i] = loadedValues.get(keys.get(i));
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Sets the value of the key, or removes the key when the value is null.
+   */
+  public void set(String key, String value) {
+    if (mPendingWrites.containsKey(key)) {
+      mPendingSize -= getSize(key, mPendingWrites.get(key));
+    }
+    mPendingWrites.put(key, value);
+    mPendingSize += getSize(key, value);
+    mValues.put(key, value == null ? MISSING : value);
+
+    if (mPendingSize >= mMaxPendingSize) {
+      flush();
+    } else if (mScheduledFlush == null) {
+      mScheduledFlush = mExecutor.schedule(mFlushRunnable, mFlushDelayMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Deep merges the JSON object into the stored value of the key, like AsyncStorageModule.
+   */
+  public void merge(String key, String value) throws JSONException {
+    String oldValue = getCached(key);
+    if (oldValue == null) {
+      oldValue = load(Arrays.asList(key)).get(key);
+    } else if (oldValue == MISSING) {
+      oldValue = null;
+    }
+
+    if (oldValue == null) {
+      set(key, value);
+      return;
+    }
+    JSONObject oldJSON = new JSONObject(oldValue);
+    deepMergeInto(oldJSON, new JSONObject(value));
+    set(key, oldJSON.toString());
+  }
+
+  public List<String> getAllKeys() {
+    flush();
+    Set<String> keys = new LinkedHashSet<>();
+    Cursor cursor = mReactDatabaseSupplier.get().query(TABLE_CATALYST, new String[]{KEY_COLUMN}, null, null, null, null, null);
+    try {
+      while (cursor.moveToNext()) {
+        keys.add(cursor.getString(0));
+      }
+    } finally {
+      cursor.close();
+    }
+    // Writes that failed to flush are still visible to the app
+    for (Map.Entry<String, String> write : mPendingWrites.entrySet()) {
+      if (write.getValue() != null) {
+        keys.add(write.getKey());
+      } else {
+        keys.remove(write.getKey());
+      }
+    }
+    return new ArrayList<>(keys);
+  }
+
+  public void clear() {
+    cancelScheduledFlush();
+    mPendingWrites.clear();
+    mPendingSize = 0;
+    mValues.evictAll();
+    mReactDatabaseSupplier.get().delete(TABLE_CATALYST, null, null);
+  }
+
+  /**
+   * Writes all pending writes to the database in a single transaction.
+   */
+  public void flush() {
+    cancelScheduledFlush();
+    if (mPendingWrites.isEmpty()) {
+      return;
+    }
+
+    SQLiteDatabase database;
+    try {
+      database = mReactDatabaseSupplier.get();
+    } catch (Exception e) {
+      FLog.w(ReactConstants.TAG, e.getMessage(), e);
+      return;
+    }
+    boolean successful = false;
+    try {
+      database.beginTransaction();
+      SQLiteStatement insert = database.compileStatement("INSERT OR REPLACE INTO " + TABLE_CATALYST + " VALUES (?, ?);");
+      SQLiteStatement delete = database.compileStatement("DELETE FROM " + TABLE_CATALYST + " WHERE " + KEY_COLUMN + " = ?;");
+      for (Map.Entry<String, String> write : mPendingWrites.entrySet()) {
+        if (write.getValue() == null) {
+          delete.clearBindings();
+          delete.bindString(1, write.getKey());
+          delete.execute();
+        } else {
+          insert.clearBindings();
+          insert.bindString(1, write.getKey());
+          insert.bindString(2, write.getValue());
+          insert.execute();
+        }
+      }
+      database.setTransactionSuccessful();
+      successful = true;
+    } catch (Exception e) {
+      FLog.w(ReactConstants.TAG, e.getMessage(), e);
+    } finally {
+      try {
+        database.endTransaction();
+      } catch (Exception e) {
+        FLog.w(ReactConstants.TAG, e.getMessage(), e);
+        successful = false;
+      }
+    }
+
+    if (successful) {
+      mPendingWrites.clear();
+      mPendingSize = 0;
+    }
+  }
+
+  /**
+   * Flushes the pending writes and stops the executor once the operations already submitted
+   * are done.
+   */
+  public void shutdown() {
+    mExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        flush();
+      }
+    });
+    mExecutor.shutdown();
+  }
+
+  private String getCached(String key) {
+    if (mPendingWrites.containsKey(key)) {
+      String value = mPendingWrites.get(key);
+      return value == null ? MISSING : value;
+    }
+    return mValues.get(key);
+  }
+
+  private Map<String, String> load(List<String> keys) {
+    Map<String, String> values = new LinkedHashMap<>();
+    String[] columns = {KEY_COLUMN, VALUE_COLUMN};
+    for (int keyStart = 0; keyStart < keys.size(); keyStart += MAX_SQL_KEYS) {
+      int keyCount = Math.min(keys.size() - keyStart, MAX_SQL_KEYS);
+      String[] selectionArgs = keys.subList(keyStart, keyStart + keyCount).toArray(new String[keyCount]);
+      Cursor cursor = mReactDatabaseSupplier.get().query(TABLE_CATALYST, columns, buildKeySelection(keyCount), selectionArgs, null, null, null);
+      try {
+        while (cursor.moveToNext()) {
+          values.put(cursor.getString(0), cursor.getString(1));
+        }
+      } finally {
+        cursor.close();
+      }
+    }
+    for (String key : keys) {
+      String value = values.get(key);
+      mValues.put(key, value == null ? MISSING : value);
+    }
+    return values;
+  }
+
+  private void cancelScheduledFlush() {
+    if (mScheduledFlush != null) {
+      mScheduledFlush.cancel(false);
+      mScheduledFlush = null;
+    }
+  }
+
+  private static String buildKeySelection(int selectionCount) {
+    String[] list = new String[selectionCount];
+    Arrays.fill(list, "?");
+    return KEY_COLUMN + " IN (" + TextUtils.join(", ", list) + ")";
+  }
+
+  // Approximate size in bytes of a UTF-16 key and value
+  private static int getSize(String key, String value) {
+    return 2 * (key.length() + (value == null ? 0 : value.length()));
+  }
+
+  private static void deepMergeInto(JSONObject oldJSON, JSONObject newJSON) throws JSONException {
+    Iterator<?> keys = newJSON.keys();
+    while (keys.hasNext()) {
+      String key = (String) keys.next();
+
+      JSONObject newJSONObject = newJSON.optJSONObject(key);
+      JSONObject oldJSONObject = oldJSON.optJSONObject(key);
+      if (newJSONObject != null && oldJSONObject != null) {
+        deepMergeInto(oldJSONObject, newJSONObject);
+        oldJSON.put(key, oldJSONObject);
+      } else {
+        oldJSON.put(key, newJSON.get(key));
+      }
+    }
+  }
+}
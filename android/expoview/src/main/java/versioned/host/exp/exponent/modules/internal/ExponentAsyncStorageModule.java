@@ -7,17 +7,32 @@ import org.json.JSONObject;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.facebook.common.logging.FLog;
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.ReactConstants;
 import com.facebook.react.modules.storage.AsyncStorageModule;
 import com.facebook.react.modules.storage.ReactDatabaseSupplier;
 import host.exp.exponent.ExponentManifest;
 import host.exp.exponent.kernel.KernelProvider;
 
-public class ExponentAsyncStorageModule extends AsyncStorageModule {
+public class ExponentAsyncStorageModule extends AsyncStorageModule implements LifecycleEventListener {
+
+  private static final int DEFAULT_CACHE_SIZE = 1024 * 1024;
+  private static final long DEFAULT_FLUSH_INTERVAL_MS = 1000;
+  private static final int MAX_PENDING_WRITES_SIZE = 256 * 1024;
+
+  // Only set when the experience opts into the write-back cache in its manifest
+  private AsyncStorageWriteBackCache mCache;
 
   public static String experienceIdToDatabaseName(String experienceId) throws UnsupportedEncodingException {
     String experienceIdEncoded = URLEncoder.encode(experienceId, "UTF-8");
@@ -36,6 +51,16 @@ public class ExponentAsyncStorageModule extends AsyncStorageModule {
     } catch (UnsupportedEncodingException e) {
       KernelProvider.getInstance().handleError("Couldn't URL encode Experience Id");
     }
+
+    JSONObject asyncStorageInfo = manifest.optJSONObject(ExponentManifest.MANIFEST_ASYNC_STORAGE_INFO_KEY);
+    if (asyncStorageInfo != null && asyncStorageInfo.optBoolean(ExponentManifest.MANIFEST_ASYNC_STORAGE_WRITE_BACK_CACHE_KEY, false)) {
+      mCache = new AsyncStorageWriteBackCache(
+          mReactDatabaseSupplier,
+          asyncStorageInfo.optInt(ExponentManifest.MANIFEST_ASYNC_STORAGE_CACHE_SIZE_KEY, DEFAULT_CACHE_SIZE),
+          asyncStorageInfo.optLong(ExponentManifest.MANIFEST_ASYNC_STORAGE_FLUSH_INTERVAL_KEY, DEFAULT_FLUSH_INTERVAL_MS),
+          MAX_PENDING_WRITES_SIZE);
+      reactContext.addLifecycleEventListener(this);
+    }
   }
 
   @Override
@@ -43,33 +68,221 @@ public class ExponentAsyncStorageModule extends AsyncStorageModule {
     return true;
   }
 
+  @Override
+  public void onCatalystInstanceDestroy() {
+    super.onCatalystInstanceDestroy();
+    if (mCache != null) {
+      // onHostPause would otherwise submit flushes to the shut down cache executor
+      getReactApplicationContext().removeLifecycleEventListener(this);
+      mCache.shutdown();
+    }
+  }
+
+  @Override
+  public void onHostResume() {
+  }
+
+  @Override
+  public void onHostPause() {
+    // The process may be killed at any time while in the background
+    mCache.execute(new Runnable() {
+      @Override
+      public void run() {
+        mCache.flush();
+      }
+    });
+  }
+
+  @Override
+  public void onHostDestroy() {
+  }
+
   @ReactMethod
   public void multiGet(final ReadableArray keys, final Callback callback) {
-    super.multiGet(keys, callback);
+    if (mCache == null) {
+      super.multiGet(keys, callback);
+      return;
+    }
+    if (keys == null) {
+      callback.invoke(getError(null, "Invalid key"), null);
+      return;
+    }
+    mCache.execute(new Runnable() {
+      @Override
+      public void run() {
+        List<String> keyList = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+          keyList.add(keys.getString(i));
+        }
+
+        String[] values;
+        try {
+          values = mCache.get(keyList);
+        } catch (Exception e) {
+          FLog.w(ReactConstants.TAG, e.getMessage(), e);
+          callback.invoke(getError(null, e.getMessage()), null);
+          return;
+        }
+
+        WritableArray data = Arguments.createArray();
+        for (int i = 0; i < values.length; i++) {
+          WritableArray row = Arguments.createArray();
+          row.pushString(keyList.get(i));
+          row.pushString(values[i]);
+          data.pushArray(row);
+        }
+        callback.invoke(null, data);
+      }
+    });
   }
 
   @ReactMethod
   public void multiSet(final ReadableArray keyValueArray, final Callback callback) {
-    super.multiSet(keyValueArray, callback);
+    if (mCache == null) {
+      super.multiSet(keyValueArray, callback);
+      return;
+    }
+    if (keyValueArray.size() == 0) {
+      callback.invoke(getError(null, "Invalid key"));
+      return;
+    }
+    WritableMap error = validateKeyValueArray(keyValueArray);
+    if (error != null) {
+      callback.invoke(error);
+      return;
+    }
+    mCache.execute(new Runnable() {
+      @Override
+      public void run() {
+        for (int idx = 0; idx < keyValueArray.size(); idx++) {
+          ReadableArray keyValue = keyValueArray.getArray(idx);
+          mCache.set(keyValue.getString(0), keyValue.getString(1));
+        }
+        callback.invoke();
+      }
+    });
   }
 
   @ReactMethod
   public void multiRemove(final ReadableArray keys, final Callback callback) {
-    super.multiRemove(keys, callback);
+    if (mCache == null) {
+      super.multiRemove(keys, callback);
+      return;
+    }
+    if (keys.size() == 0) {
+      callback.invoke(getError(null, "Invalid key"));
+      return;
+    }
+    mCache.execute(new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 0; i < keys.size(); i++) {
+          mCache.set(keys.getString(i), null);
+        }
+        callback.invoke();
+      }
+    });
   }
 
   @ReactMethod
   public void multiMerge(final ReadableArray keyValueArray, final Callback callback) {
-    super.multiMerge(keyValueArray, callback);
+    if (mCache == null) {
+      super.multiMerge(keyValueArray, callback);
+      return;
+    }
+    WritableMap error = validateKeyValueArray(keyValueArray);
+    if (error != null) {
+      callback.invoke(error);
+      return;
+    }
+    mCache.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          for (int idx = 0; idx < keyValueArray.size(); idx++) {
+            ReadableArray keyValue = keyValueArray.getArray(idx);
+            mCache.merge(keyValue.getString(0), keyValue.getString(1));
+          }
+        } catch (Exception e) {
+          FLog.w(ReactConstants.TAG, e.getMessage(), e);
+          callback.invoke(getError(null, e.getMessage()));
+          return;
+        }
+        callback.invoke();
+      }
+    });
   }
 
   @ReactMethod
   public void clear(final Callback callback) {
-    super.clear(callback);
+    if (mCache == null) {
+      super.clear(callback);
+      return;
+    }
+    mCache.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          mCache.clear();
+        } catch (Exception e) {
+          FLog.w(ReactConstants.TAG, e.getMessage(), e);
+          callback.invoke(getError(null, e.getMessage()));
+          return;
+        }
+        callback.invoke();
+      }
+    });
   }
 
   @ReactMethod
   public void getAllKeys(final Callback callback) {
-    super.getAllKeys(callback);
+    if (mCache == null) {
+      super.getAllKeys(callback);
+      return;
+    }
+    mCache.execute(new Runnable() {
+      @Override
+      public void run() {
+        List<String> keys;
+        try {
+          keys = mCache.getAllKeys();
+        } catch (Exception e) {
+          FLog.w(ReactConstants.TAG, e.getMessage(), e);
+          callback.invoke(getError(null, e.getMessage()), null);
+          return;
+        }
+        WritableArray data = Arguments.createArray();
+        for (String key : keys) {
+          data.pushString(key);
+        }
+        callback.invoke(null, data);
+      }
+    });
+  }
+
+  private static WritableMap validateKeyValueArray(ReadableArray keyValueArray) {
+    for (int idx = 0; idx < keyValueArray.size(); idx++) {
+      ReadableArray keyValue = keyValueArray.getArray(idx);
+      if (keyValue.size() != 2) {
+        return getError(null, "Invalid Value");
+      }
+      if (keyValue.getString(0) == null) {
+        return getError(null, "Invalid key");
+      }
+      if (keyValue.getString(1) == null) {
+        return getError(null, "Invalid Value");
+      }
+    }
+    return null;
+  }
+
+  // Same format as AsyncStorageErrorUtil, which is not accessible from here
+  private static WritableMap getError(String key, String errorMessage) {
+    WritableMap errorMap = Arguments.createMap();
+    errorMap.putString("message", errorMessage);
+    if (key != null) {
+      errorMap.putString("key", key);
+    }
+    return errorMap;
   }
 }
@@ -1,9 +1,9 @@
 package versioned.host.exp.exponent.modules.universal.sensors;
 
-import expo.interfaces.sensors.SensorServiceSubscription;
+import expo.interfaces.sensors.BatchableSensorServiceSubscription;
 import host.exp.exponent.kernel.services.sensors.SensorKernelServiceSubscription;
 
-public class SensorSubscription implements SensorServiceSubscription {
+public class SensorSubscription implements BatchableSensorServiceSubscription {
   private SensorKernelServiceSubscription mSensorKernelServiceSubscription;
 
   public SensorSubscription(SensorKernelServiceSubscription subscription) {
@@ -30,6 +30,16 @@ public class SensorSubscription implements SensorServiceSubscription {
     mSensorKernelServiceSubscription.setUpdateInterval(updateInterval);
   }
 
+  @Override
+  public Long getMaxReportLatency() {
+    return mSensorKernelServiceSubscription.getMaxReportLatency();
+  }
+
+  @Override
+  public void setMaxReportLatency(long maxReportLatency) {
+    mSensorKernelServiceSubscription.setMaxReportLatency(maxReportLatency);
+  }
+
   @Override
   public void stop() {
     mSensorKernelServiceSubscription.stop();
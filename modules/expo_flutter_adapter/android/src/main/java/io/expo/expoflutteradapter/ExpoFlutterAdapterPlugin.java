@@ -104,24 +104,14 @@ class ExpoFlutterAdapterModule implements
     // Initialize Expo module registry, providing self as a module
     final InternalModule self = this;
     List<Package> packages = new ArrayList<>(sInitialPackages);
-    packages.add(new Package() {
+    packages.add(new BasePackage() {
       @Override
       public List<InternalModule> createInternalModules(Context context) {
         return Collections.<InternalModule>singletonList(self);
       }
-
-      @Override
-      public List<ExportedModule> createExportedModules(Context context) {
-        return Collections.emptyList();
-      }
-
-      @Override
-      public List<ViewManager> createViewManagers(Context context) {
-        return Collections.emptyList();
-      }
     });
     mModuleRegistry = new ModuleRegistryProvider(packages).get(mFlutterView.getContext());
-    mModuleRegistry.initialize();
+    mModuleRegistry.ensureIsInitialized();
   }
 
   public static void addPackages(List<Package> packages) {
@@ -0,0 +1,137 @@
+package expo.interfaces.barcodescanner;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides which preview frames get decoded and which results get reported. Every frame is
+ * decoded while bar codes are in sight. Once nothing has been found for a while the interval
+ * between decoded frames doubles up to the max idle scan interval, and drops back to zero as soon
+ * as a bar code is found. Bar codes seen again within the duplicate suppression interval are not
+ * reported again. Meant to be used by a single scanning thread.
+ */
+public class BarCodeScanScheduler {
+  public static final long DEFAULT_MAX_IDLE_SCAN_INTERVAL_MS = 250;
+
+  private static final long IDLE_TIMEOUT_MS = 1000;
+  private static final long MIN_IDLE_SCAN_INTERVAL_MS = 50;
+  private static final int MAX_SEEN_BAR_CODES = 64;
+
+  private long mMaxIdleScanInterval = DEFAULT_MAX_IDLE_SCAN_INTERVAL_MS;
+  private long mDuplicateSuppressionInterval = 0;
+
+  private long mScanInterval = 0;
+  private long mLastScanTime = -1;
+  private long mLastFoundTime = -1;
+  // "type:value" -> time the bar code was last seen
+  private final Map<String, Long> mLastSeenTimes = new HashMap<>();
+
+  private long mFrameCount = 0;
+  private long mSkippedFrameCount = 0;
+  private long mDecodedFrameCount = 0;
+  private long mBarCodeCount = 0;
+  private long mDuplicateCount = 0;
+  private long mTotalDecodeTimeNs = 0;
+  private long mLastDecodeTimeNs = 0;
+  private long mMaxDecodeTimeNs = 0;
+
+  public synchronized void setSettings(BarCodeScannerSettings settings) {
+    Object maxIdleScanInterval = settings.getMaxIdleScanInterval();
+    mMaxIdleScanInterval = maxIdleScanInterval instanceof Number ?
+        Math.max(0, ((Number) maxIdleScanInterval).longValue()) : DEFAULT_MAX_IDLE_SCAN_INTERVAL_MS;
+    mScanInterval = Math.min(mScanInterval, mMaxIdleScanInterval);
+
+    Object duplicateSuppressionInterval = settings.getDuplicateSuppressionInterval();
+    mDuplicateSuppressionInterval = duplicateSuppressionInterval instanceof Number ?
+        Math.max(0, ((Number) duplicateSuppressionInterval).longValue()) : 0;
+    if (mDuplicateSuppressionInterval == 0) {
+      mLastSeenTimes.clear();
+    }
+  }
+
+  /**
+   * Called for every frame, returns whether it should be decoded.
+   */
+  public synchronized boolean shouldScan() {
+    long now = SystemClock.elapsedRealtime();
+    mFrameCount++;
+    if (mLastScanTime >= 0 && now - mLastScanTime < mScanInterval) {
+      mSkippedFrameCount++;
+      return false;
+    }
+    mLastScanTime = now;
+    if (mLastFoundTime < 0) {
+      mLastFoundTime = now;
+    }
+    return true;
+  }
+
+  /**
+   * Records the decoding of a frame and returns the bar codes that should be reported.
+   */
+  public synchronized List<BarCodeScannerResult> onScanned(List<BarCodeScannerResult> results, long decodeTimeNs) {
+    long now = SystemClock.elapsedRealtime();
+    mDecodedFrameCount++;
+    mTotalDecodeTimeNs += decodeTimeNs;
+    mLastDecodeTimeNs = decodeTimeNs;
+    mMaxDecodeTimeNs = Math.max(mMaxDecodeTimeNs, decodeTimeNs);
+
+    if (results.isEmpty()) {
+      if (now - mLastFoundTime >= IDLE_TIMEOUT_MS) {
+        mScanInterval = Math.min(mMaxIdleScanInterval, Math.max(MIN_IDLE_SCAN_INTERVAL_MS, mScanInterval * 2));
+      }
+      return results;
+    }
+    mLastFoundTime = now;
+    mScanInterval = 0;
+
+    if (mDuplicateSuppressionInterval == 0) {
+      mBarCodeCount += results.size();
+      return results;
+    }
+    List<BarCodeScannerResult> newResults = new ArrayList<>(results.size());
+    for (BarCodeScannerResult result : results) {
+      String key = result.getType() + ":" + result.getValue();
+      Long lastSeenTime = mLastSeenTimes.put(key, now);
+      if (lastSeenTime != null && now - lastSeenTime < mDuplicateSuppressionInterval) {
+        mDuplicateCount++;
+      } else {
+        newResults.add(result);
+      }
+    }
+    mBarCodeCount += newResults.size();
+    if (mLastSeenTimes.size() > MAX_SEEN_BAR_CODES) {
+      forgetBarCodesSeenBefore(now - mDuplicateSuppressionInterval);
+    }
+    return newResults;
+  }
+
+  private void forgetBarCodesSeenBefore(long time) {
+    Iterator<Long> iterator = mLastSeenTimes.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next() < time) {
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized Bundle getStats() {
+    Bundle stats = new Bundle();
+    stats.putDouble("frameCount", mFrameCount);
+    stats.putDouble("skippedFrameCount", mSkippedFrameCount);
+    stats.putDouble("decodedFrameCount", mDecodedFrameCount);
+    stats.putDouble("barCodeCount", mBarCodeCount);
+    stats.putDouble("duplicateCount", mDuplicateCount);
+    stats.putDouble("scanInterval", mScanInterval);
+    stats.putDouble("lastDecodeTime", mLastDecodeTimeNs / 1e6);
+    stats.putDouble("maxDecodeTime", mMaxDecodeTimeNs / 1e6);
+    stats.putDouble("averageDecodeTime", mDecodedFrameCount == 0 ? 0 : mTotalDecodeTimeNs / 1e6 / mDecodedFrameCount);
+    return stats;
+  }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 
 public interface BarCodeScanner {
   BarCodeScannerResult scan(byte[] imageData, int width, int height, int rotation);
+  List<BarCodeScannerResult> scanMultiple(byte[] imageData, int width, int height, int rotation);
   List<BarCodeScannerResult> scanMultiple(Bitmap bitmap);
   void setSettings(BarCodeScannerSettings settings);
 }
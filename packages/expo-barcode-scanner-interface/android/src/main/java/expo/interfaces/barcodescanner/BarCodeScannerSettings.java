@@ -25,4 +25,29 @@ public class BarCodeScannerSettings extends HashMap<BarCodeScannerSettingsKey, O
   public Object getTypes() {
     return get(BarCodeScannerSettingsKey.TYPES);
   }
+
+  public void putRegionOfInterest(Object regionOfInterest) {
+    put(BarCodeScannerSettingsKey.REGION_OF_INTEREST, regionOfInterest);
+  }
+
+  /**
+   * Map of x, y, width and height, as fractions of the upright frame.
+   */
+  public Object getRegionOfInterest() {
+    return get(BarCodeScannerSettingsKey.REGION_OF_INTEREST);
+  }
+
+  /**
+   * Milliseconds for which a bar code that was already reported is not reported again.
+   */
+  public Object getDuplicateSuppressionInterval() {
+    return get(BarCodeScannerSettingsKey.DUPLICATE_SUPPRESSION_INTERVAL);
+  }
+
+  /**
+   * Longest time in milliseconds between two decoded frames while no bar code is in sight.
+   */
+  public Object getMaxIdleScanInterval() {
+    return get(BarCodeScannerSettingsKey.MAX_IDLE_SCAN_INTERVAL);
+  }
 }
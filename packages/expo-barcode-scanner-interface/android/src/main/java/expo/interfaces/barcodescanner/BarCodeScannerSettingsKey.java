@@ -1,7 +1,10 @@
 package expo.interfaces.barcodescanner;
 
 public enum BarCodeScannerSettingsKey {
-  TYPES("barCodeTypes");
+  TYPES("barCodeTypes"),
+  REGION_OF_INTEREST("regionOfInterest"),
+  DUPLICATE_SUPPRESSION_INTERVAL("duplicateSuppressionInterval"),
+  MAX_IDLE_SCAN_INTERVAL("maxIdleScanInterval");
 
   private final String mName;
 
@@ -17,6 +17,7 @@ import expo.core.ModuleRegistry;
 import expo.core.Promise;
 import expo.core.interfaces.ExpoMethod;
 import expo.core.interfaces.ModuleRegistryConsumer;
+import expo.core.interfaces.services.UIManager;
 import expo.interfaces.barcodescanner.BarCodeScanner;
 import expo.interfaces.barcodescanner.BarCodeScannerResult;
 import expo.interfaces.barcodescanner.BarCodeScannerSettings;
@@ -123,4 +124,29 @@ public class BarCodeScannerModule extends ExportedModule implements ModuleRegist
       }
     });
   }
+
+  @ExpoMethod
+  public void getScanningStatsAsync(final int viewTag, final Promise promise) {
+    UIManager uiManager = mModuleRegistry.getModule(UIManager.class);
+    if (uiManager == null) {
+      promise.reject(ERROR_TAG, "Implementation of " + UIManager.class.getName() + " is null. Are you sure you've included a proper Expo adapter for your platform?");
+      return;
+    }
+    uiManager.addUIBlock(viewTag, new UIManager.UIBlock<BarCodeScannerView>() {
+      @Override
+      public void resolve(BarCodeScannerView view) {
+        Bundle stats = view.getScanningStats();
+        if (stats != null) {
+          promise.resolve(stats);
+        } else {
+          promise.reject(ERROR_TAG, "Bar code scanner is not running");
+        }
+      }
+
+      @Override
+      public void reject(Throwable throwable) {
+        promise.reject(ERROR_TAG, throwable);
+      }
+    }, BarCodeScannerView.class);
+  }
 }
@@ -2,6 +2,7 @@ package expo.modules.barcodescanner;
 
 import android.content.Context;
 import android.hardware.SensorManager;
+import android.os.Bundle;
 import android.view.OrientationEventListener;
 import android.view.View;
 import android.view.ViewGroup;
@@ -20,6 +21,8 @@ public class BarCodeScannerView extends ViewGroup {
   private final Context mContext;
   private BarCodeScannerViewFinder mViewFinder = null;
   private int mActualDeviceOrientation = -1;
+  // Props are set one by one, so every change is merged into the settings of the scanner
+  private final BarCodeScannerSettings mBarCodeScannerSettings = new BarCodeScannerSettings();
 
   public BarCodeScannerView(final Context context, ModuleRegistry moduleRegistry) {
     super(context);
@@ -70,12 +73,20 @@ public class BarCodeScannerView extends ViewGroup {
       ExpoBarCodeScanner.getInstance().adjustPreviewLayout(type);
     } else {
       mViewFinder = new BarCodeScannerViewFinder(mContext, type, this, mModuleRegistry);
+      mViewFinder.setBarCodeScannerSettings(mBarCodeScannerSettings);
       addView(mViewFinder);
     }
   }
 
   public void setBarCodeScannerSettings(BarCodeScannerSettings settings) {
-    mViewFinder.setBarCodeScannerSettings(settings);
+    mBarCodeScannerSettings.putAll(settings);
+    if (mViewFinder != null) {
+      mViewFinder.setBarCodeScannerSettings(mBarCodeScannerSettings);
+    }
+  }
+
+  public Bundle getScanningStats() {
+    return mViewFinder != null ? mViewFinder.getScanningStats() : null;
   }
 
   private boolean setActualDeviceOrientation(Context context) {
@@ -1,22 +1,29 @@
 package expo.modules.barcodescanner;
 
 import android.content.Context;
+import android.graphics.ImageFormat;
 import android.graphics.SurfaceTexture;
 import android.hardware.Camera;
-import android.os.AsyncTask;
+import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.view.TextureView;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import expo.core.ModuleRegistry;
+import expo.interfaces.barcodescanner.BarCodeScanScheduler;
 import expo.interfaces.barcodescanner.BarCodeScanner;
 import expo.interfaces.barcodescanner.BarCodeScannerProvider;
 import expo.interfaces.barcodescanner.BarCodeScannerResult;
 import expo.interfaces.barcodescanner.BarCodeScannerSettings;
 
 class BarCodeScannerViewFinder extends TextureView implements TextureView.SurfaceTextureListener, Camera.PreviewCallback {
+  // One buffer being filled by the camera while the other one is being scanned
+  private static final int PREVIEW_BUFFER_COUNT = 2;
+
   private final ModuleRegistry mModuleRegistry;
   private int mCameraType;
   private SurfaceTexture mSurfaceTexture;
@@ -25,9 +32,15 @@ class BarCodeScannerViewFinder extends TextureView implements TextureView.Surfac
   private boolean mIsChanging;
   private BarCodeScannerView mBarCodeScannerView;
   private Camera mCamera;
+  private int mPreviewWidth;
+  private int mPreviewHeight;
 
-  // Concurrency lock for barcode scanner to avoid flooding the runtime
-  public static volatile boolean barCodeScannerTaskLock = false;
+  // Frames are scanned one at a time, frames arriving in the meantime are skipped. The thread is
+  // shared by all the views, rather than each view keeping a thread alive after being unmounted.
+  private static final ExecutorService sScanExecutor = Executors.newSingleThreadExecutor();
+  private final BarCodeScanScheduler mScanScheduler = new BarCodeScanScheduler();
+  private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+  private volatile boolean mIsScanning = false;
 
   // Scanner instance for the barcode scanning
   private BarCodeScanner mBarCodeScanner;
@@ -120,8 +133,17 @@ class BarCodeScannerViewFinder extends TextureView implements TextureView.Surfac
         mCamera.setParameters(parameters);
         mCamera.setPreviewTexture(mSurfaceTexture);
         mCamera.startPreview();
-        // send previews to `onPreviewFrame`
-        mCamera.setPreviewCallback(this);
+
+        Camera.Size previewSize = parameters.getPreviewSize();
+        mPreviewWidth = previewSize.width;
+        mPreviewHeight = previewSize.height;
+        // send previews to `onPreviewFrame`, reusing the same few buffers for every frame
+        int bitsPerPixel = ImageFormat.getBitsPerPixel(parameters.getPreviewFormat());
+        int bufferSize = mPreviewWidth * mPreviewHeight * bitsPerPixel / 8;
+        mCamera.setPreviewCallbackWithBuffer(this);
+        for (int i = 0; i < PREVIEW_BUFFER_COUNT; i++) {
+          mCamera.addCallbackBuffer(new byte[bufferSize]);
+        }
       } catch (NullPointerException e) {
         e.printStackTrace();
       } catch (Exception e) {
@@ -140,7 +162,7 @@ class BarCodeScannerViewFinder extends TextureView implements TextureView.Surfac
         if (mCamera != null) {
           mCamera.stopPreview();
           // stop sending previews to `onPreviewFrame`
-          mCamera.setPreviewCallback(null);
+          mCamera.setPreviewCallbackWithBuffer(null);
           ExpoBarCodeScanner.getInstance().releaseCameraInstance();
           mCamera = null;
         }
@@ -164,57 +186,56 @@ class BarCodeScannerViewFinder extends TextureView implements TextureView.Surfac
     }
   }
 
-  public void onPreviewFrame(byte[] data, Camera camera) {
-    if (!BarCodeScannerViewFinder.barCodeScannerTaskLock) {
-      BarCodeScannerViewFinder.barCodeScannerTaskLock = true;
-      new BarCodeScannerAsyncTask(camera, data, mBarCodeScannerView).execute();
+  public void onPreviewFrame(final byte[] data, final Camera camera) {
+    // setting PreviewCallback does not really have an effect - this method is called anyway so we
+    // need to check if camera changing is in progress or not
+    if (data == null || mIsScanning || mIsChanging || mBarCodeScanner == null || !mScanScheduler.shouldScan()) {
+      returnPreviewBuffer(camera, data);
+      return;
     }
+    mIsScanning = true;
+    final int width = mPreviewWidth;
+    final int height = mPreviewHeight;
+    sScanExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          long start = System.nanoTime();
+          List<BarCodeScannerResult> results = mBarCodeScanner.scanMultiple(data, width, height,
+              ExpoBarCodeScanner.getInstance().getActualDeviceOrientation());
+          results = mScanScheduler.onScanned(results, System.nanoTime() - start);
+
+          for (final BarCodeScannerResult result : results) {
+            mMainHandler.post(new Runnable() {
+              @Override
+              public void run() {
+                mBarCodeScannerView.onBarCodeScanned(result);
+              }
+            });
+          }
+        } finally {
+          mIsScanning = false;
+          returnPreviewBuffer(camera, data);
+        }
+      }
+    });
   }
 
-  public void setBarCodeScannerSettings(BarCodeScannerSettings settings) {
-    mBarCodeScanner.setSettings(settings);
+  synchronized private void returnPreviewBuffer(Camera camera, byte[] buffer) {
+    // The camera may have been released or replaced while the frame was being scanned
+    if (buffer != null && camera == mCamera) {
+      camera.addCallbackBuffer(buffer);
+    }
   }
 
-  private class BarCodeScannerAsyncTask extends AsyncTask<Void, Void, Void> {
-    private byte[] mImageData;
-    private final Camera mCamera;
-
-    BarCodeScannerAsyncTask(Camera camera, byte[] imageData, BarCodeScannerView barCodeScannerView) {
-      mCamera = camera;
-      mImageData = imageData;
-      mBarCodeScannerView = barCodeScannerView;
+  public void setBarCodeScannerSettings(BarCodeScannerSettings settings) {
+    if (mBarCodeScanner != null) {
+      mBarCodeScanner.setSettings(settings);
     }
+    mScanScheduler.setSettings(settings);
+  }
 
-    @Override
-    protected Void doInBackground(Void... ignored) {
-      if (isCancelled()) {
-        return null;
-      }
-
-      // setting PreviewCallback does not really have an effect - this method is called anyway so we
-      // need to check if camera changing is in progress or not
-      if (!mIsChanging && mCamera != null) {
-        Camera.Size size = mCamera.getParameters().getPreviewSize();
-
-        int width = size.width;
-        int height = size.height;
-
-
-        final BarCodeScannerResult result = mBarCodeScanner.scan(mImageData, width,
-            height, ExpoBarCodeScanner.getInstance().getActualDeviceOrientation());
-
-        if (result != null) {
-          new Handler(Looper.getMainLooper()).post(new Runnable() {
-            @Override
-            public void run() {
-              mBarCodeScannerView.onBarCodeScanned(result);
-            }
-          });
-        }
-      }
-
-      BarCodeScannerViewFinder.barCodeScannerTaskLock = false;
-      return null;
-    }
+  public Bundle getScanningStats() {
+    return mScanScheduler.getStats();
   }
 }
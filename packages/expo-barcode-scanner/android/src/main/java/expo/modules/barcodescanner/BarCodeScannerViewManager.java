@@ -8,6 +8,7 @@ import expo.core.ViewManager;
 import expo.core.interfaces.ExpoProp;
 import expo.core.interfaces.ModuleRegistryConsumer;
 import expo.interfaces.barcodescanner.BarCodeScannerSettings;
+import expo.interfaces.barcodescanner.BarCodeScannerSettingsKey;
 
 import java.util.HashMap;
 import java.util.List;
@@ -78,4 +79,23 @@ public class BarCodeScannerViewManager extends ViewManager<BarCodeScannerView> i
     }};
     view.setBarCodeScannerSettings(settings);
   }
+
+  @ExpoProp(name = "barCodeScannerSettings")
+  public void setBarCodeScannerSettings(BarCodeScannerView view, Map<String, Object> settings) {
+    if (settings == null) {
+      return;
+    }
+
+    BarCodeScannerSettings scannerSettings = new BarCodeScannerSettings(settings);
+    for (BarCodeScannerSettingsKey key : BarCodeScannerSettingsKey.values()) {
+      if (key == BarCodeScannerSettingsKey.TYPES) {
+        // Bar code types have their own prop
+        scannerSettings.remove(key);
+      } else if (!scannerSettings.containsKey(key)) {
+        // Resets the settings left out this time
+        scannerSettings.put(key, null);
+      }
+    }
+    view.setBarCodeScannerSettings(scannerSettings);
+  }
 }
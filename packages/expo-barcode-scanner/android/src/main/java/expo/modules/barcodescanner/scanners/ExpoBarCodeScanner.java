@@ -1,6 +1,8 @@
 package expo.modules.barcodescanner.scanners;
 
 import android.content.Context;
+import android.graphics.Rect;
+import android.graphics.RectF;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -15,14 +17,16 @@ public abstract class ExpoBarCodeScanner implements BarCodeScanner {
 
   protected Context mContext;
   protected List<Integer> mBarCodeTypes;
+  // Fractions of the upright frame, null when the whole frame is scanned
+  protected RectF mRegionOfInterest;
 
   ExpoBarCodeScanner(Context context) {
     mContext = context;
   }
 
   boolean areNewAndOldBarCodeTypesEqual(List<Integer> newBarCodeTypes) {
-    if (mBarCodeTypes == null) {
-      return false;
+    if (mBarCodeTypes == null || newBarCodeTypes == null) {
+      return mBarCodeTypes == newBarCodeTypes;
     }
 
     // create distinct-values sets
@@ -54,5 +58,43 @@ public abstract class ExpoBarCodeScanner implements BarCodeScanner {
     return result;
   }
 
+  RectF parseRegionOfInterestFromSettings(BarCodeScannerSettings settings) {
+    Object regionOfInterest = settings.getRegionOfInterest();
+    if (!(regionOfInterest instanceof Map)) {
+      return null;
+    }
+    Map region = (Map) regionOfInterest;
+    float x = getFraction(region.get("x"), 0);
+    float y = getFraction(region.get("y"), 0);
+    float right = Math.min(1, x + getFraction(region.get("width"), 1));
+    float bottom = Math.min(1, y + getFraction(region.get("height"), 1));
+    if (right <= x || bottom <= y || (x == 0 && y == 0 && right == 1 && bottom == 1)) {
+      return null;
+    }
+    return new RectF(x, y, right, bottom);
+  }
+
+  private static float getFraction(Object value, float defaultValue) {
+    if (!(value instanceof Number)) {
+      return defaultValue;
+    }
+    return Math.max(0, Math.min(1, ((Number) value).floatValue()));
+  }
+
+  /**
+   * Returns the region of interest in pixels of an upright image of the given size, at least one
+   * pixel wide and high.
+   */
+  Rect getRegionOfInterest(int width, int height) {
+    if (mRegionOfInterest == null) {
+      return new Rect(0, 0, width, height);
+    }
+    int left = Math.min((int) (mRegionOfInterest.left * width), width - 1);
+    int top = Math.min((int) (mRegionOfInterest.top * height), height - 1);
+    int right = Math.max((int) Math.ceil(mRegionOfInterest.right * width), left + 1);
+    int bottom = Math.max((int) Math.ceil(mRegionOfInterest.bottom * height), top + 1);
+    return new Rect(left, top, right, bottom);
+  }
+
   public abstract boolean isAvailable();
 }
@@ -2,11 +2,10 @@ package expo.modules.barcodescanner.scanners;
 
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.os.Bundle;
+import android.graphics.Rect;
 import android.util.Log;
 import android.util.SparseArray;
 
-import com.google.android.gms.vision.Frame;
 import com.google.android.gms.vision.barcode.Barcode;
 import com.google.android.gms.vision.barcode.BarcodeDetector;
 
@@ -16,7 +15,9 @@ import java.util.List;
 
 import expo.interfaces.barcodescanner.BarCodeScannerResult;
 import expo.interfaces.barcodescanner.BarCodeScannerSettings;
+import expo.modules.barcodescanner.utils.Frame;
 import expo.modules.barcodescanner.utils.FrameFactory;
+import expo.modules.barcodescanner.utils.ImageDimensions;
 
 public class GMVBarCodeScanner extends ExpoBarCodeScanner {
 
@@ -33,22 +34,41 @@ public class GMVBarCodeScanner extends ExpoBarCodeScanner {
 
   @Override
   public BarCodeScannerResult scan(byte[] data, int width, int height, int rotation) {
-    List<BarCodeScannerResult> results = scan(FrameFactory.buildFrame(data, width, height, rotation).getFrame());
+    List<BarCodeScannerResult> results = scanMultiple(data, width, height, rotation);
     return results.size() > 0 ? results.get(0) : null;
   }
 
+  @Override
+  public List<BarCodeScannerResult> scanMultiple(byte[] data, int width, int height, int rotation) {
+    return scan(FrameFactory.buildFrame(data, width, height, rotation));
+  }
+
   @Override
   public List<BarCodeScannerResult> scanMultiple(Bitmap bitmap) {
-    return scan(FrameFactory.buildFrame(bitmap).getFrame());
+    return scan(FrameFactory.buildFrame(bitmap));
   }
 
   private List<BarCodeScannerResult> scan(Frame frame) {
     try {
-      SparseArray<Barcode> result = mBarcodeDetector.detect(frame);
+      SparseArray<Barcode> result = mBarcodeDetector.detect(frame.getFrame());
       List<BarCodeScannerResult> results = new ArrayList<>();
 
+      // The detector always looks at the whole frame, so bar codes outside of the region of
+      // interest are only left out afterwards
+      Rect regionOfInterest = null;
+      if (mRegionOfInterest != null) {
+        ImageDimensions dimensions = frame.getDimensions();
+        regionOfInterest = getRegionOfInterest(dimensions.getWidth(), dimensions.getHeight());
+      }
+
       for (int i = 0; i < result.size(); i++) {
         Barcode barcode = result.get(result.keyAt(i));
+        if (regionOfInterest != null) {
+          Rect boundingBox = barcode.getBoundingBox();
+          if (!regionOfInterest.contains(boundingBox.centerX(), boundingBox.centerY())) {
+            continue;
+          }
+        }
         results.add(new BarCodeScannerResult(barcode.format, barcode.rawValue));
       }
 
@@ -65,14 +85,18 @@ public class GMVBarCodeScanner extends ExpoBarCodeScanner {
 
   @Override
   public void setSettings(BarCodeScannerSettings settings) {
+    mRegionOfInterest = parseRegionOfInterestFromSettings(settings);
+
     List<Integer> newBarCodeTypes = parseBarCodeTypesFromSettings(settings);
     if (areNewAndOldBarCodeTypesEqual(newBarCodeTypes)) {
       return;
     }
 
     int barcodeFormats = 0;
-    for (Integer code : newBarCodeTypes) {
-      barcodeFormats = barcodeFormats | code;
+    if (newBarCodeTypes != null) {
+      for (Integer code : newBarCodeTypes) {
+        barcodeFormats = barcodeFormats | code;
+      }
     }
 
     mBarCodeTypes = newBarCodeTypes;
@@ -2,6 +2,7 @@ package expo.modules.barcodescanner.scanners;
 
 import android.content.Context;
 import android.graphics.Bitmap;
+import android.graphics.Rect;
 
 import com.google.android.gms.vision.barcode.Barcode;
 import com.google.zxing.BarcodeFormat;
@@ -11,9 +12,12 @@ import com.google.zxing.LuminanceSource;
 import com.google.zxing.MultiFormatReader;
 import com.google.zxing.NotFoundException;
 import com.google.zxing.PlanarYUVLuminanceSource;
-import com.google.zxing.RGBLuminanceSource;
+import com.google.zxing.Reader;
+import com.google.zxing.Result;
 import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.multi.GenericMultipleBarcodeReader;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.EnumSet;
@@ -23,65 +27,101 @@ import java.util.Map;
 
 import expo.interfaces.barcodescanner.BarCodeScannerResult;
 import expo.interfaces.barcodescanner.BarCodeScannerSettings;
+import expo.modules.barcodescanner.utils.BitmapLuminanceSource;
 
 public class ZxingBarCodeScanner extends ExpoBarCodeScanner {
 
   private final MultiFormatReader mMultiFormatReader;
+  private final GenericMultipleBarcodeReader mMultipleBarcodeReader;
+  // Reused for the rotated copy of the region of interest of every portrait frame
+  private byte[] mRotatedData;
 
   public ZxingBarCodeScanner(Context context) {
     super(context);
     mMultiFormatReader = new MultiFormatReader();
+    // Decodes with the readers set up by setSettings instead of setting them up again for every
+    // region the multiple bar code reader looks into
+    mMultipleBarcodeReader = new GenericMultipleBarcodeReader(new Reader() {
+      @Override
+      public Result decode(BinaryBitmap image) throws NotFoundException {
+        return mMultiFormatReader.decodeWithState(image);
+      }
+
+      @Override
+      public Result decode(BinaryBitmap image, Map<DecodeHintType, ?> hints) throws NotFoundException {
+        return mMultiFormatReader.decodeWithState(image);
+      }
+
+      @Override
+      public void reset() {
+        mMultiFormatReader.reset();
+      }
+    });
   }
 
   @Override
-  public List<BarCodeScannerResult> scanMultiple(Bitmap bitmap) {
-    int[] intArray = new int[bitmap.getWidth()*bitmap.getHeight()];
-    bitmap.getPixels(intArray, 0, bitmap.getWidth(), 0, 0,
-        bitmap.getWidth(), bitmap.getHeight());
-    LuminanceSource source = new RGBLuminanceSource(bitmap.getWidth(), bitmap.getHeight(),intArray);
-
-    BarCodeScannerResult result = scan(source);
-    return result == null ? Collections.<BarCodeScannerResult>emptyList() : Collections.singletonList(result);
+  public synchronized List<BarCodeScannerResult> scanMultiple(Bitmap bitmap) {
+    Rect region = getRegionOfInterest(bitmap.getWidth(), bitmap.getHeight());
+    return scanMultiple(new BitmapLuminanceSource(bitmap, region));
   }
 
-  public BarCodeScannerResult scan(byte[] data, int width, int height, int rotation) {
-    // rotate for zxing if orientation is portrait
-    if (rotation == 0) {
-      byte[] rotated = new byte[data.length];
-      for (int y = 0; y < height; y++) {
-        for (int x = 0; x < width; x++) {
-          rotated[x * height + height - y - 1] = data[x + y * width];
-        }
-      }
-      width = width + height;
-      height = width - height;
-      width = width - height;
-      data = rotated;
+  @Override
+  public synchronized BarCodeScannerResult scan(byte[] data, int width, int height, int rotation) {
+    LuminanceSource source = generateSourceFromImageData(data, width, height, rotation);
+    try {
+      BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(source));
+      return toBarCodeScannerResult(mMultiFormatReader.decodeWithState(bitmap));
+    } catch (NotFoundException e) {
+      // No barcode found
+    } catch (Throwable t) {
+      t.printStackTrace();
     }
+    return null;
+  }
 
-    return scan(generateSourceFromImageData(data, width, height));
+  @Override
+  public synchronized List<BarCodeScannerResult> scanMultiple(byte[] data, int width, int height, int rotation) {
+    return scanMultiple(generateSourceFromImageData(data, width, height, rotation));
   }
 
-  private BarCodeScannerResult scan(LuminanceSource source) {
-    com.google.zxing.Result barcode = null;
+  private List<BarCodeScannerResult> scanMultiple(LuminanceSource source) {
+    Result[] barcodes = null;
     try {
       BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(source));
-      barcode = mMultiFormatReader.decodeWithState(bitmap);
+      barcodes = mMultipleBarcodeReader.decodeMultiple(bitmap);
     } catch (NotFoundException e) {
       // No barcode found, result is already null.
     } catch (Throwable t) {
       t.printStackTrace();
     }
+    if (barcodes == null) {
+      return Collections.emptyList();
+    }
+
+    List<BarCodeScannerResult> results = new ArrayList<>(barcodes.length);
+    for (Result barcode : barcodes) {
+      BarCodeScannerResult result = toBarCodeScannerResult(barcode);
+      if (result != null) {
+        results.add(result);
+      }
+    }
+    return results;
+  }
 
-    return barcode != null ? new BarCodeScannerResult(GMV_FROM_ZXING.get(barcode.getBarcodeFormat()), barcode.getText()) : null;
+  private BarCodeScannerResult toBarCodeScannerResult(Result barcode) {
+    Integer type = GMV_FROM_ZXING.get(barcode.getBarcodeFormat());
+    return type != null ? new BarCodeScannerResult(type, barcode.getText()) : null;
   }
 
   @Override
-  public void setSettings(BarCodeScannerSettings settings) {
+  public synchronized void setSettings(BarCodeScannerSettings settings) {
+    mRegionOfInterest = parseRegionOfInterestFromSettings(settings);
+
     List<Integer> newBarCodeTypes = parseBarCodeTypesFromSettings(settings);
     if (areNewAndOldBarCodeTypesEqual(newBarCodeTypes)) {
       return;
     }
+    mBarCodeTypes = newBarCodeTypes;
 
     EnumMap<DecodeHintType, Object> hints = new EnumMap<>(DecodeHintType.class);
     EnumSet<BarcodeFormat> decodeFormats = EnumSet.noneOf(BarcodeFormat.class);
@@ -104,15 +144,41 @@ public class ZxingBarCodeScanner extends ExpoBarCodeScanner {
     return true;
   }
 
-  private LuminanceSource generateSourceFromImageData(byte[] imageData, int width, int height) {
+  private LuminanceSource generateSourceFromImageData(byte[] imageData, int width, int height, int rotation) {
+    // rotate for zxing if orientation is portrait
+    if (rotation == 0) {
+      // The upright frame is the camera frame turned clockwise, so the region of interest is
+      // turned back to find the rows and columns of the camera frame to copy
+      Rect upright = getRegionOfInterest(height, width);
+      int left = upright.top;
+      int top = height - upright.right;
+      int regionWidth = upright.height();
+      int regionHeight = upright.width();
+
+      // only the luminance plane of the region is read by zxing
+      int size = regionWidth * regionHeight;
+      if (mRotatedData == null || mRotatedData.length < size) {
+        mRotatedData = new byte[size];
+      }
+      byte[] rotated = mRotatedData;
+      for (int y = 0; y < regionHeight; y++) {
+        int row = (top + y) * width + left;
+        for (int x = 0; x < regionWidth; x++) {
+          rotated[x * regionHeight + regionHeight - y - 1] = imageData[row + x];
+        }
+      }
+      return new PlanarYUVLuminanceSource(rotated, regionHeight, regionWidth, 0, 0, regionHeight, regionWidth, false);
+    }
+
+    Rect region = getRegionOfInterest(width, height);
     return new PlanarYUVLuminanceSource(
         imageData, // byte[] yuvData
         width, // int dataWidth
         height, // int dataHeight
-        0, // int left
-        0, // int top
-        width, // int width
-        height, // int height
+        region.left, // int left
+        region.top, // int top
+        region.width(), // int width
+        region.height(), // int height
         false // boolean reverseHorizontal
     );
   }
@@ -0,0 +1,83 @@
+package expo.modules.barcodescanner.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+
+import com.google.zxing.LuminanceSource;
+
+/**
+ * Luminance of a region of a bitmap, read one row of pixels at a time so that only a single row
+ * of ARGB pixels is held besides the luminance values themselves.
+ */
+public class BitmapLuminanceSource extends LuminanceSource {
+  private final byte[] mLuminances;
+  private final int mDataWidth;
+  private final int mLeft;
+  private final int mTop;
+
+  public BitmapLuminanceSource(Bitmap bitmap, Rect region) {
+    super(region.width(), region.height());
+    int width = region.width();
+    int height = region.height();
+    mLuminances = new byte[width * height];
+    mDataWidth = width;
+    mLeft = 0;
+    mTop = 0;
+
+    int[] pixels = new int[width];
+    for (int y = 0; y < height; y++) {
+      bitmap.getPixels(pixels, 0, width, region.left, region.top + y, width, 1);
+      int offset = y * width;
+      for (int x = 0; x < width; x++) {
+        int pixel = pixels[x];
+        int r = (pixel >> 16) & 0xff;
+        int g2 = (pixel >> 7) & 0x1fe;
+        int b = pixel & 0xff;
+        // Same weights as zxing's RGBLuminanceSource
+        mLuminances[offset + x] = (byte) ((r + g2 + b) / 4);
+      }
+    }
+  }
+
+  private BitmapLuminanceSource(byte[] luminances, int dataWidth, int left, int top, int width, int height) {
+    super(width, height);
+    mLuminances = luminances;
+    mDataWidth = dataWidth;
+    mLeft = left;
+    mTop = top;
+  }
+
+  @Override
+  public byte[] getRow(int y, byte[] row) {
+    int width = getWidth();
+    if (row == null || row.length < width) {
+      row = new byte[width];
+    }
+    System.arraycopy(mLuminances, (mTop + y) * mDataWidth + mLeft, row, 0, width);
+    return row;
+  }
+
+  @Override
+  public byte[] getMatrix() {
+    int width = getWidth();
+    int height = getHeight();
+    if (width == mDataWidth && mTop == 0 && height * width == mLuminances.length) {
+      return mLuminances;
+    }
+    byte[] matrix = new byte[width * height];
+    for (int y = 0; y < height; y++) {
+      System.arraycopy(mLuminances, (mTop + y) * mDataWidth + mLeft, matrix, y * width, width);
+    }
+    return matrix;
+  }
+
+  @Override
+  public boolean isCropSupported() {
+    return true;
+  }
+
+  @Override
+  public LuminanceSource crop(int left, int top, int width, int height) {
+    return new BitmapLuminanceSource(mLuminances, mDataWidth, mLeft + left, mTop + top, width, height);
+  }
+}
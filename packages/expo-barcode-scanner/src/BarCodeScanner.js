@@ -15,6 +15,19 @@ type Props = ViewPropTypes & {
   type?: string | number,
 };
 
+type BarCodeScanningStats = {
+  frameCount: number,
+  skippedFrameCount: number,
+  decodedFrameCount: number,
+  barCodeCount: number,
+  duplicateCount: number,
+  // milliseconds
+  scanInterval: number,
+  lastDecodeTime: number,
+  maxDecodeTime: number,
+  averageDecodeTime: number,
+};
+
 const { ExpoBarCodeScannerModule } = NativeModulesProxy;
 
 const EVENT_THROTTLE_MS = 500;
@@ -71,6 +84,14 @@ export default class BarCodeScanner extends React.Component<Props> {
     return ExpoBarCodeScannerModule.scanFromURLAsync(url, effectiveBarCodeTypes);
   }
 
+  async getScanningStatsAsync(): Promise<BarCodeScanningStats> {
+    if (Platform.OS === 'android') {
+      return await ExpoBarCodeScannerModule.getScanningStatsAsync(this.barCodeScannerHandle);
+    } else {
+      throw new Error('Scanning stats are not supported on iOS');
+    }
+  }
+
   render() {
     const nativeProps = this.convertNativeProps(this.props);
     const { onBarCodeScanned, onBarCodeRead } = this.props;
@@ -317,6 +317,26 @@ public class CameraModule extends ExportedModule implements ModuleRegistryConsum
     });
   }
 
+  @ExpoMethod
+  public void getBarCodeScanningStats(final int viewTag, final Promise promise) {
+    addUIBlock(viewTag, new UIManager.UIBlock<ExpoCameraView>() {
+      @Override
+      public void resolve(ExpoCameraView view) {
+        Bundle stats = view.getBarCodeScanningStats();
+        if (stats != null) {
+          promise.resolve(stats);
+        } else {
+          promise.reject(ERROR_TAG, "Bar code scanner is not available");
+        }
+      }
+
+      @Override
+      public void reject(Throwable throwable) {
+        promise.reject(ERROR_TAG, throwable);
+      }
+    });
+  }
+
   private void addUIBlock(int viewTag, UIManager.UIBlock<ExpoCameraView> block) {
     UIManager manager = mModuleRegistry.getModule(UIManager.class);
     if (manager == null) {
@@ -35,14 +35,15 @@ import expo.interfaces.camera.ExpoCameraViewInterface;
 import expo.interfaces.facedetector.FaceDetector;
 import expo.interfaces.facedetector.FaceDetectorProvider;
 import expo.interfaces.permissions.Permissions;
-import expo.modules.camera.tasks.BarCodeScannerAsyncTask;
+import expo.modules.camera.frames.BarCodeScannerFrameProcessor;
+import expo.modules.camera.frames.FaceDetectorFrameProcessor;
+import expo.modules.camera.frames.FrameProcessingPipeline;
+import expo.modules.camera.frames.PreviewFrame;
 import expo.modules.camera.tasks.BarCodeScannerAsyncTaskDelegate;
-import expo.modules.camera.tasks.FaceDetectorAsyncTask;
 import expo.modules.camera.tasks.FaceDetectorAsyncTaskDelegate;
 import expo.modules.camera.tasks.PictureSavedDelegate;
 import expo.modules.camera.tasks.ResolveTakenPictureAsyncTask;
 import expo.modules.camera.utils.FileSystemUtils;
-import expo.modules.camera.utils.ImageDimensions;
 
 public class ExpoCameraView extends CameraView implements LifecycleEventListener, BarCodeScannerAsyncTaskDelegate, FaceDetectorAsyncTaskDelegate, PictureSavedDelegate, ExpoCameraViewInterface {
   private static final String MUTE_KEY = "mute";
@@ -59,13 +60,14 @@ public class ExpoCameraView extends CameraView implements LifecycleEventListener
   private boolean mIsPaused = false;
   private boolean mIsNew = true;
 
-  // Concurrency lock for scanners to avoid flooding the runtime
-  public volatile boolean barCodeScannerTaskLock = false;
-  public volatile boolean faceDetectorTaskLock = false;
+  // Preview frames are shared by the enabled processors, each skipping frames while it is busy
+  private final FrameProcessingPipeline mFrameProcessingPipeline = new FrameProcessingPipeline();
 
   // Scanning-related properties
   private BarCodeScanner mBarCodeScanner;
+  private BarCodeScannerFrameProcessor mBarCodeScannerFrameProcessor;
   private FaceDetector mFaceDetector;
+  private FaceDetectorFrameProcessor mFaceDetectorFrameProcessor;
   private Map<String, Object> mPendingFaceDetectorSettings;
   private boolean mShouldDetectFaces = false;
   private boolean mShouldScanBarCodes = false;
@@ -119,25 +121,7 @@ public class ExpoCameraView extends CameraView implements LifecycleEventListener
 
       @Override
       public void onFramePreview(CameraView cameraView, byte[] data, int width, int height, int rotation) {
-        int correctRotation = CameraViewHelper.getCorrectCameraRotation(rotation, getFacing());
-
-        if (mShouldScanBarCodes && !barCodeScannerTaskLock && cameraView instanceof BarCodeScannerAsyncTaskDelegate) {
-          barCodeScannerTaskLock = true;
-          BarCodeScannerAsyncTaskDelegate delegate = (BarCodeScannerAsyncTaskDelegate) cameraView;
-          new BarCodeScannerAsyncTask(delegate, mBarCodeScanner, data, width, height, rotation).execute();
-        }
-
-        if (mShouldDetectFaces && !faceDetectorTaskLock && cameraView instanceof FaceDetectorAsyncTaskDelegate) {
-          faceDetectorTaskLock = true;
-          float density = cameraView.getResources().getDisplayMetrics().density;
-
-          ImageDimensions dimensions = new ImageDimensions(width, height, correctRotation, getFacing());
-          double scaleX = (double) cameraView.getWidth() / (dimensions.getWidth() * density);
-          double scaleY = (double) cameraView.getHeight() / (dimensions.getHeight() * density);
-
-          FaceDetectorAsyncTaskDelegate delegate = (FaceDetectorAsyncTaskDelegate) cameraView;
-          new FaceDetectorAsyncTask(delegate, mFaceDetector, data, width, height, correctRotation, getFacing(), scaleX, scaleY).execute();
-        }
+        mFrameProcessingPipeline.submit(new PreviewFrame(data, width, height, rotation, getFacing()));
       }
     });
   }
@@ -227,20 +211,26 @@ public class ExpoCameraView extends CameraView implements LifecycleEventListener
     BarCodeScannerProvider barCodeScannerProvider = mModuleRegistry.getModule(BarCodeScannerProvider.class);
     if (barCodeScannerProvider != null) {
       mBarCodeScanner = barCodeScannerProvider.createBarCodeDetectorWithContext(getContext());
+      mBarCodeScannerFrameProcessor = new BarCodeScannerFrameProcessor(this, mBarCodeScanner);
     }
   }
 
   public void setShouldScanBarCodes(boolean shouldScanBarCodes) {
     this.mShouldScanBarCodes = shouldScanBarCodes;
-    setScanning(mShouldScanBarCodes || mShouldDetectFaces);
+    updateFrameProcessors();
   }
 
   public void setBarCodeScannerSettings(BarCodeScannerSettings settings) {
     if (mBarCodeScanner != null) {
       mBarCodeScanner.setSettings(settings);
+      mBarCodeScannerFrameProcessor.setSettings(settings);
     }
   }
 
+  public Bundle getBarCodeScanningStats() {
+    return mBarCodeScannerFrameProcessor != null ? mBarCodeScannerFrameProcessor.getStats() : null;
+  }
+
   @Override
   public void onBarCodeScanned(BarCodeScannerResult barCode) {
     if (!mShouldScanBarCodes) {
@@ -250,10 +240,6 @@ public class ExpoCameraView extends CameraView implements LifecycleEventListener
     CameraViewHelper.emitBarCodeReadEvent(mModuleRegistry.getModule(EventEmitter.class), this, barCode);
   }
 
-  public void onBarCodeScanningTaskCompleted() {
-    barCodeScannerTaskLock = false;
-  }
-
   public int[] getPreviewSizeAsArray() {
     Size previewSize = getPreviewSize();
     return new int[]{previewSize.getWidth(), previewSize.getHeight()};
@@ -275,6 +261,8 @@ public class ExpoCameraView extends CameraView implements LifecycleEventListener
               mFaceDetector.setSettings(mPendingFaceDetectorSettings);
               mPendingFaceDetectorSettings = null;
             }
+            mFaceDetectorFrameProcessor = new FaceDetectorFrameProcessor(this, mFaceDetector, this);
+            updateFrameProcessors();
           }
         }
       }
@@ -287,7 +275,7 @@ public class ExpoCameraView extends CameraView implements LifecycleEventListener
   public void onHostPause() {
     if (!mIsPaused && isCameraOpened()) {
       if (mFaceDetector != null) {
-        mFaceDetector.release();
+        releaseFaceDetector();
       }
       mIsPaused = true;
       stop();
@@ -297,11 +285,20 @@ public class ExpoCameraView extends CameraView implements LifecycleEventListener
   @Override
   public void onHostDestroy() {
     if (mFaceDetector != null) {
-      mFaceDetector.release();
+      releaseFaceDetector();
     }
+    mFrameProcessingPipeline.release();
     stop();
   }
 
+  private void releaseFaceDetector() {
+    if (mFaceDetectorFrameProcessor != null) {
+      mFrameProcessingPipeline.removeProcessor(mFaceDetectorFrameProcessor);
+      mFaceDetectorFrameProcessor = null;
+    }
+    mFaceDetector.release();
+  }
+
   private boolean hasCameraPermissions() {
     int[] permissions = mModuleRegistry.getModule(Permissions.class).getPermissions(new String[]{ Manifest.permission.CAMERA });
     return permissions.length == 1 && permissions[0] == PackageManager.PERMISSION_GRANTED;
@@ -309,6 +306,24 @@ public class ExpoCameraView extends CameraView implements LifecycleEventListener
 
   public void setShouldDetectFaces(boolean shouldDetectFaces) {
     mShouldDetectFaces = shouldDetectFaces;
+    updateFrameProcessors();
+  }
+
+  private void updateFrameProcessors() {
+    if (mBarCodeScannerFrameProcessor != null) {
+      if (mShouldScanBarCodes) {
+        mFrameProcessingPipeline.addProcessor(mBarCodeScannerFrameProcessor);
+      } else {
+        mFrameProcessingPipeline.removeProcessor(mBarCodeScannerFrameProcessor);
+      }
+    }
+    if (mFaceDetectorFrameProcessor != null) {
+      if (mShouldDetectFaces) {
+        mFrameProcessingPipeline.addProcessor(mFaceDetectorFrameProcessor);
+      } else {
+        mFrameProcessingPipeline.removeProcessor(mFaceDetectorFrameProcessor);
+      }
+    }
     setScanning(mShouldScanBarCodes || mShouldDetectFaces);
   }
 
@@ -339,8 +354,4 @@ public class ExpoCameraView extends CameraView implements LifecycleEventListener
     CameraViewHelper.emitFaceDetectionErrorEvent(mModuleRegistry.getModule(EventEmitter.class), this, faceDetector);
   }
 
-  @Override
-  public void onFaceDetectingTaskCompleted() {
-    faceDetectorTaskLock = false;
-  }
 }
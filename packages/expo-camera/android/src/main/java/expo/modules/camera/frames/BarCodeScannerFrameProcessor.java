@@ -0,0 +1,52 @@
+package expo.modules.camera.frames;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.List;
+
+import expo.interfaces.barcodescanner.BarCodeScanScheduler;
+import expo.interfaces.barcodescanner.BarCodeScanner;
+import expo.interfaces.barcodescanner.BarCodeScannerResult;
+import expo.interfaces.barcodescanner.BarCodeScannerSettings;
+import expo.modules.camera.tasks.BarCodeScannerAsyncTaskDelegate;
+
+public class BarCodeScannerFrameProcessor implements FrameProcessor {
+  private final BarCodeScannerAsyncTaskDelegate mDelegate;
+  private final BarCodeScanner mBarCodeScanner;
+  private final BarCodeScanScheduler mScheduler = new BarCodeScanScheduler();
+  private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+  public BarCodeScannerFrameProcessor(BarCodeScannerAsyncTaskDelegate delegate, BarCodeScanner barCodeScanner) {
+    mDelegate = delegate;
+    mBarCodeScanner = barCodeScanner;
+  }
+
+  public void setSettings(BarCodeScannerSettings settings) {
+    mScheduler.setSettings(settings);
+  }
+
+  public Bundle getStats() {
+    return mScheduler.getStats();
+  }
+
+  @Override
+  public void process(PreviewFrame frame) {
+    if (!mScheduler.shouldScan()) {
+      return;
+    }
+    long start = System.nanoTime();
+    List<BarCodeScannerResult> results = mBarCodeScanner.scanMultiple(frame.getData(), frame.getWidth(), frame.getHeight(), frame.getRotation());
+    results = mScheduler.onScanned(results, System.nanoTime() - start);
+
+    for (final BarCodeScannerResult result : results) {
+      mMainHandler.post(new Runnable() {
+        @Override
+        public void run() {
+          mDelegate.onBarCodeScanned(result);
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package expo.modules.camera.frames;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.View;
+
+import java.util.List;
+
+import expo.interfaces.facedetector.FaceDetector;
+import expo.modules.camera.CameraViewHelper;
+import expo.modules.camera.tasks.FaceDetectorAsyncTaskDelegate;
+import expo.modules.camera.utils.ImageDimensions;
+
+public class FaceDetectorFrameProcessor implements FrameProcessor {
+  private final static String TAG = FaceDetectorFrameProcessor.class.getSimpleName();
+
+  private final FaceDetectorAsyncTaskDelegate mDelegate;
+  private final FaceDetector mFaceDetector;
+  private final View mView;
+  private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+  public FaceDetectorFrameProcessor(FaceDetectorAsyncTaskDelegate delegate, FaceDetector faceDetector, View view) {
+    mDelegate = delegate;
+    mFaceDetector = faceDetector;
+    mView = view;
+  }
+
+  @Override
+  public void process(PreviewFrame frame) {
+    List<Bundle> faces = null;
+
+    if (mFaceDetector.isOperational()) {
+      int rotation = CameraViewHelper.getCorrectCameraRotation(frame.getRotation(), frame.getFacing());
+      float density = mView.getResources().getDisplayMetrics().density;
+      ImageDimensions dimensions = new ImageDimensions(frame.getWidth(), frame.getHeight(), rotation, frame.getFacing());
+      double scaleX = (double) mView.getWidth() / (dimensions.getWidth() * density);
+      double scaleY = (double) mView.getHeight() / (dimensions.getHeight() * density);
+
+      try {
+        faces = mFaceDetector.detectFaces(frame.getData(), frame.getWidth(), frame.getHeight(), rotation, frame.getFacing(), scaleX, scaleY);
+      } catch (Exception e) {
+        // for some reason, sometimes the very first preview frame the camera passes back to us
+        // doesn't have the correct amount of data (data.length is too small for the height and width)
+        // which throws, so we just report an error
+        // subsequent frames are all the correct length & don't seem to throw
+        Log.e(TAG, "Failed to detect face: " + e.getMessage());
+      }
+    }
+
+    final List<Bundle> detectedFaces = faces;
+    mMainHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        if (detectedFaces == null) {
+          mDelegate.onFaceDetectionError(mFaceDetector);
+        } else {
+          mDelegate.onFacesDetected(detectedFaces);
+        }
+      }
+    });
+  }
+}
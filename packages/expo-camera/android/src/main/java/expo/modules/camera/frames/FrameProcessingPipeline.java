@@ -0,0 +1,94 @@
+package expo.modules.camera.frames;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hands every preview frame to all the registered processors, each running on its own thread.
+ * A processor that is still busy keeps a single pending frame, which a newer frame replaces, so
+ * slow processors skip frames instead of queueing them up.
+ */
+public class FrameProcessingPipeline {
+  private final Map<FrameProcessor, Stage> mStages = new ConcurrentHashMap<>();
+
+  public void addProcessor(FrameProcessor processor) {
+    if (!mStages.containsKey(processor)) {
+      mStages.put(processor, new Stage(processor));
+    }
+  }
+
+  public void removeProcessor(FrameProcessor processor) {
+    Stage stage = mStages.remove(processor);
+    if (stage != null) {
+      stage.shutdown();
+    }
+  }
+
+  public boolean isEmpty() {
+    return mStages.isEmpty();
+  }
+
+  /**
+   * Offers the frame to every processor.
+   */
+  public void submit(PreviewFrame frame) {
+    for (Stage stage : mStages.values()) {
+      stage.offer(frame);
+    }
+  }
+
+  public void release() {
+    for (FrameProcessor processor : mStages.keySet()) {
+      removeProcessor(processor);
+    }
+  }
+
+  private static class Stage implements Runnable {
+    private final FrameProcessor mProcessor;
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor();
+    private PreviewFrame mPendingFrame;
+    private boolean mIsScheduled = false;
+    private boolean mIsShutdown = false;
+
+    Stage(FrameProcessor processor) {
+      mProcessor = processor;
+    }
+
+    synchronized void offer(PreviewFrame frame) {
+      if (mIsShutdown) {
+        return;
+      }
+      mPendingFrame = frame;
+      if (!mIsScheduled) {
+        mIsScheduled = true;
+        mExecutor.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        PreviewFrame frame;
+        synchronized (this) {
+          frame = mPendingFrame;
+          mPendingFrame = null;
+          if (frame == null || mIsShutdown) {
+            mIsScheduled = false;
+            return;
+          }
+        }
+        mProcessor.process(frame);
+      }
+    }
+
+    void shutdown() {
+      synchronized (this) {
+        mIsShutdown = true;
+        mPendingFrame = null;
+      }
+      mExecutor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package expo.modules.camera.frames;
+
+public interface FrameProcessor {
+  /**
+   * Called on the processor's own thread. The frame must not be modified, nor used after
+   * returning, as it is shared with the other processors and then reused by the camera.
+   */
+  void process(PreviewFrame frame);
+}
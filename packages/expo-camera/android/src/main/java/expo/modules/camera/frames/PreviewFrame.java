@@ -0,0 +1,43 @@
+package expo.modules.camera.frames;
+
+/**
+ * Preview frame shared by all the frame processors. The data is read-only.
+ */
+public class PreviewFrame {
+  private final byte[] mData;
+  private final int mWidth;
+  private final int mHeight;
+  private final int mRotation;
+  private final int mFacing;
+
+  public PreviewFrame(byte[] data, int width, int height, int rotation, int facing) {
+    mData = data;
+    mWidth = width;
+    mHeight = height;
+    mRotation = rotation;
+    mFacing = facing;
+  }
+
+  public byte[] getData() {
+    return mData;
+  }
+
+  public int getWidth() {
+    return mWidth;
+  }
+
+  public int getHeight() {
+    return mHeight;
+  }
+
+  /**
+   * Display orientation the frame was delivered with, see CameraViewHelper#getCorrectCameraRotation.
+   */
+  public int getRotation() {
+    return mRotation;
+  }
+
+  public int getFacing() {
+    return mFacing;
+  }
+}
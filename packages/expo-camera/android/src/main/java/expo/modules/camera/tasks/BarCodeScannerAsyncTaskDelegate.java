@@ -4,5 +4,4 @@ import expo.interfaces.barcodescanner.BarCodeScannerResult;
 
 public interface BarCodeScannerAsyncTaskDelegate {
   void onBarCodeScanned(BarCodeScannerResult barCode);
-  void onBarCodeScanningTaskCompleted();
 }
@@ -9,5 +9,4 @@ import expo.interfaces.facedetector.FaceDetector;
 public interface FaceDetectorAsyncTaskDelegate {
   void onFacesDetected(List<Bundle> faces);
   void onFaceDetectionError(FaceDetector faceDetector);
-  void onFaceDetectingTaskCompleted();
 }
@@ -34,6 +34,19 @@ type RecordingResult = {
   uri: string,
 };
 
+type BarCodeScanningStats = {
+  frameCount: number,
+  skippedFrameCount: number,
+  decodedFrameCount: number,
+  barCodeCount: number,
+  duplicateCount: number,
+  // milliseconds
+  scanInterval: number,
+  lastDecodeTime: number,
+  maxDecodeTime: number,
+  averageDecodeTime: number,
+};
+
 type EventCallbackArgumentsType = {
   nativeEvent: Object,
 };
@@ -159,6 +172,14 @@ export default class Camera extends React.Component<PropsType> {
     }
   }
 
+  async getBarCodeScanningStatsAsync(): Promise<BarCodeScanningStats> {
+    if (Platform.OS === 'android') {
+      return await CameraManager.getBarCodeScanningStats(this._cameraHandle);
+    } else {
+      throw new Error('Bar code scanning stats are not supported on iOS');
+    }
+  }
+
   async getAvailablePictureSizesAsync(ratio?: string): Promise<Array<string>> {
     return await CameraManager.getAvailablePictureSizes(ratio, this._cameraHandle);
   }
@@ -0,0 +1,29 @@
+package expo.modules.contacts;
+
+import android.database.Cursor;
+import android.database.CursorWrapper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers column indices, which contacts and their models look up by name for every row.
+ * Cursors look a name up by scanning all of their columns.
+ */
+class ColumnIndexCachingCursor extends CursorWrapper {
+  private final Map<String, Integer> mColumnIndices = new HashMap<>();
+
+  ColumnIndexCachingCursor(Cursor cursor) {
+    super(cursor);
+  }
+
+  @Override
+  public int getColumnIndex(String columnName) {
+    Integer index = mColumnIndices.get(columnName);
+    if (index == null) {
+      index = super.getColumnIndex(columnName);
+      mColumnIndices.put(columnName, index);
+    }
+    return index;
+  }
+}
@@ -38,6 +38,8 @@ import java.util.*;
 import static expo.modules.contacts.models.BaseModel.decodeList;
 
 public class ContactsModule extends ExportedModule implements ModuleRegistryConsumer {
+  public static final String NAME = "ExpoContacts";
+
   private ModuleRegistry mModuleRegistry;
 
   public ContactsModule(Context context) {
@@ -46,7 +48,7 @@ public class ContactsModule extends ExportedModule implements ModuleRegistryCons
 
   @Override
   public String getName() {
-    return "ExpoContacts";
+    return NAME;
   }
 
   @Override
@@ -56,6 +58,9 @@ public class ContactsModule extends ExportedModule implements ModuleRegistryCons
 
   private static final String TAG = ContactsModule.class.getSimpleName();
 
+  // Keeps the ids and the mime types of a data query under SQLITE_MAX_VARIABLE_NUMBER
+  private static final int MAX_CONTACT_IDS_PER_QUERY = 500;
+
   // TODO: Evan: default API is confusing. Duplicate data being requested.
   private static final List<String> DEFAULT_PROJECTION = new ArrayList<String>() {
     {
@@ -448,7 +453,7 @@ public class ContactsModule extends ExportedModule implements ModuleRegistryCons
 
   public HashMap<String, Object> getContactByName(final String query, final Set<String> keysToFetch, String sortOrder,
                                                   final Promise promise) {
-    return fetchContacts(0, 9999, (new String[]{query}), ContactsContract.Data.DISPLAY_NAME_PRIMARY, keysToFetch, sortOrder, promise);
+    return fetchContacts(0, 9999, (new String[]{query}), ContactsContract.Contacts.DISPLAY_NAME_PRIMARY, keysToFetch, sortOrder, promise);
   }
 
   private Set<String> ensureFieldsSet(final Set<String> fieldsSet) {
@@ -632,103 +637,151 @@ public class ContactsModule extends ExportedModule implements ModuleRegistryCons
   private HashMap<String, Object> fetchContacts(int pageOffset, int pageSize, String[] queryStrings, String queryField,
                                                 final Set<String> keysToFetch, String sortOrder, Promise promise) {
     boolean getAll = pageSize == 0;
-    queryField = queryField != null ? queryField : ContactsContract.Data.CONTACT_ID;
-
-    HashMap queryMap = createProjectionForQuery(keysToFetch);
-    List<String> projection = (List<String>) queryMap.get("projection");
-    // selection ORs need to match arg count from above selectionArgs
-    String selection = (String) queryMap.get("selection");
-
-    Map<String, Contact> contacts;
     ContentResolver cr = getResolver();
-    Cursor cursor;
-
-    ArrayList<String> selectionArgs = (ArrayList<String>) queryMap.get("selectionArgs");
-
-    String cursorSortOrder = null;
 
+    // Pages through the ids in the Contacts table first, so that data rows are only read for the
+    // contacts of the requested page
+    String contactsSelection = null;
     if (queryStrings != null && queryStrings.length > 0) {
-      String[] cursorProjection = projection.toArray(new String[projection.size()]);
-      String cursorSelection = queryField + " = ?";
-
-      cursor = cr.query(
-          ContactsContract.Data.CONTENT_URI,
-          cursorProjection,
-          cursorSelection,
-          queryStrings,
-          cursorSortOrder);
+      contactsSelection = queryField + " = ?";
     } else {
-      cursor = cr.query(
-          ContactsContract.Data.CONTENT_URI,
-          projection.toArray(new String[projection.size()]),
-          selection,
-          selectionArgs.toArray(new String[selectionArgs.size()]),
-          cursorSortOrder);
+      queryStrings = null;
     }
-    if (cursor != null) {
-      try {
-        contacts = loadContactsFrom(cursor);
-
-        ArrayList contactsArray = new ArrayList();
-
-        // introduce paging at this level to ensure all data elements
-        // are appropriately mapped to contacts from cursor
-        // NOTE: paging performance improvement is minimized as cursor iterations will
-        // always fully run
-        int currentIndex;
-        ArrayList<Contact> contactList = new ArrayList<>(contacts.values());
-        contactList = sortContactsBy(contactList, sortOrder);
-        int contactListSize = contactList.size();
-        HashMap<String, Object> response = new HashMap<String, Object>();
-
-        // convert from contact pojo to react native
-        for (currentIndex = getAll ? 0 : pageOffset; currentIndex < contactListSize; currentIndex++) {
-          Contact contact = contactList.get(currentIndex);
-
-          // if fetching single contact, short circuit and return contact
-          if (!getAll && (currentIndex - pageOffset) >= pageSize) {
-            break;
-          }
-          contactsArray.add(contact);
 
+    int total = 0;
+    String idSortOrder = getContactsSortOrder(sortOrder);
+    if (!getAll) {
+      // The provider counts the contacts and only returns the ids of the page
+      Cursor countCursor = cr.query(
+          ContactsContract.Contacts.CONTENT_URI,
+          new String[]{ContactsContract.Contacts._COUNT},
+          contactsSelection,
+          queryStrings,
+          null);
+      if (countCursor == null) {
+        return null;
+      }
+      try {
+        if (countCursor.moveToFirst()) {
+          total = countCursor.getInt(0);
         }
-        response.put("data", contactsArray);
-        response.put("hasPreviousPage", pageOffset > 0);
-        response.put("hasNextPage", pageOffset + pageSize < contactListSize);
-        response.put("total", contactListSize);
-        return response;
       } catch (Exception e) {
         promise.reject(e);
+        return null;
       } finally {
-        cursor.close();
+        countCursor.close();
       }
+      idSortOrder += " LIMIT " + pageSize + " OFFSET " + pageOffset;
     }
-    return null;
+
+    Cursor idCursor = cr.query(
+        ContactsContract.Contacts.CONTENT_URI,
+        new String[]{ContactsContract.Contacts._ID},
+        contactsSelection,
+        queryStrings,
+        idSortOrder);
+    if (idCursor == null) {
+      return null;
+    }
+
+    List<String> contactIds = new ArrayList<>();
+    try {
+      while (idCursor.moveToNext()) {
+        contactIds.add(idCursor.getString(0));
+      }
+    } catch (Exception e) {
+      promise.reject(e);
+      return null;
+    } finally {
+      idCursor.close();
+    }
+    if (getAll) {
+      total = contactIds.size();
+    }
+
+    Map<String, Contact> contacts;
+    try {
+      contacts = loadContactsWithIds(contactIds, getAll, keysToFetch);
+    } catch (Exception e) {
+      promise.reject(e);
+      return null;
+    }
+
+    // Data rows come in no particular order, the ids are in the order of the page. Contacts
+    // without any row of the fetched kinds of data are still part of the page and of the total.
+    ArrayList<Contact> contactsArray = new ArrayList<>(contactIds.size());
+    for (String contactId : contactIds) {
+      Contact contact = contacts.get(contactId);
+      contactsArray.add(contact != null ? contact : new Contact(contactId));
+    }
+
+    HashMap<String, Object> response = new HashMap<String, Object>();
+    response.put("data", contactsArray);
+    response.put("hasPreviousPage", pageOffset > 0);
+    response.put("hasNextPage", pageOffset + pageSize < total);
+    response.put("total", total);
+    return response;
   }
 
-  private ArrayList<Contact> sortContactsBy(ArrayList<Contact> input, String sortOrder) {
-    if (sortOrder == null)
-      return input;
+  /**
+   * Reads the data rows of the given contacts, only querying the columns and kinds of data needed
+   * for the fields to fetch. When {@code allContacts} is set the rows of every contact are read in
+   * a single query instead of selecting them by id.
+   */
+  private Map<String, Contact> loadContactsWithIds(List<String> contactIds, boolean allContacts,
+                                                   final Set<String> keysToFetch) {
+    Map<String, Contact> contacts = new HashMap<>();
+    if (contactIds.isEmpty()) {
+      return contacts;
+    }
+
+    HashMap queryMap = createProjectionForQuery(keysToFetch);
+    List<String> projection = new ArrayList<>(new LinkedHashSet<>((List<String>) queryMap.get("projection")));
+    String[] cursorProjection = projection.toArray(new String[projection.size()]);
+    // selection ORs need to match arg count from above selectionArgs
+    String mimeTypeSelection = (String) queryMap.get("selection");
+    ArrayList<String> mimeTypeSelectionArgs = (ArrayList<String>) queryMap.get("selectionArgs");
+
+    int batchSize = allContacts ? contactIds.size() : MAX_CONTACT_IDS_PER_QUERY;
+    for (int start = 0; start < contactIds.size(); start += batchSize) {
+      int count = Math.min(batchSize, contactIds.size() - start);
+      String selection = mimeTypeSelection;
+      ArrayList<String> selectionArgs = new ArrayList<>(mimeTypeSelectionArgs);
+      if (!allContacts) {
+        String[] placeholders = new String[count];
+        Arrays.fill(placeholders, "?");
+        selection = "(" + mimeTypeSelection + ") AND " + ContactsContract.Data.CONTACT_ID +
+            " IN (" + TextUtils.join(",", placeholders) + ")";
+        selectionArgs.addAll(contactIds.subList(start, start + count));
+      }
 
-    switch (sortOrder) {
-      case "firstName":
-        Collections.sort(input, new Comparator<Contact>() {
-          public int compare(Contact p1, Contact p2) {
-            return p1.getFirstName().compareToIgnoreCase(p2.getFirstName());
-          }
-        });
-        return input;
-      case "lastName":
-        Collections.sort(input, new Comparator<Contact>() {
-          public int compare(Contact p1, Contact p2) {
-            return p1.getLastName().compareToIgnoreCase(p2.getLastName());
-          }
-        });
-        return input;
-      default:
-        return input;
+      Cursor cursor = getResolver().query(
+          ContactsContract.Data.CONTENT_URI,
+          cursorProjection,
+          selection,
+          selectionArgs.toArray(new String[selectionArgs.size()]),
+          null);
+      if (cursor != null) {
+        try {
+          contacts.putAll(loadContactsFrom(cursor));
+        } finally {
+          cursor.close();
+        }
+      }
     }
+    return contacts;
+  }
 
+  private static String getContactsSortOrder(String sortOrder) {
+    if ("firstName".equals(sortOrder)) {
+      // Sort keys follow the display name, which puts the given name first
+      return ContactsContract.Contacts.SORT_KEY_PRIMARY + ", " + ContactsContract.Contacts._ID;
+    }
+    if ("lastName".equals(sortOrder)) {
+      // and the alternative one, which puts the family name first
+      return ContactsContract.Contacts.SORT_KEY_ALTERNATIVE + ", " + ContactsContract.Contacts._ID;
+    }
+    return ContactsContract.Contacts._ID;
   }
 
   public static Set<String> newHashSet(String... strings) {
@@ -741,12 +794,13 @@ public class ContactsModule extends ExportedModule implements ModuleRegistryCons
   }
 
 
-  private Map<String, Contact> loadContactsFrom(Cursor cursor) {
+  private Map<String, Contact> loadContactsFrom(Cursor dataCursor) {
 
     Map<String, Contact> map = new LinkedHashMap<>();
+    Cursor cursor = new ColumnIndexCachingCursor(dataCursor);
+    int columnIndex = cursor.getColumnIndex(ContactsContract.Data.CONTACT_ID);
 
     while (cursor.moveToNext()) {
-      int columnIndex = cursor.getColumnIndex(ContactsContract.Data.CONTACT_ID);
       String contactId = cursor.getString(columnIndex);
 
       // add or update existing contact for iterating data based on contact id
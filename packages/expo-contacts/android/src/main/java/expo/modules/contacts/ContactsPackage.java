@@ -1,17 +1,27 @@
-
 package expo.modules.contacts;
 
 import android.content.Context;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
-import expo.core.ExportedModule;
 import expo.core.BasePackage;
+import expo.core.ExportedModuleProvider;
 
 public class ContactsPackage extends BasePackage {
   @Override
-  public List<ExportedModule> createExportedModules(Context context) {
-    return Collections.<ExportedModule>singletonList(new ContactsModule(context));
+  public List<ExportedModuleProvider> createExportedModuleProviders(final Context context) {
+    return Collections.<ExportedModuleProvider>singletonList(new ExportedModuleProvider<ContactsModule>(ContactsModule.NAME, ContactsModule.class) {
+      @Override
+      public ContactsModule createExportedModule() {
+        return new ContactsModule(context);
+      }
+
+      @Override
+      public Map<String, Object> getConstants() {
+        return Collections.emptyMap();
+      }
+    });
   }
 }
@@ -19,6 +19,11 @@ public class BasePackage implements Package {
     return Collections.emptyList();
   }
 
+  @Override
+  public List<ExportedModuleProvider> createExportedModuleProviders(Context context) {
+    return Collections.emptyList();
+  }
+
   @Override
   public List<ViewManager> createViewManagers(Context context) {
     return Collections.emptyList();
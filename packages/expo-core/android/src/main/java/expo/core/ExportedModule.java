@@ -4,13 +4,11 @@ import android.content.Context;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import expo.core.interfaces.ExpoMethod;
 
@@ -22,16 +20,24 @@ import expo.core.interfaces.ExpoMethod;
  */
 public abstract class ExportedModule {
   public class MethodInfo {
+    private Method mMethod;
     private Class<?>[] mParameterTypes;
 
     MethodInfo(Method method) {
+      mMethod = method;
       mParameterTypes = method.getParameterTypes();
     }
 
+    public String getName() {
+      return mMethod.getName();
+    }
+
     public Class<?>[] getParameterTypes() {
       return mParameterTypes;
     }
   }
+  private static final Map<Class<?>, Map<String, Method>> sExportedMethodsByClass = new ConcurrentHashMap<>();
+
   private Context mContext;
   private Map<String, Method> mExportedMethods;
   private Map<String, MethodInfo> mExportedMethodInfos;
@@ -71,32 +77,38 @@ public abstract class ExportedModule {
    * Invokes an exported method
    */
   public Object invokeExportedMethod(String methodName, Collection<Object> arguments) throws NoSuchMethodException, RuntimeException {
-    Method method = mExportedMethods.get(methodName);
+    MethodInfo methodInfo = getExportedMethodInfos().get(methodName);
 
-    if (method  == null) {
+    if (methodInfo == null) {
       throw new NoSuchMethodException("Module " + getName() + "does not export method " + methodName + ".");
     }
 
-    int expectedArgumentsCount = method.getParameterTypes().length;
-    if (arguments.size() != expectedArgumentsCount) {
+    return invokeExportedMethod(methodInfo, arguments.toArray());
+  }
+
+  /**
+   * Invokes an exported method described by a {@link MethodInfo} previously obtained
+   * from {@link ExportedModule#getExportedMethodInfos()}. Arguments are validated in place,
+   * so platform adapters can build a single array per call and hand it over.
+   */
+  public Object invokeExportedMethod(MethodInfo methodInfo, Object[] arguments) throws RuntimeException {
+    Class<?>[] expectedArgumentClasses = methodInfo.mParameterTypes;
+    int expectedArgumentsCount = expectedArgumentClasses.length;
+    if (arguments.length != expectedArgumentsCount) {
       throw new IllegalArgumentException(
-              "Method " + methodName + " on class " + getName() + " expects " + expectedArgumentsCount + " arguments, "
-                      + "whereas " + arguments.size() + " arguments have been provided.");
+              "Method " + methodInfo.getName() + " on class " + getName() + " expects " + expectedArgumentsCount + " arguments, "
+                      + "whereas " + arguments.length + " arguments have been provided.");
     }
 
-    Class<?>[] expectedArgumentClasses = method.getParameterTypes();
-    Iterator<Object> actualArgumentsIterator = arguments.iterator();
-    List<Object> transformedArguments = new ArrayList<>(arguments.size());
-
     for (int i = 0; i < expectedArgumentsCount; i++) {
-      transformedArguments.add(transformArgumentToClass(actualArgumentsIterator.next(), expectedArgumentClasses[i]));
+      arguments[i] = transformArgumentToClass(arguments[i], expectedArgumentClasses[i]);
     }
 
     try {
-      return method.invoke(this, transformedArguments.toArray());
+      return methodInfo.mMethod.invoke(this, arguments);
     } catch (IllegalAccessException | InvocationTargetException e) {
       e.printStackTrace();
-      throw new RuntimeException("Exception occurred while executing exported method " + methodName
+      throw new RuntimeException("Exception occurred while executing exported method " + methodInfo.getName()
               + " on module " + getName() + ": " + e.getMessage(), e);
     }
   }
@@ -114,8 +126,22 @@ public abstract class ExportedModule {
       return mExportedMethods;
     }
 
-    mExportedMethods = new HashMap<>();
-    Method[] declaredMethodsArray = getClass().getDeclaredMethods();
+    mExportedMethods = findExportedMethods(getClass(), getName());
+    return mExportedMethods;
+  }
+
+  /**
+   * Scans and validates methods annotated with {@link ExpoMethod} in given module class.
+   * Results are cached per class, so the scan happens only once per process.
+   */
+  public static Map<String, Method> findExportedMethods(Class<?> moduleClass, String moduleName) {
+    Map<String, Method> cachedExportedMethods = sExportedMethodsByClass.get(moduleClass);
+    if (cachedExportedMethods != null) {
+      return cachedExportedMethods;
+    }
+
+    Map<String, Method> exportedMethods = new HashMap<>();
+    Method[] declaredMethodsArray = moduleClass.getDeclaredMethods();
 
     for (Method method : declaredMethodsArray) {
       if (method.getAnnotation(ExpoMethod.class) != null) {
@@ -123,7 +149,7 @@ public abstract class ExportedModule {
         Class<?>[] methodParameterTypes = method.getParameterTypes();
         if (methodParameterTypes.length < 1) {
           throw new IllegalArgumentException(
-                  "Method " + methodName + " of Java Module " + getName() + " does not define any arguments - minimum argument set is a Promise"
+                  "Method " + methodName + " of Java Module " + moduleName + " does not define any arguments - minimum argument set is a Promise"
           );
         }
 
@@ -131,20 +157,22 @@ public abstract class ExportedModule {
 
         if (lastParameterClass != expo.core.Promise.class) {
           throw new IllegalArgumentException(
-                  "Last argument of method " + methodName + " of Java Module " + getName() + " does not expect a Promise"
+                  "Last argument of method " + methodName + " of Java Module " + moduleName + " does not expect a Promise"
           );
         }
 
-        if (mExportedMethods.containsKey(methodName)) {
+        if (exportedMethods.containsKey(methodName)) {
           throw new IllegalArgumentException(
-                  "Java Module " + getName() + " method name already registered: " + methodName + "."
+                  "Java Module " + moduleName + " method name already registered: " + methodName + "."
           );
         }
 
-        mExportedMethods.put(methodName, method);
+        exportedMethods.put(methodName, method);
       }
     }
 
-    return mExportedMethods;
+    exportedMethods = Collections.unmodifiableMap(exportedMethods);
+    sExportedMethodsByClass.put(moduleClass, exportedMethods);
+    return exportedMethods;
   }
 }
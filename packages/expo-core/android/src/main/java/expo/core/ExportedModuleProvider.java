@@ -0,0 +1,44 @@
+package expo.core;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Describes an {@link ExportedModule} without creating it. Modules registered through providers
+ * are created by {@link ModuleRegistry} the first time they are requested, so experiences
+ * only pay for the modules they actually use.
+ */
+public abstract class ExportedModuleProvider<T extends ExportedModule> {
+  private String mName;
+  private Class<T> mModuleClass;
+
+  public ExportedModuleProvider(String name, Class<T> moduleClass) {
+    mName = name;
+    mModuleClass = moduleClass;
+  }
+
+  public String getName() {
+    return mName;
+  }
+
+  public Class<T> getModuleClass() {
+    return mModuleClass;
+  }
+
+  public abstract T createExportedModule();
+
+  /**
+   * Returns constants exported by the module without creating it or null if the module
+   * has to be created to compute them (which is the default).
+   */
+  public Map<String, Object> getConstants() {
+    return null;
+  }
+
+  /**
+   * Returns methods exported by the module, scanned from its class, without creating it.
+   */
+  public Map<String, Method> getExportedMethods() {
+    return ExportedModule.findExportedMethods(mModuleClass, mName);
+  }
+}
@@ -4,8 +4,13 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import expo.core.interfaces.InternalModule;
 import expo.core.interfaces.ModuleRegistryConsumer;
@@ -14,15 +19,26 @@ public class ModuleRegistry {
   private volatile boolean mIsInitialized = false;
   private final Map<Class, InternalModule> mInternalModulesMap = new HashMap<>();
   private final Map<String, ViewManager> mViewManagersMap = new HashMap<>();
-  private final Map<String, ExportedModule> mExportedModulesMap = new HashMap<>();
-  private final Map<Class, ExportedModule> mExportedModulesByClassMap = new HashMap<>();
+  // Exported modules may be created lazily from any thread, see getExportedModule(String).
+  private final Map<String, ExportedModule> mExportedModulesMap = new ConcurrentHashMap<>();
+  private final Map<Class, ExportedModule> mExportedModulesByClassMap = new ConcurrentHashMap<>();
+  private final Map<String, ExportedModuleProvider> mExportedModuleProvidersMap = new ConcurrentHashMap<>();
 
-  private List<WeakReference<ModuleRegistryConsumer>> mRegistryConsumers = new ArrayList<>();
+  // Lazily created modules are added from the thread which first requests them.
+  private final List<WeakReference<ModuleRegistryConsumer>> mRegistryConsumers = new CopyOnWriteArrayList<>();
 
   public ModuleRegistry(
           Collection<InternalModule> internalModules,
           Collection<ExportedModule> exportedModules,
           Collection<ViewManager> viewManagers) {
+    this(internalModules, exportedModules, Collections.<ExportedModuleProvider>emptyList(), viewManagers);
+  }
+
+  public ModuleRegistry(
+          Collection<InternalModule> internalModules,
+          Collection<ExportedModule> exportedModules,
+          Collection<ExportedModuleProvider> exportedModuleProviders,
+          Collection<ViewManager> viewManagers) {
     for (InternalModule internalModule : internalModules) {
       registerInternalModule(internalModule);
     }
@@ -31,6 +47,10 @@ public class ModuleRegistry {
       registerExportedModule(module);
     }
 
+    for (ExportedModuleProvider provider : exportedModuleProviders) {
+      registerExportedModuleProvider(provider);
+    }
+
     for (ViewManager manager : viewManagers) {
       registerViewManager(manager);
     }
@@ -47,22 +67,85 @@ public class ModuleRegistry {
     return (T) mInternalModulesMap.get(interfaceClass);
   }
 
+  /**
+   * Returns the exported module of given name, creating it first
+   * if it has been registered with an {@link ExportedModuleProvider}.
+   */
   public ExportedModule getExportedModule(String name) {
-    return mExportedModulesMap.get(name);
+    ExportedModule module = mExportedModulesMap.get(name);
+    if (module != null) {
+      return module;
+    }
+
+    ExportedModuleProvider provider = mExportedModuleProvidersMap.get(name);
+    if (provider == null) {
+      return null;
+    }
+    return createExportedModule(provider);
   }
 
   public ExportedModule getExportedModuleOfClass(Class moduleClass) {
-    return mExportedModulesByClassMap.get(moduleClass);
+    ExportedModule module = mExportedModulesByClassMap.get(moduleClass);
+    if (module != null) {
+      return module;
+    }
+
+    for (ExportedModuleProvider provider : mExportedModuleProvidersMap.values()) {
+      if (provider.getModuleClass() == moduleClass) {
+        return createExportedModule(provider);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the provider the exported module of given name has been registered with
+   * or null if it has been registered as an instance.
+   */
+  public ExportedModuleProvider getExportedModuleProvider(String name) {
+    return mExportedModuleProvidersMap.get(name);
+  }
+
+  /**
+   * Returns names of all exported modules, including the ones that haven't been created yet.
+   */
+  public Collection<String> getAllExportedModulesNames() {
+    Set<String> names = new LinkedHashSet<>(mExportedModulesMap.keySet());
+    names.addAll(mExportedModuleProvidersMap.keySet());
+    return names;
   }
 
   public Collection<ViewManager> getAllViewManagers() {
     return mViewManagersMap.values();
   }
 
+  /**
+   * Returns all exported modules. Note that this creates every lazily registered module,
+   * prefer {@link #getAllExportedModulesNames()} and {@link #getExportedModule(String)}.
+   */
   public Collection<ExportedModule> getAllExportedModules() {
+    for (ExportedModuleProvider provider : mExportedModuleProvidersMap.values()) {
+      getExportedModule(provider.getName());
+    }
     return mExportedModulesMap.values();
   }
 
+  private synchronized ExportedModule createExportedModule(ExportedModuleProvider provider) {
+    ExportedModule module = mExportedModulesMap.get(provider.getName());
+    if (module != null) {
+      return module;
+    }
+
+    module = provider.createExportedModule();
+    registerExportedModule(module);
+
+    // The registry has already been initialized, so the module wouldn't be notified otherwise.
+    if (mIsInitialized && module instanceof ModuleRegistryConsumer) {
+      ((ModuleRegistryConsumer) module).setModuleRegistry(this);
+    }
+    return module;
+  }
+
   /********************************************************
    *
    *  Registering modules
@@ -88,6 +171,10 @@ public class ModuleRegistry {
     maybeAddRegistryConsumer(module);
   }
 
+  public void registerExportedModuleProvider(ExportedModuleProvider provider) {
+    mExportedModuleProvidersMap.put(provider.getName(), provider);
+  }
+
   public void registerViewManager(ViewManager manager) {
     String managerName = manager.getName();
 
@@ -123,8 +210,9 @@ public class ModuleRegistry {
    */
   public synchronized void ensureIsInitialized() {
     if (!mIsInitialized) {
-      initialize();
+      // Set first, so that modules created lazily by consumers being initialized get the registry too.
       mIsInitialized = true;
+      initialize();
     }
   }
 
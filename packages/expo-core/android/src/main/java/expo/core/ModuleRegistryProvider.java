@@ -28,6 +28,7 @@ public class ModuleRegistryProvider {
     return new ModuleRegistry(
             createInternalModules(context),
             createExportedModules(context),
+            createExportedModuleProviders(context),
             createViewManagers(context)
     );
   }
@@ -48,6 +49,14 @@ public class ModuleRegistryProvider {
     return exportedModules;
   }
 
+  public Collection<ExportedModuleProvider> createExportedModuleProviders(Context context) {
+    Collection<ExportedModuleProvider> exportedModuleProviders = new ArrayList<>();
+    for (Package pkg : getPackages()) {
+      exportedModuleProviders.addAll(pkg.createExportedModuleProviders(context));
+    }
+    return exportedModuleProviders;
+  }
+
   public Collection<ViewManager> createViewManagers(Context context) {
     Collection<ViewManager> viewManagers = new ArrayList<>();
     for (Package pkg : getPackages()) {
@@ -18,8 +18,13 @@ public abstract class ViewManager<V extends View> {
    * eg. adapter can infer the expected class of the property value.
    */
   public class PropSetterInfo {
+    private String mPropName;
+    private Method mSetter;
     private Class<?> mExpectedPropertyClass;
-    PropSetterInfo(Class<?>[] parameterTypes) {
+    PropSetterInfo(String propName, Method setter) {
+      Class<?>[] parameterTypes = setter.getParameterTypes();
+      mPropName = propName;
+      mSetter = setter;
       mExpectedPropertyClass = parameterTypes[parameterTypes.length - 1];
     }
 
@@ -60,7 +65,7 @@ public abstract class ViewManager<V extends View> {
 
     Map<String, PropSetterInfo> propSetterInfos = new HashMap<>();
     for (Map.Entry<String, Method> entry : getPropSetters().entrySet()) {
-      propSetterInfos.put(entry.getKey(), new PropSetterInfo(entry.getValue().getParameterTypes()));
+      propSetterInfos.put(entry.getKey(), new PropSetterInfo(entry.getKey(), entry.getValue()));
     }
 
     mPropSetterInfos = propSetterInfos;
@@ -68,18 +73,26 @@ public abstract class ViewManager<V extends View> {
   }
 
   public void updateProp(V view, String propName, Object propValue) throws RuntimeException {
-    Method propSetter = getPropSetters().get(propName);
-    if (propSetter == null) {
+    PropSetterInfo propSetterInfo = getPropSetterInfos().get(propName);
+    if (propSetterInfo == null) {
       throw new IllegalArgumentException("There is no propSetter in " + getName() + " for prop of name " + propName + ".");
     }
 
-    // We've validated parameter types length in getPropSetterInfos()
-    Object transformedPropertyValue = transformArgumentToClass(propValue, getPropSetterInfos().get(propName).getExpectedValueClass());
+    updateProp(view, propSetterInfo, propValue);
+  }
+
+  /**
+   * Sets a prop using a {@link PropSetterInfo} previously obtained from {@link ViewManager#getPropSetterInfos()},
+   * without looking the setter up again.
+   */
+  public void updateProp(V view, PropSetterInfo propSetterInfo, Object propValue) throws RuntimeException {
+    // We've validated parameter types length in getPropSetters()
+    Object transformedPropertyValue = transformArgumentToClass(propValue, propSetterInfo.mExpectedPropertyClass);
 
     try {
-      propSetter.invoke(this, view, transformedPropertyValue);
+      propSetterInfo.mSetter.invoke(this, view, transformedPropertyValue);
     } catch (IllegalAccessException | InvocationTargetException e) {
-      throw new RuntimeException("Exception occurred while updating property " + propName
+      throw new RuntimeException("Exception occurred while updating property " + propSetterInfo.mPropName
               + " on module " + getName() + ": " + e.getMessage(), e);
     }
   }
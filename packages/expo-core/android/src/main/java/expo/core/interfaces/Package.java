@@ -5,12 +5,20 @@ import android.content.Context;
 import java.util.List;
 
 import expo.core.ExportedModule;
+import expo.core.ExportedModuleProvider;
 import expo.core.ViewManager;
 
 public interface Package {
   List<InternalModule> createInternalModules(Context context);
   List<ExportedModule> createExportedModules(Context context);
 
+  /**
+   * Exported modules returned here are created lazily, the first time they are requested
+   * from {@link expo.core.ModuleRegistry}. Prefer this over {@link #createExportedModules(Context)}
+   * for modules that many apps don't use.
+   */
+  List<ExportedModuleProvider> createExportedModuleProviders(Context context);
+
   /**
    * @param context A context which you can use when initializing view managers,
    *                however remember NOT TO KEEP REFERENCES TO IT. View managers
@@ -0,0 +1,131 @@
+package expo.core.interfaces.services;
+
+import android.os.Bundle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Emits events whose body is a fixed set of numbers, read straight from a primitive array
+ * instead of a Bundle built for every event. Meant for high frequency events like sensor
+ * samples. Values are copied out during the call, so callers may reuse their arrays.
+ */
+public interface NumericEventEmitter {
+  /**
+   * Names of the values of an event. A name like "rotation.alpha" puts the value into a nested
+   * "rotation" map. NaN values are left out, and so are nested maps left empty.
+   */
+  class Layout {
+    private final String[] mPaths;
+    private final String[] mKeys;
+    private final int[] mGroups;
+    private final String[] mGroupNames;
+
+    public Layout(String... paths) {
+      mPaths = paths;
+      mKeys = new String[paths.length];
+      mGroups = new int[paths.length];
+      List<String> groupNames = new ArrayList<>();
+      for (int i = 0; i < paths.length; i++) {
+        int dot = paths[i].indexOf('.');
+        if (dot < 0) {
+          mKeys[i] = paths[i];
+          mGroups[i] = -1;
+        } else {
+          String groupName = paths[i].substring(0, dot);
+          int group = groupNames.indexOf(groupName);
+          if (group < 0) {
+            group = groupNames.size();
+            groupNames.add(groupName);
+          }
+          mKeys[i] = paths[i].substring(dot + 1);
+          mGroups[i] = group;
+        }
+      }
+      mGroupNames = groupNames.toArray(new String[groupNames.size()]);
+    }
+
+    /**
+     * Returns a layout with the given values appended after the ones of this layout.
+     */
+    public Layout extend(String... paths) {
+      String[] extendedPaths = Arrays.copyOf(mPaths, mPaths.length + paths.length);
+      System.arraycopy(paths, 0, extendedPaths, mPaths.length, paths.length);
+      return new Layout(extendedPaths);
+    }
+
+    public int size() {
+      return mKeys.length;
+    }
+
+    public String getKey(int index) {
+      return mKeys[index];
+    }
+
+    /**
+     * Returns the index of the nested map the value belongs to, or -1 for the top level map.
+     */
+    public int getGroup(int index) {
+      return mGroups[index];
+    }
+
+    public int getGroupCount() {
+      return mGroupNames.length;
+    }
+
+    public String getGroupName(int group) {
+      return mGroupNames[group];
+    }
+
+    /**
+     * Builds the body of the event starting at {@code offset}, for emitters that only take
+     * Bundles.
+     */
+    public Bundle toBundle(double[] values, int offset) {
+      Bundle map = new Bundle();
+      Bundle[] groups = new Bundle[mGroupNames.length];
+      for (int i = 0; i < mKeys.length; i++) {
+        double value = values[offset + i];
+        if (Double.isNaN(value)) {
+          continue;
+        }
+        if (mGroups[i] < 0) {
+          map.putDouble(mKeys[i], value);
+        } else {
+          if (groups[mGroups[i]] == null) {
+            groups[mGroups[i]] = new Bundle();
+          }
+          groups[mGroups[i]].putDouble(mKeys[i], value);
+        }
+      }
+      for (int group = 0; group < groups.length; group++) {
+        if (groups[group] != null) {
+          map.putBundle(mGroupNames[group], groups[group]);
+        }
+      }
+      return map;
+    }
+
+    /**
+     * Builds the body of a batch of {@code count} consecutive events, as emitted by
+     * {@link NumericEventEmitter#emitBatch}, for emitters that only take Bundles.
+     */
+    public Bundle toBatchBundle(double[] values, int count) {
+      ArrayList<Bundle> samples = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        samples.add(toBundle(values, i * mKeys.length));
+      }
+      Bundle batch = new Bundle();
+      batch.putParcelableArrayList("samples", samples);
+      return batch;
+    }
+  }
+
+  void emit(String eventName, Layout layout, double[] values);
+
+  /**
+   * Emits {@code count} consecutive events of the layout as one event with a "samples" array.
+   */
+  void emitBatch(String eventName, Layout layout, double[] values, int count);
+}
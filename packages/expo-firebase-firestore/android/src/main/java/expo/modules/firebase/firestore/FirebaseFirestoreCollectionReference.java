@@ -18,9 +18,9 @@ import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.Source;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import expo.core.ModuleRegistry;
 import expo.core.Promise;
@@ -28,7 +28,8 @@ import expo.modules.firebase.app.Utils;
 
 public class FirebaseFirestoreCollectionReference {
   private static final String TAG = FirebaseFirestoreCollectionReference.class.getCanonicalName();
-  private static Map<String, ListenerRegistration> collectionSnapshotListeners = new HashMap<>();
+  // Delta listeners remove themselves from the executor they are called on
+  private static Map<String, ListenerRegistration> collectionSnapshotListeners = new ConcurrentHashMap<>();
 
   private final String appName;
   private final String path;
@@ -88,6 +89,21 @@ public class FirebaseFirestoreCollectionReference {
 
   public void onSnapshot(final String listenerId, final Map<String, Object> queryListenOptions) {
     if (!collectionSnapshotListeners.containsKey(listenerId)) {
+      MetadataChanges metadataChanges;
+
+      if (queryListenOptions != null && queryListenOptions.containsKey("includeMetadataChanges")
+          && (boolean) queryListenOptions.get("includeMetadataChanges")) {
+        metadataChanges = MetadataChanges.INCLUDE;
+      } else {
+        metadataChanges = MetadataChanges.EXCLUDE;
+      }
+
+      if (queryListenOptions != null && queryListenOptions.containsKey("deltas")
+          && (boolean) queryListenOptions.get("deltas")) {
+        onDeltaSnapshot(listenerId, metadataChanges);
+        return;
+      }
+
       final EventListener<QuerySnapshot> listener = new EventListener<QuerySnapshot>() {
         @Override
         public void onEvent(QuerySnapshot querySnapshot, FirebaseFirestoreException exception) {
@@ -102,20 +118,37 @@ public class FirebaseFirestoreCollectionReference {
           }
         }
       };
-      MetadataChanges metadataChanges;
-
-      if (queryListenOptions != null && queryListenOptions.containsKey("includeMetadataChanges")
-          && (boolean) queryListenOptions.get("includeMetadataChanges")) {
-        metadataChanges = MetadataChanges.INCLUDE;
-      } else {
-        metadataChanges = MetadataChanges.EXCLUDE;
-      }
 
       ListenerRegistration listenerRegistration = this.query.addSnapshotListener(metadataChanges, listener);
       collectionSnapshotListeners.put(listenerId, listenerRegistration);
     }
   }
 
+  /**
+   * Listens to the query sending only the changes of each snapshot, see QuerySnapshotDeltaListener.
+   * The first snapshot has every document of the query as an added change.
+   */
+  private void onDeltaSnapshot(final String listenerId, MetadataChanges metadataChanges) {
+    final QuerySnapshotDeltaListener listener = new QuerySnapshotDeltaListener(metadataChanges) {
+      @Override
+      void onDeltas(ArrayList<Bundle> deltas) {
+        handleQuerySnapshotDeltasEvent(listenerId, deltas);
+      }
+
+      @Override
+      void onError(FirebaseFirestoreException exception) {
+        ListenerRegistration listenerRegistration = collectionSnapshotListeners.remove(listenerId);
+        if (listenerRegistration != null) {
+          listenerRegistration.remove();
+        }
+        handleQuerySnapshotError(listenerId, exception);
+      }
+    };
+
+    ListenerRegistration listenerRegistration = listener.listen(this.query);
+    collectionSnapshotListeners.put(listenerId, listenerRegistration);
+  }
+
   /*
    * INTERNALS/UTILS
    */
@@ -260,6 +293,25 @@ public class FirebaseFirestoreCollectionReference {
     Utils.sendEvent(moduleRegistry, "firestore_collection_sync_event", event);
   }
 
+  /**
+   * Handles the deltas of querySnapshot events.
+   *
+   * @param listenerId
+   * @param deltas
+   */
+  private void handleQuerySnapshotDeltasEvent(String listenerId, ArrayList<Bundle> deltas) {
+    Bundle event = new Bundle();
+    Bundle data = new Bundle();
+    data.putParcelableArrayList("deltas", deltas);
+
+    event.putString("appName", appName);
+    event.putString("path", path);
+    event.putString("listenerId", listenerId);
+    event.putBundle("querySnapshot", data);
+
+    Utils.sendEvent(moduleRegistry, "firestore_collection_sync_event", event);
+  }
+
   /**
    * Handles a documentSnapshot error event
    *
@@ -13,7 +13,9 @@ import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.MetadataChanges;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SnapshotMetadata;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -27,6 +29,9 @@ public class FirestoreSerialize {
   private static final String KEY_CHANGES = "changes";
   private static final String KEY_DATA = "data";
   private static final String KEY_DOC_CHANGE_DOCUMENT = "document";
+  private static final String KEY_DOC_CHANGE_FIELD_CHANGES = "fieldChanges";
+  private static final String KEY_DOC_CHANGE_FIELDS_REMOVED = "removed";
+  private static final String KEY_DOC_CHANGE_FIELDS_UPDATED = "updated";
   private static final String KEY_DOC_CHANGE_NEW_INDEX = "newIndex";
   private static final String KEY_DOC_CHANGE_OLD_INDEX = "oldIndex";
   private static final String KEY_DOC_CHANGE_TYPE = "type";
@@ -83,6 +88,92 @@ public class FirestoreSerialize {
     return queryMap;
   }
 
+  /**
+   * Convert a QuerySnapshot into a Bundle holding only its document changes. Added documents are
+   * sent in full, removed ones as their path, and modified ones as the top level fields that were
+   * updated or removed since the data in documentsData, which is updated to the new snapshot.
+   * Modifications of the metadata only have no field changes.
+   *
+   * @param querySnapshot QuerySnapshot
+   * @param metadataChanges MetadataChanges the query is listened to with
+   * @param documentsData Map<String, Map<String, Object>> data of the documents sent so far, by path
+   * @return Bundle
+   */
+  static Bundle querySnapshotToDeltaBundle(QuerySnapshot querySnapshot, MetadataChanges metadataChanges,
+                                           Map<String, Map<String, Object>> documentsData) {
+    Bundle queryMap = new Bundle();
+
+    ArrayList documentChangesWritable = new ArrayList();
+    for (DocumentChange documentChange : querySnapshot.getDocumentChanges(metadataChanges)) {
+      DocumentSnapshot documentSnapshot = documentChange.getDocument();
+      String path = documentSnapshot.getReference().getPath();
+      Map<String, Object> previousData = documentsData.get(path);
+
+      if (documentChange.getType() == DocumentChange.Type.REMOVED) {
+        documentsData.remove(path);
+        Bundle document = new Bundle();
+        document.putString(KEY_PATH, path);
+        documentChangesWritable.add(documentChangeToBundle(documentChange, document));
+      } else if (documentChange.getType() == DocumentChange.Type.MODIFIED && previousData != null) {
+        Map<String, Object> data = documentSnapshot.getData();
+        documentsData.put(path, data);
+        Bundle document = new Bundle();
+        document.putString(KEY_PATH, path);
+        document.putBundle(KEY_METADATA, snapshotMetadataToBundle(documentSnapshot.getMetadata()));
+        Bundle documentChangeMap = documentChangeToBundle(documentChange, document);
+        documentChangeMap.putBundle(KEY_DOC_CHANGE_FIELD_CHANGES, fieldChangesToBundle(previousData, data));
+        documentChangesWritable.add(documentChangeMap);
+      } else {
+        documentsData.put(path, documentSnapshot.getData());
+        documentChangesWritable.add(documentChangeToBundle(documentChange));
+      }
+    }
+    queryMap.putParcelableArrayList(KEY_CHANGES, documentChangesWritable);
+
+    if (querySnapshot.getMetadata() != null) {
+      queryMap.putBundle(KEY_METADATA, snapshotMetadataToBundle(querySnapshot.getMetadata()));
+    }
+
+    return queryMap;
+  }
+
+  /**
+   * Convert the differences between the top level fields of two document data maps into a Bundle
+   *
+   * @param previousData Map<String, Object>
+   * @param data Map<String, Object>
+   * @return Bundle
+   */
+  private static Bundle fieldChangesToBundle(Map<String, Object> previousData, Map<String, Object> data) {
+    Map<String, Object> updated = new HashMap<>();
+    for (Map.Entry<String, Object> entry : data.entrySet()) {
+      String key = entry.getKey();
+      Object value = entry.getValue();
+      Object previousValue = previousData.get(key);
+      if (!previousData.containsKey(key) || (value == null ? previousValue != null : !value.equals(previousValue))) {
+        updated.put(key, value);
+      }
+    }
+    ArrayList<String> removed = new ArrayList<>();
+    for (String key : previousData.keySet()) {
+      if (!data.containsKey(key)) {
+        removed.add(key);
+      }
+    }
+
+    Bundle fieldChanges = new Bundle();
+    fieldChanges.putBundle(KEY_DOC_CHANGE_FIELDS_UPDATED, objectMapToBundle(updated));
+    fieldChanges.putStringArrayList(KEY_DOC_CHANGE_FIELDS_REMOVED, removed);
+    return fieldChanges;
+  }
+
+  private static Bundle snapshotMetadataToBundle(SnapshotMetadata snapshotMetadata) {
+    Bundle metadata = new Bundle();
+    metadata.putBoolean("fromCache", snapshotMetadata.isFromCache());
+    metadata.putBoolean("hasPendingWrites", snapshotMetadata.hasPendingWrites());
+    return metadata;
+  }
+
   /**
    * Convert a List of DocumentChange instances into a ArrayList
    *
@@ -104,6 +195,10 @@ public class FirestoreSerialize {
    * @return Bundle
    */
   static Bundle documentChangeToBundle(DocumentChange documentChange) {
+    return documentChangeToBundle(documentChange, documentSnapshotToBundle(documentChange.getDocument()));
+  }
+
+  private static Bundle documentChangeToBundle(DocumentChange documentChange, Bundle document) {
     Bundle documentChangeMap = new Bundle();
 
     switch (documentChange.getType()) {
@@ -117,8 +212,7 @@ public class FirestoreSerialize {
         documentChangeMap.putString(KEY_DOC_CHANGE_TYPE, "modified");
     }
 
-    documentChangeMap.putBundle(KEY_DOC_CHANGE_DOCUMENT,
-      documentSnapshotToBundle(documentChange.getDocument()));
+    documentChangeMap.putBundle(KEY_DOC_CHANGE_DOCUMENT, document);
     documentChangeMap.putInt(KEY_DOC_CHANGE_NEW_INDEX, documentChange.getNewIndex());
     documentChangeMap.putInt(KEY_DOC_CHANGE_OLD_INDEX, documentChange.getOldIndex());
 
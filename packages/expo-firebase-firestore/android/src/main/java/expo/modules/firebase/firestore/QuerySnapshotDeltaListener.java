@@ -0,0 +1,100 @@
+package expo.modules.firebase.firestore;
+
+import android.os.Bundle;
+
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query snapshot listener which only sends the document changes of each snapshot, with the
+ * fields that changed for modified documents. Snapshots are delivered and serialized on a
+ * background executor, and the deltas of the snapshots received during a frame are sent
+ * together at the end of it. Nothing is sent anymore once the listener was removed, even when a
+ * flush was already scheduled.
+ */
+abstract class QuerySnapshotDeltaListener implements EventListener<QuerySnapshot> {
+  private static final long FRAME_INTERVAL_MS = 16;
+  private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+  private final MetadataChanges metadataChanges;
+  private volatile boolean removed = false;
+
+  // Everything below is only accessed on the executor
+  private final Map<String, Map<String, Object>> documentsData = new HashMap<>();
+  private ArrayList<Bundle> pendingDeltas = new ArrayList<>();
+  private boolean flushScheduled = false;
+
+  private final Runnable flushRunnable = new Runnable() {
+    @Override
+    public void run() {
+      flushScheduled = false;
+      flush();
+    }
+  };
+
+  QuerySnapshotDeltaListener(MetadataChanges metadataChanges) {
+    this.metadataChanges = metadataChanges;
+  }
+
+  /**
+   * Starts listening to the query. Removing the returned registration also drops the pending deltas.
+   */
+  ListenerRegistration listen(Query query) {
+    final ListenerRegistration registration = query.addSnapshotListener(executor, metadataChanges, this);
+    return new ListenerRegistration() {
+      @Override
+      public void remove() {
+        removed = true;
+        registration.remove();
+      }
+    };
+  }
+
+  /**
+   * Called on the executor with the deltas of the snapshots received since the last call.
+   */
+  abstract void onDeltas(ArrayList<Bundle> deltas);
+
+  /**
+   * Called on the executor, after the pending deltas have been sent.
+   */
+  abstract void onError(FirebaseFirestoreException exception);
+
+  @Override
+  public void onEvent(QuerySnapshot querySnapshot, FirebaseFirestoreException exception) {
+    if (removed) {
+      return;
+    }
+    if (exception != null) {
+      flush();
+      onError(exception);
+      return;
+    }
+
+    pendingDeltas.add(FirestoreSerialize.querySnapshotToDeltaBundle(querySnapshot, metadataChanges, documentsData));
+    if (!flushScheduled) {
+      flushScheduled = true;
+      executor.schedule(flushRunnable, FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void flush() {
+    if (removed || pendingDeltas.isEmpty()) {
+      return;
+    }
+    ArrayList<Bundle> deltas = pendingDeltas;
+    pendingDeltas = new ArrayList<>();
+    onDeltas(deltas);
+  }
+}
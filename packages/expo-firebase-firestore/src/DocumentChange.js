@@ -19,8 +19,15 @@ export default class DocumentChange {
 
   _type: 'added' | 'modified' | 'removed';
 
-  constructor(firestore: Firestore, nativeData: NativeDocumentChange) {
-    this._document = new DocumentSnapshot(firestore, nativeData.document);
+  constructor(
+    firestore: Firestore,
+    nativeData: NativeDocumentChange | { ...NativeDocumentChange, document: DocumentSnapshot }
+  ) {
+    // documents of snapshots rebuilt from deltas are already parsed
+    this._document =
+      nativeData.document instanceof DocumentSnapshot
+        ? nativeData.document
+        : new DocumentSnapshot(firestore, nativeData.document);
     this._newIndex = nativeData.newIndex;
     this._oldIndex = nativeData.oldIndex;
     this._type = nativeData.type;
@@ -6,6 +6,7 @@ import { utils, events, getLogger, getNativeModule } from 'expo-firebase-app';
 import DocumentSnapshot from './DocumentSnapshot';
 import FieldPath from './FieldPath';
 import QuerySnapshot from './QuerySnapshot';
+import QuerySnapshotDeltas from './utils/QuerySnapshotDeltas';
 import { buildNativeArray, buildTypeMap } from './utils/serialize';
 
 import type Firestore from './index';
@@ -211,7 +212,8 @@ export default class Query {
           throw new Error('Query.onSnapshot failed: Observer.next must be a valid function.');
         }
       } else if (
-        Object.prototype.hasOwnProperty.call(optionsOrObserverOrOnNext, 'includeMetadataChanges')
+        Object.prototype.hasOwnProperty.call(optionsOrObserverOrOnNext, 'includeMetadataChanges') ||
+        Object.prototype.hasOwnProperty.call(optionsOrObserverOrOnNext, 'deltas')
       ) {
         metadataChanges = optionsOrObserverOrOnNext;
         // Called with: Options, onNext, ?onError
@@ -256,7 +258,13 @@ export default class Query {
     }
     const listenerId = firestoreAutoId();
 
+    const deltas = new QuerySnapshotDeltas(this._firestore, this);
     const listener = nativeQuerySnapshot => {
+      if (nativeQuerySnapshot.deltas) {
+        // the deltas of the snapshots received during a frame are sent together
+        nativeQuerySnapshot.deltas.forEach(delta => observer.next(deltas.apply(delta)));
+        return;
+      }
       const querySnapshot = new QuerySnapshot(this._firestore, this, nativeQuerySnapshot);
       observer.next(querySnapshot);
     };
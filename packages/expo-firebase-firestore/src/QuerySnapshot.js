@@ -15,6 +15,13 @@ type NativeQuerySnapshot = {
   metadata: SnapshotMetadata,
 };
 
+// Snapshot rebuilt from deltas, see utils/QuerySnapshotDeltas
+type ParsedQuerySnapshot = {
+  changes: DocumentChange[],
+  documents: DocumentSnapshot[],
+  metadata: SnapshotMetadata,
+};
+
 /**
  * @class QuerySnapshot
  */
@@ -24,9 +31,17 @@ export default class QuerySnapshot {
   _metadata: SnapshotMetadata;
   _query: Query;
 
-  constructor(firestore: Firestore, query: Query, nativeData: NativeQuerySnapshot) {
-    this._changes = nativeData.changes.map(change => new DocumentChange(firestore, change));
-    this._docs = nativeData.documents.map(doc => new DocumentSnapshot(firestore, doc));
+  constructor(
+    firestore: Firestore,
+    query: Query,
+    nativeData: NativeQuerySnapshot | ParsedQuerySnapshot
+  ) {
+    this._changes = nativeData.changes.map(
+      change => (change instanceof DocumentChange ? change : new DocumentChange(firestore, change))
+    );
+    this._docs = nativeData.documents.map(
+      doc => (doc instanceof DocumentSnapshot ? doc : new DocumentSnapshot(firestore, doc))
+    );
     this._metadata = nativeData.metadata;
     this._query = query;
   }
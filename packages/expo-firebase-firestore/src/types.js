@@ -3,7 +3,9 @@
  */
 
 export type MetadataChanges = {|
-  includeMetadataChanges: boolean,
+  includeMetadataChanges?: boolean,
+  // Android only: only the changes of each snapshot are sent over the bridge
+  deltas?: boolean,
 |};
 
 export type QueryDirection = 'DESC' | 'desc' | 'ASC' | 'asc';
@@ -30,6 +32,20 @@ export type NativeDocumentChange = {
   type: string,
 };
 
+export type NativeQuerySnapshotDeltaChange = {
+  ...NativeDocumentChange,
+  // only set for modified documents, which then have no data
+  fieldChanges?: {
+    updated: { [string]: NativeTypeMap },
+    removed: string[],
+  },
+};
+
+export type NativeQuerySnapshotDelta = {
+  changes: NativeQuerySnapshotDeltaChange[],
+  metadata: SnapshotMetadata,
+};
+
 export type NativeDocumentSnapshot = {
   data: { [string]: NativeTypeMap },
   metadata: SnapshotMetadata,
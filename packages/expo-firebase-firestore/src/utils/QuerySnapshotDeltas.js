@@ -0,0 +1,73 @@
+/**
+ * @flow
+ */
+import DocumentChange from '../DocumentChange';
+import DocumentSnapshot from '../DocumentSnapshot';
+import QuerySnapshot from '../QuerySnapshot';
+
+import type Firestore from '../';
+import type Query from '../Query';
+import type {
+  NativeDocumentSnapshot,
+  NativeQuerySnapshotDelta,
+  NativeQuerySnapshotDeltaChange,
+} from '../types';
+
+/**
+ * Rebuilds the snapshots of a query listened to with `deltas` from the document changes sent by
+ * the native side. Documents which didn't change keep their DocumentSnapshot, so only the changed
+ * ones are parsed again.
+ */
+export default class QuerySnapshotDeltas {
+  _firestore: Firestore;
+  _query: Query;
+  _nativeDocuments: NativeDocumentSnapshot[];
+  _docs: DocumentSnapshot[];
+
+  constructor(firestore: Firestore, query: Query) {
+    this._firestore = firestore;
+    this._query = query;
+    this._nativeDocuments = [];
+    this._docs = [];
+  }
+
+  apply(delta: NativeQuerySnapshotDelta): QuerySnapshot {
+    // indexes of each change are relative to the documents with the previous changes applied
+    const changes = delta.changes.map(change => this._applyChange(change));
+    return new QuerySnapshot(this._firestore, this._query, {
+      changes,
+      documents: this._docs.slice(),
+      metadata: delta.metadata,
+    });
+  }
+
+  _applyChange(change: NativeQuerySnapshotDeltaChange): DocumentChange {
+    if (change.type === 'removed') {
+      this._nativeDocuments.splice(change.oldIndex, 1);
+      const [doc] = this._docs.splice(change.oldIndex, 1);
+      return new DocumentChange(this._firestore, { ...change, document: doc });
+    }
+
+    let nativeDocument;
+    if (change.type === 'modified' && change.fieldChanges) {
+      const { updated, removed } = change.fieldChanges;
+      const previous = this._nativeDocuments[change.oldIndex];
+      const data = { ...previous.data, ...updated };
+      removed.forEach(field => {
+        delete data[field];
+      });
+      nativeDocument = { ...change.document, data };
+    } else {
+      nativeDocument = change.document;
+    }
+
+    const doc = new DocumentSnapshot(this._firestore, nativeDocument);
+    if (change.oldIndex !== -1) {
+      this._nativeDocuments.splice(change.oldIndex, 1);
+      this._docs.splice(change.oldIndex, 1);
+    }
+    this._nativeDocuments.splice(change.newIndex, 0, nativeDocument);
+    this._docs.splice(change.newIndex, 0, doc);
+    return new DocumentChange(this._firestore, { ...change, document: doc });
+  }
+}
@@ -0,0 +1,257 @@
+package expo.modules.medialibrary;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.Cursor;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ThumbnailUtils;
+import android.net.Uri;
+import android.os.AsyncTask;
+import android.os.Bundle;
+import android.provider.MediaStore;
+import android.provider.MediaStore.Files;
+import android.provider.MediaStore.Images.Media;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import expo.core.Promise;
+
+import static expo.modules.medialibrary.MediaLibraryConstants.ERROR_NO_ASSET;
+import static expo.modules.medialibrary.MediaLibraryConstants.ERROR_UNABLE_TO_LOAD;
+import static expo.modules.medialibrary.MediaLibraryConstants.ERROR_UNABLE_TO_LOAD_PERMISSION;
+import static expo.modules.medialibrary.MediaLibraryConstants.EXTERNAL_CONTENT;
+import static expo.modules.medialibrary.MediaLibraryConstants.TAG;
+import static expo.modules.medialibrary.MediaLibraryUtils.getInPart;
+
+/**
+ * Returns the thumbnails of assets from the thumbnail cache, generating the missing ones. Images
+ * use the MediaStore thumbnail when it's large enough, and are otherwise decoded with a sample
+ * size, so that the original is never decoded in full. Videos use their MediaStore thumbnail.
+ *
+ * When prefetching, the thumbnails are only generated and the promise resolves with null once
+ * they are all in the cache.
+ */
+class GetAssetThumbnails extends AsyncTask<Void, Void, Void> {
+  private static final int DEFAULT_SIZE = 256;
+  // Bounds of MediaStore MINI_KIND thumbnails
+  private static final int MINI_THUMBNAIL_WIDTH = 512;
+  private static final int MINI_THUMBNAIL_HEIGHT = 384;
+
+  private static final String[] PROJECTION = {
+      Media._ID,
+      Media.DATA,
+      Files.FileColumns.MEDIA_TYPE,
+      Media.DATE_MODIFIED,
+      Media.ORIENTATION,
+  };
+
+  private final Context mContext;
+  private final ThumbnailCache mCache;
+  private final String[] mAssetIds;
+  private final int mWidth;
+  private final int mHeight;
+  private final boolean mPrefetch;
+  private final Promise mPromise;
+
+  public GetAssetThumbnails(Context context, ThumbnailCache cache, List<String> assetIds, Map<String, Object> options,
+                            boolean prefetch, Promise promise) {
+    mContext = context;
+    mCache = cache;
+    mAssetIds = assetIds.toArray(new String[assetIds.size()]);
+    int width = getSizeOption(options, "width");
+    int height = getSizeOption(options, "height");
+    // a single dimension bounds both of them
+    mWidth = width > 0 ? width : (height > 0 ? height : DEFAULT_SIZE);
+    mHeight = height > 0 ? height : mWidth;
+    mPrefetch = prefetch;
+    mPromise = promise;
+  }
+
+  @Override
+  protected Void doInBackground(Void... params) {
+    if (mAssetIds.length == 0) {
+      mPromise.resolve(mPrefetch ? null : new ArrayList<Bundle>());
+      return null;
+    }
+    final ContentResolver contentResolver = mContext.getContentResolver();
+    final String selection = Media._ID + " IN ( " + getInPart(mAssetIds) + " )";
+
+    try (Cursor assets = contentResolver.query(
+        EXTERNAL_CONTENT,
+        PROJECTION,
+        selection,
+        mAssetIds,
+        null)) {
+      if (assets == null) {
+        mPromise.reject(ERROR_UNABLE_TO_LOAD, "Could not get assets. Query returns null.");
+        return null;
+      }
+      if (!mPrefetch && assets.getCount() != mAssetIds.length) {
+        mPromise.reject(ERROR_NO_ASSET, "Could not get all of the requested assets");
+        return null;
+      }
+
+      final int idIndex = assets.getColumnIndex(Media._ID);
+      final int dataIndex = assets.getColumnIndex(Media.DATA);
+      final int mediaTypeIndex = assets.getColumnIndex(Files.FileColumns.MEDIA_TYPE);
+      final int modificationDateIndex = assets.getColumnIndex(Media.DATE_MODIFIED);
+      final int orientationIndex = assets.getColumnIndex(Media.ORIENTATION);
+
+      Map<String, Bundle> thumbnails = new HashMap<>();
+      while (assets.moveToNext()) {
+        String assetId = assets.getString(idIndex);
+        String key = ThumbnailCache.getKey(assetId, assets.getLong(modificationDateIndex), mWidth, mHeight);
+        File file;
+        try {
+          synchronized (mCache.getLock(key)) {
+            file = mCache.get(key);
+            if (file == null) {
+              Bitmap thumbnail = createThumbnail(contentResolver, assets.getLong(idIndex), assets.getString(dataIndex),
+                  assets.getInt(mediaTypeIndex), assets.getInt(orientationIndex));
+              if (thumbnail == null) {
+                throw new IOException("Could not create thumbnail of asset " + assetId);
+              }
+              file = mCache.put(key, thumbnail);
+              thumbnail.recycle();
+            }
+          }
+        } catch (IOException e) {
+          if (mPrefetch) {
+            Log.w(TAG, e.getMessage(), e);
+            continue;
+          }
+          mPromise.reject(ERROR_UNABLE_TO_LOAD, e.getMessage(), e);
+          return null;
+        }
+
+        if (!mPrefetch) {
+          BitmapFactory.Options bounds = new BitmapFactory.Options();
+          bounds.inJustDecodeBounds = true;
+          BitmapFactory.decodeFile(file.getPath(), bounds);
+
+          Bundle thumbnail = new Bundle();
+          thumbnail.putString("id", assetId);
+          thumbnail.putString("uri", Uri.fromFile(file).toString());
+          thumbnail.putInt("width", bounds.outWidth);
+          thumbnail.putInt("height", bounds.outHeight);
+          thumbnails.put(assetId, thumbnail);
+        }
+      }
+
+      if (mPrefetch) {
+        mPromise.resolve(null);
+      } else {
+        // in the order of the requested ids
+        ArrayList<Bundle> response = new ArrayList<>(mAssetIds.length);
+        for (String assetId : mAssetIds) {
+          response.add(thumbnails.get(assetId));
+        }
+        mPromise.resolve(response);
+      }
+    } catch (SecurityException e) {
+      mPromise.reject(ERROR_UNABLE_TO_LOAD_PERMISSION,
+          "Could not get asset: need READ_EXTERNAL_STORAGE permission.", e);
+    }
+    return null;
+  }
+
+  private Bitmap createThumbnail(ContentResolver contentResolver, long id, String path, int mediaType, int orientation) {
+    Bitmap bitmap;
+    switch (mediaType) {
+      case Files.FileColumns.MEDIA_TYPE_IMAGE:
+        // sizes of the original are swapped when it's displayed rotated
+        boolean rotated = Math.abs(orientation) % 180 == 90;
+        int width = rotated ? mHeight : mWidth;
+        int height = rotated ? mWidth : mHeight;
+        bitmap = null;
+        if (width <= MINI_THUMBNAIL_WIDTH && height <= MINI_THUMBNAIL_HEIGHT) {
+          bitmap = MediaStore.Images.Thumbnails.getThumbnail(contentResolver, id, MediaStore.Images.Thumbnails.MINI_KIND, null);
+          // thumbnails of small images can be smaller than the requested size
+          if (bitmap != null && !isLargeEnough(bitmap.getWidth(), bitmap.getHeight(), width, height)) {
+            bitmap.recycle();
+            bitmap = null;
+          }
+        }
+        if (bitmap == null) {
+          bitmap = decodeSampledBitmap(path, width, height);
+        }
+        break;
+      case Files.FileColumns.MEDIA_TYPE_VIDEO:
+        bitmap = MediaStore.Video.Thumbnails.getThumbnail(contentResolver, id, MediaStore.Video.Thumbnails.MINI_KIND, null);
+        if (bitmap == null) {
+          bitmap = ThumbnailUtils.createVideoThumbnail(path, MediaStore.Video.Thumbnails.MINI_KIND);
+        }
+        // video thumbnails are already upright
+        orientation = 0;
+        break;
+      default:
+        return null;
+    }
+    if (bitmap == null) {
+      return null;
+    }
+    return scaleAndRotate(bitmap, orientation);
+  }
+
+  /**
+   * Scales the bitmap down to fit the requested size once rotated.
+   */
+  private Bitmap scaleAndRotate(Bitmap bitmap, int orientation) {
+    boolean rotated = Math.abs(orientation) % 180 == 90;
+    int uprightWidth = rotated ? bitmap.getHeight() : bitmap.getWidth();
+    int uprightHeight = rotated ? bitmap.getWidth() : bitmap.getHeight();
+    float scale = Math.min(1f, Math.min((float) mWidth / uprightWidth, (float) mHeight / uprightHeight));
+    if (scale == 1f && orientation % 360 == 0) {
+      return bitmap;
+    }
+
+    Matrix matrix = new Matrix();
+    matrix.postScale(scale, scale);
+    matrix.postRotate(orientation);
+    Bitmap result = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+    if (result != bitmap) {
+      bitmap.recycle();
+    }
+    return result;
+  }
+
+  private static Bitmap decodeSampledBitmap(String path, int width, int height) {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inJustDecodeBounds = true;
+    BitmapFactory.decodeFile(path, options);
+    if (options.outWidth <= 0 || options.outHeight <= 0) {
+      return null;
+    }
+
+    // largest power of two that keeps the decoded image at least as large as requested
+    int sampleSize = 1;
+    while (isLargeEnough(options.outWidth / (sampleSize * 2), options.outHeight / (sampleSize * 2), width, height)) {
+      sampleSize *= 2;
+    }
+    options.inJustDecodeBounds = false;
+    options.inSampleSize = sampleSize;
+    // thumbnails are written as JPEGs, which don't have an alpha channel anyway
+    options.inPreferredConfig = Bitmap.Config.RGB_565;
+    return BitmapFactory.decodeFile(path, options);
+  }
+
+  // Whether an image of the given size fills the requested size once scaled to fit in it
+  private static boolean isLargeEnough(int imageWidth, int imageHeight, int width, int height) {
+    return imageWidth >= width || imageHeight >= height;
+  }
+
+  private static int getSizeOption(Map<String, Object> options, String key) {
+    if (options != null && options.get(key) instanceof Number) {
+      return ((Number) options.get(key)).intValue();
+    }
+    return 0;
+  }
+}
@@ -1,9 +1,11 @@
 package expo.modules.medialibrary;
 
+import android.content.ContentResolver;
 import android.content.Context;
 import android.database.Cursor;
 import android.os.AsyncTask;
 import android.os.Bundle;
+import android.provider.MediaStore;
 import android.util.Log;
 
 import java.io.IOException;
@@ -13,6 +15,7 @@ import java.util.Map;
 import expo.core.Promise;
 
 import static expo.modules.medialibrary.MediaLibraryConstants.ASSET_PROJECTION;
+import static expo.modules.medialibrary.MediaLibraryConstants.ERROR_NO_ASSET;
 import static expo.modules.medialibrary.MediaLibraryConstants.ERROR_UNABLE_TO_LOAD;
 import static expo.modules.medialibrary.MediaLibraryConstants.ERROR_UNABLE_TO_LOAD_PERMISSION;
 import static expo.modules.medialibrary.MediaLibraryConstants.EXTERNAL_CONTENT;
@@ -32,27 +35,59 @@ class GetAssets extends AsyncTask<Void, Void, Void> {
   @Override
   protected Void doInBackground(Void... params) {
     final Bundle response = new Bundle();
+    final ContentResolver contentResolver = mContext.getContentResolver();
     GetQueryInfo getQueryInfo = new GetQueryInfo(mAssetOptions).invoke();
-    final String selection = getQueryInfo.getSelection();
-    final String order = getQueryInfo.getOrder();
     final int limit = getQueryInfo.getLimit();
-    final int offset = getQueryInfo.getOffset();
-    try (Cursor assets = mContext.getContentResolver().query(
-        EXTERNAL_CONTENT,
-        ASSET_PROJECTION,
-        selection,
-        null,
-        order)) {
-      if (assets == null) {
-        mPromise.reject(ERROR_UNABLE_TO_LOAD, "Could not get assets. Query returns null.");
-      } else {
-        ArrayList<Bundle> assetsInfo = new ArrayList<>();
-        putAssetsInfo(assets, assetsInfo, limit, offset, false);
-        response.putParcelableArrayList("assets", assetsInfo);
-        response.putBoolean("hasNextPage", !assets.isAfterLast());
-        response.putString("endCursor", Integer.toString(assets.getPosition()));
-        response.putInt("totalCount", assets.getCount());
-        mPromise.resolve(response);
+    try {
+      // total count has to be computed before the selection is restricted to the page
+      if (getQueryInfo.shouldIncludeTotalCount()) {
+        try (Cursor count = contentResolver.query(
+            EXTERNAL_CONTENT,
+            new String[]{"COUNT(*)"},
+            getQueryInfo.getSelection(),
+            getQueryInfo.getSelectionArgs(),
+            null)) {
+          if (count == null || !count.moveToFirst()) {
+            mPromise.reject(ERROR_UNABLE_TO_LOAD, "Could not count assets. Query returns null.");
+            return null;
+          }
+          response.putInt("totalCount", count.getInt(0));
+        }
+      }
+
+      final String after = getQueryInfo.getAfter();
+      if (after != null) {
+        try (Cursor cursor = contentResolver.query(
+            EXTERNAL_CONTENT,
+            getQueryInfo.getSortColumns(),
+            MediaStore.Images.Media._ID + " = ?",
+            new String[]{after},
+            null)) {
+          if (cursor == null || !cursor.moveToFirst()) {
+            mPromise.reject(ERROR_NO_ASSET, "Could not find the asset used as the 'after' cursor.");
+            return null;
+          }
+          getQueryInfo.setCursor(cursor);
+        }
+      }
+
+      try (Cursor assets = contentResolver.query(
+          EXTERNAL_CONTENT,
+          ASSET_PROJECTION,
+          getQueryInfo.getSelection(),
+          getQueryInfo.getSelectionArgs(),
+          getQueryInfo.getOrder())) {
+        if (assets == null) {
+          mPromise.reject(ERROR_UNABLE_TO_LOAD, "Could not get assets. Query returns null.");
+        } else {
+          ArrayList<Bundle> assetsInfo = new ArrayList<>();
+          putAssetsInfo(assets, assetsInfo, limit, false);
+          response.putParcelableArrayList("assets", assetsInfo);
+          // the query asks for one asset more than the limit
+          response.putBoolean("hasNextPage", assets.getCount() > limit);
+          response.putString("endCursor", assetsInfo.isEmpty() ? after : assetsInfo.get(assetsInfo.size() - 1).getString("id"));
+          mPromise.resolve(response);
+        }
       }
     } catch (SecurityException e) {
       mPromise.reject(ERROR_UNABLE_TO_LOAD_PERMISSION,
@@ -1,5 +1,6 @@
 package expo.modules.medialibrary;
 
+import android.database.Cursor;
 import android.provider.MediaStore;
 import android.text.TextUtils;
 
@@ -9,14 +10,22 @@ import java.util.Map;
 
 import static expo.modules.medialibrary.MediaLibraryConstants.MEDIA_TYPE_ALL;
 import static expo.modules.medialibrary.MediaLibraryUtils.convertMediaType;
-import static expo.modules.medialibrary.MediaLibraryUtils.mapOrderDescriptor;
-
+import static expo.modules.medialibrary.MediaLibraryUtils.convertSortByKey;
+
+/**
+ * Builds keyset paginated queries: a page starts right after the asset used as the cursor, by
+ * comparing the sort columns (and the id, which breaks ties) to the values of that asset, instead
+ * of skipping the rows of the previous pages. Only a page worth of rows is fetched, and pages
+ * don't shift when assets are inserted before the cursor.
+ */
 class GetQueryInfo {
   private Map<String, Object> mInput;
   private int mLimit;
   private StringBuilder mSelection;
-  private StringBuilder mOrder;
-  private int mOffset;
+  private List<String> mSelectionArgs;
+  private List<SortKey> mSortKeys;
+  private String mAfter;
+  private boolean mIncludeTotalCount;
 
   GetQueryInfo(Map<String, Object> input) {
     mInput = input;
@@ -26,22 +35,50 @@ class GetQueryInfo {
     return mLimit;
   }
 
-  int getOffset() {
-    return mOffset;
+  /**
+   * Id of the asset after which the page starts, null for the first page.
+   */
+  String getAfter() {
+    return mAfter;
+  }
+
+  boolean shouldIncludeTotalCount() {
+    return mIncludeTotalCount;
   }
 
   String getSelection() {
     return mSelection.toString();
   }
 
+  String[] getSelectionArgs() {
+    return mSelectionArgs.toArray(new String[mSelectionArgs.size()]);
+  }
+
+  String[] getSortColumns() {
+    String[] columns = new String[mSortKeys.size()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = mSortKeys.get(i).column;
+    }
+    return columns;
+  }
+
+  /**
+   * Sort order of the page. One more row than the limit is requested, so that a next page can
+   * be detected without counting all of the rows.
+   */
   String getOrder() {
-    return mOrder.toString();
+    List<String> order = new ArrayList<>(mSortKeys.size());
+    for (SortKey sortKey : mSortKeys) {
+      order.add(sortKey.column + (sortKey.ascending ? " ASC" : " DESC"));
+    }
+    return TextUtils.join(",", order) + " LIMIT " + (mLimit + 1);
   }
 
   public GetQueryInfo invoke() {
-    mLimit = mInput.containsKey("first") ? ((Double) mInput.get("first")).intValue() : 20;
+    mLimit = mInput.containsKey("first") ? ((Number) mInput.get("first")).intValue() : 20;
 
     mSelection = new StringBuilder();
+    mSelectionArgs = new ArrayList<>();
     if (mInput.containsKey("album")) {
       mSelection.append(MediaStore.Images.Media.BUCKET_ID).append(" = ").append(mInput.get("album"));
       mSelection.append(" AND ");
@@ -60,16 +97,108 @@ class GetQueryInfo {
       mSelection.append(MediaStore.Files.FileColumns.MEDIA_TYPE).append(" != ").append(MediaStore.Files.FileColumns.MEDIA_TYPE_NONE);
     }
 
-    mOrder = new StringBuilder();
+    mSortKeys = new ArrayList<>();
     if (mInput.containsKey("sortBy") && ((List) mInput.get("sortBy")).size() > 0) {
-      mOrder.append(mapOrderDescriptor((List) mInput.get("sortBy")));
+      for (Object item : (List) mInput.get("sortBy")) {
+        addSortKey(parseSortKey(item));
+      }
     } else {
-      mOrder.append(MediaStore.Images.Media.DEFAULT_SORT_ORDER);
+      addSortKey(new SortKey(MediaStore.Images.Media.DEFAULT_SORT_ORDER, true));
+    }
+    // the id makes the order total, so that every asset can be used as a cursor
+    if (!isSortedById()) {
+      mSortKeys.add(new SortKey(MediaStore.Images.Media._ID, mSortKeys.get(mSortKeys.size() - 1).ascending));
     }
 
-    // to maintain compatibility with IOS field after is in string object
-    mOffset = mInput.containsKey("after") ?
-        Integer.parseInt((String) mInput.get("after")) : 0;
+    // to maintain compatibility with IOS field after is the id of an asset in string object
+    mAfter = mInput.containsKey("after") ? (String) mInput.get("after") : null;
+    mIncludeTotalCount = mInput.containsKey("includeTotalCount") && Boolean.TRUE.equals(mInput.get("includeTotalCount"));
     return this;
   }
+
+  /**
+   * Restricts the selection to the assets that come after the given one. The cursor has to be
+   * positioned on a row with the columns returned by {@link #getSortColumns()}.
+   *
+   * Rows are after the cursor when, for some sort key, they are equal on all of the preceding
+   * keys and after it on that key. NULLs come first in ascending order and last in descending
+   * order, like in SQLite.
+   */
+  void setCursor(Cursor cursor) {
+    List<String> alternatives = new ArrayList<>(mSortKeys.size());
+    List<String> alternativesArgs = new ArrayList<>();
+    StringBuilder equalPrefix = new StringBuilder();
+    List<String> equalPrefixArgs = new ArrayList<>();
+
+    for (int i = 0; i < mSortKeys.size(); i++) {
+      SortKey sortKey = mSortKeys.get(i);
+      String column = sortKey.column;
+      String value = cursor.isNull(i) ? null : cursor.getString(i);
+
+      String after;
+      if (value != null) {
+        after = sortKey.ascending ? column + " > ?" : "(" + column + " < ? OR " + column + " IS NULL)";
+      } else {
+        after = sortKey.ascending ? column + " IS NOT NULL" : null;
+      }
+      if (after != null) {
+        alternatives.add("(" + equalPrefix + after + ")");
+        alternativesArgs.addAll(equalPrefixArgs);
+        if (value != null) {
+          alternativesArgs.add(value);
+        }
+      }
+
+      if (value != null) {
+        equalPrefix.append(column).append(" = ? AND ");
+        equalPrefixArgs.add(value);
+      } else {
+        equalPrefix.append(column).append(" IS NULL AND ");
+      }
+    }
+
+    mSelection.append(" AND (");
+    mSelection.append(alternatives.isEmpty() ? "0" : TextUtils.join(" OR ", alternatives));
+    mSelection.append(")");
+    mSelectionArgs.addAll(alternativesArgs);
+  }
+
+  private void addSortKey(SortKey sortKey) {
+    // keys after the id can't change the order
+    if (!isSortedById()) {
+      mSortKeys.add(sortKey);
+    }
+  }
+
+  private boolean isSortedById() {
+    return !mSortKeys.isEmpty() && MediaStore.Images.Media._ID.equals(mSortKeys.get(mSortKeys.size() - 1).column);
+  }
+
+  private static SortKey parseSortKey(Object item) throws IllegalArgumentException {
+    if (item instanceof String) {
+      return new SortKey(convertSortByKey((String) item), false);
+    }
+    Object[] array;
+    if (item instanceof Object[]) {
+      array = (Object[]) item;
+    } else if (item instanceof List) {
+      array = ((List) item).toArray();
+    } else {
+      throw new IllegalArgumentException("Array sortBy in assetsOptions contains invalid items.");
+    }
+    if (array.length != 2) {
+      throw new IllegalArgumentException("Array sortBy in assetsOptions has invalid layout.");
+    }
+    return new SortKey(convertSortByKey((String) array[0]), (boolean) array[1]);
+  }
+
+  private static class SortKey {
+    final String column;
+    final boolean ascending;
+
+    SortKey(String column, boolean ascending) {
+      this.column = column;
+      this.ascending = ascending;
+    }
+  }
 }
@@ -39,6 +39,8 @@ final class MediaLibraryConstants {
 
   static final String LIBRARY_DID_CHANGE_EVENT = "mediaLibraryDidChange";
 
+  static final long THUMBNAIL_CACHE_SIZE = 50 * 1024 * 1024;
+
   static final Map<String, Integer> MEDIA_TYPES = new HashMap<String, Integer>() {
     {
       put(MEDIA_TYPE_AUDIO, MediaStore.Files.FileColumns.MEDIA_TYPE_AUDIO);
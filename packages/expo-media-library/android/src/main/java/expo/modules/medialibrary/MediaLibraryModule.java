@@ -45,14 +45,17 @@ import static expo.modules.medialibrary.MediaLibraryConstants.SORT_BY_ID;
 import static expo.modules.medialibrary.MediaLibraryConstants.SORT_BY_MEDIA_TYPE;
 import static expo.modules.medialibrary.MediaLibraryConstants.SORT_BY_MODIFICATION_TIME;
 import static expo.modules.medialibrary.MediaLibraryConstants.SORT_BY_WIDTH;
+import static expo.modules.medialibrary.MediaLibraryConstants.THUMBNAIL_CACHE_SIZE;
 
 
 public class MediaLibraryModule extends ExportedModule implements ModuleRegistryConsumer {
+  public static final String NAME = "ExponentMediaLibrary";
 
   private MediaStoreContentObserver mImagesObserver = null;
   private MediaStoreContentObserver mVideosObserver = null;
   private Context mContext;
   private ModuleRegistry mModuleRegistry;
+  private ThumbnailCache mThumbnailCache;
 
   public MediaLibraryModule(Context context) {
     super(context);
@@ -61,11 +64,16 @@ public class MediaLibraryModule extends ExportedModule implements ModuleRegistry
 
   @Override
   public String getName() {
-    return "ExponentMediaLibrary";
+    return NAME;
   }
 
   @Override
   public Map<String, Object> getConstants() {
+    return createConstants();
+  }
+
+  // Constants don't depend on the module instance, so they can be exported without creating it.
+  /* package */ static Map<String, Object> createConstants() {
     return Collections.unmodifiableMap(new HashMap<String, Object>() {
       {
         put("MediaType", Collections.unmodifiableMap(new HashMap<String, Object>() {
@@ -212,6 +220,37 @@ public class MediaLibraryModule extends ExportedModule implements ModuleRegistry
         .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
   }
 
+  @ExpoMethod
+  public void getAssetThumbnailsAsync(List<String> assetsId, Map<String, Object> options, Promise promise) {
+    if (isMissingPermissions()) {
+      promise.reject(ERROR_NO_PERMISSIONS, ERROR_NO_PERMISSIONS_MESSAGE);
+      return;
+    }
+
+    new GetAssetThumbnails(mContext, getThumbnailCache(), assetsId, options, false, promise)
+        .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+  }
+
+  @ExpoMethod
+  public void prefetchAssetThumbnailsAsync(List<String> assetsId, Map<String, Object> options, Promise promise) {
+    if (isMissingPermissions()) {
+      promise.reject(ERROR_NO_PERMISSIONS, ERROR_NO_PERMISSIONS_MESSAGE);
+      return;
+    }
+
+    // prefetched pages are generated one after another, leaving the pool to visible thumbnails
+    ThumbnailCache thumbnailCache = getThumbnailCache();
+    new GetAssetThumbnails(mContext, thumbnailCache, assetsId, options, true, promise)
+        .executeOnExecutor(thumbnailCache.getPrefetchExecutor());
+  }
+
+  private synchronized ThumbnailCache getThumbnailCache() {
+    if (mThumbnailCache == null) {
+      mThumbnailCache = new ThumbnailCache(mContext, THUMBNAIL_CACHE_SIZE);
+    }
+    return mThumbnailCache;
+  }
+
   // Library change observer
 
   @ExpoMethod
@@ -4,14 +4,25 @@ import android.content.Context;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import expo.core.BasePackage;
-import expo.core.ExportedModule;
+import expo.core.ExportedModuleProvider;
 
 public class MediaLibraryPackage extends BasePackage {
 
   @Override
-  public List<ExportedModule> createExportedModules(Context context) {
-    return Collections.<ExportedModule>singletonList(new MediaLibraryModule(context));
+  public List<ExportedModuleProvider> createExportedModuleProviders(final Context context) {
+    return Collections.<ExportedModuleProvider>singletonList(new ExportedModuleProvider<MediaLibraryModule>(MediaLibraryModule.NAME, MediaLibraryModule.class) {
+      @Override
+      public MediaLibraryModule createExportedModule() {
+        return new MediaLibraryModule(context);
+      }
+
+      @Override
+      public Map<String, Object> getConstants() {
+        return MediaLibraryModule.createConstants();
+      }
+    });
   }
 }
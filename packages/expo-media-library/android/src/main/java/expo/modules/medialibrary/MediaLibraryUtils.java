@@ -108,7 +108,7 @@ final class MediaLibraryUtils {
         if (asset.getCount() == 1) {
           asset.moveToFirst();
           ArrayList<Bundle> array = new ArrayList<>();
-          putAssetsInfo(asset, array, 1, 0, fullInfo);
+          putAssetsInfo(asset, array, 1, fullInfo);
           // actually we want to return just the first item, but array.getMap returns ReadableMap
           // which is not compatible with promise.resolve and there is no simple solution to convert
           // ReadableMap to WritableMap so it's easier to return an array and pick the first item on JS side
@@ -125,7 +125,7 @@ final class MediaLibraryUtils {
     }
   }
 
-  static void putAssetsInfo(Cursor cursor, ArrayList<Bundle> response, int limit, int offset, boolean fullInfo) throws IOException {
+  static void putAssetsInfo(Cursor cursor, ArrayList<Bundle> response, int limit, boolean fullInfo) throws IOException {
     final int idIndex = cursor.getColumnIndex(Media._ID);
     final int filenameIndex = cursor.getColumnIndex(Media.DISPLAY_NAME);
     final int mediaTypeIndex = cursor.getColumnIndex(Files.FileColumns.MEDIA_TYPE);
@@ -140,7 +140,7 @@ final class MediaLibraryUtils {
     final int localUriIndex = cursor.getColumnIndex(Media.DATA);
     final int albumIdIndex = cursor.getColumnIndex(Media.BUCKET_ID);
 
-    if (!cursor.moveToPosition(offset)) {
+    if (!cursor.moveToFirst()) {
       return;
     }
     for (int i = 0; i < limit && !cursor.isAfterLast(); i++) {
@@ -224,28 +224,6 @@ final class MediaLibraryUtils {
     }
   }
 
-  static String mapOrderDescriptor(List orderDescriptor) throws IllegalArgumentException {
-    List<String> result = new ArrayList<>(20);
-
-    for (Object item : orderDescriptor) {
-      if (item instanceof String) {
-        String key = convertSortByKey((String) item);
-        result.add(key + " DESC");
-      } else if (item instanceof Object[]) {
-        Object array[] = (Object[]) item;
-        if (array.length != 2) {
-          throw new IllegalArgumentException("Array sortBy in assetsOptions has invalid layout.");
-        }
-        String key = convertSortByKey((String) array[0]);
-        boolean order = (boolean) array[1];
-        result.add(key + (order ? " ASC" : " DESC"));
-      } else {
-        throw new IllegalArgumentException("Array sortBy in assetsOptions contains invalid items.");
-      }
-    }
-    return TextUtils.join(",", result);
-  }
-
   static void getExifFullInfo(Cursor cursor, Bundle response) throws IOException {
     File input = new File(cursor.getString(cursor.getColumnIndex(Media.DATA)));
     ExifInterface exifInterface = new ExifInterface(input.getPath());
@@ -0,0 +1,149 @@
+package expo.modules.medialibrary;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static expo.modules.medialibrary.MediaLibraryConstants.TAG;
+
+/**
+ * Size bounded disk cache of asset thumbnails. Thumbnails are keyed by the asset id, its
+ * modification time and the requested size, so that a modified asset gets a new thumbnail and the
+ * stale one is eventually evicted. Eviction removes the least recently used files once the total
+ * size exceeds the limit.
+ */
+class ThumbnailCache {
+  private static final String DIRECTORY_NAME = "MediaLibraryThumbnails";
+  private static final int LOCK_COUNT = 16;
+  private static final int JPEG_QUALITY = 80;
+  private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+  private final File mDirectory;
+  private final long mMaxSize;
+  // Thumbnails of the same key are generated once, even when requested concurrently
+  private final Object[] mLocks = new Object[LOCK_COUNT];
+  private long mSize = -1;
+  // Prefetches run one after another on their own thread, which stops when there is nothing to
+  // prefetch, so that they never hold up the tasks of the other modules
+  private final ThreadPoolExecutor mPrefetchExecutor =
+      new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+  ThumbnailCache(Context context, long maxSize) {
+    mDirectory = new File(context.getCacheDir(), DIRECTORY_NAME);
+    mMaxSize = maxSize;
+    for (int i = 0; i < LOCK_COUNT; i++) {
+      mLocks[i] = new Object();
+    }
+    mPrefetchExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  Executor getPrefetchExecutor() {
+    return mPrefetchExecutor;
+  }
+
+  static String getKey(String assetId, long modificationTime, int width, int height) {
+    return assetId + "_" + modificationTime + "_" + width + "x" + height;
+  }
+
+  Object getLock(String key) {
+    return mLocks[(key.hashCode() & Integer.MAX_VALUE) % LOCK_COUNT];
+  }
+
+  /**
+   * Returns the cached thumbnail of the key, or null when there is none.
+   */
+  File get(String key) {
+    File file = getFile(key);
+    if (!file.isFile()) {
+      return null;
+    }
+    file.setLastModified(System.currentTimeMillis());
+    return file;
+  }
+
+  /**
+   * Writes the thumbnail to the cache and evicts the least recently used thumbnails when the
+   * cache grows over its limit.
+   */
+  File put(String key, Bitmap thumbnail) throws IOException {
+    if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+      throw new IOException("Could not create thumbnail cache directory.");
+    }
+    File file = getFile(key);
+    // readers never see partially written thumbnails
+    File temporaryFile = new File(mDirectory, key + TEMPORARY_FILE_SUFFIX);
+    try (OutputStream out = new FileOutputStream(temporaryFile)) {
+      thumbnail.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out);
+    }
+    if (!temporaryFile.renameTo(file)) {
+      temporaryFile.delete();
+      throw new IOException("Could not write thumbnail to the cache.");
+    }
+    addSize(file.length());
+    return file;
+  }
+
+  private File getFile(String key) {
+    return new File(mDirectory, key + ".jpg");
+  }
+
+  private synchronized void addSize(long size) {
+    if (mSize < 0) {
+      mSize = 0;
+      File[] files = mDirectory.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          mSize += file.length();
+        }
+      }
+    } else {
+      mSize += size;
+    }
+    if (mSize > mMaxSize) {
+      trim();
+    }
+  }
+
+  // Leaves some room, so that the cache isn't trimmed again on the next thumbnail
+  private void trim() {
+    // thumbnails being written are renamed once complete, and must not be deleted before
+    File[] files = mDirectory.listFiles(new FileFilter() {
+      @Override
+      public boolean accept(File file) {
+        return !file.getName().endsWith(TEMPORARY_FILE_SUFFIX);
+      }
+    });
+    if (files == null) {
+      return;
+    }
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File lhs, File rhs) {
+        long lhsLastModified = lhs.lastModified();
+        long rhsLastModified = rhs.lastModified();
+        return lhsLastModified < rhsLastModified ? -1 : (lhsLastModified == rhsLastModified ? 0 : 1);
+      }
+    });
+    long targetSize = mMaxSize * 3 / 4;
+    for (int i = 0; i < files.length && mSize > targetSize; i++) {
+      long length = files[i].length();
+      if (files[i].delete()) {
+        mSize -= length;
+      } else {
+        Log.w(TAG, "Could not evict thumbnail " + files[i].getName());
+      }
+    }
+  }
+}
@@ -81,13 +81,26 @@ type AssetsOptions = {
   album?: AlbumRef,
   sortBy?: Array<SortByValue> | SortByValue,
   mediaType?: Array<MediaTypeValue> | MediaTypeValue,
+  includeTotalCount?: boolean, // Android only, iOS always includes the total count
 };
 
 type PagedInfo<T> = {
   assets: Array<T>,
   endCursor: string,
   hasNextPage: boolean,
-  totalCount: number,
+  totalCount?: number,
+};
+
+type ThumbnailOptions = {
+  width?: number,
+  height?: number,
+};
+
+type Thumbnail = {
+  id: string,
+  uri: string,
+  width: number,
+  height: number,
 };
 
 type AssetRef = Asset | string;
@@ -123,6 +136,14 @@ function checkAlbumIds(albumIds) {
   }
 }
 
+function checkThumbnailOptions(options) {
+  ['width', 'height'].forEach(key => {
+    if (options[key] != null && (typeof options[key] !== 'number' || options[key] <= 0)) {
+      throw new Error(`Option "${key}" must be a positive number!`);
+    }
+  });
+}
+
 function checkMediaType(mediaType) {
   if (Object.values(MediaType).indexOf(mediaType) === -1) {
     throw new Error(`Invalid mediaType: ${mediaType}`);
@@ -260,7 +281,7 @@ export async function deleteAlbumsAsync(albums: Array<AlbumRef> | AlbumRef, asse
 }
 
 export async function getAssetsAsync(assetsOptions: AssetsOptions = {}): Promise<PagedInfo<Asset>> {
-  const { first, after, album, sortBy, mediaType } = assetsOptions;
+  const { first, after, album, sortBy, mediaType, includeTotalCount } = assetsOptions;
 
   const options = {
     first: first == null ? 20 : first,
@@ -268,6 +289,7 @@ export async function getAssetsAsync(assetsOptions: AssetsOptions = {}): Promise
     album: getId(album),
     sortBy: arrayize(sortBy),
     mediaType: arrayize(mediaType || [MediaType.photo]),
+    includeTotalCount: !!includeTotalCount,
   };
 
   if (first != null && typeof options.first !== 'number') {
@@ -286,6 +308,34 @@ export async function getAssetsAsync(assetsOptions: AssetsOptions = {}): Promise
   return MediaLibrary.getAssetsAsync(options);
 }
 
+export async function getAssetThumbnailsAsync(
+  assets: Array<AssetRef> | AssetRef,
+  options: ThumbnailOptions = {}
+): Promise<Array<Thumbnail>> {
+  if (Platform.OS !== 'android') {
+    throw new Error('getAssetThumbnailsAsync is not supported on iOS');
+  }
+  const assetIds = arrayize(assets).map(getId);
+
+  checkAssetIds(assetIds);
+  checkThumbnailOptions(options);
+  return MediaLibrary.getAssetThumbnailsAsync(assetIds, options);
+}
+
+export async function prefetchAssetThumbnailsAsync(
+  assets: Array<AssetRef> | AssetRef,
+  options: ThumbnailOptions = {}
+): Promise<void> {
+  if (Platform.OS !== 'android') {
+    throw new Error('prefetchAssetThumbnailsAsync is not supported on iOS');
+  }
+  const assetIds = arrayize(assets).map(getId);
+
+  checkAssetIds(assetIds);
+  checkThumbnailOptions(options);
+  return MediaLibrary.prefetchAssetThumbnailsAsync(assetIds, options);
+}
+
 export function addListener(listener: () => void): Subscription {
   const subscription = eventEmitter.addListener(MediaLibrary.CHANGE_LISTENER_NAME, listener);
   subscription.remove = () => this.removeSubscription(subscription);
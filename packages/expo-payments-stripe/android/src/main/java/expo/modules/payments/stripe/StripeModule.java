@@ -54,7 +54,7 @@ import static expo.modules.payments.stripe.util.InitializationOptions.ANDROID_PA
 
 public class StripeModule extends ExportedModule implements ModuleRegistryConsumer {
   private static final String META_DATA_SCHEME_KEY = "standaloneStripeScheme";
-  private static final String MODULE_NAME = StripeModule.class.getSimpleName();
+  /* package */ static final String MODULE_NAME = StripeModule.class.getSimpleName();
   private static final String TAG = "### " + MODULE_NAME + ": ";
   private static HashMap<Integer, WeakReference<StripeModule>> sMapOfInstances = new HashMap<>();
 
@@ -4,19 +4,29 @@ package expo.modules.payments.stripe;
 
 import android.content.Context;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import expo.core.BasePackage;
-import expo.core.ExportedModule;
+import expo.core.ExportedModuleProvider;
 import expo.core.ViewManager;
 
 public class StripePackage extends BasePackage {
 
   @Override
-  public List<ExportedModule> createExportedModules(Context context) {
-    return Arrays.<ExportedModule>asList(new StripeModule(context));
+  public List<ExportedModuleProvider> createExportedModuleProviders(final Context context) {
+    return Collections.<ExportedModuleProvider>singletonList(new ExportedModuleProvider<StripeModule>(StripeModule.MODULE_NAME, StripeModule.class) {
+      @Override
+      public StripeModule createExportedModule() {
+        return new StripeModule(context);
+      }
+
+      @Override
+      public Map<String, Object> getConstants() {
+        return Collections.emptyMap();
+      }
+    });
   }
 
   @Override
@@ -20,6 +20,7 @@ import java.util.Map;
 import javax.annotation.Nullable;
 
 import expo.core.ExportedModule;
+import expo.core.ExportedModuleProvider;
 import expo.core.ModuleRegistry;
 import expo.core.ViewManager;
 import expo.core.interfaces.ExpoMethod;
@@ -45,12 +46,14 @@ public class NativeModulesProxy extends ReactContextBaseJavaModule {
   private ModuleRegistry mModuleRegistry;
   private Map<String, Map<String, Integer>> mExportedMethodsKeys;
   private Map<String, SparseArray<String>> mExportedMethodsReverseKeys;
+  private Map<String, SparseArray<ExportedModule.MethodInfo>> mExportedMethodInfosByKey;
 
   public NativeModulesProxy(ReactApplicationContext context, ModuleRegistry moduleRegistry) {
     super(context);
     mModuleRegistry = moduleRegistry;
     mExportedMethodsKeys = new HashMap<>();
     mExportedMethodsReverseKeys = new HashMap<>();
+    mExportedMethodInfosByKey = new HashMap<>();
   }
 
   @Override
@@ -62,18 +65,28 @@ public class NativeModulesProxy extends ReactContextBaseJavaModule {
   @Override
   public Map<String, Object> getConstants() {
     mModuleRegistry.ensureIsInitialized();
-    Collection<ExportedModule> exportedModules = mModuleRegistry.getAllExportedModules();
+    Collection<String> exportedModulesNames = mModuleRegistry.getAllExportedModulesNames();
     Collection<ViewManager> viewManagers = mModuleRegistry.getAllViewManagers();
 
-    Map<String, Object> modulesConstants = new HashMap<>(exportedModules.size());
-    Map<String, Object> exportedMethodsMap = new HashMap<>(exportedModules.size());
+    Map<String, Object> modulesConstants = new HashMap<>(exportedModulesNames.size());
+    Map<String, Object> exportedMethodsMap = new HashMap<>(exportedModulesNames.size());
     List<String> viewManagersNames = new ArrayList<>(viewManagers.size());
 
-    for (ExportedModule exportedModule : exportedModules) {
-      String moduleName = exportedModule.getName();
-      modulesConstants.put(moduleName, exportedModule.getConstants());
+    for (String moduleName : exportedModulesNames) {
+      // Lazily registered modules that can describe themselves don't get created here
+      ExportedModuleProvider provider = mModuleRegistry.getExportedModuleProvider(moduleName);
+      Map<String, Object> moduleConstants = provider != null ? provider.getConstants() : null;
+      Map<String, Method> moduleExportedMethods;
+      if (moduleConstants != null) {
+        moduleExportedMethods = provider.getExportedMethods();
+      } else {
+        ExportedModule exportedModule = mModuleRegistry.getExportedModule(moduleName);
+        moduleConstants = exportedModule.getConstants();
+        moduleExportedMethods = exportedModule.getExportedMethods();
+      }
+      modulesConstants.put(moduleName, moduleConstants);
 
-      List<Map<String, Object>> exportedMethods = transformExportedMethodsMap(exportedModule.getExportedMethods());
+      List<Map<String, Object>> exportedMethods = transformExportedMethodsMap(moduleExportedMethods);
       assignExportedMethodsKeys(moduleName, exportedMethods);
 
       exportedMethodsMap.put(moduleName, exportedMethods);
@@ -100,48 +113,90 @@ public class NativeModulesProxy extends ReactContextBaseJavaModule {
    */
   @ReactMethod
   public void callMethod(String moduleName, Dynamic methodKeyOrName, ReadableArray arguments, final Promise promise) {
+    ExportedModule exportedModule = mModuleRegistry.getExportedModule(moduleName);
+    ExportedModule.MethodInfo methodInfo;
     String methodName;
     if (methodKeyOrName.getType() == ReadableType.String) {
       methodName = methodKeyOrName.asString();
+      methodInfo = exportedModule != null ? exportedModule.getExportedMethodInfos().get(methodName) : null;
     } else if (methodKeyOrName.getType() == ReadableType.Number) {
-      methodName = mExportedMethodsReverseKeys.get(moduleName).get(methodKeyOrName.asInt());
+      int methodKey = methodKeyOrName.asInt();
+      SparseArray<ExportedModule.MethodInfo> methodInfos = getExportedMethodInfosByKey(moduleName, exportedModule);
+      methodInfo = methodInfos != null ? methodInfos.get(methodKey) : null;
+      methodName = methodInfo != null ? methodInfo.getName() : String.valueOf(methodKey);
     } else {
       promise.reject(UNEXPECTED_ERROR, "Method key is neither a String nor an Integer -- don't know how to map it to method name.");
       return;
     }
 
+    if (methodInfo == null) {
+      promise.reject(
+              UNDEFINED_METHOD_ERROR,
+              "Method " + methodName + " of Java module " + moduleName + " is undefined."
+      );
+      return;
+    }
+
     try {
-      List<Object> nativeArguments = getNativeArgumentsForMethod(arguments, mModuleRegistry.getExportedModule(moduleName).getExportedMethodInfos().get(methodName));
-      nativeArguments.add(new PromiseWrapper(promise));
+      Object[] nativeArguments = getNativeArgumentsForMethod(arguments, methodInfo);
+      nativeArguments[nativeArguments.length - 1] = new PromiseWrapper(promise);
 
-      mModuleRegistry.getExportedModule(moduleName).invokeExportedMethod(methodName, nativeArguments);
+      exportedModule.invokeExportedMethod(methodInfo, nativeArguments);
     } catch (IllegalArgumentException e) {
       promise.reject(ARGS_TYPES_MISMATCH_ERROR, e.getMessage(), e);
     } catch (RuntimeException e) {
       promise.reject(UNEXPECTED_ERROR, "Encountered an exception while calling native method: " + e.getMessage(), e);
-    } catch (NoSuchMethodException e) {
-      promise.reject(
-              UNDEFINED_METHOD_ERROR,
-              "Method " + methodName + " of Java module " + moduleName + " is undefined.",
-              e
-      );
     }
   }
 
   /**
-   * Converts {@link ReadableArray} of arguments into a list of Java Objects.
+   * Converts {@link ReadableArray} of arguments into an array of Java Objects, leaving the last slot
+   * empty for the Promise.
    * Throws {@link RuntimeException} if it can't convert some {@link ReadableType} to Object.
+   * Throws {@link IllegalArgumentException} if the number of arguments doesn't match the method.
    * Method is used when converting Double to proper argument.
    */
-  private static List<Object> getNativeArgumentsForMethod(ReadableArray arguments, ExportedModule.MethodInfo methodInfo) {
-    List<Object> nativeArguments = new ArrayList<>();
+  private static Object[] getNativeArgumentsForMethod(ReadableArray arguments, ExportedModule.MethodInfo methodInfo) {
+    Class<?>[] parameterTypes = methodInfo.getParameterTypes();
+    int argumentsCount = arguments.size();
+    if (argumentsCount != parameterTypes.length - 1) {
+      throw new IllegalArgumentException(
+              "Method " + methodInfo.getName() + " expects " + (parameterTypes.length - 1) + " arguments, "
+                      + "whereas " + argumentsCount + " arguments have been provided.");
+    }
 
-    for (int i = 0; i < arguments.size(); i++) {
-      nativeArguments.add(ArgumentsHelper.getNativeArgumentForExpectedClass(arguments.getDynamic(i), methodInfo.getParameterTypes()[i]));
+    Object[] nativeArguments = new Object[parameterTypes.length];
+    for (int i = 0; i < argumentsCount; i++) {
+      nativeArguments[i] = ArgumentsHelper.getNativeArgumentForExpectedClass(arguments.getDynamic(i), parameterTypes[i]);
     }
     return nativeArguments;
   }
 
+  /**
+   * Returns {@link ExportedModule.MethodInfo}s for the keys assigned in {@link #assignExportedMethodsKeys(String, List)},
+   * so that calls by method key don't have to go through method names. Resolved on the first call
+   * to the module, since lazily registered modules don't exist before that.
+   */
+  private SparseArray<ExportedModule.MethodInfo> getExportedMethodInfosByKey(String moduleName, ExportedModule exportedModule) {
+    SparseArray<ExportedModule.MethodInfo> methodInfosByKey = mExportedMethodInfosByKey.get(moduleName);
+    if (methodInfosByKey != null) {
+      return methodInfosByKey;
+    }
+
+    SparseArray<String> reverseKeys = mExportedMethodsReverseKeys.get(moduleName);
+    if (reverseKeys == null || exportedModule == null) {
+      return null;
+    }
+
+    Map<String, ExportedModule.MethodInfo> methodInfos = exportedModule.getExportedMethodInfos();
+    methodInfosByKey = new SparseArray<>(reverseKeys.size());
+    for (int i = 0; i < reverseKeys.size(); i++) {
+      methodInfosByKey.put(reverseKeys.keyAt(i), methodInfos.get(reverseKeys.valueAt(i)));
+    }
+    mExportedMethodInfosByKey.put(moduleName, methodInfosByKey);
+    return methodInfosByKey;
+  }
+
   /**
    * Transforms exportedMethodsMap to a map of methodInfos
    */
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.WeakHashMap;
 
 import expo.core.ExportedModule;
+import expo.core.ExportedModuleProvider;
 import expo.core.ModuleRegistry;
 import expo.core.ModuleRegistryProvider;
 import expo.core.interfaces.InternalModule;
@@ -36,11 +37,13 @@ public class ReactModuleRegistryProvider extends ModuleRegistryProvider {
   public ModuleRegistry get(Context context) {
     Collection<InternalModule> internalModules = new ArrayList<>();
     Collection<ExportedModule> exportedModules = new ArrayList<>();
+    Collection<ExportedModuleProvider> exportedModuleProviders = new ArrayList<>();
     for(Package pkg : getPackages()) {
       internalModules.addAll(pkg.createInternalModules(context));
       exportedModules.addAll(pkg.createExportedModules(context));
+      exportedModuleProviders.addAll(pkg.createExportedModuleProviders(context));
     }
-    return new ModuleRegistry(internalModules, exportedModules, getViewManagers(context));
+    return new ModuleRegistry(internalModules, exportedModules, exportedModuleProviders, getViewManagers(context));
   }
 
   private Collection<ViewManager> getViewManagers(Context context) {
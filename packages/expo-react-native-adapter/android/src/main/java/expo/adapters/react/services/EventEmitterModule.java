@@ -4,17 +4,20 @@ import android.os.Bundle;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 import expo.core.interfaces.InternalModule;
 import expo.core.interfaces.services.EventEmitter;
+import expo.core.interfaces.services.NumericEventEmitter;
 
-public class EventEmitterModule implements EventEmitter, InternalModule {
+public class EventEmitterModule implements EventEmitter, NumericEventEmitter, InternalModule {
   private ReactContext mReactContext;
 
   public EventEmitterModule(ReactContext reactContext) {
@@ -31,9 +34,53 @@ public class EventEmitterModule implements EventEmitter, InternalModule {
     mReactContext.getNativeModule(UIManagerModule.class).getEventDispatcher().dispatchEvent(getReactEventFromEvent(viewId, event));
   }
 
+  @Override
+  public void emit(String eventName, Layout layout, double[] values) {
+    mReactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(eventName, toWritableMap(layout, values, 0));
+  }
+
+  @Override
+  public void emitBatch(String eventName, Layout layout, double[] values, int count) {
+    WritableArray samples = Arguments.createArray();
+    for (int i = 0; i < count; i++) {
+      samples.pushMap(toWritableMap(layout, values, i * layout.size()));
+    }
+    WritableMap batch = Arguments.createMap();
+    batch.putArray("samples", samples);
+    mReactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(eventName, batch);
+  }
+
   @Override
   public List<Class> getExportedInterfaces() {
-    return Collections.singletonList((Class) EventEmitter.class);
+    return Arrays.<Class>asList(EventEmitter.class, NumericEventEmitter.class);
+  }
+
+  // Fills native maps right away, skipping the Bundle and the boxed values Arguments.fromBundle goes through
+  private static WritableMap toWritableMap(Layout layout, double[] values, int offset) {
+    WritableMap map = Arguments.createMap();
+    WritableMap[] groups = new WritableMap[layout.getGroupCount()];
+    for (int i = 0; i < layout.size(); i++) {
+      double value = values[offset + i];
+      if (Double.isNaN(value)) {
+        continue;
+      }
+      int group = layout.getGroup(i);
+      if (group < 0) {
+        map.putDouble(layout.getKey(i), value);
+      } else {
+        if (groups[group] == null) {
+          groups[group] = Arguments.createMap();
+        }
+        groups[group].putDouble(layout.getKey(i), value);
+      }
+    }
+    // Native maps are consumed once put into another one, so nested maps go in last
+    for (int group = 0; group < groups.length; group++) {
+      if (groups[group] != null) {
+        map.putMap(layout.getGroupName(group), groups[group]);
+      }
+    }
+    return map;
   }
 
   private static com.facebook.react.uimanager.events.Event getReactEventFromEvent(final int viewId, final Event event) {
@@ -50,7 +50,7 @@ public class ViewManagerAdapterUtils {
         }
         Dynamic dynamicPropertyValue = proxiedProperties.getDynamic(key);
         Object castPropertyValue = ArgumentsHelper.getNativeArgumentForExpectedClass(dynamicPropertyValue, propSetterInfo.getExpectedValueClass());
-        viewManager.updateProp(view, key, castPropertyValue);
+        viewManager.updateProp(view, propSetterInfo, castPropertyValue);
       } catch (Exception e) {
         Log.e(viewManagerAdapterName, "Error when setting prop " + key + ". " + e.getMessage());
       }
@@ -0,0 +1,10 @@
+package expo.interfaces.sensors;
+
+/**
+ * Subscription that can let the sensor hub queue samples in its hardware FIFO and deliver
+ * them in bursts, so that the application processor can sleep in between.
+ */
+public interface BatchableSensorServiceSubscription extends SensorServiceSubscription {
+  Long getMaxReportLatency();
+  void setMaxReportLatency(long maxReportLatency);
+}
@@ -5,7 +5,6 @@ package expo.modules.sensors.modules;
 import android.content.Context;
 import android.hardware.SensorEvent;
 import android.hardware.SensorManager;
-import android.os.Bundle;
 
 import expo.core.Promise;
 import expo.core.interfaces.ExpoMethod;
@@ -32,12 +31,16 @@ public class AccelerometerModule extends BaseSensorModule {
     return getModuleRegistry().getModule(AccelerometerService.class);
   }
 
-  protected Bundle eventToMap(SensorEvent sensorEvent) {
-    Bundle map = new Bundle();
-    map.putDouble("x", sensorEvent.values[0] / SensorManager.GRAVITY_EARTH);
-    map.putDouble("y", sensorEvent.values[1] / SensorManager.GRAVITY_EARTH);
-    map.putDouble("z", sensorEvent.values[2]/  SensorManager.GRAVITY_EARTH);
-    return map;
+  @Override
+  protected String[] getEventKeys() {
+    return new String[] { "x", "y", "z" };
+  }
+
+  @Override
+  protected void writeEventValues(SensorEvent sensorEvent, double[] values, int offset) {
+    values[offset] = sensorEvent.values[0] / SensorManager.GRAVITY_EARTH;
+    values[offset + 1] = sensorEvent.values[1] / SensorManager.GRAVITY_EARTH;
+    values[offset + 2] = sensorEvent.values[2] / SensorManager.GRAVITY_EARTH;
   }
 
   @ExpoMethod
@@ -57,4 +60,10 @@ public class AccelerometerModule extends BaseSensorModule {
     super.setUpdateInterval(updateInterval);
     promise.resolve(null);
   }
+
+  @ExpoMethod
+  public void setBatchInterval(int batchInterval, Promise promise) {
+    super.setBatchInterval(batchInterval);
+    promise.resolve(null);
+  }
 }
@@ -4,15 +4,19 @@ import android.content.Context;
 import android.hardware.Sensor;
 import android.hardware.SensorEvent;
 import android.hardware.SensorEventListener2;
-import android.os.Bundle;
 import android.util.Log;
+import android.view.Choreographer;
+
+import java.util.Arrays;
 
 import expo.core.ExportedModule;
 import expo.core.ModuleRegistry;
 import expo.core.interfaces.LifecycleEventListener;
 import expo.core.interfaces.ModuleRegistryConsumer;
 import expo.core.interfaces.services.EventEmitter;
+import expo.core.interfaces.services.NumericEventEmitter;
 import expo.core.interfaces.services.UIManager;
+import expo.interfaces.sensors.BatchableSensorServiceSubscription;
 import expo.interfaces.sensors.SensorService;
 import expo.interfaces.sensors.SensorServiceSubscription;
 
@@ -21,9 +25,27 @@ public abstract class BaseSensorModule extends ExportedModule implements SensorE
   private ModuleRegistry mModuleRegistry;
   private boolean mIsObserving = false;
 
+  private EventEmitter mEventEmitter;
+  private NumericEventEmitter mNumericEventEmitter;
+
+  // Values of the event being emitted, reused for every sample
+  private NumericEventEmitter.Layout mEventLayout;
+  private double[] mEventValues;
+
+  // Batched delivery: samples are collected and sent to JS as one array per frame
+  private volatile int mBatchInterval = 0;
+  private final Object mBatchLock = new Object();
+  private NumericEventEmitter.Layout mBatchedEventLayout;
+  private double[] mBatchedValues;
+  private int mBatchedSampleCount = 0;
+  private boolean mIsBatchDispatchScheduled = false;
+
   protected abstract String getEventName();
   protected abstract SensorService getSensorService();
-  protected abstract Bundle eventToMap(SensorEvent sensorEvent);
+  // Names of the values of an event, see NumericEventEmitter.Layout
+  protected abstract String[] getEventKeys();
+  // Writes the values named by getEventKeys() into values, starting at offset
+  protected abstract void writeEventValues(SensorEvent sensorEvent, double[] values, int offset);
 
   BaseSensorModule(Context context) {
     super(context);
@@ -41,6 +63,8 @@ public abstract class BaseSensorModule extends ExportedModule implements SensorE
     }
 
     mModuleRegistry = moduleRegistry;
+    mEventEmitter = moduleRegistry != null ? moduleRegistry.getModule(EventEmitter.class) : null;
+    mNumericEventEmitter = moduleRegistry != null ? moduleRegistry.getModule(NumericEventEmitter.class) : null;
 
     // Register to new UIManager
     if (mModuleRegistry != null && mModuleRegistry.getModule(UIManager.class) != null) {
@@ -50,14 +74,30 @@ public abstract class BaseSensorModule extends ExportedModule implements SensorE
 
   @Override
   public void onSensorChanged(SensorEvent sensorEvent) {
-    EventEmitter eventEmitter = mModuleRegistry.getModule(EventEmitter.class);
-    if (eventEmitter != null) {
-      eventEmitter.emit(getEventName(), eventToMap(sensorEvent));
+    if (mBatchInterval > 0) {
+      addBatchedSample(sensorEvent);
+      return;
+    }
+
+    NumericEventEmitter.Layout layout = getEventLayout();
+    writeEventValues(sensorEvent, mEventValues, 0);
+    if (mNumericEventEmitter != null) {
+      mNumericEventEmitter.emit(getEventName(), layout, mEventValues);
+    } else if (mEventEmitter != null) {
+      mEventEmitter.emit(getEventName(), layout.toBundle(mEventValues, 0));
     } else {
       Log.e("E_SENSOR_MODULE", "Could not emit " + getEventName() + " event, no event emitter present.");
     }
   }
 
+  private NumericEventEmitter.Layout getEventLayout() {
+    if (mEventLayout == null) {
+      mEventLayout = new NumericEventEmitter.Layout(getEventKeys());
+      mEventValues = new double[mEventLayout.size()];
+    }
+    return mEventLayout;
+  }
+
   @Override
   public void onAccuracyChanged(Sensor sensor, int accuracy) {
     // do nothing
@@ -72,6 +112,79 @@ public abstract class BaseSensorModule extends ExportedModule implements SensorE
     getSensorKernelServiceSubscription().setUpdateInterval(updateInterval);
   }
 
+  /**
+   * With a positive interval samples are sent as arrays of {@code getEventName() + "Batch"}
+   * events, at most one per frame, and the sensor hub may hold them for up to that many
+   * milliseconds. Zero switches back to one event per sample.
+   */
+  public void setBatchInterval(int batchInterval) {
+    mBatchInterval = Math.max(batchInterval, 0);
+    SensorServiceSubscription subscription = getSensorKernelServiceSubscription();
+    if (subscription instanceof BatchableSensorServiceSubscription) {
+      ((BatchableSensorServiceSubscription) subscription).setMaxReportLatency(mBatchInterval);
+    }
+    if (mBatchInterval == 0) {
+      dispatchBatchedSamples();
+    }
+  }
+
+  private void addBatchedSample(SensorEvent sensorEvent) {
+    synchronized (mBatchLock) {
+      if (mBatchedEventLayout == null) {
+        // Samples from the hardware FIFO arrive in bursts, so each one carries its own time
+        mBatchedEventLayout = getEventLayout().extend("timestamp");
+        mBatchedValues = new double[mBatchedEventLayout.size() * 16];
+      }
+      int stride = mBatchedEventLayout.size();
+      int offset = mBatchedSampleCount * stride;
+      if (offset + stride > mBatchedValues.length) {
+        mBatchedValues = Arrays.copyOf(mBatchedValues, mBatchedValues.length * 2);
+      }
+      writeEventValues(sensorEvent, mBatchedValues, offset);
+      mBatchedValues[offset + stride - 1] = sensorEvent.timestamp / 1e9;
+      mBatchedSampleCount++;
+
+      if (mIsBatchDispatchScheduled) {
+        return;
+      }
+      mIsBatchDispatchScheduled = true;
+    }
+
+    mModuleRegistry.getModule(UIManager.class).runOnUiQueueThread(new Runnable() {
+      @Override
+      public void run() {
+        Choreographer.getInstance().postFrameCallback(mBatchFrameCallback);
+      }
+    });
+  }
+
+  private final Choreographer.FrameCallback mBatchFrameCallback = new Choreographer.FrameCallback() {
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      dispatchBatchedSamples();
+    }
+  };
+
+  private void dispatchBatchedSamples() {
+    // Emitters copy the values out, so the buffer is reused right after
+    synchronized (mBatchLock) {
+      mIsBatchDispatchScheduled = false;
+      if (mBatchedSampleCount == 0) {
+        return;
+      }
+
+      String eventName = getEventName() + "Batch";
+      if (mNumericEventEmitter != null) {
+        mNumericEventEmitter.emitBatch(eventName, mBatchedEventLayout, mBatchedValues, mBatchedSampleCount);
+      } else if (mEventEmitter != null) {
+        mEventEmitter.emit(eventName, mBatchedEventLayout.toBatchBundle(mBatchedValues, mBatchedSampleCount));
+      } else {
+        Log.e("E_SENSOR_MODULE", "Could not emit " + eventName + " event, no event emitter present.");
+      }
+      mBatchedSampleCount = 0;
+    }
+  }
+
   private SensorServiceSubscription getSensorKernelServiceSubscription() {
     if (mSensorServiceSubscription != null) {
       return mSensorServiceSubscription;
@@ -5,7 +5,6 @@ import android.hardware.Sensor;
 import android.hardware.SensorEvent;
 import android.hardware.SensorEventListener2;
 import android.hardware.SensorManager;
-import android.os.Bundle;
 import android.view.Choreographer;
 import android.view.Surface;
 import android.view.WindowManager;
@@ -23,6 +22,7 @@ import expo.core.Promise;
 import expo.core.interfaces.ExpoMethod;
 import expo.core.interfaces.ModuleRegistryConsumer;
 import expo.core.interfaces.services.EventEmitter;
+import expo.core.interfaces.services.NumericEventEmitter;
 import expo.core.interfaces.services.UIManager;
 import expo.interfaces.sensors.SensorService;
 import expo.interfaces.sensors.SensorServiceSubscription;
@@ -33,10 +33,19 @@ import expo.interfaces.sensors.services.LinearAccelerationSensorService;
 import expo.interfaces.sensors.services.RotationVectorSensorService;
 
 public class DeviceMotionModule extends ExportedModule implements SensorEventListener2, ModuleRegistryConsumer {
+  private static final NumericEventEmitter.Layout EVENT_LAYOUT = new NumericEventEmitter.Layout(
+      "acceleration.x", "acceleration.y", "acceleration.z",
+      "accelerationIncludingGravity.x", "accelerationIncludingGravity.y", "accelerationIncludingGravity.z",
+      "rotationRate.alpha", "rotationRate.beta", "rotationRate.gamma",
+      "rotation.alpha", "rotation.beta", "rotation.gamma",
+      "orientation"
+  );
+
   private long mLastUpdate = 0;
   private int mUpdateInterval = 100;
   private float[] mRotationMatrix = new float[9];
   private float[] mRotationResult = new float[3];
+  private double[] mEventValues = new double[EVENT_LAYOUT.size()];
 
   private SensorEvent mAccelerationEvent;
   private SensorEvent mAccelerationIncludingGravityEvent;
@@ -70,6 +79,11 @@ public class DeviceMotionModule extends ExportedModule implements SensorEventLis
   @ExpoMethod
   public void setUpdateInterval(int updateInterval, Promise promise) {
     mUpdateInterval = updateInterval;
+    if (mServiceSubscriptions != null) {
+      for (SensorServiceSubscription subscription : mServiceSubscriptions) {
+        subscription.setUpdateInterval(updateInterval);
+      }
+    }
     promise.resolve(null);
   }
 
@@ -79,9 +93,9 @@ public class DeviceMotionModule extends ExportedModule implements SensorEventLis
       mServiceSubscriptions = new ArrayList<>();
       for (SensorService kernelService : getSensorKernelServices()) {
         SensorServiceSubscription subscription = kernelService.createSubscriptionForListener(this);
-        // We want handle update interval on our own,
-        // because we need to coordinate updates from multiple sensor services.
-        subscription.setUpdateInterval(0);
+        // Updates from multiple sensor services are coordinated on our own, per frame,
+        // but the sensors themselves don't need to run faster than we dispatch.
+        subscription.setUpdateInterval(mUpdateInterval);
         mServiceSubscriptions.add(subscription);
       }
     }
@@ -110,6 +124,7 @@ public class DeviceMotionModule extends ExportedModule implements SensorEventLis
   @Override
   public void setModuleRegistry(ModuleRegistry moduleRegistry) {
     mEventEmitter = moduleRegistry.getModule(EventEmitter.class);
+    mNumericEventEmitter = moduleRegistry.getModule(NumericEventEmitter.class);
     mUiManager = moduleRegistry.getModule(UIManager.class);
     mModuleRegistry = moduleRegistry;
   }
@@ -156,6 +171,7 @@ public class DeviceMotionModule extends ExportedModule implements SensorEventLis
   private ScheduleDispatchFrameCallback mCurrentFrameCallback = new ScheduleDispatchFrameCallback();
   private DispatchEventRunnable mDispatchEventRunnable = new DispatchEventRunnable();
   private EventEmitter mEventEmitter;
+  private NumericEventEmitter mNumericEventEmitter;
 
   private class ScheduleDispatchFrameCallback implements Choreographer.FrameCallback {
     private volatile boolean mIsPosted = false;
@@ -207,51 +223,46 @@ public class DeviceMotionModule extends ExportedModule implements SensorEventLis
   private class DispatchEventRunnable implements Runnable {
     @Override
     public void run() {
-      mEventEmitter.emit("deviceMotionDidUpdate", eventsToMap());
+      writeEventValues(mEventValues);
+      if (mNumericEventEmitter != null) {
+        mNumericEventEmitter.emit("deviceMotionDidUpdate", EVENT_LAYOUT, mEventValues);
+      } else {
+        mEventEmitter.emit("deviceMotionDidUpdate", EVENT_LAYOUT.toBundle(mEventValues, 0));
+      }
     }
   }
 
-  private Bundle eventsToMap() {
-    Bundle map = new Bundle();
-    Bundle acceleration = new Bundle();
-    Bundle accelerationIncludingGravity = new Bundle();
-    Bundle rotation = new Bundle();
-    Bundle rotationRate = new Bundle();
+  // Values of sensors that haven't reported yet are NaN, which leaves them out of the event
+  private void writeEventValues(double[] values) {
+    Arrays.fill(values, Double.NaN);
 
     if (mAccelerationEvent != null) {
-      acceleration.putDouble("x", mAccelerationEvent.values[0]);
-      acceleration.putDouble("y", mAccelerationEvent.values[1]);
-      acceleration.putDouble("z", mAccelerationEvent.values[2]);
-      map.putBundle("acceleration", acceleration);
-
+      values[0] = mAccelerationEvent.values[0];
+      values[1] = mAccelerationEvent.values[1];
+      values[2] = mAccelerationEvent.values[2];
     }
 
     if (mAccelerationIncludingGravityEvent != null && mGravityEvent != null) {
-      accelerationIncludingGravity.putDouble("x", mAccelerationIncludingGravityEvent.values[0] - 2 * mGravityEvent.values[0]);
-      accelerationIncludingGravity.putDouble("y", mAccelerationIncludingGravityEvent.values[1] - 2 * mGravityEvent.values[1]);
-      accelerationIncludingGravity.putDouble("z", mAccelerationIncludingGravityEvent.values[2] - 2 * mGravityEvent.values[2]);
-      map.putBundle("accelerationIncludingGravity", accelerationIncludingGravity);
+      values[3] = mAccelerationIncludingGravityEvent.values[0] - 2 * mGravityEvent.values[0];
+      values[4] = mAccelerationIncludingGravityEvent.values[1] - 2 * mGravityEvent.values[1];
+      values[5] = mAccelerationIncludingGravityEvent.values[2] - 2 * mGravityEvent.values[2];
     }
 
     if (mRotationRateEvent != null) {
-      rotationRate.putDouble("alpha", mRotationRateEvent.values[2]);
-      rotationRate.putDouble("beta", mRotationRateEvent.values[0]);
-      rotationRate.putDouble("gamma", mRotationRateEvent.values[1]);
-      map.putBundle("rotationRate", rotationRate);
+      values[6] = mRotationRateEvent.values[2];
+      values[7] = mRotationRateEvent.values[0];
+      values[8] = mRotationRateEvent.values[1];
     }
 
     if (mRotationEvent != null) {
       SensorManager.getRotationMatrixFromVector(mRotationMatrix, mRotationEvent.values);
       SensorManager.getOrientation(mRotationMatrix, mRotationResult);
-      rotation.putDouble("alpha", -mRotationResult[0]);
-      rotation.putDouble("beta", -mRotationResult[1]);
-      rotation.putDouble("gamma", mRotationResult[2]);
-      map.putBundle("rotation", rotation);
+      values[9] = -mRotationResult[0];
+      values[10] = -mRotationResult[1];
+      values[11] = mRotationResult[2];
     }
 
-    map.putInt("orientation", getOrientation());
-
-    return map;
+    values[12] = getOrientation();
   }
 
   private int getOrientation() {
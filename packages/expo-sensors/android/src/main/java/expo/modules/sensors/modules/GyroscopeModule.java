@@ -4,7 +4,6 @@ package expo.modules.sensors.modules;
 
 import android.content.Context;
 import android.hardware.SensorEvent;
-import android.os.Bundle;
 
 import expo.core.Promise;
 import expo.core.interfaces.ExpoMethod;
@@ -31,12 +30,16 @@ public class GyroscopeModule extends BaseSensorModule {
     return getModuleRegistry().getModule(GyroscopeService.class);
   }
 
-  protected Bundle eventToMap(SensorEvent sensorEvent) {
-    Bundle map = new Bundle();
-    map.putDouble("x", sensorEvent.values[0]);
-    map.putDouble("y", sensorEvent.values[1]);
-    map.putDouble("z", sensorEvent.values[2]);
-    return map;
+  @Override
+  protected String[] getEventKeys() {
+    return new String[] { "x", "y", "z" };
+  }
+
+  @Override
+  protected void writeEventValues(SensorEvent sensorEvent, double[] values, int offset) {
+    values[offset] = sensorEvent.values[0];
+    values[offset + 1] = sensorEvent.values[1];
+    values[offset + 2] = sensorEvent.values[2];
   }
 
   @ExpoMethod
@@ -56,4 +59,10 @@ public class GyroscopeModule extends BaseSensorModule {
     super.setUpdateInterval(updateInterval);
     promise.resolve(null);
   }
+
+  @ExpoMethod
+  public void setBatchInterval(int batchInterval, Promise promise) {
+    super.setBatchInterval(batchInterval);
+    promise.resolve(null);
+  }
 }
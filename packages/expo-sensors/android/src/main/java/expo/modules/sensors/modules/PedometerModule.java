@@ -5,7 +5,6 @@ package expo.modules.sensors.modules;
 import android.content.Context;
 import android.content.pm.PackageManager;
 import android.hardware.SensorEvent;
-import android.os.Bundle;
 
 import expo.core.Promise;
 import expo.core.interfaces.ExpoMethod;
@@ -34,13 +33,17 @@ public class PedometerModule extends BaseSensorModule {
     return getModuleRegistry().getModule(PedometerService.class);
   }
 
-  protected Bundle eventToMap(SensorEvent sensorEvent) {
+  @Override
+  protected String[] getEventKeys() {
+    return new String[] { "steps" };
+  }
+
+  @Override
+  protected void writeEventValues(SensorEvent sensorEvent, double[] values, int offset) {
     if (stepsAtTheBeginning == null) {
       stepsAtTheBeginning = (int) sensorEvent.values[0] - 1;
     }
-    Bundle map = new Bundle();
-    map.putDouble("steps", sensorEvent.values[0] - stepsAtTheBeginning);
-    return map;
+    values[offset] = sensorEvent.values[0] - stepsAtTheBeginning;
   }
 
   @ExpoMethod
@@ -10,6 +10,9 @@ import android.hardware.SensorManager;
 public abstract class BaseSensorService extends BaseService implements SensorEventListener2 {
   private Sensor mSensor;
   private SensorManager mSensorManager;
+  // Rate the listener is currently registered with, -1 when not observing
+  private int mSamplingPeriodUs = -1;
+  private int mMaxReportLatencyUs = -1;
 
   BaseSensorService(Context reactContext) {
     super(reactContext);
@@ -22,12 +25,51 @@ public abstract class BaseSensorService extends BaseService implements SensorEve
   // Public API
 
   protected void startObserving() {
-    if ((mSensor = mSensorManager.getDefaultSensor(getSensorType())) != null) {
-      mSensorManager.registerListener(this, mSensor, SensorManager.SENSOR_DELAY_FASTEST);
+    startObserving(SensorManager.SENSOR_DELAY_FASTEST, 0);
+  }
+
+  /**
+   * Registers the listener to receive samples every {@code samplingPeriodUs} microseconds,
+   * letting the sensor hub queue them for up to {@code maxReportLatencyUs} microseconds before
+   * waking the application processor. Re-registers only if the rate actually changed.
+   */
+  protected void startObserving(int samplingPeriodUs, int maxReportLatencyUs) {
+    if (mSensor == null && (mSensor = mSensorManager.getDefaultSensor(getSensorType())) == null) {
+      return;
+    }
+
+    // Periods below 4 would be taken for one of the SENSOR_DELAY_* constants
+    if (samplingPeriodUs < 4) {
+      samplingPeriodUs = SensorManager.SENSOR_DELAY_FASTEST;
+    }
+    if (mSensor.getFifoMaxEventCount() == 0) {
+      // No hardware FIFO, so the latency would be ignored anyway
+      maxReportLatencyUs = 0;
+    }
+    if (samplingPeriodUs == mSamplingPeriodUs && maxReportLatencyUs == mMaxReportLatencyUs) {
+      return;
+    }
+
+    // The rate of a registered listener can only be changed by registering it again
+    if (mSamplingPeriodUs != -1) {
+      mSensorManager.unregisterListener(this);
+    }
+    if (mSensorManager.registerListener(this, mSensor, samplingPeriodUs, maxReportLatencyUs)) {
+      mSamplingPeriodUs = samplingPeriodUs;
+      mMaxReportLatencyUs = maxReportLatencyUs;
+    } else {
+      mSamplingPeriodUs = -1;
+      mMaxReportLatencyUs = -1;
     }
   }
 
   protected void stopObserving() {
     mSensorManager.unregisterListener(this);
+    mSamplingPeriodUs = -1;
+    mMaxReportLatencyUs = -1;
+  }
+
+  protected int getSamplingPeriodUs() {
+    return mSamplingPeriodUs;
   }
 }
@@ -4,9 +4,14 @@ package expo.modules.sensors.services;
 
 import android.hardware.SensorEventListener2;
 
-public class SensorServiceSubscription implements expo.interfaces.sensors.SensorServiceSubscription {
+import expo.interfaces.sensors.BatchableSensorServiceSubscription;
+
+public class SensorServiceSubscription implements BatchableSensorServiceSubscription {
   private boolean mIsEnabled = false;
   private Long mUpdateInterval = null;
+  private Long mMaxReportLatency = null;
+  // Sensor timestamp in nanoseconds of the last sample delivered to the listener
+  private long mLastDeliveryTimestamp = 0;
   private boolean mHasBeenReleased = false;
   private final SubscribableSensorService mSubscribableSensorService;
   private final SensorEventListener2 mSensorEventListener;
@@ -39,6 +44,25 @@ public class SensorServiceSubscription implements expo.interfaces.sensors.Sensor
   public void setUpdateInterval(long updateInterval) {
     assertSubscriptionIsAlive();
     mUpdateInterval = updateInterval;
+    mSubscribableSensorService.onSubscriptionRateChanged(this);
+  }
+
+  public Long getMaxReportLatency() {
+    return mMaxReportLatency;
+  }
+
+  public void setMaxReportLatency(long maxReportLatency) {
+    assertSubscriptionIsAlive();
+    mMaxReportLatency = maxReportLatency;
+    mSubscribableSensorService.onSubscriptionRateChanged(this);
+  }
+
+  long getLastDeliveryTimestamp() {
+    return mLastDeliveryTimestamp;
+  }
+
+  void setLastDeliveryTimestamp(long lastDeliveryTimestamp) {
+    mLastDeliveryTimestamp = lastDeliveryTimestamp;
   }
 
   public void stop() {
@@ -9,7 +9,6 @@ import android.hardware.SensorEventListener2;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 
@@ -20,7 +19,7 @@ public abstract class SubscribableSensorService extends BaseSensorService implem
   protected static int DEFAULT_UPDATE_INTERVAL = 100;
 
   private int mListenersCount = 0;
-  private Map<SensorServiceSubscription, Long> mSensorEventListenerLastUpdateMap = new WeakHashMap<>();
+  private Set<SensorServiceSubscription> mSubscriptions = Collections.newSetFromMap(new WeakHashMap<SensorServiceSubscription, Boolean>());
 
   SubscribableSensorService(Context reactContext) {
     super(reactContext);
@@ -40,7 +39,7 @@ public abstract class SubscribableSensorService extends BaseSensorService implem
 
   public expo.interfaces.sensors.SensorServiceSubscription createSubscriptionForListener(SensorEventListener2 listener) {
     SensorServiceSubscription sensorServiceSubscription = new SensorServiceSubscription(this, listener);
-    mSensorEventListenerLastUpdateMap.put(sensorServiceSubscription, 0L);
+    mSubscriptions.add(sensorServiceSubscription);
     return sensorServiceSubscription;
   }
 
@@ -56,8 +55,14 @@ public abstract class SubscribableSensorService extends BaseSensorService implem
     updateObserving();
   }
 
+  void onSubscriptionRateChanged(SensorServiceSubscription sensorServiceSubscription) {
+    if (sensorServiceSubscription.isEnabled()) {
+      updateObserving();
+    }
+  }
+
   void removeSubscription(SensorServiceSubscription sensorServiceSubscription) {
-    mSensorEventListenerLastUpdateMap.remove(sensorServiceSubscription);
+    mSubscriptions.remove(sensorServiceSubscription);
   }
 
   // android.hardware.SensorEventListener2
@@ -65,25 +70,18 @@ public abstract class SubscribableSensorService extends BaseSensorService implem
   @Override
   public void onSensorChanged(SensorEvent sensorEvent) {
     if (sensorEvent.sensor.getType() == getSensorType()) {
-      long currentTime = System.currentTimeMillis();
-      Set<SensorServiceSubscription> listeners = mSensorEventListenerLastUpdateMap.keySet();
+      // Samples of a registration jitter around its period, so accept one that is up to half
+      // a period early rather than dropping every other sample.
+      long toleranceNanos = Math.max(getSamplingPeriodUs(), 0) * 1000L / 2;
 
-      for(SensorServiceSubscription sensorServiceSubscription : listeners) {
+      for (SensorServiceSubscription sensorServiceSubscription : mSubscriptions) {
         if (sensorServiceSubscription != null && sensorServiceSubscription.isEnabled()) {
-          long lastUpdate = 0;
-          if (mSensorEventListenerLastUpdateMap.containsKey(sensorServiceSubscription)) {
-            lastUpdate = mSensorEventListenerLastUpdateMap.get(sensorServiceSubscription);
-          }
+          long elapsedNanos = sensorEvent.timestamp - sensorServiceSubscription.getLastDeliveryTimestamp();
+          long updateIntervalNanos = getUpdateInterval(sensorServiceSubscription) * 1000000L;
 
-          long updateInterval = DEFAULT_UPDATE_INTERVAL;
-          if (sensorServiceSubscription.getUpdateInterval() != null) {
-            updateInterval = sensorServiceSubscription.getUpdateInterval();
-          }
-
-
-          if ((currentTime - lastUpdate) > updateInterval) {
+          if (elapsedNanos < 0 || elapsedNanos + toleranceNanos >= updateIntervalNanos) {
             sensorServiceSubscription.getSensorEventListener().onSensorChanged(sensorEvent);
-            mSensorEventListenerLastUpdateMap.put(sensorServiceSubscription, currentTime);
+            sensorServiceSubscription.setLastDeliveryTimestamp(sensorEvent.timestamp);
           }
         }
       }
@@ -93,7 +91,7 @@ public abstract class SubscribableSensorService extends BaseSensorService implem
   @Override
   public void onAccuracyChanged(Sensor sensor, int accuracy) {
     if (sensor.getType() == getSensorType()) {
-      for (SensorServiceSubscription subscription : mSensorEventListenerLastUpdateMap.keySet()) {
+      for (SensorServiceSubscription subscription : mSubscriptions) {
         if (subscription.isEnabled()) {
           subscription.getSensorEventListener().onAccuracyChanged(sensor, accuracy);
         }
@@ -104,7 +102,7 @@ public abstract class SubscribableSensorService extends BaseSensorService implem
   @Override
   public void onFlushCompleted(Sensor sensor) {
     if (sensor.getType() == getSensorType()) {
-      for (SensorServiceSubscription subscription : mSensorEventListenerLastUpdateMap.keySet()) {
+      for (SensorServiceSubscription subscription : mSubscriptions) {
         if (subscription.isEnabled()) {
           subscription.getSensorEventListener().onFlushCompleted(sensor);
         }
@@ -117,9 +115,42 @@ public abstract class SubscribableSensorService extends BaseSensorService implem
   private void updateObserving() {
     // Start/stop observing according to the experience state
     if (mListenersCount > 0 && getExperienceIsForegrounded()) {
-      super.startObserving();
+      startObservingAtNegotiatedRate();
     } else {
       super.stopObserving();
     }
   }
+
+  /**
+   * Registers at the shortest update interval any enabled subscription asked for. Samples are
+   * only batched in the sensor hub if every subscription allows it, and then for no longer than
+   * the most impatient of them.
+   */
+  private void startObservingAtNegotiatedRate() {
+    long updateInterval = Long.MAX_VALUE;
+    long maxReportLatency = Long.MAX_VALUE;
+
+    for (SensorServiceSubscription subscription : mSubscriptions) {
+      if (subscription != null && subscription.isEnabled()) {
+        updateInterval = Math.min(updateInterval, getUpdateInterval(subscription));
+        Long subscriptionMaxReportLatency = subscription.getMaxReportLatency();
+        maxReportLatency = Math.min(maxReportLatency, subscriptionMaxReportLatency != null ? subscriptionMaxReportLatency : 0);
+      }
+    }
+
+    if (updateInterval == Long.MAX_VALUE) {
+      updateInterval = DEFAULT_UPDATE_INTERVAL;
+      maxReportLatency = 0;
+    }
+    super.startObserving(millisToMicros(updateInterval), millisToMicros(maxReportLatency));
+  }
+
+  private long getUpdateInterval(SensorServiceSubscription subscription) {
+    Long updateInterval = subscription.getUpdateInterval();
+    return updateInterval != null ? Math.max(updateInterval, 0) : DEFAULT_UPDATE_INTERVAL;
+  }
+
+  private static int millisToMicros(long millis) {
+    return (int) Math.min(Math.max(millis, 0) * 1000, Integer.MAX_VALUE);
+  }
 }
@@ -10,6 +10,11 @@ type Subscription = {
 
 type NativeSensorModule = Object;
 
+type TimestampedMeasurement<M> = M & {
+  // seconds, on the clock of the sensor events
+  timestamp: number,
+};
+
 /**
  * A base class for subscribable sensors. The events emitted by this class are measurements
  * specified by the parameter type `M`.
@@ -31,8 +36,23 @@ export default class DeviceSensor<M> {
     return subscription;
   }
 
+  /**
+   * Listens to the measurements delivered in batches once a batch interval is set, see
+   * `setBatchInterval`. Each batch holds the measurements taken since the previous one, oldest
+   * first.
+   */
+  addBatchListener(listener: Listener<Array<TimestampedMeasurement<M>>>): Subscription {
+    let subscription = this._nativeEmitter.addListener(
+      this._getBatchEventName(),
+      (batch: { samples: Array<TimestampedMeasurement<M>> }) => listener(batch.samples)
+    );
+    subscription.remove = () => this.removeSubscription(subscription);
+    return subscription;
+  }
+
   removeAllListeners(): void {
     this._nativeEmitter.removeAllListeners(this._nativeEventName);
+    this._nativeEmitter.removeAllListeners(this._getBatchEventName());
   }
 
   removeSubscription(subscription: Subscription): void {
@@ -42,4 +62,21 @@ export default class DeviceSensor<M> {
   setUpdateInterval(intervalMs: number): void {
     this._nativeModule.setUpdateInterval(intervalMs);
   }
+
+  /**
+   * With a positive interval, measurements are only delivered to batch listeners, at most once per
+   * frame, and the sensor may hold them for up to that many milliseconds to save power. Zero
+   * switches back to delivering every measurement to the regular listeners.
+   *
+   * Batching is only supported by some sensors on Android, elsewhere this does nothing.
+   */
+  setBatchInterval(intervalMs: number): void {
+    if (Platform.OS === 'android' && this._nativeModule.setBatchInterval) {
+      this._nativeModule.setBatchInterval(intervalMs);
+    }
+  }
+
+  _getBatchEventName(): string {
+    return `${this._nativeEventName}Batch`;
+  }
 }
@@ -1,6 +1,6 @@
 import { NativeModules } from 'react-native';
 
-import { mockPlatformIOS } from '../../../test/mocking';
+import { mockPlatformAndroid, mockPlatformIOS } from '../../../test/mocking';
 import Accelerometer from '../Accelerometer';
 
 afterEach(() => {
@@ -39,3 +39,22 @@ it(`sets the update interval`, async () => {
   expect(NativeAccelerometer.setUpdateInterval).toHaveBeenCalledTimes(1);
   expect(NativeAccelerometer.setUpdateInterval).toHaveBeenCalledWith(1234);
 });
+
+it(`notifies batch listeners`, () => {
+  mockPlatformAndroid();
+
+  const mockBatchListener = jest.fn();
+  Accelerometer.addBatchListener(mockBatchListener);
+
+  const mockSamples = [{ x: 0.2, y: 0.1, z: 0.3, timestamp: 12.5 }];
+  Accelerometer._nativeEmitter.emit('accelerometerDidUpdateBatch', { samples: mockSamples });
+  expect(mockBatchListener).toHaveBeenCalledWith(mockSamples);
+});
+
+it(`sets the batch interval`, async () => {
+  mockPlatformAndroid();
+  const NativeAccelerometer = NativeModules.ExponentAccelerometer;
+  await Accelerometer.setBatchInterval(100);
+  expect(NativeAccelerometer.setBatchInterval).toHaveBeenCalledTimes(1);
+  expect(NativeAccelerometer.setBatchInterval).toHaveBeenCalledWith(100);
+});
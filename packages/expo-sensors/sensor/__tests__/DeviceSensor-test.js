@@ -126,12 +126,77 @@ it(`doesn't fail when a subscription is removed twice`, () => {
   expect(() => sensor.removeSubscription(subscription)).not.toThrow();
 });
 
+it(`delivers batched measurements to batch listeners`, () => {
+  mockPlatformAndroid();
+  const nativeModule = new MockNativeSensorModule();
+  const sensor = new DeviceSensor(nativeModule, 'mockDidUpdate');
+
+  const mockListener = jest.fn();
+  const mockBatchListener = jest.fn();
+  sensor.addListener(mockListener);
+  sensor.addBatchListener(mockBatchListener);
+  expect(nativeModule.startObserving).toHaveBeenCalledTimes(1);
+
+  const samples = [
+    { x: 0.1, y: 0.2, z: 0.3, timestamp: 1.5 },
+    { x: 0.2, y: 0.3, z: 0.4, timestamp: 1.51 },
+  ];
+  sensor._nativeEmitter.emit('mockDidUpdateBatch', { samples });
+  expect(mockBatchListener).toHaveBeenCalledTimes(1);
+  expect(mockBatchListener).toHaveBeenCalledWith(samples);
+  expect(mockListener).not.toHaveBeenCalled();
+});
+
+it(`removes batch listeners along with the other ones`, () => {
+  mockPlatformAndroid();
+  const nativeModule = new MockNativeSensorModule();
+  const sensor = new DeviceSensor(nativeModule, 'mockDidUpdate');
+
+  const mockBatchListener = jest.fn();
+  const subscription = sensor.addBatchListener(() => {});
+  sensor.addListener(() => {});
+  sensor.addBatchListener(mockBatchListener);
+  expect(nativeModule.startObserving).toHaveBeenCalledTimes(1);
+
+  subscription.remove();
+  expect(nativeModule.stopObserving).not.toHaveBeenCalled();
+
+  sensor.removeAllListeners();
+  expect(nativeModule.stopObserving).toHaveBeenCalledTimes(1);
+  sensor._nativeEmitter.emit('mockDidUpdateBatch', { samples: [] });
+  expect(mockBatchListener).not.toHaveBeenCalled();
+});
+
+it(`sets the batch interval on Android`, () => {
+  mockPlatformAndroid();
+  const nativeModule = new MockNativeSensorModule();
+  const sensor = new DeviceSensor(nativeModule, 'mockDidUpdate');
+
+  sensor.setBatchInterval(100);
+  expect(nativeModule.setBatchInterval).toHaveBeenCalledTimes(1);
+  expect(nativeModule.setBatchInterval).toHaveBeenCalledWith(100);
+});
+
+it(`ignores the batch interval where batching isn't supported`, () => {
+  mockPlatformIOS();
+  const nativeModule = new MockNativeSensorModule();
+  const sensor = new DeviceSensor(nativeModule, 'mockDidUpdate');
+  sensor.setBatchInterval(100);
+  expect(nativeModule.setBatchInterval).not.toHaveBeenCalled();
+
+  mockPlatformAndroid();
+  const { setBatchInterval, ...nativeModuleWithoutBatching } = new MockNativeSensorModule();
+  const sensorWithoutBatching = new DeviceSensor(nativeModuleWithoutBatching, 'mockDidUpdate');
+  expect(() => sensorWithoutBatching.setBatchInterval(100)).not.toThrow();
+});
+
 class MockNativeSensorModule {
   addListener = jest.fn(async () => {});
   removeListeners = jest.fn(async () => {});
   startObserving = jest.fn(async () => {});
   stopObserving = jest.fn(async () => {});
   setUpdateInterval = jest.fn(async () => {});
+  setBatchInterval = jest.fn(async () => {});
 }
 
 function _countRemovedListeners(nativeModule) {
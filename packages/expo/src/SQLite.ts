@@ -95,8 +95,85 @@ export function openDatabase(
   return _openExpoSQLiteDatabase(name, version, description, size, callback);
 }
 
+/**
+ * Switches the database to write-ahead logging with `synchronous=NORMAL`. Writes no longer wait for
+ * the disk on every commit; after a power loss the most recent transactions may be rolled back, but
+ * the database stays consistent. Only supported on Android, a no-op elsewhere.
+ */
+export async function enableWriteAheadLoggingAsync(name: string): Promise<void> {
+  if (Platform.OS !== 'android') {
+    return;
+  }
+  await ExponentSQLite.enableWriteAheadLogging(name);
+}
+
+export type SQLiteCursorRows = {
+  rows: Array<{ [column: string]: any }>;
+  done: boolean;
+};
+
+/**
+ * A result set that is read from native in pages instead of all at once. Close it if it is not
+ * read until the end.
+ */
+export class SQLiteCursor {
+  _id: number;
+  _columns: string[];
+  _done: boolean = false;
+
+  constructor(id: number, columns: string[]) {
+    this._id = id;
+    this._columns = columns;
+  }
+
+  async fetchAsync(maxRows: number = 100): Promise<SQLiteCursorRows> {
+    if (this._done) {
+      return { rows: [], done: true };
+    }
+    const [rowCount, done, ...columnValues] = await ExponentSQLite.fetchCursorRows(
+      this._id,
+      maxRows
+    );
+    this._done = done;
+
+    const rows = new Array(rowCount);
+    for (let i = 0; i < rowCount; i++) {
+      const row = {};
+      for (let j = 0; j < this._columns.length; j++) {
+        row[this._columns[j]] = columnValues[j][i];
+      }
+      rows[i] = row;
+    }
+    return { rows, done };
+  }
+
+  async closeAsync(): Promise<void> {
+    if (!this._done) {
+      this._done = true;
+      await ExponentSQLite.closeCursor(this._id);
+    }
+  }
+}
+
+/**
+ * Runs a select statement and returns a cursor to page through its rows. Only supported on Android.
+ */
+export async function openCursorAsync(
+  name: string,
+  sql: string,
+  args: unknown[] = []
+): Promise<SQLiteCursor> {
+  if (Platform.OS !== 'android') {
+    throw new Error(`SQLite cursors are only available on Android`);
+  }
+  const [id, columns] = await ExponentSQLite.openCursor(name, sql, args.map(_escapeBlob));
+  return new SQLiteCursor(id, columns);
+}
+
 type WebSQLDatabase = unknown;
 
 export default {
   openDatabase,
+  enableWriteAheadLoggingAsync,
+  openCursorAsync,
 };
@@ -129,7 +129,10 @@ module.exports = {
           { key: 5, argumentsCount: 0, name: 'getIsReady' },
         ],
         ExpoPublisherBannerView: [],
-        ExponentGyroscope: [{ key: 0, argumentsCount: 1, name: 'setUpdateInterval' }],
+        ExponentGyroscope: [
+          { key: 0, argumentsCount: 1, name: 'setUpdateInterval' },
+          { key: 1, argumentsCount: 1, name: 'setBatchInterval' },
+        ],
         ExpoLocalAuthentication: [
           { key: 0, argumentsCount: 0, name: 'hasHardwareAsync' },
           { key: 1, argumentsCount: 0, name: 'isEnrolledAsync' },
@@ -149,13 +152,19 @@ module.exports = {
           { key: 1, argumentsCount: 1, name: 'askAsync' },
         ],
         ExponentDeviceMotion: [{ key: 0, argumentsCount: 1, name: 'setUpdateInterval' }],
-        ExponentAccelerometer: [{ key: 0, argumentsCount: 1, name: 'setUpdateInterval' }],
+        ExponentAccelerometer: [
+          { key: 0, argumentsCount: 1, name: 'setUpdateInterval' },
+          { key: 1, argumentsCount: 1, name: 'setBatchInterval' },
+        ],
         ExponentConstants: [{ key: 0, argumentsCount: 0, name: 'getWebViewUserAgentAsync' }],
         ExpoSMS: [
           { key: 0, argumentsCount: 0, name: 'isAvailableAsync' },
           { key: 1, argumentsCount: 2, name: 'sendSMSAsync' },
         ],
-        ExpoBarCodeScannerModule: [{ key: 0, argumentsCount: 2, name: 'scanFromURLAsync' }],
+        ExpoBarCodeScannerModule: [
+          { key: 0, argumentsCount: 2, name: 'scanFromURLAsync' },
+          { key: 1, argumentsCount: 1, name: 'getScanningStatsAsync' },
+        ],
         ExpoLocation: [
           { key: 0, argumentsCount: 0, name: 'getProviderStatusAsync' },
           { key: 1, argumentsCount: 1, name: 'reverseGeocodeAsync' },
@@ -167,9 +176,13 @@ module.exports = {
           { key: 7, argumentsCount: 1, name: 'watchDeviceHeading' },
         ],
         ExpoAdsAdMobBannerView: [],
-        ExponentMagnetometer: [{ key: 0, argumentsCount: 1, name: 'setUpdateInterval' }],
+        ExponentMagnetometer: [
+          { key: 0, argumentsCount: 1, name: 'setUpdateInterval' },
+          { key: 1, argumentsCount: 1, name: 'setBatchInterval' },
+        ],
         ExponentMagnetometerUncalibrated: [
           { key: 0, argumentsCount: 1, name: 'setUpdateInterval' },
+          { key: 1, argumentsCount: 1, name: 'setBatchInterval' },
         ],
         ExponentSegment: [
           { key: 0, argumentsCount: 0, name: 'flush' },
@@ -467,7 +480,11 @@ module.exports = {
   },
   ExponentSQLite: {
     close: { type: 'function', functionType: 'async' },
+    closeCursor: { type: 'function', functionType: 'promise' },
+    enableWriteAheadLogging: { type: 'function', functionType: 'promise' },
     exec: { type: 'function', functionType: 'promise' },
+    fetchCursorRows: { type: 'function', functionType: 'promise' },
+    openCursor: { type: 'function', functionType: 'promise' },
   },
   ExponentScopedModuleRegistry: {},
   ExponentScreenOrientation: {